@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.internal.javascript.ti;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size bounded LRU cache with hit/miss/eviction counters. The limit is read
+ * from {@link TypeSystemCacheSettings} on each insertion, so it could be
+ * changed at runtime.
+ * 
+ * Not thread safe, callers should synchronize.
+ */
+public class BoundedCache<K, V> {
+
+	private final LinkedHashMap<K, V> map = new LinkedHashMap<K, V>(16,
+			0.75f, true);
+
+	private final TypeSystemCacheSettings settings;
+
+	private long hits;
+	private long misses;
+	private long evictions;
+
+	public BoundedCache(TypeSystemCacheSettings settings) {
+		this.settings = settings;
+	}
+
+	public V get(K key) {
+		final V value = map.get(key);
+		if (value != null) {
+			++hits;
+			settings.hit();
+		} else {
+			++misses;
+			settings.miss();
+		}
+		return value;
+	}
+
+	public void put(K key, V value) {
+		map.put(key, value);
+		final int limit = settings.getLimit();
+		if (limit > 0 && map.size() > limit) {
+			int count = map.size() - limit;
+			for (Iterator<Map.Entry<K, V>> i = map.entrySet().iterator(); count > 0
+					&& i.hasNext(); --count) {
+				i.next();
+				i.remove();
+				++evictions;
+				settings.evicted();
+			}
+		}
+	}
+
+	public int size() {
+		return map.size();
+	}
+
+	public void clear() {
+		map.clear();
+	}
+
+	public long hits() {
+		return hits;
+	}
+
+	public long misses() {
+		return misses;
+	}
+
+	public long evictions() {
+		return evictions;
+	}
+
+}
@@ -11,7 +11,6 @@
  *******************************************************************************/
 package org.eclipse.dltk.internal.javascript.ti;
 
-import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -46,13 +45,13 @@ import org.eclipse.dltk.javascript.parser.JSProblemIdentifier;
 import org.eclipse.dltk.javascript.parser.JSProblemReporter;
 import org.eclipse.dltk.javascript.parser.ProblemReporter;
 import org.eclipse.dltk.javascript.parser.jsdoc.JSDocTag;
+import org.eclipse.dltk.javascript.parser.jsdoc.JSDocTagTokens;
 import org.eclipse.dltk.javascript.parser.jsdoc.JSDocTags;
-import org.eclipse.dltk.javascript.parser.jsdoc.SimpleJSDocParser;
 import org.eclipse.dltk.javascript.typeinference.ReferenceLocation;
 import org.eclipse.dltk.javascript.typeinfo.IModelBuilder;
 import org.eclipse.dltk.javascript.typeinfo.ITypeChecker;
 import org.eclipse.dltk.javascript.typeinfo.ITypeInfoContext;
-import org.eclipse.dltk.javascript.typeinfo.JSDocParseException;
+import org.eclipse.dltk.javascript.typeinfo.JSDocTypeCache;
 import org.eclipse.dltk.javascript.typeinfo.JSDocTypeParser;
 import org.eclipse.dltk.javascript.typeinfo.model.JSType;
 import org.eclipse.dltk.javascript.typeinfo.model.Member;
@@ -84,9 +83,12 @@ public class JSDocSupport implements IModelBuilder {
 		return PRIORITY_DEFAULT;
 	}
 
+	/**
+	 * Returns the JSDoc tags of the specified comment. The tags are cached in
+	 * the comment node, so the comment is tokenized once per AST.
+	 */
 	public static JSDocTags parse(Comment comment) {
-		return new SimpleJSDocParser().parse(comment.getText(),
-				comment.sourceStart());
+		return comment.getTags();
 	}
 
 	public enum JSDocFunctionContext {
@@ -600,31 +602,27 @@ public class JSDocSupport implements IModelBuilder {
 	public static final String[] TYPE_TAGS = { JSDocTag.TYPE };
 
 	public static class TagTokenizer {
-		private final String content;
-		private final int end;
-		private int position;
+		private final JSDocTagTokens tokens;
+		private int index;
 		private int tokenStart;
 
+		/**
+		 * Creates the tokenizer over the tokens of the specified tag, shared
+		 * with the other consumers of the same tag.
+		 */
 		public TagTokenizer(JSDocTag tag) {
-			this(tag.value());
+			this.tokens = tag.tokens();
 		}
 
 		public TagTokenizer(String content) {
-			this.content = content;
-			this.end = content.length();
-			this.position = skipDelimiters(0);
+			this.tokens = JSDocTagTokens.tokenize(content);
 		}
 
-		/**
-		 * The token loaded by {@link #peek()} if not <code>null</code>.
-		 */
-		private String current;
-
 		/**
 		 * Checks if there are more tokens available from this tokenizer.
 		 */
 		public boolean hasMoreTokens() {
-			return current != null || position < end;
+			return index < tokens.size();
 		}
 
 		/**
@@ -632,14 +630,9 @@ public class JSDocSupport implements IModelBuilder {
 		 * from this tokenizer or <code>\0</code> if there are no more tokens.
 		 */
 		public char peekChar() {
-			if (current == null) {
-				if (position < end) {
-					return content.charAt(position);
-				} else {
-					return '\0';
-				}
-			} else if (current.length() != 0) {
-				return current.charAt(0);
+			if (index < tokens.size()) {
+				final String token = tokens.get(index);
+				return token.length() != 0 ? token.charAt(0) : '\0';
 			} else {
 				return '\0';
 			}
@@ -650,14 +643,12 @@ public class JSDocSupport implements IModelBuilder {
 		 * <code>null</code> if there are no more tokens.
 		 */
 		public String peek() {
-			if (current == null) {
-				if (position < end) {
-					current = fetchNextToken();
-				} else {
-					return null;
-				}
+			if (index < tokens.size()) {
+				tokenStart = tokens.start(index);
+				return tokens.get(index);
+			} else {
+				return null;
 			}
-			return current;
 		}
 
 		/**
@@ -667,12 +658,11 @@ public class JSDocSupport implements IModelBuilder {
 		 *             if no more tokens available.
 		 */
 		public String nextToken() {
-			if (current != null) {
-				final String token = current;
-				current = null;
-				return token;
+			if (index >= tokens.size()) {
+				throw new NoSuchElementException();
 			}
-			return fetchNextToken();
+			tokenStart = tokens.start(index);
+			return tokens.get(index++);
 		}
 
 		/**
@@ -681,35 +671,6 @@ public class JSDocSupport implements IModelBuilder {
 		public int getTokenStart() {
 			return tokenStart;
 		}
-
-		private int skipDelimiters(int pos) {
-			while (pos < end && Character.isWhitespace(content.charAt(pos))) {
-				++pos;
-			}
-			return pos;
-		}
-
-		private String fetchNextToken() {
-			if (position == end) {
-				throw new NoSuchElementException();
-			}
-			tokenStart = position;
-			int braceCount = 0;
-			while (position < end) {
-				if (Character.isWhitespace(content.charAt(position))
-						&& braceCount == 0) {
-					break;
-				} else if (content.charAt(position) == '{') {
-					++braceCount;
-				} else if (content.charAt(position) == '}') {
-					--braceCount;
-				}
-				++position;
-			}
-			final String token = content.substring(tokenStart, position);
-			position = skipDelimiters(position);
-			return token;
-		}
 	}
 
 	/**
@@ -791,27 +752,16 @@ public class JSDocSupport implements IModelBuilder {
 
 	protected JSType translateTypeName(String typeName, JSDocTag tag,
 			JSProblemReporter reporter) {
-		JSDocTypeParser parser = createTypeParser();
-		try {
-			return parser.parse(typeName);
-		} catch (JSDocParseException e) {
-			if (reporter != null) {
-				reporter.reportProblem(e.problemId, e.getMessage(),
-						tag.start(), tag.end());
-			}
-			return null;
-		} catch (ParseException e) {
+		final JSDocTypeCache.Entry entry = JSDocTypeCache.getInstance().parse(
+				createTypeParser(), typeName);
+		if (entry.hasProblem()) {
 			if (reporter != null) {
-				String message = e.getMessage();
-				if (e.getErrorOffset() >= 0) {
-					message += " after "
-							+ typeName.substring(0, e.getErrorOffset());
-				}
-				reporter.reportProblem(JSDocProblem.WRONG_TYPE_SYNTAX, message,
-						tag.start(), tag.end());
+				reporter.reportProblem(entry.getProblemId(),
+						entry.getMessage(), tag.start(), tag.end());
 			}
 			return null;
 		}
+		return entry.copyType();
 	}
 
 	public JSDocTypeParser createTypeParser() {
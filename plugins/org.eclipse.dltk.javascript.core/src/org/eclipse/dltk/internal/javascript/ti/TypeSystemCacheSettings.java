@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.internal.javascript.ti;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.eclipse.dltk.javascript.core.JavaScriptPlugin;
+
+/**
+ * The shared settings and the aggregated statistics of the bounded caches of
+ * all the type systems.
+ */
+public class TypeSystemCacheSettings implements TypeSystemCacheSettingsMXBean {
+
+	public static final String OBJECT_NAME = "org.eclipse.dltk.javascript:type=TypeSystemCache";
+
+	/**
+	 * The system property with the initial limit of the cache entries per type
+	 * system.
+	 */
+	public static final String LIMIT_PROPERTY = "org.eclipse.dltk.javascript.typeSystemCacheLimit"; //$NON-NLS-1$
+
+	private static final int DEFAULT_LIMIT = 4096;
+
+	private static final TypeSystemCacheSettings INSTANCE = new TypeSystemCacheSettings(
+			initialLimit());
+
+	public static TypeSystemCacheSettings getInstance() {
+		return INSTANCE;
+	}
+
+	private static int initialLimit() {
+		return Integer.getInteger(LIMIT_PROPERTY, DEFAULT_LIMIT).intValue();
+	}
+
+	private volatile int limit;
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong evictions = new AtomicLong();
+
+	public TypeSystemCacheSettings(int limit) {
+		this.limit = limit;
+	}
+
+	public int getLimit() {
+		return limit;
+	}
+
+	public void setLimit(int limit) {
+		this.limit = Math.max(limit, 0);
+	}
+
+	public long getHitCount() {
+		return hits.get();
+	}
+
+	public long getMissCount() {
+		return misses.get();
+	}
+
+	public long getEvictionCount() {
+		return evictions.get();
+	}
+
+	public void resetStatistics() {
+		hits.set(0);
+		misses.set(0);
+		evictions.set(0);
+	}
+
+	void hit() {
+		hits.incrementAndGet();
+	}
+
+	void miss() {
+		misses.incrementAndGet();
+	}
+
+	void evicted() {
+		evictions.incrementAndGet();
+	}
+
+	/**
+	 * Registers the shared instance in the platform MBean server.
+	 */
+	public static void register() {
+		try {
+			final MBeanServer server = ManagementFactory
+					.getPlatformMBeanServer();
+			final ObjectName name = new ObjectName(OBJECT_NAME);
+			if (!server.isRegistered(name)) {
+				server.registerMBean(INSTANCE, name);
+			}
+		} catch (Exception e) {
+			JavaScriptPlugin.error(e);
+		}
+	}
+
+	/**
+	 * Unregisters the shared instance from the platform MBean server.
+	 */
+	public static void unregister() {
+		try {
+			final MBeanServer server = ManagementFactory
+					.getPlatformMBeanServer();
+			final ObjectName name = new ObjectName(OBJECT_NAME);
+			if (server.isRegistered(name)) {
+				server.unregisterMBean(name);
+			}
+		} catch (Exception e) {
+			JavaScriptPlugin.error(e);
+		}
+	}
+
+}
@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.internal.javascript.ti;
+
+/**
+ * Management interface of the parameterized/contextualized member caches of
+ * the type systems.
+ */
+public interface TypeSystemCacheSettingsMXBean {
+
+	/**
+	 * Returns the maximum number of entries in each cache of each type system,
+	 * <code>0</code> means unlimited.
+	 */
+	int getLimit();
+
+	/**
+	 * Changes the maximum number of entries in each cache of each type system,
+	 * <code>0</code> means unlimited. Caches are trimmed on the next insertion.
+	 */
+	void setLimit(int limit);
+
+	long getHitCount();
+
+	long getMissCount();
+
+	long getEvictionCount();
+
+	void resetStatistics();
+
+}
@@ -137,11 +137,14 @@ public class TypeSystemImpl implements ITypeSystem {
 		synchronized (lock) {
 			declarations.clear();
 			parameterized.clear();
-			contextualized.clear();
 			if (values != null) {
 				values.clear();
 			}
 		}
+		// contextualize() acquires the lock while holding this monitor
+		synchronized (contextualized) {
+			contextualized.clear();
+		}
 	}
 
 	private RTypeDeclaration convertType(Type type, Set<Type> processedTypes) {
@@ -374,7 +377,8 @@ public class TypeSystemImpl implements ITypeSystem {
 
 	}
 
-	private final Map<ParameterizedTypeKey, RTypeDeclaration> parameterized = new HashMap<ParameterizedTypeKey, RTypeDeclaration>();
+	private final BoundedCache<ParameterizedTypeKey, RTypeDeclaration> parameterized = new BoundedCache<ParameterizedTypeKey, RTypeDeclaration>(
+			TypeSystemCacheSettings.getInstance());
 
 	/*
 	 * @see ITypeSystem#parameterize(Type, java.util.List)
@@ -390,12 +394,25 @@ public class TypeSystemImpl implements ITypeSystem {
 		}
 	}
 
+	/**
+	 * The parameterized declarations being built, they are added to the
+	 * bounded cache only when complete, so could not be evicted during their
+	 * own recursive build.
+	 */
+	private final Map<ParameterizedTypeKey, RTypeDeclaration> building = new HashMap<ParameterizedTypeKey, RTypeDeclaration>();
+
 	private final List<RParameterizedTypeDeclaration> typeVariables = new ArrayList<RParameterizedTypeDeclaration>();
 
 	private RTypeDeclaration parameterizeType(GenericType genericType,
 			List<? extends IRType> parameters) {
 		final ParameterizedTypeKey key = new ParameterizedTypeKey(genericType,
 				parameters);
+		{
+			final RTypeDeclaration declaration = building.get(key);
+			if (declaration != null) {
+				return declaration;
+			}
+		}
 		{
 			final RTypeDeclaration declaration = parameterized.get(key);
 			if (declaration != null) {
@@ -407,7 +424,7 @@ public class TypeSystemImpl implements ITypeSystem {
 		}
 		final RParameterizedTypeDeclaration declaration = new RParameterizedTypeDeclaration(
 				this, genericType, Arrays.asList(key.parameters));
-		parameterized.put(key, declaration);
+		building.put(key, declaration);
 		typeVariables.add(declaration);
 		try {
 			buildType(declaration, genericType,
@@ -415,7 +432,9 @@ public class TypeSystemImpl implements ITypeSystem {
 							.getActualTypeArguments()), new HashSet<Type>());
 		} finally {
 			typeVariables.remove(typeVariables.size() - 1);
+			building.remove(key);
 		}
+		parameterized.put(key, declaration);
 		return declaration;
 	}
 
@@ -448,7 +467,8 @@ public class TypeSystemImpl implements ITypeSystem {
 		}
 	}
 
-	private final Map<ContextualizeKey, IRMember> contextualized = new HashMap<ContextualizeKey, IRMember>();
+	private final BoundedCache<ContextualizeKey, IRMember> contextualized = new BoundedCache<ContextualizeKey, IRMember>(
+			TypeSystemCacheSettings.getInstance());
 
 	@SuppressWarnings("unchecked")
 	public <E extends IRMember> E contextualize(E member,
@@ -575,7 +595,9 @@ public class TypeSystemImpl implements ITypeSystem {
 	 */
 	public Object getValue(Object key) {
 		assert key != null;
-		return values != null ? values.get(key) : null;
+		synchronized (lock) {
+			return values != null ? values.get(key) : null;
+		}
 	}
 
 	/*
@@ -583,10 +605,12 @@ public class TypeSystemImpl implements ITypeSystem {
 	 */
 	public void setValue(Object key, Object value) {
 		assert key != null;
-		if (values == null) {
-			values = new HashMap<Object, Object>();
+		synchronized (lock) {
+			if (values == null) {
+				values = new HashMap<Object, Object>();
+			}
+			values.put(key, value);
 		}
-		values.put(key, value);
 	}
 
 	protected boolean isContextualizable(IRMember member) {
@@ -636,12 +660,25 @@ public class TypeSystemImpl implements ITypeSystem {
 		private final int declarationCount;
 		private final int parameterizedCount;
 		private final int contextualizedCount;
+		private final long hitCount;
+		private final long missCount;
+		private final long evictionCount;
 
 		public TypeSystemStats(int declarationCount, int parameterizedCount,
 				int contextualizedCount) {
+			this(declarationCount, parameterizedCount, contextualizedCount, 0,
+					0, 0);
+		}
+
+		public TypeSystemStats(int declarationCount, int parameterizedCount,
+				int contextualizedCount, long hitCount, long missCount,
+				long evictionCount) {
 			this.declarationCount = declarationCount;
 			this.parameterizedCount = parameterizedCount;
 			this.contextualizedCount = contextualizedCount;
+			this.hitCount = hitCount;
+			this.missCount = missCount;
+			this.evictionCount = evictionCount;
 		}
 
 		public int declarationCount() {
@@ -656,6 +693,28 @@ public class TypeSystemImpl implements ITypeSystem {
 			return contextualizedCount;
 		}
 
+		/**
+		 * Number of parameterized/contextualized cache hits.
+		 */
+		public long hitCount() {
+			return hitCount;
+		}
+
+		/**
+		 * Number of parameterized/contextualized cache misses.
+		 */
+		public long missCount() {
+			return missCount;
+		}
+
+		/**
+		 * Number of entries evicted from the parameterized/contextualized
+		 * caches because of the size limit.
+		 */
+		public long evictionCount() {
+			return evictionCount;
+		}
+
 		public boolean isEmpty() {
 			return declarationCount == 0 && parameterizedCount == 0
 					&& contextualizedCount == 0;
@@ -666,14 +725,28 @@ public class TypeSystemImpl implements ITypeSystem {
 			return getClass().getSimpleName() + "[declarationCount="
 					+ declarationCount + ",parameterizedCount="
 					+ parameterizedCount + ",contextualizedCount="
-					+ contextualizedCount + "]";
+					+ contextualizedCount + ",hitCount=" + hitCount
+					+ ",missCount=" + missCount + ",evictionCount="
+					+ evictionCount + "]";
 		}
 	}
 
 	public TypeSystemStats stats() {
+		final int declarationCount;
+		final int parameterizedCount;
+		long hits, misses, evictions;
 		synchronized (lock) {
-			return new TypeSystemStats(declarations.size(),
-					parameterized.size(), contextualized.size());
+			declarationCount = declarations.size();
+			parameterizedCount = parameterized.size();
+			hits = parameterized.hits();
+			misses = parameterized.misses();
+			evictions = parameterized.evictions();
+		}
+		synchronized (contextualized) {
+			return new TypeSystemStats(declarationCount, parameterizedCount,
+					contextualized.size(), hits + contextualized.hits(),
+					misses + contextualized.misses(), evictions
+							+ contextualized.evictions());
 		}
 	}
 
@@ -0,0 +1,390 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.internal.javascript.validation;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.dltk.annotations.Nullable;
+import org.eclipse.dltk.compiler.problem.DefaultProblemIdentifier;
+import org.eclipse.dltk.compiler.problem.IProblem;
+import org.eclipse.dltk.core.builder.IBuildContext;
+import org.eclipse.dltk.core.builder.IBuildParticipant;
+import org.eclipse.dltk.core.builder.IBuildParticipantExtension;
+import org.eclipse.dltk.core.builder.IBuildParticipantExtension4;
+
+/**
+ * Validates the JavaScript files of the directory tree without the workspace:
+ * the files are parsed and validated by the standard chain (flow with the code
+ * checks and type info) on the {@link ParallelValidation} workers and the
+ * problems are written as JSON lines as soon as each file is validated. The
+ * run is a full build, which reuses the cached results of the unchanged files
+ * and leaves the shared caches of the workspace projects intact.
+ */
+public class BatchValidation {
+
+	public static final String DEFAULT_ENCODING = "UTF-8"; //$NON-NLS-1$
+
+	static final String PHASE_SCAN = "scan"; //$NON-NLS-1$
+	static final String PHASE_PARSE = "parse"; //$NON-NLS-1$
+	static final String PHASE_FLOW = "flow"; //$NON-NLS-1$
+	static final String PHASE_TYPEINFO = "typeinfo"; //$NON-NLS-1$
+	static final String PHASE_OUTPUT = "output"; //$NON-NLS-1$
+
+	private static final String[] PHASES = { PHASE_SCAN, PHASE_PARSE,
+			PHASE_FLOW, PHASE_TYPEINFO, PHASE_OUTPUT };
+
+	private final File root;
+	private int workerCount = ParallelValidation.defaultWorkerCount();
+	private String encoding = DEFAULT_ENCODING;
+	private String[] extensions = { ".js" }; //$NON-NLS-1$
+
+	public BatchValidation(File root) {
+		this.root = root;
+	}
+
+	public void setWorkerCount(int workerCount) {
+		this.workerCount = workerCount;
+	}
+
+	public void setEncoding(String encoding) {
+		this.encoding = encoding;
+	}
+
+	/**
+	 * Sets the extensions of the files to validate, e.g. <code>".js"</code>
+	 */
+	public void setExtensions(String... extensions) {
+		this.extensions = extensions;
+	}
+
+	/**
+	 * The summary of the validation.
+	 */
+	public static class Result {
+		private final ConcurrentMap<String, AtomicLong> times = new ConcurrentHashMap<String, AtomicLong>();
+		final AtomicInteger problemCount = new AtomicInteger();
+		final AtomicInteger errorCount = new AtomicInteger();
+		int fileCount;
+		long elapsed;
+
+		void addTime(String phase, long nanos) {
+			AtomicLong time = times.get(phase);
+			if (time == null) {
+				final AtomicLong newTime = new AtomicLong();
+				time = times.putIfAbsent(phase, newTime);
+				if (time == null) {
+					time = newTime;
+				}
+			}
+			time.addAndGet(nanos);
+		}
+
+		/**
+		 * Returns the time spent in the specified phase in milliseconds. The
+		 * times of the phases executed on the workers are summed over all the
+		 * workers.
+		 */
+		public long getTime(String phase) {
+			final AtomicLong time = times.get(phase);
+			return time != null ? TimeUnit.NANOSECONDS.toMillis(time.get())
+					: 0;
+		}
+
+		public int getFileCount() {
+			return fileCount;
+		}
+
+		public int getProblemCount() {
+			return problemCount.get();
+		}
+
+		public int getErrorCount() {
+			return errorCount.get();
+		}
+
+		/**
+		 * Returns the wall clock time of the whole validation in milliseconds.
+		 */
+		public long getElapsed() {
+			return elapsed;
+		}
+
+		public void print(PrintStream out) {
+			out.println("files: " + fileCount + ", problems: " + problemCount
+					+ ", errors: " + errorCount);
+			for (String phase : PHASES) {
+				out.println(phase + ": " + getTime(phase) + " ms");
+			}
+			out.println("total: " + elapsed + " ms");
+		}
+	}
+
+	/**
+	 * Validates the files and writes the problems to the specified output.
+	 */
+	public Result run(final Writer output, @Nullable IProgressMonitor monitor)
+			throws CoreException, IOException {
+		final long start = System.nanoTime();
+		final Result result = new Result();
+		final List<IBuildContext> contexts = new ArrayList<IBuildContext>();
+		scan(root, "", contexts);
+		result.fileCount = contexts.size();
+		result.addTime(PHASE_SCAN, System.nanoTime() - start);
+		final AtomicReference<IOException> outputError = new AtomicReference<IOException>();
+		final ParallelValidation validation = new ParallelValidation(
+				new TimedChainFactory(result), workerCount);
+		validation.setListener(new ParallelValidation.ModuleListener() {
+			public void moduleBuilt(IBuildContext context) {
+				final FileBuildContext file = (FileBuildContext) context;
+				final long outputStart = System.nanoTime();
+				try {
+					write(file, output, result, outputError);
+				} finally {
+					file.release();
+					result.addTime(PHASE_OUTPUT, System.nanoTime()
+							- outputStart);
+				}
+			}
+		});
+		validation.build(contexts, null, IBuildContext.FULL_BUILD, monitor);
+		if (outputError.get() != null) {
+			throw outputError.get();
+		}
+		output.flush();
+		result.elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime()
+				- start);
+		return result;
+	}
+
+	private void scan(File directory, String prefix,
+			List<IBuildContext> contexts) {
+		final String[] names = directory.list();
+		if (names == null) {
+			return;
+		}
+		Arrays.sort(names);
+		for (String name : names) {
+			if (name.startsWith(".")) {
+				continue;
+			}
+			final File file = new File(directory, name);
+			if (file.isDirectory()) {
+				scan(file, prefix + name + '/', contexts);
+			} else if (isIncluded(name)) {
+				contexts.add(new FileBuildContext(file, prefix + name,
+						encoding));
+			}
+		}
+	}
+
+	private boolean isIncluded(String name) {
+		for (String extension : extensions) {
+			if (name.endsWith(extension)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static void write(FileBuildContext file, Writer output,
+			Result result, AtomicReference<IOException> outputError) {
+		final StringBuilder sb = new StringBuilder();
+		if (file.getReadError() != null) {
+			result.errorCount.incrementAndGet();
+			sb.append("{\"file\":");
+			appendString(sb, file.getName());
+			sb.append(",\"severity\":\"error\",\"message\":");
+			appendString(sb, "Cannot read: " + file.getReadError().getMessage());
+			sb.append("}\n");
+		}
+		for (IProblem problem : file.getProblems()) {
+			result.problemCount.incrementAndGet();
+			if (problem.isError()) {
+				result.errorCount.incrementAndGet();
+			}
+			appendProblem(sb, file.getName(), problem);
+			sb.append('\n');
+		}
+		if (sb.length() == 0 || outputError.get() != null) {
+			return;
+		}
+		synchronized (output) {
+			try {
+				output.write(sb.toString());
+			} catch (IOException e) {
+				outputError.compareAndSet(null, e);
+			}
+		}
+	}
+
+	/**
+	 * Returns the JSON object describing the problem of the specified file.
+	 */
+	public static String toJson(String fileName, IProblem problem) {
+		final StringBuilder sb = new StringBuilder();
+		appendProblem(sb, fileName, problem);
+		return sb.toString();
+	}
+
+	private static void appendProblem(StringBuilder sb, String fileName,
+			IProblem problem) {
+		sb.append("{\"file\":");
+		appendString(sb, fileName);
+		sb.append(",\"line\":").append(problem.getSourceLineNumber() + 1);
+		sb.append(",\"start\":").append(problem.getSourceStart());
+		sb.append(",\"end\":").append(problem.getSourceEnd());
+		sb.append(",\"severity\":\"");
+		sb.append(problem.isError() ? "error" : problem.isWarning() ? "warning"
+				: "info");
+		sb.append('"');
+		if (problem.getID() != null) {
+			sb.append(",\"id\":");
+			appendString(sb, DefaultProblemIdentifier.encode(problem.getID()));
+		}
+		sb.append(",\"message\":");
+		appendString(sb, problem.getMessage());
+		sb.append('}');
+	}
+
+	static void appendString(StringBuilder sb, String value) {
+		sb.append('"');
+		for (int i = 0; i < value.length(); ++i) {
+			final char c = value.charAt(i);
+			switch (c) {
+			case '"':
+				sb.append("\\\"");
+				break;
+			case '\\':
+				sb.append("\\\\");
+				break;
+			case '\n':
+				sb.append("\\n");
+				break;
+			case '\r':
+				sb.append("\\r");
+				break;
+			case '\t':
+				sb.append("\\t");
+				break;
+			default:
+				if (c < 0x20) {
+					sb.append("\\u00");
+					sb.append(Character.forDigit((c >> 4) & 0xF, 16));
+					sb.append(Character.forDigit(c & 0xF, 16));
+				} else {
+					sb.append(c);
+				}
+			}
+		}
+		sb.append('"');
+	}
+
+	/**
+	 * The standard chain preceded by the parser, each participant measuring
+	 * the time of it's phase.
+	 */
+	private static class TimedChainFactory implements
+			ParallelValidation.ParticipantChainFactory {
+		private final Result result;
+
+		TimedChainFactory(Result result) {
+			this.result = result;
+		}
+
+		public IBuildParticipant[] createParticipants() throws CoreException {
+			final IBuildParticipant[] chain = ParallelValidation.standardChain(
+					null).createParticipants();
+			final List<IBuildParticipant> participants = new ArrayList<IBuildParticipant>();
+			participants.add(new TimedParticipant(PHASE_PARSE,
+					new IBuildParticipant() {
+						public void build(IBuildContext context)
+								throws CoreException {
+							JavaScriptValidations.parse(context);
+						}
+					}, result));
+			for (IBuildParticipant participant : chain) {
+				if (participant instanceof TypeInfoValidator) {
+					participants.add(new TimedParticipant(PHASE_TYPEINFO,
+							participant, result));
+				} else if (participant != null) {
+					participants.add(new TimedParticipant(PHASE_FLOW,
+							participant, result));
+				}
+			}
+			return participants.toArray(new IBuildParticipant[participants
+					.size()]);
+		}
+	}
+
+	private static class TimedParticipant implements IBuildParticipant,
+			IBuildParticipantExtension, IBuildParticipantExtension4 {
+		private final String phase;
+		private final IBuildParticipant participant;
+		private final Result result;
+
+		TimedParticipant(String phase, IBuildParticipant participant,
+				Result result) {
+			this.phase = phase;
+			this.participant = participant;
+			this.result = result;
+		}
+
+		public boolean beginBuild(int buildType) {
+			return !(participant instanceof IBuildParticipantExtension)
+					|| ((IBuildParticipantExtension) participant)
+							.beginBuild(buildType);
+		}
+
+		public void notifyDependents(IBuildParticipant[] dependents) {
+			if (participant instanceof IBuildParticipantExtension) {
+				((IBuildParticipantExtension) participant)
+						.notifyDependents(dependents);
+			}
+		}
+
+		public void build(IBuildContext context) throws CoreException {
+			final long start = System.nanoTime();
+			try {
+				participant.build(context);
+			} finally {
+				result.addTime(phase, System.nanoTime() - start);
+			}
+		}
+
+		public void afterBuild(IBuildContext context) {
+			if (participant instanceof IBuildParticipantExtension4) {
+				((IBuildParticipantExtension4) participant).afterBuild(context);
+			}
+		}
+
+		public void endBuild(IProgressMonitor monitor) {
+			if (participant instanceof IBuildParticipantExtension) {
+				((IBuildParticipantExtension) participant).endBuild(monitor);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.internal.javascript.validation;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+import org.eclipse.equinox.app.IApplication;
+import org.eclipse.equinox.app.IApplicationContext;
+
+/**
+ * Headless validation of the directory tree:
+ *
+ * <pre>
+ * eclipse -application org.eclipse.dltk.javascript.core.validate
+ *     [-workers N] [-encoding UTF-8] [-output problems.json] directory
+ * </pre>
+ *
+ * The problems are written as JSON lines to the output file (or to the
+ * standard output), the timings of the phases are printed to the standard
+ * error. Exits with <code>1</code> if there are errors.
+ */
+public class BatchValidationApplication implements IApplication {
+
+	private static final Integer EXIT_ERRORS = Integer.valueOf(1);
+	private static final Integer EXIT_USAGE = Integer.valueOf(2);
+
+	public Object start(IApplicationContext context) throws Exception {
+		final String[] args = (String[]) context.getArguments().get(
+				IApplicationContext.APPLICATION_ARGS);
+		String directory = null;
+		String output = null;
+		String encoding = BatchValidation.DEFAULT_ENCODING;
+		int workers = ParallelValidation.defaultWorkerCount();
+		for (int i = 0; args != null && i < args.length; ++i) {
+			final String arg = args[i];
+			if ("-workers".equals(arg) && i + 1 < args.length) {
+				try {
+					workers = Integer.parseInt(args[++i]);
+				} catch (NumberFormatException e) {
+					return usage("Invalid worker count: " + args[i]);
+				}
+			} else if ("-output".equals(arg) && i + 1 < args.length) {
+				output = args[++i];
+			} else if ("-encoding".equals(arg) && i + 1 < args.length) {
+				encoding = args[++i];
+			} else if (arg.startsWith("-")) {
+				return usage("Unknown option: " + arg);
+			} else {
+				directory = arg;
+			}
+		}
+		if (directory == null || !new File(directory).isDirectory()) {
+			return usage("Directory is not specified or does not exist");
+		}
+		final BatchValidation validation = new BatchValidation(new File(
+				directory));
+		validation.setWorkerCount(workers);
+		validation.setEncoding(encoding);
+		final Writer writer = new BufferedWriter(new OutputStreamWriter(
+				output != null ? new FileOutputStream(output) : System.out,
+				"UTF-8"));
+		final BatchValidation.Result result;
+		try {
+			result = validation.run(writer, null);
+		} finally {
+			if (output != null) {
+				writer.close();
+			} else {
+				writer.flush();
+			}
+		}
+		result.print(System.err);
+		return result.getErrorCount() != 0 ? EXIT_ERRORS : EXIT_OK;
+	}
+
+	private static Integer usage(String message) {
+		System.err.println(message);
+		System.err
+				.println("Usage: [-workers N] [-encoding UTF-8] [-output file] directory");
+		return EXIT_USAGE;
+	}
+
+	public void stop() {
+	}
+
+}
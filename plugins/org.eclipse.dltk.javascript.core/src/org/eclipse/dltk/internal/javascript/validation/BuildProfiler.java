@@ -0,0 +1,393 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.internal.javascript.validation;
+
+import static org.eclipse.core.runtime.Platform.getDebugOption;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.dltk.annotations.Nullable;
+import org.eclipse.dltk.compiler.problem.IProblem;
+import org.eclipse.dltk.compiler.problem.IProblemReporter;
+import org.eclipse.dltk.core.builder.IBuildContext;
+import org.eclipse.dltk.javascript.core.JavaScriptPlugin;
+
+/**
+ * Records the time spent by the JavaScript build participants in each phase
+ * for each module and after the build writes the slowest modules report and
+ * the trace in the Chrome trace event format (could be opened in
+ * <code>chrome://tracing</code>).
+ *
+ * <p>
+ * Enabled by the <code>org.eclipse.dltk.javascript.core/buildProfile</code>
+ * debug option, the reports are written to the
+ * <code>buildProfileDirectory</code> (the <code>profile</code> folder in the
+ * plugin state location by default) and the summary is printed to the
+ * standard output. When disabled the methods do nothing.
+ * </p>
+ */
+public class BuildProfiler {
+
+	public static final String PARSE = "parse"; //$NON-NLS-1$
+	public static final String FLOW = "flow"; //$NON-NLS-1$
+	public static final String INFERENCE = "inference"; //$NON-NLS-1$
+	public static final String DELAYED_VALIDATIONS = "delayed"; //$NON-NLS-1$
+	public static final String DEPENDENCIES = "dependencies"; //$NON-NLS-1$
+	public static final String TYPE_CHECK = "typecheck"; //$NON-NLS-1$
+	public static final String PROBLEMS = "problems"; //$NON-NLS-1$
+
+	/**
+	 * The phases in the report order.
+	 */
+	private static final String[] PHASES = { PARSE, FLOW, INFERENCE,
+			DELAYED_VALIDATIONS, TYPE_CHECK, DEPENDENCIES, PROBLEMS };
+
+	/**
+	 * The phases not nested into the other ones, their sum is the total time
+	 * of the module.
+	 */
+	private static final String[] TOP_LEVEL = { PARSE, FLOW, INFERENCE,
+			DEPENDENCIES };
+
+	private static final int DEFAULT_TOP = 20;
+
+	private static final BuildProfiler INSTANCE = createInstance();
+
+	private static BuildProfiler createInstance() {
+		if (!Boolean.valueOf(
+				getDebugOption("org.eclipse.dltk.javascript.core/buildProfile"))
+				.booleanValue()) {
+			return new BuildProfiler(false, null, DEFAULT_TOP);
+		}
+		final String directory = getDebugOption("org.eclipse.dltk.javascript.core/buildProfileDirectory");
+		int top = DEFAULT_TOP;
+		final String value = getDebugOption("org.eclipse.dltk.javascript.core/buildProfileTop");
+		if (value != null) {
+			try {
+				top = Integer.parseInt(value.trim());
+			} catch (NumberFormatException e) {
+				// fall thru
+			}
+		}
+		return new BuildProfiler(true,
+				directory != null && directory.trim().length() != 0 ? new File(
+						directory.trim()) : null, top);
+	}
+
+	public static BuildProfiler getInstance() {
+		return INSTANCE;
+	}
+
+	static class Event {
+		final String module;
+		final String phase;
+		final long thread;
+		final long start;
+		final long duration;
+
+		Event(String module, String phase, long thread, long start,
+				long duration) {
+			this.module = module;
+			this.phase = phase;
+			this.thread = thread;
+			this.start = start;
+			this.duration = duration;
+		}
+	}
+
+	private final boolean enabled;
+	@Nullable
+	private final File directory;
+	private final int top;
+	private final ConcurrentLinkedQueue<Event> events = new ConcurrentLinkedQueue<Event>();
+	private final ThreadLocal<String> currentModule = new ThreadLocal<String>();
+	private int activeBuilds;
+	private long buildStart;
+
+	/**
+	 * @param enabled
+	 *            if the events should be recorded
+	 * @param directory
+	 *            the directory to write the reports to, if <code>null</code>
+	 *            the plugin state location is used
+	 * @param top
+	 *            the number of the slowest modules to report
+	 */
+	public BuildProfiler(boolean enabled, @Nullable File directory, int top) {
+		this.enabled = enabled;
+		this.directory = directory;
+		this.top = top;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Returns the start time of the phase to be passed to the
+	 * <code>record()</code> methods.
+	 */
+	public long start() {
+		return enabled ? System.nanoTime() : 0;
+	}
+
+	/**
+	 * Records the phase of the specified module started at the specified
+	 * time.
+	 */
+	public void record(IBuildContext context, String phase, long start) {
+		if (enabled) {
+			add(nameOf(context), phase, start);
+		}
+	}
+
+	/**
+	 * Records the phase of the module set as current for this thread by
+	 * {@link #enter(IBuildContext)}.
+	 */
+	public void record(String phase, long start) {
+		if (enabled) {
+			add(currentModule.get(), phase, start);
+		}
+	}
+
+	private void add(@Nullable String module, String phase, long start) {
+		final long end = System.nanoTime();
+		events.add(new Event(module != null ? module : "?", phase, Thread
+				.currentThread().getId(), start, end - start));
+	}
+
+	/**
+	 * Sets the module processed by the current thread.
+	 */
+	public void enter(IBuildContext context) {
+		if (enabled) {
+			currentModule.set(nameOf(context));
+		}
+	}
+
+	public void exit() {
+		if (enabled) {
+			currentModule.remove();
+		}
+	}
+
+	private static String nameOf(IBuildContext context) {
+		final IPath path = ModuleShapes.pathOf(context);
+		return path != null ? path.toString() : "?";
+	}
+
+	/**
+	 * Returns the problem reporter of the specified context, measuring the
+	 * time spent reporting the problems if enabled.
+	 */
+	public IProblemReporter problemReporter(final IBuildContext context) {
+		final IProblemReporter reporter = context.getProblemReporter();
+		if (!enabled) {
+			return reporter;
+		}
+		final String module = nameOf(context);
+		return new IProblemReporter() {
+			public void reportProblem(IProblem problem) {
+				final long start = System.nanoTime();
+				try {
+					reporter.reportProblem(problem);
+				} finally {
+					add(module, PROBLEMS, start);
+				}
+			}
+
+			public Object getAdapter(@SuppressWarnings("rawtypes") Class adapter) {
+				return reporter.getAdapter(adapter);
+			}
+		};
+	}
+
+	/**
+	 * Called when the build participant begins the build. The build could be
+	 * executed by several instances of the participants (e.g. by the workers
+	 * of {@link ParallelValidation}), so the reports are written when all of
+	 * them have finished.
+	 */
+	public synchronized void buildStarted() {
+		if (enabled && activeBuilds++ == 0) {
+			events.clear();
+			buildStart = System.nanoTime();
+		}
+	}
+
+	public void buildFinished() {
+		if (!enabled) {
+			return;
+		}
+		final long start;
+		synchronized (this) {
+			if (activeBuilds == 0 || --activeBuilds != 0) {
+				return;
+			}
+			start = buildStart;
+		}
+		final List<Event> copy = new ArrayList<Event>(events);
+		events.clear();
+		if (copy.isEmpty()) {
+			return;
+		}
+		final long elapsed = System.nanoTime() - start;
+		final String report = report(copy, elapsed);
+		System.out.print(report);
+		final File dir = directory != null ? directory : defaultDirectory();
+		if (dir == null || !dir.isDirectory() && !dir.mkdirs()) {
+			return;
+		}
+		final String name = "build-"
+				+ new SimpleDateFormat("yyyyMMdd-HHmmss-SSS").format(new Date());
+		try {
+			write(new File(dir, name + ".txt"), report);
+			final StringBuilder trace = new StringBuilder();
+			appendTrace(trace, copy, start);
+			write(new File(dir, name + ".json"), trace.toString());
+		} catch (IOException e) {
+			JavaScriptPlugin.error(e);
+		}
+	}
+
+	@Nullable
+	private static File defaultDirectory() {
+		final JavaScriptPlugin plugin = JavaScriptPlugin.getDefault();
+		if (plugin == null) {
+			return null;
+		}
+		try {
+			return plugin.getStateLocation().append("profile").toFile(); //$NON-NLS-1$
+		} catch (IllegalStateException e) {
+			return null;
+		}
+	}
+
+	private static void write(File file, String content) throws IOException {
+		final Writer writer = new OutputStreamWriter(new FileOutputStream(
+				file), "UTF-8");
+		try {
+			writer.write(content);
+		} finally {
+			writer.close();
+		}
+	}
+
+	/**
+	 * The times of the single module.
+	 */
+	static class ModuleTimes {
+		final String module;
+		final Map<String, Long> phases = new HashMap<String, Long>();
+		long total;
+
+		ModuleTimes(String module) {
+			this.module = module;
+		}
+
+		long get(String phase) {
+			final Long time = phases.get(phase);
+			return time != null ? time.longValue() : 0;
+		}
+	}
+
+	static List<ModuleTimes> summarize(Iterable<Event> events) {
+		final Map<String, ModuleTimes> modules = new HashMap<String, ModuleTimes>();
+		for (Event event : events) {
+			ModuleTimes times = modules.get(event.module);
+			if (times == null) {
+				modules.put(event.module, times = new ModuleTimes(
+						event.module));
+			}
+			times.phases.put(event.phase, times.get(event.phase)
+					+ event.duration);
+		}
+		for (ModuleTimes times : modules.values()) {
+			for (String phase : TOP_LEVEL) {
+				times.total += times.get(phase);
+			}
+		}
+		final List<ModuleTimes> result = new ArrayList<ModuleTimes>(
+				modules.values());
+		Collections.sort(result, new Comparator<ModuleTimes>() {
+			public int compare(ModuleTimes o1, ModuleTimes o2) {
+				return o1.total > o2.total ? -1 : o1.total < o2.total ? 1 : 0;
+			}
+		});
+		return result;
+	}
+
+	String report(List<Event> events, long elapsed) {
+		final List<ModuleTimes> modules = summarize(events);
+		final StringBuilder sb = new StringBuilder();
+		sb.append("JavaScript build: ").append(modules.size())
+				.append(" modules in ").append(millis(elapsed)).append(" ms\n");
+		sb.append(String.format("%8s", "total"));
+		for (String phase : PHASES) {
+			sb.append(String.format(" %12s", phase));
+		}
+		sb.append("  module\n");
+		for (int i = 0; i < modules.size() && i < top; ++i) {
+			final ModuleTimes times = modules.get(i);
+			sb.append(String.format("%8d", millis(times.total)));
+			for (String phase : PHASES) {
+				sb.append(String.format(" %12d", millis(times.get(phase))));
+			}
+			sb.append("  ").append(times.module).append('\n');
+		}
+		return sb.toString();
+	}
+
+	private static long millis(long nanos) {
+		return TimeUnit.NANOSECONDS.toMillis(nanos);
+	}
+
+	static void appendTrace(StringBuilder sb, List<Event> events, long origin) {
+		sb.append("{\"traceEvents\":[");
+		boolean first = true;
+		for (Event event : events) {
+			if (!first) {
+				sb.append(",\n");
+			}
+			first = false;
+			sb.append("{\"name\":");
+			BatchValidation.appendString(sb, event.phase);
+			sb.append(",\"cat\":\"build\",\"ph\":\"X\",\"pid\":1,\"tid\":");
+			sb.append(event.thread);
+			sb.append(",\"ts\":").append(
+					TimeUnit.NANOSECONDS.toMicros(event.start - origin));
+			sb.append(",\"dur\":").append(
+					TimeUnit.NANOSECONDS.toMicros(event.duration));
+			sb.append(",\"args\":{\"module\":");
+			BatchValidation.appendString(sb, event.module);
+			sb.append("}}");
+		}
+		sb.append("]}\n");
+	}
+
+}
@@ -0,0 +1,241 @@
+/*******************************************************************************
+ * Copyright (c) 2010, 2012 xored software, Inc.  
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html  
+ *
+ * Contributors:
+ *     xored software, Inc. - initial API and Implementation (Alex Panchenko)
+ *******************************************************************************/
+package org.eclipse.dltk.internal.javascript.validation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.dltk.ast.ASTNode;
+import org.eclipse.dltk.compiler.problem.ProblemSeverity;
+import org.eclipse.dltk.core.builder.IBuildContext;
+import org.eclipse.dltk.javascript.ast.BinaryOperation;
+import org.eclipse.dltk.javascript.ast.BreakStatement;
+import org.eclipse.dltk.javascript.ast.ContinueStatement;
+import org.eclipse.dltk.javascript.ast.Expression;
+import org.eclipse.dltk.javascript.ast.FunctionStatement;
+import org.eclipse.dltk.javascript.ast.GetArrayItemExpression;
+import org.eclipse.dltk.javascript.ast.Identifier;
+import org.eclipse.dltk.javascript.ast.Keywords;
+import org.eclipse.dltk.javascript.ast.Label;
+import org.eclipse.dltk.javascript.ast.LabelledStatement;
+import org.eclipse.dltk.javascript.ast.LoopStatement;
+import org.eclipse.dltk.javascript.ast.ObjectInitializer;
+import org.eclipse.dltk.javascript.ast.ObjectInitializerPart;
+import org.eclipse.dltk.javascript.ast.PropertyExpression;
+import org.eclipse.dltk.javascript.ast.PropertyInitializer;
+import org.eclipse.dltk.javascript.ast.UnaryOperation;
+import org.eclipse.dltk.javascript.core.JavaScriptProblems;
+import org.eclipse.dltk.javascript.parser.JSParser;
+import org.eclipse.dltk.javascript.parser.Reporter;
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * The checks of the {@link CodeValidation} as the {@link NodeChecker}, so they
+ * could be executed during the traversal of the {@link FlowValidation}.
+ */
+public class CodeChecker extends NodeChecker {
+
+	private static final Class<?>[] NODE_KINDS = { FunctionStatement.class,
+			LabelledStatement.class, BreakStatement.class,
+			ContinueStatement.class, BinaryOperation.class,
+			UnaryOperation.class, ObjectInitializer.class };
+
+	static class LabelInfo {
+		final LabelledStatement statement;
+		boolean finished;
+
+		public LabelInfo(LabelledStatement statement) {
+			this.statement = statement;
+		}
+
+	}
+
+	static class Scope {
+
+		private final Map<String, LabelInfo> labels = new HashMap<String, LabelInfo>();
+
+		public boolean addLabel(LabelledStatement statement) {
+			final String label = statement.getLabel().getText();
+			if (labels.containsKey(label)) {
+				return false;
+			}
+			labels.put(label, new LabelInfo(statement));
+			return true;
+		}
+
+		public LabelInfo getLabel(String label) {
+			return labels.get(label);
+		}
+
+		public void removeLabel(LabelledStatement statement) {
+			LabelInfo info = labels.get(statement.getLabel().getText());
+			if (info != null) {
+				info.finished = true;
+			}
+		}
+	}
+
+	private Scope scope;
+	private final List<Scope> savedScopes = new ArrayList<Scope>();
+	private final Map<LabelledStatement, Boolean> addedLabels = new IdentityHashMap<LabelledStatement, Boolean>();
+
+	@Override
+	public Class<?>[] getNodeKinds() {
+		return NODE_KINDS;
+	}
+
+	@Override
+	public void begin(IBuildContext context, Reporter reporter) {
+		super.begin(context, reporter);
+		scope = new Scope();
+	}
+
+	@Override
+	public void end() {
+		super.end();
+		scope = null;
+		savedScopes.clear();
+		addedLabels.clear();
+	}
+
+	@Override
+	public void enter(ASTNode node) {
+		if (node instanceof FunctionStatement) {
+			savedScopes.add(scope);
+			scope = new Scope();
+		} else if (node instanceof LabelledStatement) {
+			final LabelledStatement statement = (LabelledStatement) node;
+			if (scope.addLabel(statement)) {
+				addedLabels.put(statement, Boolean.TRUE);
+			}
+		} else if (node instanceof BreakStatement) {
+			final BreakStatement statement = (BreakStatement) node;
+			if (statement.getLabel() != null) {
+				validateLabel(statement.getLabel(), statement.sourceStart(),
+						JSParser.BREAK);
+			}
+		} else if (node instanceof ContinueStatement) {
+			final ContinueStatement statement = (ContinueStatement) node;
+			if (statement.getLabel() != null) {
+				validateLabel(statement.getLabel(), statement.sourceStart(),
+						JSParser.CONTINUE);
+			}
+		} else if (node instanceof BinaryOperation) {
+			final BinaryOperation operation = (BinaryOperation) node;
+			if (operation.getOperation() == JSParser.ASSIGN
+					&& !canAssignTo(operation.getLeftExpression())) {
+				reporter.reportProblem(JavaScriptProblems.INVALID_ASSIGN_LEFT,
+						"Invalid assignment left-hand side.",
+						node.sourceStart(), node.sourceEnd());
+			}
+		} else if (node instanceof UnaryOperation) {
+			final UnaryOperation operation = (UnaryOperation) node;
+			if (isIncDec(operation.getOperation())
+					&& !canAssignTo(operation.getExpression())) {
+				reporter.reportProblem(JavaScriptProblems.INVALID_ASSIGN_LEFT,
+						"Invalid assignment left-hand side.",
+						node.sourceStart(), node.sourceEnd());
+			}
+		} else if (node instanceof ObjectInitializer) {
+			checkDuplicateProperties((ObjectInitializer) node);
+		}
+	}
+
+	@Override
+	public void leave(ASTNode node) {
+		if (node instanceof FunctionStatement) {
+			scope = savedScopes.remove(savedScopes.size() - 1);
+		} else if (node instanceof LabelledStatement) {
+			if (addedLabels.remove(node) != null) {
+				scope.removeLabel((LabelledStatement) node);
+			}
+		}
+	}
+
+	@Override
+	public void condition(Expression condition) {
+		if (condition instanceof BinaryOperation) {
+			BinaryOperation operation = (BinaryOperation) condition;
+			if (operation.getOperation() == JSParser.ASSIGN) {
+				reporter.reportProblem(JavaScriptProblems.EQUAL_AS_ASSIGN,
+						"Test for equality (==) mistyped as assignment (=)?",
+						condition.sourceStart(), condition.sourceEnd());
+			}
+		}
+	}
+
+	private void validateLabel(Label label, int statementStart, int token) {
+		final LabelInfo info = scope.getLabel(label.getText());
+		if (info == null) {
+			return;
+		}
+		if (info.finished) {
+			reporter.setMessage(
+					token == JSParser.BREAK ? JavaScriptProblems.BREAK_OUTSIDE_LABEL
+							: JavaScriptProblems.CONTINUE_OUTSIDE_LABEL,
+					Keywords.fromToken(token)
+							+ " outside of labelled statement");
+			reporter.setSeverity(ProblemSeverity.ERROR);
+			reporter.setRange(statementStart, label.sourceEnd());
+			reporter.report();
+			return;
+		}
+		if (!info.finished
+				&& info.statement.getStatement() instanceof LoopStatement) {
+			return;
+		}
+		if (token == JSParser.BREAK) {
+			return;
+		}
+		reporter.setMessage(JavaScriptProblems.CONTINUE_NON_LOOP_LABEL,
+				"continue can only use labels of iteration statements");
+		reporter.setSeverity(ProblemSeverity.ERROR);
+		reporter.setRange(statementStart, label.sourceEnd());
+		reporter.report();
+	}
+
+	private boolean isIncDec(int operation) {
+		return operation == JSParser.INC || operation == JSParser.DEC
+				|| operation == JSParser.PINC || operation == JSParser.PDEC;
+	}
+
+	private boolean canAssignTo(Expression expression) {
+		// TODO what else? XML?
+		return expression instanceof Identifier
+				|| expression instanceof PropertyExpression
+				|| expression instanceof GetArrayItemExpression;
+	}
+
+	private void checkDuplicateProperties(ObjectInitializer node) {
+		final Set<String> processed = new HashSet<String>();
+		for (ObjectInitializerPart part : node.getInitializers()) {
+			if (part instanceof PropertyInitializer) {
+				final PropertyInitializer property = (PropertyInitializer) part;
+				final String propertyName = property.getNameAsString();
+				if (propertyName != null && !processed.add(propertyName)) {
+					reporter.reportProblem(
+							JavaScriptProblems.DUPLICATE_PROPERTY_IN_LITERAL,
+							NLS.bind(
+									"Duplicate property {0} in object literal",
+									propertyName), property.getName()
+									.sourceStart(), property.getName()
+									.sourceEnd());
+				}
+			}
+		}
+	}
+}
@@ -16,11 +16,18 @@ import org.eclipse.dltk.core.IScriptProject;
 import org.eclipse.dltk.core.builder.IBuildParticipant;
 import org.eclipse.dltk.core.builder.IBuildParticipantFactory;
 
+/**
+ * Factory of the <code>buildParticipant.code</code> participant, kept so the
+ * existing references to its id still resolve. The code checks are executed by
+ * the {@link FlowValidationFactory} participant in the same AST traversal, so
+ * this factory creates nothing.
+ */
 public class CodeValidationFactory implements IBuildParticipantFactory {
 
 	public IBuildParticipant createBuildParticipant(IScriptProject project)
 			throws CoreException {
-		return new CodeValidation();
+		// executed by the FlowValidationFactory participant in the same pass
+		return null;
 	}
 
 }
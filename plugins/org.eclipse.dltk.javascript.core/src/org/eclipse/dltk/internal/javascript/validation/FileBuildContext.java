@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.internal.javascript.validation;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.dltk.compiler.problem.IProblem;
+import org.eclipse.dltk.compiler.problem.IProblemReporter;
+import org.eclipse.dltk.compiler.problem.ProblemCollector;
+import org.eclipse.dltk.compiler.task.ITaskReporter;
+import org.eclipse.dltk.core.IModelElement;
+import org.eclipse.dltk.core.ISourceModule;
+import org.eclipse.dltk.core.builder.IBuildContext;
+import org.eclipse.dltk.core.builder.ISourceLineTracker;
+import org.eclipse.dltk.core.environment.IFileHandle;
+import org.eclipse.dltk.utils.TextUtils;
+
+/**
+ * {@link IBuildContext} of the file outside of the workspace, used by the
+ * headless validation. The content is loaded on the first access and
+ * everything except the problems is released by {@link #release()}, so the
+ * contexts of the whole tree could be kept in memory.
+ */
+public class FileBuildContext implements IBuildContext {
+
+	private final File file;
+	private final String name;
+	private final String encoding;
+	private final Map<String, Object> attributes = new HashMap<String, Object>();
+	private final ProblemCollector problems = new ProblemCollector();
+	private String content;
+	private ISourceLineTracker lineTracker;
+	private IOException readError;
+
+	/**
+	 * @param file
+	 *            the file to validate
+	 * @param name
+	 *            the name of the file to report, e.g. the path relative to
+	 *            the validated directory
+	 * @param encoding
+	 *            the encoding of the file
+	 */
+	public FileBuildContext(File file, String name, String encoding) {
+		this.file = file;
+		this.name = name;
+		this.encoding = encoding;
+	}
+
+	public File getLocation() {
+		return file;
+	}
+
+	/**
+	 * Returns the name of the file to report.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	public Object get(String attribute) {
+		return attributes.get(attribute);
+	}
+
+	public void set(String attribute, Object value) {
+		attributes.put(attribute, value);
+	}
+
+	public int getBuildType() {
+		return FULL_BUILD;
+	}
+
+	public synchronized String getSourceContents() {
+		if (content == null) {
+			try {
+				content = read(file, encoding);
+			} catch (IOException e) {
+				readError = e;
+				content = "";
+			}
+		}
+		return content;
+	}
+
+	/**
+	 * Returns the error occurred when reading the file or <code>null</code>.
+	 */
+	public IOException getReadError() {
+		return readError;
+	}
+
+	static String read(File file, String encoding) throws IOException {
+		final Reader reader = new InputStreamReader(new FileInputStream(file),
+				encoding);
+		try {
+			final StringBuilder sb = new StringBuilder((int) file.length());
+			final char[] buffer = new char[8192];
+			int len;
+			while ((len = reader.read(buffer)) != -1) {
+				sb.append(buffer, 0, len);
+			}
+			return sb.toString();
+		} finally {
+			reader.close();
+		}
+	}
+
+	public char[] getContents() {
+		return getSourceContents().toCharArray();
+	}
+
+	public char[] getContentsAsCharArray() {
+		return getContents();
+	}
+
+	public IFile getFile() {
+		return null;
+	}
+
+	public IFileHandle getFileHandle() {
+		return null;
+	}
+
+	public synchronized ISourceLineTracker getLineTracker() {
+		if (lineTracker == null) {
+			lineTracker = TextUtils.createLineTracker(getSourceContents());
+		}
+		return lineTracker;
+	}
+
+	public IProblemReporter getProblemReporter() {
+		return problems;
+	}
+
+	public ITaskReporter getTaskReporter() {
+		return problems;
+	}
+
+	public List<IProblem> getProblems() {
+		return problems.getProblems();
+	}
+
+	public ISourceModule getSourceModule() {
+		return null;
+	}
+
+	public IModelElement getModelElement() {
+		return null;
+	}
+
+	public String getFileName() {
+		return file.getAbsolutePath();
+	}
+
+	public void recordDependency(IPath dependency, int flags) {
+	}
+
+	/**
+	 * Releases the content, the AST and the other attributes of the module.
+	 */
+	public synchronized void release() {
+		content = null;
+		lineTracker = null;
+		attributes.clear();
+	}
+
+}
@@ -16,6 +16,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.dltk.ast.ASTNode;
 import org.eclipse.dltk.core.builder.IBuildContext;
 import org.eclipse.dltk.core.builder.IBuildParticipant;
 import org.eclipse.dltk.internal.javascript.ti.JSDocSupport;
@@ -52,21 +53,113 @@ import org.eclipse.osgi.util.NLS;
 public class FlowValidation extends AbstractNavigationVisitor<FlowStatus>
 		implements IBuildParticipant {
 
+	/**
+	 * Public identifier of this build participant.
+	 */
+	public static final String ID = "org.eclipse.dltk.javascript.core.buildParticipant.flow";
+
 	private Reporter reporter;
 	private FlowScope scope;
+	private final NodeCheckers checkers;
+
+	public FlowValidation() {
+		this(new NodeChecker[0]);
+	}
+
+	/**
+	 * Creates the flow validation executing the specified checkers during the
+	 * same AST traversal. The parts of the AST skipped by the flow analysis
+	 * (unreachable code, return values, etc) are walked for the checkers only,
+	 * so each node is visited exactly once.
+	 */
+	public FlowValidation(NodeChecker... checkers) {
+		this.checkers = checkers.length != 0 ? new NodeCheckers(checkers)
+				: null;
+	}
 
 	public void build(IBuildContext context) throws CoreException {
 		final Script script = JavaScriptValidations.parse(context);
 		if (script == null) {
 			return;
 		}
-		reporter = JavaScriptValidations.createReporter(context);
+		final BuildProfiler profiler = BuildProfiler.getInstance();
+		final long start = profiler.start();
+		reporter = createReporter(context);
 		scope = new FlowScope();
-		visit(script);
+		try {
+			if (checkers != null) {
+				checkers.begin(context, reporter);
+				try {
+					visit(script);
+				} finally {
+					checkers.end();
+				}
+			} else {
+				visit(script);
+			}
+		} finally {
+			ProblemBatch.of(context).flush();
+		}
+		profiler.record(context, BuildProfiler.FLOW, start);
+	}
+
+	protected Reporter createReporter(IBuildContext context) {
+		return JavaScriptValidations.createReporter(context);
+	}
+
+	@Override
+	public FlowStatus visit(ASTNode node) {
+		if (checkers == null || node == null) {
+			return super.visit(node);
+		}
+		checkers.enter(node);
+		final FlowStatus result = super.visit(node);
+		checkers.leave(node);
+		return result;
+	}
+
+	@Override
+	protected void visitCondition(Expression condition) {
+		super.visitCondition(condition);
+		if (checkers != null && condition != null) {
+			checkers.condition(condition);
+		}
+	}
+
+	/**
+	 * Notifies the checkers about the node not visited via
+	 * {@link #visit(ASTNode)}, like the catch, finally and switch clauses.
+	 */
+	private void enterClause(ASTNode node) {
+		if (checkers != null) {
+			checkers.enter(node);
+		}
+	}
+
+	private void leaveClause(ASTNode node) {
+		if (checkers != null) {
+			checkers.leave(node);
+		}
+	}
+
+	/**
+	 * Walks the node not analyzed by the flow validation for the checkers.
+	 */
+	private void skipped(ASTNode node) {
+		if (checkers != null && node != null) {
+			checkers.walk(node);
+		}
+	}
+
+	private void skippedCondition(Expression condition) {
+		if (checkers != null && condition != null) {
+			checkers.walkCondition(condition);
+		}
 	}
 
 	@Override
 	public FlowStatus visitReturnStatement(ReturnStatement node) {
+		skipped(node.getValue());
 		final FlowEndKind kind = node.getValue() != null ? FlowEndKind.RETURNS_VALUE
 				: FlowEndKind.RETURNS;
 		if (scope.add(kind) && scope.size() > 1) {
@@ -113,8 +206,10 @@ public class FlowValidation extends AbstractNavigationVisitor<FlowStatus>
 				if (isSwitch && statement instanceof BreakStatement
 						&& firstBreak && status.isReturned()) {
 					firstBreak = false;
+					skipped(statement);
 					continue;
 				}
+				skipped(statement);
 				if (startRange > statement.sourceStart())
 					startRange = statement.sourceStart();
 				if (endRange < statement.sourceEnd())
@@ -147,6 +242,7 @@ public class FlowValidation extends AbstractNavigationVisitor<FlowStatus>
 	@Override
 	public FlowStatus visitIfStatement(IfStatement node) {
 
+		skippedCondition(node.getCondition());
 		FlowStatus status = new FlowStatus();
 		status.noReturn = true;
 
@@ -276,6 +372,8 @@ public class FlowValidation extends AbstractNavigationVisitor<FlowStatus>
 			status.returnThrow = false;
 		}
 		for (CatchClause catchClause : node.getCatches()) {
+			enterClause(catchClause);
+			skipped(catchClause.getFilterExpression());
 			final Statement catchStatement = catchClause.getStatement();
 			if (catchStatement != null) {
 				final FlowStatus c = visit(catchStatement);
@@ -283,8 +381,10 @@ public class FlowValidation extends AbstractNavigationVisitor<FlowStatus>
 					status.add(c);
 				}
 			}
+			leaveClause(catchClause);
 		}
 		if (node.getFinally() != null) {
+			enterClause(node.getFinally());
 			final Statement finallyStatement = node.getFinally().getStatement();
 			if (finallyStatement != null) {
 				final FlowStatus f = visit(finallyStatement);
@@ -292,6 +392,7 @@ public class FlowValidation extends AbstractNavigationVisitor<FlowStatus>
 					status.add(f);
 				}
 			}
+			leaveClause(node.getFinally());
 		}
 		return status;
 	}
@@ -303,6 +404,7 @@ public class FlowValidation extends AbstractNavigationVisitor<FlowStatus>
 		if (node.getCondition() != null)
 			visit(node.getCondition());
 		for (SwitchComponent component : node.getCaseClauses()) {
+			enterClause(component);
 			if (component instanceof CaseClause) {
 				final CaseClause caseClause = (CaseClause) component;
 				if (caseClause.getCondition() != null) {
@@ -311,6 +413,7 @@ public class FlowValidation extends AbstractNavigationVisitor<FlowStatus>
 			}
 			final FlowStatus s = visitStatements(component.getStatements(),
 					true);
+			leaveClause(component);
 			if (component instanceof DefaultClause) {
 				defaultClause = s;
 			} else {
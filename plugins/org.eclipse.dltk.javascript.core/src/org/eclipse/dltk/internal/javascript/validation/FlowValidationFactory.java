@@ -12,33 +12,86 @@
 
 package org.eclipse.dltk.internal.javascript.validation;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.dltk.compiler.problem.IProblem;
 import org.eclipse.dltk.core.IScriptProject;
 import org.eclipse.dltk.core.builder.IBuildContext;
 import org.eclipse.dltk.core.builder.IBuildParticipant;
 import org.eclipse.dltk.core.builder.IBuildParticipantFactory;
 import org.eclipse.dltk.javascript.ast.FunctionStatement;
+import org.eclipse.dltk.javascript.parser.Reporter;
 
 public class FlowValidationFactory implements IBuildParticipantFactory {
 
 	public IBuildParticipant createBuildParticipant(IScriptProject project)
 			throws CoreException {
-		return new FlowValidation() {
+		return new FlowValidation(new CodeChecker()) {
 
 			private Set<FunctionStatement> inconsistentReturns;
+			private String preferenceHash;
+			private List<IProblem> problems;
 
 			@Override
 			public void build(IBuildContext context) throws CoreException {
-				super.build(context);
-				if (inconsistentReturns != null) {
-					context.set(
-							JavaScriptValidations.ATTR_INCONSISTENT_RETURNS,
-							inconsistentReturns);
-					inconsistentReturns = null;
+				final ValidationResultCache cache = ValidationResultCache
+						.getInstance();
+				final IPath path = cache != null ? ModuleShapes
+						.pathOf(context) : null;
+				final String contentHash;
+				if (path != null) {
+					contentHash = ValidationResultCache.contentHashOf(context);
+					if (preferenceHash == null) {
+						preferenceHash = ValidationResultCache
+								.preferenceHash(context);
+					}
+					final ValidationResultCache.Entry entry = cache.lookup(ID,
+							path, contentHash, preferenceHash);
+					if (entry != null) {
+						final ProblemBatch batch = ProblemBatch.of(context);
+						for (IProblem problem : entry.problems) {
+							batch.reportProblem(problem);
+						}
+						batch.flush();
+						return;
+					}
+					problems = new ArrayList<IProblem>();
+				} else {
+					contentHash = null;
 				}
+				try {
+					super.build(context);
+					if (inconsistentReturns != null) {
+						context.set(
+								JavaScriptValidations.ATTR_INCONSISTENT_RETURNS,
+								inconsistentReturns);
+						inconsistentReturns = null;
+					} else if (path != null) {
+						// the results with inconsistent returns are not cached,
+						// as they are also needed by the TypeInfoValidator
+						cache.store(ID, path, new ValidationResultCache.Entry(
+								contentHash, preferenceHash, null, Collections
+										.<IPath, String> emptyMap(), problems));
+					}
+				} finally {
+					problems = null;
+				}
+			}
+
+			@Override
+			protected Reporter createReporter(IBuildContext context) {
+				if (problems != null) {
+					return new Reporter(context.getLineTracker(),
+							new RecordingProblemReporter(ProblemBatch
+									.of(context), problems));
+				}
+				return super.createReporter(context);
 			}
 
 			@Override
@@ -55,21 +55,28 @@ public class JavaScriptValidations {
 		if (savedAST instanceof Script) {
 			return (Script) savedAST;
 		}
-		final ISourceModule module = context.getSourceModule();
-		if (module != null) {
-			// TODO pass additional predicate here...
-			final IModuleDeclaration declaration = SourceParserUtil.parse(
-					module, context.getProblemReporter());
-			if (declaration instanceof Script) {
-				context.set(IBuildContext.ATTR_MODULE_DECLARATION, declaration);
-				return (Script) declaration;
+		final BuildProfiler profiler = BuildProfiler.getInstance();
+		final long start = profiler.start();
+		try {
+			final ISourceModule module = context.getSourceModule();
+			if (module != null) {
+				// TODO pass additional predicate here...
+				final IModuleDeclaration declaration = SourceParserUtil.parse(
+						module, context.getProblemReporter());
+				if (declaration instanceof Script) {
+					context.set(IBuildContext.ATTR_MODULE_DECLARATION,
+							declaration);
+					return (Script) declaration;
+				}
 			}
+			final JavaScriptParser parser = new JavaScriptParser();
+			final Script script = parser.parse(context,
+					context.getProblemReporter());
+			context.set(IBuildContext.ATTR_MODULE_DECLARATION, script);
+			return script;
+		} finally {
+			profiler.record(context, BuildProfiler.PARSE, start);
 		}
-		final JavaScriptParser parser = new JavaScriptParser();
-		final Script script = parser.parse(context,
-				context.getProblemReporter());
-		context.set(IBuildContext.ATTR_MODULE_DECLARATION, script);
-		return script;
 	}
 
 	public static IRType typeOf(IValueReference reference) {
@@ -108,7 +115,7 @@ public class JavaScriptValidations {
 
 	protected static Reporter createReporter(IBuildContext context) {
 		return new Reporter(context.getLineTracker(),
-				context.getProblemReporter());
+				ProblemBatch.of(context));
 	}
 
 	/**
@@ -0,0 +1,279 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.internal.javascript.validation;
+
+import static org.eclipse.dltk.internal.javascript.ti.IReferenceAttributes.R_METHOD;
+
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.dltk.annotations.Nullable;
+import org.eclipse.dltk.compiler.problem.IProblem;
+import org.eclipse.dltk.core.builder.IBuildContext;
+import org.eclipse.dltk.javascript.typeinference.IValueParent;
+import org.eclipse.dltk.javascript.typeinference.IValueReference;
+import org.eclipse.dltk.javascript.typeinfo.IRMethod;
+import org.eclipse.dltk.javascript.typeinfo.IRParameter;
+import org.eclipse.dltk.javascript.typeinfo.IRType;
+import org.eclipse.dltk.javascript.typeinfo.JSTypeSet;
+
+/**
+ * The "public shape" fingerprints of the modules (top level names, their
+ * declared and inferred types, method signatures and the members of the
+ * exported objects) and the results of the last validation of each module.
+ *
+ * A module, which is validated again only because of the changed
+ * dependency, reuses the previous results if neither it's content nor the
+ * shapes of it's dependencies have changed, so editing the function body in
+ * the library does not revalidate all the modules using that library.
+ *
+ * The entries are removed when the files are removed and the projects are
+ * closed, deleted or cleaned. The full builds do not replay the records.
+ */
+public class ModuleShapes {
+
+	public static final ModuleShapes INSTANCE = new ModuleShapes();
+
+	/**
+	 * How deep the members of the exported objects are included in the shape.
+	 */
+	private static final int MEMBER_DEPTH = 2;
+
+	private final ConcurrentMap<IPath, String> shapes = new ConcurrentHashMap<IPath, String>();
+	private final ConcurrentMap<IPath, Record> records = new ConcurrentHashMap<IPath, Record>();
+
+	/**
+	 * The results of the validation of the module.
+	 */
+	static class Record {
+		final String contentHash;
+		final Map<IPath, String> dependencies;
+		final List<IProblem> problems;
+
+		Record(String contentHash, Map<IPath, String> dependencies,
+				List<IProblem> problems) {
+			this.contentHash = contentHash;
+			this.dependencies = dependencies;
+			this.problems = problems;
+		}
+	}
+
+	/**
+	 * Returns the path identifying the module being built or <code>null</code>
+	 * if it's not known.
+	 */
+	@Nullable
+	public static IPath pathOf(IBuildContext context) {
+		if (context.getFile() != null) {
+			return context.getFile().getFullPath();
+		} else if (context.getSourceModule() != null) {
+			return context.getSourceModule().getPath();
+		} else if (context.getFileName() != null) {
+			return new Path(context.getFileName());
+		} else {
+			return null;
+		}
+	}
+
+	/**
+	 * Computes the shape fingerprint of the specified top level collection.
+	 */
+	public static String fingerprint(IValueParent collection) {
+		final StringBuilder sb = new StringBuilder();
+		appendChildren(sb, collection, MEMBER_DEPTH);
+		return digest(sb.toString());
+	}
+
+	private static void appendChildren(StringBuilder sb, IValueParent parent,
+			int depth) {
+		for (String name : new TreeSet<String>(parent.getDirectChildren())) {
+			final IValueReference child = parent.getChild(name);
+			sb.append(name);
+			appendReference(sb, child);
+			if (depth > 1) {
+				sb.append('{');
+				appendChildren(sb, child, depth - 1);
+				sb.append('}');
+			}
+			sb.append(';');
+		}
+	}
+
+	private static void appendReference(StringBuilder sb,
+			IValueReference reference) {
+		final Object method = reference.getAttribute(R_METHOD);
+		if (method instanceof IRMethod) {
+			final IRMethod m = (IRMethod) method;
+			sb.append('(');
+			for (IRParameter parameter : m.getParameters()) {
+				sb.append(parameter.getName()).append(':');
+				appendType(sb, parameter.getType());
+				sb.append(parameter.getKind()).append(',');
+			}
+			sb.append(')').append(m.getVisibility());
+			sb.append(':');
+			appendType(sb, m.getType());
+			// inferred return type
+			appendTypes(sb, reference.getChild(IValueReference.FUNCTION_OP)
+					.getTypes());
+		}
+		sb.append(':');
+		appendType(sb, reference.getDeclaredType());
+		appendTypes(sb, reference.getDeclaredTypes());
+		appendTypes(sb, reference.getTypes());
+	}
+
+	private static void appendType(StringBuilder sb, IRType type) {
+		if (type != null) {
+			sb.append(type.getName());
+		}
+		sb.append('|');
+	}
+
+	private static void appendTypes(StringBuilder sb, JSTypeSet types) {
+		if (types == null || types.isEmpty()) {
+			sb.append('|');
+			return;
+		}
+		final List<String> names = new ArrayList<String>();
+		for (IRType type : types) {
+			names.add(type.getName());
+		}
+		Collections.sort(names);
+		sb.append(names).append('|');
+	}
+
+	static String digest(String value) {
+		try {
+			final MessageDigest digest = MessageDigest.getInstance("SHA-1");
+			final byte[] bytes = digest.digest(value.getBytes("UTF-8"));
+			final StringBuilder sb = new StringBuilder(bytes.length * 2);
+			for (byte b : bytes) {
+				sb.append(Character.forDigit((b >> 4) & 0xF, 16));
+				sb.append(Character.forDigit(b & 0xF, 16));
+			}
+			return sb.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		} catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Returns the last known shape of the specified module.
+	 */
+	@Nullable
+	public String getShape(IPath path) {
+		return shapes.get(path);
+	}
+
+	/**
+	 * Saves the shape of the specified module, returns <code>true</code> if it
+	 * was different before.
+	 */
+	public boolean updateShape(IPath path, String shape) {
+		return !shape.equals(shapes.put(path, shape));
+	}
+
+	/**
+	 * Returns the state of the dependency: the shape if the dependency is the
+	 * validated module, the modification stamp of the file otherwise.
+	 */
+	@Nullable
+	String stateOf(IPath dependency) {
+		final String shape = shapes.get(dependency);
+		if (shape != null) {
+			return shape;
+		}
+		if (ResourcesPlugin.getPlugin() == null
+				|| dependency.segmentCount() < 2) {
+			return null;
+		}
+		final IFile file = ResourcesPlugin.getWorkspace().getRoot()
+				.getFile(dependency);
+		return file.exists() ? "#" + file.getModificationStamp() : null;
+	}
+
+	Map<IPath, String> statesOf(Iterable<IPath> dependencies) {
+		final Map<IPath, String> result = new HashMap<IPath, String>();
+		for (IPath dependency : dependencies) {
+			result.put(dependency, stateOf(dependency));
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the results of the previous validation if they are still valid
+	 * for the specified content.
+	 */
+	@Nullable
+	Record getValidRecord(IPath path, String contentHash) {
+		final Record record = records.get(path);
+		if (record == null || !record.contentHash.equals(contentHash)) {
+			return null;
+		}
+		for (Map.Entry<IPath, String> entry : record.dependencies.entrySet()) {
+			final String state = stateOf(entry.getKey());
+			if (state == null || !state.equals(entry.getValue())) {
+				return null;
+			}
+		}
+		return record;
+	}
+
+	void putRecord(IPath path, Record record) {
+		records.put(path, record);
+	}
+
+	public void remove(IPath path) {
+		shapes.remove(path);
+		records.remove(path);
+	}
+
+	/**
+	 * Removes the modules under the specified path, e.g. of the project.
+	 */
+	public void removeAll(IPath prefix) {
+		shapes.keySet().removeAll(selectUnder(prefix, shapes.keySet()));
+		records.keySet().removeAll(selectUnder(prefix, records.keySet()));
+	}
+
+	private static List<IPath> selectUnder(IPath prefix, Iterable<IPath> paths) {
+		final List<IPath> result = new ArrayList<IPath>();
+		for (IPath path : paths) {
+			if (prefix.isPrefixOf(path)) {
+				result.add(path);
+			}
+		}
+		return result;
+	}
+
+	public void clear() {
+		shapes.clear();
+		records.clear();
+	}
+
+}
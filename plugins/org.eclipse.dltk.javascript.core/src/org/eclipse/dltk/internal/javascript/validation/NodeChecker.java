@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.internal.javascript.validation;
+
+import org.eclipse.dltk.ast.ASTNode;
+import org.eclipse.dltk.core.builder.IBuildContext;
+import org.eclipse.dltk.javascript.ast.Expression;
+import org.eclipse.dltk.javascript.parser.Reporter;
+
+/**
+ * Stateless-per-node validation check, which is called while some other
+ * visitor walks the AST, so several checks could share a single traversal.
+ * 
+ * @see NodeCheckers
+ */
+public abstract class NodeChecker {
+
+	protected Reporter reporter;
+
+	/**
+	 * Returns the node classes this checker is interested in. Only the nodes
+	 * of these (or derived) classes are passed to {@link #enter(ASTNode)} and
+	 * {@link #leave(ASTNode)}.
+	 */
+	public abstract Class<?>[] getNodeKinds();
+
+	public void begin(IBuildContext context, Reporter reporter) {
+		this.reporter = reporter;
+	}
+
+	/**
+	 * Called before the children of the specified node are visited.
+	 */
+	public void enter(ASTNode node) {
+	}
+
+	/**
+	 * Called after the children of the specified node are visited.
+	 */
+	public void leave(ASTNode node) {
+	}
+
+	/**
+	 * Called after the condition expression of the if, while or do-while
+	 * statement is visited.
+	 */
+	public void condition(Expression condition) {
+	}
+
+	public void end() {
+		reporter = null;
+	}
+
+}
@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.internal.javascript.validation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.dltk.ast.ASTNode;
+import org.eclipse.dltk.core.builder.IBuildContext;
+import org.eclipse.dltk.javascript.ast.AbstractNavigationVisitor;
+import org.eclipse.dltk.javascript.ast.CaseClause;
+import org.eclipse.dltk.javascript.ast.CatchClause;
+import org.eclipse.dltk.javascript.ast.Expression;
+import org.eclipse.dltk.javascript.ast.JSUserNode;
+import org.eclipse.dltk.javascript.ast.Statement;
+import org.eclipse.dltk.javascript.ast.SwitchComponent;
+import org.eclipse.dltk.javascript.ast.SwitchStatement;
+import org.eclipse.dltk.javascript.ast.TryStatement;
+import org.eclipse.dltk.javascript.parser.Reporter;
+
+/**
+ * Dispatches the AST callbacks to the {@link NodeChecker}s interested in the
+ * particular node class. Not thread safe, each build participant should have
+ * it's own instance.
+ */
+public class NodeCheckers {
+
+	private static final NodeChecker[] NONE = new NodeChecker[0];
+
+	private final NodeChecker[] checkers;
+	private final Map<Class<?>, NodeChecker[]> dispatch = new HashMap<Class<?>, NodeChecker[]>();
+
+	public NodeCheckers(NodeChecker... checkers) {
+		this.checkers = checkers;
+	}
+
+	public boolean isEmpty() {
+		return checkers.length == 0;
+	}
+
+	public void begin(IBuildContext context, Reporter reporter) {
+		for (NodeChecker checker : checkers) {
+			checker.begin(context, reporter);
+		}
+	}
+
+	public void end() {
+		for (NodeChecker checker : checkers) {
+			checker.end();
+		}
+	}
+
+	private NodeChecker[] checkersFor(ASTNode node) {
+		if (node instanceof JSUserNode) {
+			final ASTNode original = ((JSUserNode) node).getOriginal();
+			if (original != null) {
+				node = original;
+			}
+		}
+		final Class<?> nodeClass = node.getClass();
+		NodeChecker[] result = dispatch.get(nodeClass);
+		if (result == null) {
+			final List<NodeChecker> selected = new ArrayList<NodeChecker>();
+			for (NodeChecker checker : checkers) {
+				for (Class<?> kind : checker.getNodeKinds()) {
+					if (kind.isAssignableFrom(nodeClass)) {
+						selected.add(checker);
+						break;
+					}
+				}
+			}
+			result = selected.isEmpty() ? NONE : selected
+					.toArray(new NodeChecker[selected.size()]);
+			dispatch.put(nodeClass, result);
+		}
+		return result;
+	}
+
+	public void enter(ASTNode node) {
+		for (NodeChecker checker : checkersFor(node)) {
+			checker.enter(node);
+		}
+	}
+
+	public void leave(ASTNode node) {
+		final NodeChecker[] selected = checkersFor(node);
+		for (int i = selected.length; --i >= 0;) {
+			selected[i].leave(node);
+		}
+	}
+
+	public void condition(Expression condition) {
+		for (NodeChecker checker : checkers) {
+			checker.condition(condition);
+		}
+	}
+
+	private final Walker walker = new Walker();
+
+	/**
+	 * Walks the whole subtree of the specified node calling the checkers.
+	 */
+	public void walk(ASTNode node) {
+		walker.visit(node);
+	}
+
+	/**
+	 * Walks the specified condition expression calling the checkers, including
+	 * {@link NodeChecker#condition(Expression)}.
+	 */
+	public void walkCondition(Expression condition) {
+		walker.visitCondition(condition);
+	}
+
+	private class Walker extends AbstractNavigationVisitor<Object> {
+		@Override
+		public Object visit(ASTNode node) {
+			if (node == null) {
+				return null;
+			}
+			enter(node);
+			final Object result = super.visit(node);
+			leave(node);
+			return result;
+		}
+
+		@Override
+		protected void visitCondition(Expression condition) {
+			super.visitCondition(condition);
+			if (condition != null) {
+				condition(condition);
+			}
+		}
+
+		@Override
+		public Object visitSwitchStatement(SwitchStatement node) {
+			if (node.getCondition() != null)
+				visit(node.getCondition());
+			for (SwitchComponent component : node.getCaseClauses()) {
+				enter(component);
+				if (component instanceof CaseClause) {
+					final CaseClause caseClause = (CaseClause) component;
+					if (caseClause.getCondition() != null) {
+						visit(caseClause.getCondition());
+					}
+				}
+				for (Statement statement : component.getStatements()) {
+					visit(statement);
+				}
+				leave(component);
+			}
+			return null;
+		}
+
+		@Override
+		public Object visitTryStatement(TryStatement node) {
+			visit(node.getBody());
+			for (CatchClause catchClause : node.getCatches()) {
+				enter(catchClause);
+				if (catchClause.getFilterExpression() != null)
+					visit(catchClause.getFilterExpression());
+				if (catchClause.getStatement() != null) {
+					visit(catchClause.getStatement());
+				}
+				leave(catchClause);
+			}
+			if (node.getFinally() != null) {
+				enter(node.getFinally());
+				if (node.getFinally().getStatement() != null) {
+					visit(node.getFinally().getStatement());
+				}
+				leave(node.getFinally());
+			}
+			return null;
+		}
+	}
+
+}
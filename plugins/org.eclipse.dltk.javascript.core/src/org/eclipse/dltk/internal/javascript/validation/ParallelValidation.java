@@ -0,0 +1,407 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.internal.javascript.validation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.dltk.core.IScriptProject;
+import org.eclipse.dltk.core.builder.IBuildContext;
+import org.eclipse.dltk.core.builder.IBuildParticipant;
+import org.eclipse.dltk.core.builder.IBuildParticipantExtension;
+import org.eclipse.dltk.core.builder.IBuildParticipantExtension4;
+import org.eclipse.dltk.javascript.core.JavaScriptPlugin;
+
+/**
+ * Runs the chain of the JavaScript build participants over the modules on
+ * several worker threads.
+ * 
+ * <p>
+ * Each worker creates its own chain of participants (so each worker has it's
+ * own {@link org.eclipse.dltk.internal.javascript.ti.TypeInferencer2} and the
+ * thread local state like {@link org.eclipse.dltk.javascript.typeinfo.ITypeSystem#CURRENT}
+ * is not shared), while the read-only global caches (type systems, type
+ * caches) are shared. The modules are partitioned into levels by the
+ * dependency graph, modules of the same level are independent and are
+ * validated concurrently, levels are processed in order. Each module is
+ * processed by the whole chain on a single thread and the problems are
+ * reported to the module's own {@link IBuildContext}, so the results do not
+ * depend on the number of workers.
+ * </p>
+ * 
+ * <p>
+ * The DLTK builder calls the participants one module at a time, so the IDE
+ * builds are still sequential. This class is used by the callers which
+ * schedule the whole set of modules themselves, like {@link BatchValidation}.
+ * </p>
+ */
+public class ParallelValidation {
+
+	/**
+	 * Creates the chain of the build participants for the worker. Called once
+	 * per worker thread, from that thread. The participants are returned in
+	 * the order they should be executed and should be already connected (e.g.
+	 * {@link IBuildParticipantExtension#notifyDependents(IBuildParticipant[])}
+	 * called).
+	 */
+	public interface ParticipantChainFactory {
+		IBuildParticipant[] createParticipants() throws CoreException;
+	}
+
+	/**
+	 * Returns the factory of the standard JavaScript validation chain (flow
+	 * validation with the code checks and type info validator) for the
+	 * specified project.
+	 */
+	public static ParticipantChainFactory standardChain(
+			final IScriptProject project) {
+		return new ParticipantChainFactory() {
+			public IBuildParticipant[] createParticipants()
+					throws CoreException {
+				return new IBuildParticipant[] {
+						new FlowValidationFactory()
+								.createBuildParticipant(project),
+						new TypeInfoValidatorFactory()
+								.createBuildParticipant(project) };
+			}
+		};
+	}
+
+	/**
+	 * Notified when the module is processed by the whole chain. Called on the
+	 * worker thread, so the implementations should be thread safe.
+	 */
+	public interface ModuleListener {
+		void moduleBuilt(IBuildContext context);
+	}
+
+	private final ParticipantChainFactory factory;
+	private final int workerCount;
+	private ModuleListener listener;
+
+	public ParallelValidation(ParticipantChainFactory factory, int workerCount) {
+		this.factory = factory;
+		this.workerCount = Math.max(1, workerCount);
+	}
+
+	public void setListener(ModuleListener listener) {
+		this.listener = listener;
+	}
+
+	/**
+	 * Returns the default number of the workers, i.e. the number of available
+	 * processors.
+	 */
+	public static int defaultWorkerCount() {
+		return Runtime.getRuntime().availableProcessors();
+	}
+
+	/**
+	 * Partitions the specified modules into levels, so each module is placed
+	 * after the modules it depends on. Dependencies on the modules not
+	 * included in the specified collection are ignored. Dependency cycles are
+	 * broken in the order of the modules.
+	 * 
+	 * @param modules
+	 *            the modules to partition
+	 * @param dependencies
+	 *            the modules each module depends on, could be incomplete
+	 * @return the levels, each level contains the modules in their original
+	 *         order
+	 */
+	public static <M> List<List<M>> partition(List<M> modules,
+			Map<M, ? extends Collection<M>> dependencies) {
+		final Map<M, Integer> indexes = new IdentityHashMap<M, Integer>();
+		for (int i = 0; i < modules.size(); ++i) {
+			indexes.put(modules.get(i), i);
+		}
+		final int[] pending = new int[modules.size()];
+		final List<List<Integer>> dependents = new ArrayList<List<Integer>>(
+				modules.size());
+		for (int i = 0; i < modules.size(); ++i) {
+			dependents.add(null);
+		}
+		for (int i = 0; i < modules.size(); ++i) {
+			final Collection<M> deps = dependencies.get(modules.get(i));
+			if (deps == null) {
+				continue;
+			}
+			for (M dep : deps) {
+				final Integer d = indexes.get(dep);
+				if (d != null && d.intValue() != i) {
+					List<Integer> list = dependents.get(d);
+					if (list == null) {
+						dependents.set(d, list = new ArrayList<Integer>(4));
+					}
+					list.add(i);
+					++pending[i];
+				}
+			}
+		}
+		final boolean[] done = new boolean[modules.size()];
+		final List<List<M>> levels = new ArrayList<List<M>>();
+		int remaining = modules.size();
+		while (remaining != 0) {
+			final List<Integer> level = new ArrayList<Integer>();
+			for (int i = 0; i < modules.size(); ++i) {
+				if (!done[i] && pending[i] == 0) {
+					level.add(i);
+				}
+			}
+			if (level.isEmpty()) {
+				// cycle, take the first remaining module
+				for (int i = 0; i < modules.size(); ++i) {
+					if (!done[i]) {
+						level.add(i);
+						break;
+					}
+				}
+			}
+			final List<M> levelModules = new ArrayList<M>(level.size());
+			for (Integer i : level) {
+				done[i] = true;
+				--remaining;
+				levelModules.add(modules.get(i));
+			}
+			for (Integer i : level) {
+				final List<Integer> list = dependents.get(i);
+				if (list != null) {
+					for (Integer dependent : list) {
+						--pending[dependent];
+					}
+				}
+			}
+			levels.add(levelModules);
+		}
+		return levels;
+	}
+
+	/**
+	 * Validates the specified modules.
+	 * 
+	 * @param contexts
+	 *            the build contexts of the modules
+	 * @param dependencies
+	 *            the modules each module depends on, could be empty
+	 * @param buildType
+	 *            the build type passed to
+	 *            {@link IBuildParticipantExtension#beginBuild(int)}
+	 * @throws OperationCanceledException
+	 *             if the monitor was canceled or the calling thread was
+	 *             interrupted before all the modules were validated
+	 */
+	public void build(List<IBuildContext> contexts,
+			Map<IBuildContext, ? extends Collection<IBuildContext>> dependencies,
+			int buildType, IProgressMonitor monitor) throws CoreException {
+		if (monitor == null) {
+			monitor = new NullProgressMonitor();
+		}
+		final List<List<IBuildContext>> levels = partition(contexts,
+				dependencies != null ? dependencies : Collections
+						.<IBuildContext, Collection<IBuildContext>> emptyMap());
+		final int threadCount = Math.min(workerCount, Math.max(1,
+				contexts.size()));
+		final Worker[] workers = new Worker[threadCount];
+		final Coordinator coordinator = new Coordinator(levels, monitor,
+				threadCount);
+		for (int i = 0; i < threadCount; ++i) {
+			workers[i] = new Worker(coordinator, buildType);
+			workers[i].setName("JavaScript validation worker #" + (i + 1));
+			workers[i].setDaemon(true);
+			workers[i].start();
+		}
+		boolean interrupted = false;
+		for (Worker worker : workers) {
+			for (;;) {
+				try {
+					worker.join();
+					break;
+				} catch (InterruptedException e) {
+					interrupted = true;
+					coordinator.cancel();
+				}
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+		final Throwable error = coordinator.error.get();
+		if (error instanceof CoreException) {
+			throw (CoreException) error;
+		} else if (error instanceof OperationCanceledException) {
+			throw (OperationCanceledException) error;
+		} else if (error != null) {
+			throw new CoreException(new Status(IStatus.ERROR,
+					JavaScriptPlugin.PLUGIN_ID, error.getMessage(), error));
+		}
+		if (coordinator.canceled || monitor.isCanceled()) {
+			throw new OperationCanceledException();
+		}
+	}
+
+	private static class Coordinator {
+		final List<List<IBuildContext>> levels;
+		final IProgressMonitor monitor;
+		final CyclicBarrier barrier;
+		final AtomicInteger next = new AtomicInteger();
+		final AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+		volatile int level;
+		volatile boolean canceled;
+
+		Coordinator(List<List<IBuildContext>> levels, IProgressMonitor monitor,
+				int parties) {
+			this.levels = levels;
+			this.monitor = monitor;
+			this.barrier = new CyclicBarrier(parties, new Runnable() {
+				public void run() {
+					// executed by the last thread arriving to the barrier
+					next.set(0);
+					++level;
+				}
+			});
+		}
+
+		boolean isCanceled() {
+			return canceled || error.get() != null || monitor.isCanceled();
+		}
+
+		void cancel() {
+			canceled = true;
+		}
+
+		/**
+		 * Returns the next module of the current level or <code>null</code>
+		 * if all the modules of this level are already taken.
+		 */
+		IBuildContext take() {
+			final List<IBuildContext> current = levels.get(level);
+			final int index = next.getAndIncrement();
+			return index < current.size() ? current.get(index) : null;
+		}
+
+		boolean hasMoreLevels() {
+			return level < levels.size();
+		}
+
+		void failed(Throwable e) {
+			error.compareAndSet(null, e);
+		}
+	}
+
+	private class Worker extends Thread {
+		private final Coordinator coordinator;
+		private final int buildType;
+
+		Worker(Coordinator coordinator, int buildType) {
+			this.coordinator = coordinator;
+			this.buildType = buildType;
+		}
+
+		@Override
+		public void run() {
+			IBuildParticipant[] participants = null;
+			try {
+				participants = begin(factory.createParticipants());
+			} catch (Throwable e) {
+				coordinator.failed(e);
+			}
+			try {
+				while (coordinator.hasMoreLevels()) {
+					IBuildContext context;
+					while (!coordinator.isCanceled()
+							&& (context = coordinator.take()) != null) {
+						try {
+							build(participants, context);
+						} catch (Throwable e) {
+							coordinator.failed(e);
+						}
+					}
+					try {
+						coordinator.barrier.await();
+					} catch (InterruptedException e) {
+						coordinator.cancel();
+						return;
+					} catch (BrokenBarrierException e) {
+						return;
+					}
+				}
+			} finally {
+				if (participants != null) {
+					end(participants);
+				}
+			}
+		}
+
+		private IBuildParticipant[] begin(IBuildParticipant[] participants) {
+			final List<IBuildParticipant> result = new ArrayList<IBuildParticipant>(
+					participants.length);
+			for (IBuildParticipant participant : participants) {
+				if (participant == null) {
+					continue;
+				}
+				if (participant instanceof IBuildParticipantExtension
+						&& !((IBuildParticipantExtension) participant)
+								.beginBuild(buildType)) {
+					continue;
+				}
+				result.add(participant);
+			}
+			return result.toArray(new IBuildParticipant[result.size()]);
+		}
+
+		private void build(IBuildParticipant[] participants,
+				IBuildContext context) throws CoreException {
+			if (participants == null) {
+				return;
+			}
+			try {
+				for (IBuildParticipant participant : participants) {
+					participant.build(context);
+				}
+			} finally {
+				for (IBuildParticipant participant : participants) {
+					if (participant instanceof IBuildParticipantExtension4) {
+						((IBuildParticipantExtension4) participant)
+								.afterBuild(context);
+					}
+				}
+				if (listener != null) {
+					listener.moduleBuilt(context);
+				}
+			}
+		}
+
+		private void end(IBuildParticipant[] participants) {
+			for (IBuildParticipant participant : participants) {
+				if (participant instanceof IBuildParticipantExtension) {
+					((IBuildParticipantExtension) participant)
+							.endBuild(coordinator.monitor);
+				}
+			}
+		}
+	}
+
+}
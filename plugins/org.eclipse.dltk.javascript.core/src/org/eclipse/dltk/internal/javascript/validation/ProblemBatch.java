@@ -0,0 +1,233 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.internal.javascript.validation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ProjectScope;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.preferences.IScopeContext;
+import org.eclipse.dltk.annotations.Nullable;
+import org.eclipse.dltk.compiler.problem.DefaultProblem;
+import org.eclipse.dltk.compiler.problem.IProblem;
+import org.eclipse.dltk.compiler.problem.IProblemFactory;
+import org.eclipse.dltk.compiler.problem.IProblemIdentifier;
+import org.eclipse.dltk.compiler.problem.IProblemReporter;
+import org.eclipse.dltk.compiler.problem.IProblemSeverityTranslator;
+import org.eclipse.dltk.compiler.problem.ProblemSeverity;
+import org.eclipse.dltk.core.DLTKLanguageManager;
+import org.eclipse.dltk.core.builder.IBuildContext;
+import org.eclipse.dltk.javascript.core.JavaScriptNature;
+import org.eclipse.dltk.javascript.core.JavaScriptPlugin;
+import org.eclipse.dltk.javascript.core.JavaScriptProblems;
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * Collects the problems reported by the JavaScript validators for the module
+ * and passes them to the problem reporter of the build context in one batch
+ * when the validator finishes. The state is shared by all the validators of
+ * the module, so the identical problems reported by the different validators
+ * are reported once and the number of the warnings reported for the module
+ * is limited by the {@link #PREF_PROBLEM_LIMIT} preference. The limit is
+ * applied to the severity configured for the problem in the project, errors
+ * are never dropped. The notice about the dropped warnings is reported at the
+ * location of the first of them.
+ */
+public class ProblemBatch implements IProblemReporter {
+
+	/**
+	 * The preference containing the maximum number of the warnings reported
+	 * for the single module, <code>0</code> means no limit.
+	 */
+	public static final String PREF_PROBLEM_LIMIT = "problemLimit"; //$NON-NLS-1$
+
+	public static final int DEFAULT_PROBLEM_LIMIT = 1000;
+
+	private static final String ATTR_BATCH = ProblemBatch.class.getName();
+
+	/**
+	 * Returns the batch of the module being built, creating it if needed.
+	 */
+	public static ProblemBatch of(IBuildContext context) {
+		ProblemBatch batch = (ProblemBatch) context.get(ATTR_BATCH);
+		if (batch == null) {
+			batch = new ProblemBatch(BuildProfiler.getInstance()
+					.problemReporter(context), limitOf(context),
+					severityTranslatorOf(context));
+			context.set(ATTR_BATCH, batch);
+		}
+		return batch;
+	}
+
+	private static int limitOf(IBuildContext context) {
+		if (Platform.getPreferencesService() == null) {
+			return DEFAULT_PROBLEM_LIMIT;
+		}
+		IScopeContext[] contexts = null;
+		if (context.getSourceModule() != null
+				&& context.getSourceModule().getScriptProject() != null) {
+			final IProject project = context.getSourceModule()
+					.getScriptProject().getProject();
+			if (project != null) {
+				contexts = new IScopeContext[] { new ProjectScope(project) };
+			}
+		}
+		return Platform.getPreferencesService().getInt(
+				JavaScriptPlugin.PLUGIN_ID, PREF_PROBLEM_LIMIT,
+				DEFAULT_PROBLEM_LIMIT, contexts);
+	}
+
+	@Nullable
+	private static IProblemSeverityTranslator severityTranslatorOf(
+			IBuildContext context) {
+		if (context.getSourceModule() == null) {
+			return null;
+		}
+		final IProblemFactory factory = DLTKLanguageManager
+				.getProblemFactory(JavaScriptNature.NATURE_ID);
+		return factory != null ? factory.createSeverityTranslator(context
+				.getSourceModule().getScriptProject()) : null;
+	}
+
+	/**
+	 * The identity of the problem used to find the duplicates.
+	 */
+	private static class Key {
+		final IProblemIdentifier id;
+		final String message;
+		final int start;
+		final int end;
+		final List<String> arguments;
+
+		Key(IProblem problem) {
+			this.id = problem.getID();
+			this.message = problem.getMessage();
+			this.start = problem.getSourceStart();
+			this.end = problem.getSourceEnd();
+			this.arguments = problem.getArguments() != null ? Arrays
+					.asList(problem.getArguments()) : null;
+		}
+
+		@Override
+		public int hashCode() {
+			return (id != null ? id.hashCode() : 0) * 31 + start * 17 + end;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			final Key other = (Key) obj;
+			return start == other.start && end == other.end
+					&& equal(id, other.id) && equal(message, other.message)
+					&& equal(arguments, other.arguments);
+		}
+
+		private static boolean equal(Object a, Object b) {
+			return a == null ? b == null : a.equals(b);
+		}
+	}
+
+	private final IProblemReporter target;
+	private final int limit;
+	@Nullable
+	private final IProblemSeverityTranslator translator;
+	private final Set<Key> reported = new HashSet<Key>();
+	private final List<IProblem> pending = new ArrayList<IProblem>();
+	private int warningCount;
+	private int droppedCount;
+	@Nullable
+	private IProblem firstDropped;
+	private boolean limitReported;
+
+	public ProblemBatch(IProblemReporter target, int limit) {
+		this(target, limit, null);
+	}
+
+	public ProblemBatch(IProblemReporter target, int limit,
+			@Nullable IProblemSeverityTranslator translator) {
+		this.target = target;
+		this.limit = limit;
+		this.translator = translator;
+	}
+
+	public void reportProblem(IProblem problem) {
+		if (!reported.add(new Key(problem))) {
+			return;
+		}
+		if (limit > 0 && isLimited(problem)) {
+			if (warningCount >= limit) {
+				if (droppedCount++ == 0) {
+					firstDropped = problem;
+				}
+				return;
+			}
+			++warningCount;
+		}
+		pending.add(problem);
+	}
+
+	/**
+	 * Checks if the problem is counted in the limit, i.e. if it's reported as
+	 * the warning or the info with the severity configured in the project.
+	 */
+	private boolean isLimited(IProblem problem) {
+		ProblemSeverity severity = ValidationResultCache.severityOf(problem);
+		if (translator != null) {
+			severity = translator.getSeverity(problem.getID(), severity);
+		}
+		return severity == ProblemSeverity.WARNING
+				|| severity == ProblemSeverity.INFO;
+	}
+
+	/**
+	 * Passes the collected problems to the problem reporter of the build
+	 * context.
+	 */
+	public void flush() {
+		if (firstDropped != null && !limitReported) {
+			limitReported = true;
+			pending.add(new DefaultProblem(NLS.bind(
+					"Too many problems, only the first {0} warnings are reported",
+					limit), JavaScriptProblems.TOO_MANY_PROBLEMS, null,
+					ProblemSeverity.INFO, firstDropped.getSourceStart(),
+					firstDropped.getSourceEnd(), firstDropped
+							.getSourceLineNumber()));
+			firstDropped = null;
+		}
+		if (pending.isEmpty()) {
+			return;
+		}
+		for (IProblem problem : pending) {
+			target.reportProblem(problem);
+		}
+		pending.clear();
+	}
+
+	/**
+	 * Returns the number of the warnings dropped because of the limit.
+	 */
+	public int getDroppedCount() {
+		return droppedCount;
+	}
+
+	public Object getAdapter(@SuppressWarnings("rawtypes") Class adapter) {
+		return target.getAdapter(adapter);
+	}
+
+}
@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.internal.javascript.validation;
+
+import java.util.List;
+
+import org.eclipse.dltk.compiler.problem.IProblem;
+import org.eclipse.dltk.compiler.problem.IProblemReporter;
+
+/**
+ * Forwards the problems to the delegate, remembering them, so they could be
+ * reported again if the module is not changed.
+ */
+class RecordingProblemReporter implements IProblemReporter {
+	private final IProblemReporter delegate;
+	private final List<IProblem> problems;
+
+	RecordingProblemReporter(IProblemReporter delegate, List<IProblem> problems) {
+		this.delegate = delegate;
+		this.problems = problems;
+	}
+
+	public void reportProblem(IProblem problem) {
+		problems.add(problem);
+		delegate.reportProblem(problem);
+	}
+
+	public Object getAdapter(@SuppressWarnings("rawtypes") Class adapter) {
+		return null;
+	}
+}
@@ -18,30 +18,34 @@ import static org.eclipse.dltk.javascript.typeinfo.RUtils.locationOf;
 import static org.eclipse.osgi.util.NLS.bind;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.Stack;
 
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.dltk.annotations.NonNull;
 import org.eclipse.dltk.annotations.Nullable;
 import org.eclipse.dltk.ast.ASTNode;
 import org.eclipse.dltk.compiler.problem.IProblem;
 import org.eclipse.dltk.compiler.problem.IProblemIdentifier;
+import org.eclipse.dltk.compiler.problem.IProblemReporter;
 import org.eclipse.dltk.compiler.problem.IValidationStatus;
 import org.eclipse.dltk.compiler.problem.ValidationMultiStatus;
 import org.eclipse.dltk.compiler.problem.ValidationStatus;
+import org.eclipse.dltk.core.IScriptProject;
 import org.eclipse.dltk.core.ISourceNode;
 import org.eclipse.dltk.core.builder.IBuildContext;
 import org.eclipse.dltk.core.builder.IBuildParticipant;
@@ -49,6 +53,7 @@ import org.eclipse.dltk.core.builder.IBuildParticipantExtension;
 import org.eclipse.dltk.core.builder.IBuildParticipantExtension4;
 import org.eclipse.dltk.core.builder.IBuildState;
 import org.eclipse.dltk.internal.javascript.parser.JSDocValidatorFactory.TypeChecker;
+import org.eclipse.dltk.internal.javascript.ti.AbstractReference;
 import org.eclipse.dltk.internal.javascript.ti.ConstantValue;
 import org.eclipse.dltk.internal.javascript.ti.IReferenceAttributes;
 import org.eclipse.dltk.internal.javascript.ti.ITypeInferenceContext;
@@ -76,6 +81,8 @@ import org.eclipse.dltk.javascript.ast.VariableDeclaration;
 import org.eclipse.dltk.javascript.ast.VariableStatement;
 import org.eclipse.dltk.javascript.core.JSBindings;
 import org.eclipse.dltk.javascript.core.JavaScriptProblems;
+import org.eclipse.dltk.javascript.internal.core.BindingsCache;
+import org.eclipse.dltk.javascript.internal.core.SharedBindings;
 import org.eclipse.dltk.javascript.internal.core.TemporaryBindings;
 import org.eclipse.dltk.javascript.internal.core.ThreadTypeSystemImpl;
 import org.eclipse.dltk.javascript.parser.ISuppressWarningsState;
@@ -139,9 +146,30 @@ public class TypeInfoValidator implements IBuildParticipant,
 	 */
 	public static final String ID = "org.eclipse.dltk.javascript.core.buildParticipant.typeinfo";
 
-	private boolean hasDependents;
+	@Nullable
+	private final IScriptProject project;
+
+	private volatile boolean hasDependents;
+
+	public TypeInfoValidator() {
+		this(null);
+	}
+
+	public TypeInfoValidator(@Nullable IScriptProject project) {
+		this.project = project;
+	}
+
+	/**
+	 * The hash of the preferences for the {@link ValidationResultCache},
+	 * calculated once per build.
+	 */
+	private volatile String preferenceHash;
 
 	public boolean beginBuild(int buildType) {
+		preferenceHash = null;
+		// the shared caches are evicted by the JavaScriptCacheInvalidator, the
+		// full builds only skip the in-memory records of the previous build
+		BuildProfiler.getInstance().buildStarted();
 		return true;
 	}
 
@@ -149,29 +177,99 @@ public class TypeInfoValidator implements IBuildParticipant,
 		hasDependents = true;
 	}
 
-	private TypeInferencer2 inferencer;
+	/**
+	 * The inferencer of the current thread, so the same instance of this
+	 * participant could be called from the several threads of the
+	 * {@link ParallelValidation}.
+	 */
+	private volatile ThreadLocal<TypeInferencer2> inferencers = new ThreadLocal<TypeInferencer2>();
 
 	public void build(IBuildContext context) throws CoreException {
+		final BuildProfiler profiler = BuildProfiler.getInstance();
+		profiler.enter(context);
+		try {
+			validate(context, profiler);
+		} finally {
+			ProblemBatch.of(context).flush();
+			profiler.exit();
+		}
+	}
+
+	private void validate(IBuildContext context, BuildProfiler profiler)
+			throws CoreException {
 		final Script script = JavaScriptValidations.parse(context);
 		if (script == null) {
 			return;
 		}
+		final IPath path = ModuleShapes.pathOf(context);
+		final String contentHash = path != null ? ValidationResultCache
+				.contentHashOf(context) : null;
+		final ValidationResultCache cache = path != null ? ValidationResultCache
+				.getInstance() : null;
+		if (cache != null && preferenceHash == null) {
+			preferenceHash = ValidationResultCache.preferenceHash(context);
+		}
+		if (path != null && !hasDependents) {
+			if (context.getBuildType() != IBuildContext.FULL_BUILD) {
+				final ModuleShapes.Record record = ModuleShapes.INSTANCE
+						.getValidRecord(path, contentHash);
+				if (record != null) {
+					// neither this module nor the shapes of it's dependencies
+					// have changed, so the results of the previous validation
+					// are still valid
+					replay(context, record.problems,
+							record.dependencies.keySet());
+					return;
+				}
+			}
+			if (cache != null) {
+				final ValidationResultCache.Entry entry = cache.lookup(ID,
+						path, contentHash, preferenceHash);
+				if (entry != null) {
+					replay(context, entry.problems,
+							entry.dependencies.keySet());
+					if (entry.shape != null) {
+						ModuleShapes.INSTANCE.updateShape(path, entry.shape);
+					}
+					ModuleShapes.INSTANCE.putRecord(path,
+							new ModuleShapes.Record(contentHash,
+									ModuleShapes.INSTANCE
+											.statesOf(entry.dependencies
+													.keySet()), entry.problems));
+					return;
+				}
+			}
+		}
+		TypeInferencer2 inferencer = inferencers.get();
 		if (inferencer == null) {
 			inferencer = createTypeInferencer();
+			inferencers.set(inferencer);
 		}
 		inferencer.setModelElement(context.getSourceModule());
 		inferencer.pushAttribute(ITypeInfoContext.BUILD_CONTEXT, context);
-		final JSProblemReporter reporter = JavaScriptValidations
-				.createReporter(context);
+		final List<IProblem> problems = path != null ? new ArrayList<IProblem>()
+				: null;
+		final JSProblemReporter reporter = problems != null ? new Reporter(
+				context.getLineTracker(), new RecordingProblemReporter(
+						ProblemBatch.of(context), problems))
+				: JavaScriptValidations.createReporter(context);
 		@SuppressWarnings("unchecked")
 		@Nullable
 		final Set<FunctionStatement> inconsistentReturns = (Set<FunctionStatement>) context
 				.get(JavaScriptValidations.ATTR_INCONSISTENT_RETURNS);
-		final ValidationVisitor visitor = new ValidationVisitor(inferencer,
-				reporter, inconsistentReturns, hasDependents);
+		// the bindings of the real files are shared with the other readers
+		final long version = path != null ? versionOf(context)
+				: IResource.NULL_STAMP;
+		final boolean shared = version != IResource.NULL_STAMP;
+		final ValidationVisitor visitor = createValidationVisitor(inferencer,
+				reporter, inconsistentReturns, hasDependents || shared);
 		inferencer.setVisitor(visitor);
+		final long inferenceStart = profiler.start();
 		inferencer.doInferencing(script);
+		profiler.record(BuildProfiler.INFERENCE, inferenceStart);
 
+		final long dependenciesStart = profiler.start();
+		final List<IPath> dependencies = new ArrayList<IPath>();
 		for (IMemberEvaluator evaluator : TypeInfoManager
 				.getMemberEvaluators()) {
 			Collection<IFile> files = evaluator
@@ -179,27 +277,87 @@ public class TypeInfoValidator implements IBuildParticipant,
 			for (IFile file : files) {
 				context.recordDependency(file.getFullPath(),
 						IBuildState.CONTENT);
+				dependencies.add(file.getFullPath());
 			}
 		}
+		profiler.record(BuildProfiler.DEPENDENCIES, dependenciesStart);
 
-		if (hasDependents) {
+		if (path != null) {
+			final String shape = ModuleShapes.fingerprint(inferencer
+					.getCollection());
+			ModuleShapes.INSTANCE.updateShape(path, shape);
+			ModuleShapes.INSTANCE.putRecord(path, new ModuleShapes.Record(
+					contentHash, ModuleShapes.INSTANCE.statesOf(dependencies),
+					problems));
+			if (cache != null) {
+				final Map<IPath, String> states = cache.statesOf(ID,
+						dependencies);
+				if (states != null) {
+					cache.store(ID, path, new ValidationResultCache.Entry(
+							contentHash, preferenceHash, shape, states,
+							problems));
+				}
+			}
+		}
+
+		if (hasDependents || shared) {
 			inferencer.resetLocalState();
+			// the bindings own this inferencer now
+			inferencers.remove();
+		}
+		if (hasDependents) {
 			context.set(TypeInfoValidator.ATTR_BINDINGS, visitor.bindings);
 			saveCachedBindings(script, new TemporaryBindings(inferencer,
 					visitor.bindings));
 			((ThreadTypeSystemImpl) ITypeSystem.CURRENT).set(inferencer);
+			// shared in afterBuild() when the dependents are done with it
+		} else if (shared) {
+			BindingsCache.INSTANCE.put(path, version, script,
+					new SharedBindings(inferencer, visitor.bindings));
+		}
+	}
+
+	private static long versionOf(IBuildContext context) {
+		return context.getFile() != null ? context.getFile()
+				.getModificationStamp() : BindingsCache.versionOf(context
+				.getSourceModule());
+	}
+
+	private static void replay(IBuildContext context,
+			Collection<IProblem> problems, Collection<IPath> dependencies) {
+		final IProblemReporter reporter = ProblemBatch.of(context);
+		for (IProblem problem : problems) {
+			reporter.reportProblem(problem);
+		}
+		for (IPath dependency : dependencies) {
+			context.recordDependency(dependency, IBuildState.CONTENT);
 		}
 	}
 
 	public void afterBuild(IBuildContext context) {
 		if (hasDependents) {
+			final ITypeSystem typeSystem = ITypeSystem.CURRENT.get();
 			((ThreadTypeSystemImpl) ITypeSystem.CURRENT).set(null);
+			final Script script = JavaScriptValidations.parse(context);
+			if (script != null) {
+				removeCachedBindings(script);
+			}
+			@SuppressWarnings("unchecked")
+			final Map<ASTNode, IValueReference> bindings = (Map<ASTNode, IValueReference>) context
+					.get(ATTR_BINDINGS);
+			final IPath path = ModuleShapes.pathOf(context);
+			if (typeSystem != null && bindings != null && path != null
+					&& script != null) {
+				BindingsCache.INSTANCE.put(path, versionOf(context), script,
+						new SharedBindings(typeSystem, bindings));
+			}
 		}
 	}
 
 	public void endBuild(IProgressMonitor monitor) {
-		removeCachedBindings();
-		inferencer = null;
+		CACHED_BINDINGS.remove();
+		inferencers = new ThreadLocal<TypeInferencer2>();
+		BuildProfiler.getInstance().buildFinished();
 	}
 
 	/**
@@ -209,41 +367,32 @@ public class TypeInfoValidator implements IBuildParticipant,
 	public static final String ATTR_BINDINGS = TypeInfoValidator.class
 			.getName() + ".BINDINGS";
 
-	private static final int CACHED_BINDINGS_SIZE = 32;
-
 	/**
-	 * Thread specific bindings, so methods from {@link JSBindings} called from
-	 * {@link IBuildParticipant} will return validation specific bindings.
+	 * Thread specific bindings of the modules being built, so methods from
+	 * {@link JSBindings} called from {@link IBuildParticipant} will return
+	 * validation specific bindings.
 	 */
 	private static final ThreadLocal<Map<Script, JSBindings>> CACHED_BINDINGS = new ThreadLocal<Map<Script, JSBindings>>();
 
-	@SuppressWarnings("serial")
 	private static void saveCachedBindings(Script script, JSBindings bindings) {
 		Map<Script, JSBindings> map = CACHED_BINDINGS.get();
 		if (map == null) {
-			map = new LinkedHashMap<Script, JSBindings>(
-					(CACHED_BINDINGS_SIZE + CACHED_BINDINGS_SIZE / 3), 0.75f,
-					true) {
-				@Override
-				protected boolean removeEldestEntry(
-						Map.Entry<Script, JSBindings> eldest) {
-					return size() >= CACHED_BINDINGS_SIZE;
-				}
-			};
+			map = new IdentityHashMap<Script, JSBindings>();
 			CACHED_BINDINGS.set(map);
 		}
 		map.put(script, bindings);
 	}
 
-	private static void removeCachedBindings() {
+	private static void removeCachedBindings(Script script) {
 		final Map<Script, JSBindings> map = CACHED_BINDINGS.get();
-		if (map != null && !map.isEmpty()) {
-			map.clear();
+		if (map != null) {
+			map.remove(script);
 		}
 	}
 
 	/**
-	 * Returns cached "bindings" for the specified script, if any.
+	 * Returns the bindings of the specified script computed by the validation
+	 * on the current thread, while the module is being built, if any.
 	 * 
 	 * @param script
 	 * @return
@@ -260,6 +409,14 @@ public class TypeInfoValidator implements IBuildParticipant,
 		return new TypeInferencer2();
 	}
 
+	protected ValidationVisitor createValidationVisitor(
+			ITypeInferenceContext context, JSProblemReporter reporter,
+			@Nullable Set<FunctionStatement> inconsistentReturns,
+			boolean hasDependents) {
+		return new ValidationVisitor(context, reporter, inconsistentReturns,
+				hasDependents);
+	}
+
 	private static enum VisitorMode {
 		NORMAL, CALL
 	}
@@ -283,6 +440,123 @@ public class TypeInfoValidator implements IBuildParticipant,
 		public boolean isRelatedTo(IValueReference reference) {
 			return false;
 		}
+
+		/**
+		 * Returns the reference this validation depends on, its parents are
+		 * also considered as dependencies. Should be consistent with
+		 * {@link #isRelatedTo(IValueReference)}.
+		 */
+		@Nullable
+		IValueReference getRelatedReference() {
+			return null;
+		}
+
+		/**
+		 * The order in which the validation was added.
+		 */
+		int sequence;
+	}
+
+	/**
+	 * The pending {@link ExpressionValidator}s, indexed by the references they
+	 * are related to.
+	 */
+	private static class DelayedValidations {
+
+		private final Set<ExpressionValidator> pending = new LinkedHashSet<ExpressionValidator>();
+		private final Map<IValueReference, List<ExpressionValidator>> index = new HashMap<IValueReference, List<ExpressionValidator>>();
+		private int sequence;
+
+		boolean isEmpty() {
+			return pending.isEmpty();
+		}
+
+		void add(ExpressionValidator validator) {
+			validator.sequence = sequence++;
+			pending.add(validator);
+			for (IValueReference reference = validator.getRelatedReference(); reference != null; reference = reference
+					.getParent()) {
+				List<ExpressionValidator> validators = index.get(reference);
+				if (validators == null) {
+					validators = new ArrayList<ExpressionValidator>(2);
+					index.put(reference, validators);
+				}
+				validators.add(validator);
+			}
+		}
+
+		void clear() {
+			pending.clear();
+			index.clear();
+			sequence = 0;
+		}
+
+		/**
+		 * Removes and returns all the pending validations, in the order they
+		 * were added.
+		 */
+		List<ExpressionValidator> removeAll() {
+			final List<ExpressionValidator> result = new ArrayList<ExpressionValidator>(
+					pending);
+			pending.clear();
+			index.clear();
+			return result;
+		}
+
+		/**
+		 * Removes and returns the validations related to the specified
+		 * references, in the order they were added.
+		 */
+		List<ExpressionValidator> remove(IValueReference... references) {
+			List<ExpressionValidator> selected = null;
+			for (IValueReference reference : references) {
+				if (pending.isEmpty()) {
+					break;
+				}
+				if (reference instanceof AbstractReference) {
+					// AbstractReference.isParentOf() compares the parent chain
+					// using equals(), so the index lookup is the same
+					final List<ExpressionValidator> validators = index
+							.remove(reference);
+					if (validators != null) {
+						for (ExpressionValidator validator : validators) {
+							if (pending.remove(validator)) {
+								if (selected == null) {
+									selected = new ArrayList<ExpressionValidator>();
+								}
+								selected.add(validator);
+							}
+						}
+					}
+				} else if (reference != null) {
+					for (Iterator<ExpressionValidator> i = pending.iterator(); i
+							.hasNext();) {
+						final ExpressionValidator validator = i.next();
+						if (validator.isRelatedTo(reference)) {
+							if (selected == null) {
+								selected = new ArrayList<ExpressionValidator>();
+							}
+							selected.add(validator);
+							i.remove();
+						}
+					}
+				}
+			}
+			if (selected == null) {
+				return Collections.emptyList();
+			}
+			if (selected.size() > 1) {
+				Collections.sort(selected, SEQUENCE_ORDER);
+			}
+			return selected;
+		}
+
+		private static final Comparator<ExpressionValidator> SEQUENCE_ORDER = new Comparator<ExpressionValidator>() {
+			public int compare(ExpressionValidator o1, ExpressionValidator o2) {
+				return o1.sequence < o2.sequence ? -1
+						: o1.sequence == o2.sequence ? 0 : 1;
+			}
+		};
 	}
 
 	private static class CallExpressionValidator extends ExpressionValidator {
@@ -313,6 +587,11 @@ public class TypeInfoValidator implements IBuildParticipant,
 			return reference.isParentOf(this.reference);
 		}
 
+		@Override
+		IValueReference getRelatedReference() {
+			return reference;
+		}
+
 		@Override
 		public String toString() {
 			return getClass().getSimpleName() + " - " + reference + "()";
@@ -531,7 +810,7 @@ public class TypeInfoValidator implements IBuildParticipant,
 
 	public static class ValidationVisitor extends TypeInferencerVisitor {
 
-		private final List<ExpressionValidator> expressionValidators = new ArrayList<ExpressionValidator>();
+		private final DelayedValidations expressionValidators = new DelayedValidations();
 		private final Set<FunctionStatement> inconsistentReturns;
 
 		public ValidationVisitor(ITypeInferenceContext context,
@@ -637,7 +916,10 @@ public class TypeInfoValidator implements IBuildParticipant,
 							location.getNameStart(), location.getNameEnd());
 				}
 			}
+			final BuildProfiler profiler = BuildProfiler.getInstance();
+			final long start = profiler.start();
 			((TypeChecker) typeChecker).validate();
+			profiler.record(BuildProfiler.TYPE_CHECK, start);
 		}
 
 		/**
@@ -647,11 +929,10 @@ public class TypeInfoValidator implements IBuildParticipant,
 			if (expressionValidators.isEmpty()) {
 				return;
 			}
-			final ExpressionValidator[] copy = expressionValidators
-					.toArray(new ExpressionValidator[expressionValidators
-							.size()]);
-			expressionValidators.clear();
-			runExpressionValidations(Arrays.asList(copy));
+			final BuildProfiler profiler = BuildProfiler.getInstance();
+			final long start = profiler.start();
+			runExpressionValidations(expressionValidators.removeAll());
+			profiler.record(BuildProfiler.DELAYED_VALIDATIONS, start);
 		}
 
 		/**
@@ -661,20 +942,13 @@ public class TypeInfoValidator implements IBuildParticipant,
 			if (expressionValidators.isEmpty() || references.length == 0) {
 				return;
 			}
-			final List<ExpressionValidator> selected = new ArrayList<ExpressionValidator>();
-			for (Iterator<ExpressionValidator> i = expressionValidators
-					.iterator(); i.hasNext();) {
-				final ExpressionValidator validator = i.next();
-				for (IValueReference reference : references) {
-					if (validator.isRelatedTo(reference)) {
-						selected.add(validator);
-						i.remove();
-						break;
-					}
-				}
-			}
+			final List<ExpressionValidator> selected = expressionValidators
+					.remove(references);
 			if (!selected.isEmpty()) {
+				final BuildProfiler profiler = BuildProfiler.getInstance();
+				final long start = profiler.start();
 				runExpressionValidations(selected);
+				profiler.record(BuildProfiler.DELAYED_VALIDATIONS, start);
 			}
 		}
 
@@ -20,7 +20,7 @@ public class TypeInfoValidatorFactory implements IBuildParticipantFactory {
 
 	public IBuildParticipant createBuildParticipant(IScriptProject project)
 			throws CoreException {
-		return new TypeInfoValidator();
+		return new TypeInfoValidator(project);
 	}
 
 }
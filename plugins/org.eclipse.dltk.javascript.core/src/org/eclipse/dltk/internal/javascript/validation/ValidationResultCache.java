@@ -0,0 +1,573 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.internal.javascript.validation;
+
+import static org.eclipse.dltk.javascript.internal.core.StateFiles.readString;
+import static org.eclipse.dltk.javascript.internal.core.StateFiles.writeString;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ProjectScope;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IConfigurationElement;
+import org.eclipse.core.runtime.IExtensionRegistry;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.eclipse.dltk.annotations.Nullable;
+import org.eclipse.dltk.compiler.problem.DefaultProblem;
+import org.eclipse.dltk.compiler.problem.DefaultProblemIdentifier;
+import org.eclipse.dltk.compiler.problem.IProblem;
+import org.eclipse.dltk.compiler.problem.IProblemIdentifier;
+import org.eclipse.dltk.compiler.problem.ProblemSeverity;
+import org.eclipse.dltk.core.DLTKCore;
+import org.eclipse.dltk.core.IScriptProject;
+import org.eclipse.dltk.core.builder.IBuildContext;
+import org.eclipse.dltk.javascript.core.JavaScriptNature;
+import org.eclipse.dltk.javascript.core.JavaScriptPlugin;
+import org.eclipse.dltk.javascript.internal.core.StateFiles;
+import org.eclipse.dltk.javascript.typeinfo.TypeInfoManager;
+import org.osgi.framework.Bundle;
+import org.osgi.service.prefs.BackingStoreException;
+
+/**
+ * On-disk cache of the problems produced by the validators. The entry of the
+ * module is valid while the content of the module, the hash of the validator
+ * preferences and extensions and the states of the recorded dependencies are
+ * the same. The state of the dependency is it's shape if the dependency was
+ * validated and the content hash otherwise, so the dependents replay the
+ * results after the changes not affecting the shapes. The entries do not
+ * depend on the build state, so they are reused by the full and clean builds
+ * and after the project is imported again. The entries are kept per project
+ * and are evicted when the files or the projects are deleted.
+ */
+public class ValidationResultCache {
+
+	private static final int VERSION = 3;
+
+	private static final String DIRECTORY = "validation"; //$NON-NLS-1$
+
+	private static ValidationResultCache instance;
+
+	/**
+	 * Returns the cache in the plugin state location or <code>null</code> if
+	 * the plugin is not running or there is no state location.
+	 */
+	@Nullable
+	public static synchronized ValidationResultCache getInstance() {
+		if (instance == null) {
+			final JavaScriptPlugin plugin = JavaScriptPlugin.getDefault();
+			if (plugin == null) {
+				return null;
+			}
+			try {
+				instance = new ValidationResultCache(plugin
+						.getStateLocation().append(DIRECTORY).toFile());
+			} catch (IllegalStateException e) {
+				// no instance location, e.g. headless run with -data @none
+				return null;
+			}
+		}
+		return instance;
+	}
+
+	private final File directory;
+
+	public ValidationResultCache(File directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * The cached results of the single validator for the single module.
+	 */
+	public static class Entry {
+		final String contentHash;
+		final String preferenceHash;
+		@Nullable
+		final String shape;
+		/**
+		 * Paths of the dependencies mapped to their states.
+		 * 
+		 * @see ValidationResultCache#stateOf(String, IPath)
+		 */
+		final Map<IPath, String> dependencies;
+		final List<IProblem> problems;
+
+		public Entry(String contentHash, String preferenceHash,
+				@Nullable String shape, Map<IPath, String> dependencies,
+				List<IProblem> problems) {
+			this.contentHash = contentHash;
+			this.preferenceHash = preferenceHash;
+			this.shape = shape;
+			this.dependencies = dependencies;
+			this.problems = problems;
+		}
+
+		public List<IProblem> getProblems() {
+			return Collections.unmodifiableList(problems);
+		}
+
+		@Nullable
+		public String getShape() {
+			return shape;
+		}
+	}
+
+	private File directoryOf(String project) {
+		return new File(directory, ModuleShapes.digest(project));
+	}
+
+	private static String prefixOf(IPath path) {
+		return ModuleShapes.digest(path.toString()) + '.';
+	}
+
+	private File fileOf(String validator, IPath path) {
+		return new File(directoryOf(path.segment(0)), prefixOf(path)
+				+ ModuleShapes.digest(validator));
+	}
+
+	/**
+	 * Returns the entry of the specified validator and module if it's valid
+	 * for the specified content and preference hashes and the current states
+	 * of the dependencies.
+	 */
+	@Nullable
+	public Entry lookup(String validator, IPath path, String contentHash,
+			String preferenceHash) {
+		final Entry entry = load(validator, path);
+		if (entry == null || !entry.contentHash.equals(contentHash)
+				|| !entry.preferenceHash.equals(preferenceHash)) {
+			return null;
+		}
+		for (Map.Entry<IPath, String> dependency : entry.dependencies
+				.entrySet()) {
+			final String state = stateOf(validator, dependency.getKey());
+			if (state == null || !state.equals(dependency.getValue())) {
+				return null;
+			}
+		}
+		return entry;
+	}
+
+	/**
+	 * Returns the current state of the dependency: the shape saved by the
+	 * specified validator if it's entry matches the current content of the
+	 * dependency, the content hash otherwise or <code>null</code> if the
+	 * content is not available.
+	 */
+	@Nullable
+	public String stateOf(String validator, IPath dependency) {
+		final String hash = currentContentHash(dependency);
+		if (hash == null) {
+			return null;
+		}
+		final Entry entry = load(validator, dependency);
+		if (entry != null && entry.shape != null
+				&& entry.contentHash.equals(hash)) {
+			return "S" + entry.shape; //$NON-NLS-1$
+		}
+		return "C" + hash; //$NON-NLS-1$
+	}
+
+	/**
+	 * Returns the states of the specified dependencies or <code>null</code> if
+	 * some of them are not available.
+	 */
+	@Nullable
+	public Map<IPath, String> statesOf(String validator,
+			Collection<IPath> dependencies) {
+		final Map<IPath, String> result = new LinkedHashMap<IPath, String>();
+		for (IPath dependency : dependencies) {
+			final String state = stateOf(validator, dependency);
+			if (state == null) {
+				return null;
+			}
+			result.put(dependency, state);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the hash of the current content of the specified file or
+	 * <code>null</code> if it's not available.
+	 */
+	@Nullable
+	protected String currentContentHash(IPath path) {
+		return contentHashOf(path);
+	}
+
+	@Nullable
+	Entry load(String validator, IPath path) {
+		if (path.segmentCount() == 0) {
+			return null;
+		}
+		final File file = fileOf(validator, path);
+		if (!file.isFile()) {
+			return null;
+		}
+		try {
+			final DataInputStream input = new DataInputStream(
+					new BufferedInputStream(new FileInputStream(file)));
+			try {
+				if (input.readInt() != VERSION
+						|| !path.toString().equals(readString(input))) {
+					return null;
+				}
+				final String contentHash = readString(input);
+				final String preferenceHash = readString(input);
+				final String shape = input.readBoolean() ? readString(input)
+						: null;
+				final int dependencyCount = input.readInt();
+				final Map<IPath, String> dependencies = new LinkedHashMap<IPath, String>();
+				for (int i = 0; i < dependencyCount; ++i) {
+					dependencies.put(new Path(readString(input)),
+							readString(input));
+				}
+				final int problemCount = input.readInt();
+				final List<IProblem> problems = new ArrayList<IProblem>(
+						problemCount);
+				for (int i = 0; i < problemCount; ++i) {
+					final IProblem problem = readProblem(input);
+					if (problem == null) {
+						// unknown problem identifier
+						return null;
+					}
+					problems.add(problem);
+				}
+				return new Entry(contentHash, preferenceHash, shape,
+						dependencies, problems);
+			} finally {
+				input.close();
+			}
+		} catch (IOException e) {
+			file.delete();
+			return null;
+		}
+	}
+
+	/**
+	 * Stores the entry, the file is written to the temporary file first and
+	 * then moved over the previous one, so the readers never see the partially
+	 * written entry.
+	 */
+	public void store(String validator, IPath path, Entry entry) {
+		if (path.segmentCount() == 0) {
+			return;
+		}
+		final File file = fileOf(validator, path);
+		final File parent = file.getParentFile();
+		if (!parent.isDirectory() && !parent.mkdirs()) {
+			return;
+		}
+		File temp = null;
+		try {
+			temp = StateFiles.createTemp(file);
+			final DataOutputStream output = new DataOutputStream(
+					new BufferedOutputStream(new FileOutputStream(temp)));
+			try {
+				output.writeInt(VERSION);
+				writeString(output, path.toString());
+				writeString(output, entry.contentHash);
+				writeString(output, entry.preferenceHash);
+				output.writeBoolean(entry.shape != null);
+				if (entry.shape != null) {
+					writeString(output, entry.shape);
+				}
+				output.writeInt(entry.dependencies.size());
+				for (Map.Entry<IPath, String> dependency : entry.dependencies
+						.entrySet()) {
+					writeString(output, dependency.getKey().toString());
+					writeString(output, dependency.getValue());
+				}
+				output.writeInt(entry.problems.size());
+				for (IProblem problem : entry.problems) {
+					writeProblem(output, problem);
+				}
+			} finally {
+				output.close();
+			}
+			StateFiles.replace(temp, file);
+			temp = null;
+		} catch (IOException e) {
+			JavaScriptPlugin.error(e);
+			file.delete();
+		} finally {
+			if (temp != null) {
+				temp.delete();
+			}
+		}
+	}
+
+	public void remove(String validator, IPath path) {
+		if (path.segmentCount() != 0) {
+			fileOf(validator, path).delete();
+		}
+	}
+
+	/**
+	 * Removes the entries of all the validators for the specified module.
+	 */
+	public void remove(IPath path) {
+		if (path.segmentCount() == 0) {
+			return;
+		}
+		final String prefix = prefixOf(path);
+		final File[] files = directoryOf(path.segment(0)).listFiles();
+		if (files != null) {
+			for (File file : files) {
+				if (file.getName().startsWith(prefix)) {
+					file.delete();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Removes the entries of all the modules of the specified project.
+	 */
+	public void removeProject(String project) {
+		delete(directoryOf(project));
+	}
+
+	public void clear() {
+		final File[] files = directory.listFiles();
+		if (files != null) {
+			for (File file : files) {
+				delete(file);
+			}
+		}
+	}
+
+	private static void delete(File file) {
+		final File[] children = file.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				child.delete();
+			}
+		}
+		file.delete();
+	}
+
+	private static void writeProblem(DataOutputStream output, IProblem problem)
+			throws IOException {
+		writeString(output, DefaultProblemIdentifier.encode(problem.getID()));
+		writeString(output, problem.getMessage());
+		final String[] arguments = problem.getArguments();
+		output.writeInt(arguments != null ? arguments.length : -1);
+		if (arguments != null) {
+			for (String argument : arguments) {
+				writeString(output, argument != null ? argument : "");
+			}
+		}
+		writeString(output, severityOf(problem).name());
+		output.writeInt(problem.getSourceStart());
+		output.writeInt(problem.getSourceEnd());
+		output.writeInt(problem.getSourceLineNumber());
+	}
+
+	static ProblemSeverity severityOf(IProblem problem) {
+		if (problem instanceof DefaultProblem) {
+			return ((DefaultProblem) problem).getSeverity();
+		} else if (problem.isError()) {
+			return ProblemSeverity.ERROR;
+		} else if (problem.isWarning()) {
+			return ProblemSeverity.WARNING;
+		} else {
+			return ProblemSeverity.INFO;
+		}
+	}
+
+	@Nullable
+	private static IProblem readProblem(DataInputStream input)
+			throws IOException {
+		final IProblemIdentifier id = DefaultProblemIdentifier
+				.decode(readString(input));
+		final String message = readString(input);
+		final int argumentCount = input.readInt();
+		final String[] arguments;
+		if (argumentCount >= 0) {
+			arguments = new String[argumentCount];
+			for (int i = 0; i < argumentCount; ++i) {
+				arguments[i] = readString(input);
+			}
+		} else {
+			arguments = null;
+		}
+		final ProblemSeverity severity;
+		try {
+			severity = ProblemSeverity.valueOf(readString(input));
+		} catch (IllegalArgumentException e) {
+			throw new IOException(e.getMessage());
+		}
+		final int start = input.readInt();
+		final int end = input.readInt();
+		final int line = input.readInt();
+		if (id == null) {
+			return null;
+		}
+		return new DefaultProblem(message, id, arguments, severity, start,
+				end, line);
+	}
+
+	/**
+	 * Returns the hash of the current content of the specified workspace
+	 * file or <code>null</code> if it's not available.
+	 */
+	@Nullable
+	static String contentHashOf(IPath path) {
+		if (ResourcesPlugin.getPlugin() == null || path.segmentCount() < 2) {
+			return null;
+		}
+		final IFile file = ResourcesPlugin.getWorkspace().getRoot()
+				.getFile(path);
+		if (!file.exists()) {
+			return null;
+		}
+		try {
+			final InputStream stream = file.getContents(true);
+			try {
+				final Reader reader = new InputStreamReader(stream,
+						file.getCharset());
+				final StringBuilder sb = new StringBuilder();
+				final char[] buffer = new char[4096];
+				int len;
+				while ((len = reader.read(buffer)) != -1) {
+					sb.append(buffer, 0, len);
+				}
+				return ModuleShapes.digest(sb.toString());
+			} finally {
+				stream.close();
+			}
+		} catch (CoreException e) {
+			return null;
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	static String contentHashOf(IBuildContext context) {
+		return ModuleShapes.digest(new String(context.getContents()));
+	}
+
+	/**
+	 * Returns the hash of the preferences of this plugin in the instance and
+	 * the project scope and of the contributed type providers and validators,
+	 * so the changed preferences, extensions or their bundles invalidate the
+	 * results.
+	 */
+	static String preferenceHash(IBuildContext context) {
+		final StringBuilder sb = new StringBuilder();
+		sb.append(JavaScriptPlugin.PLUGIN_ID).append(VERSION).append(';');
+		sb.append(extensionHash()).append('#');
+		appendPreferences(sb, InstanceScope.INSTANCE
+				.getNode(JavaScriptPlugin.PLUGIN_ID));
+		if (context.getSourceModule() != null) {
+			final IScriptProject scriptProject = context.getSourceModule()
+					.getScriptProject();
+			if (scriptProject != null) {
+				final IProject project = scriptProject.getProject();
+				if (project != null) {
+					sb.append('#');
+					appendPreferences(sb, new ProjectScope(project)
+							.getNode(JavaScriptPlugin.PLUGIN_ID));
+				}
+			}
+		}
+		return ModuleShapes.digest(sb.toString());
+	}
+
+	private static final String BUILD_PARTICIPANT_EXT_POINT = DLTKCore.PLUGIN_ID
+			+ ".buildParticipant"; //$NON-NLS-1$
+
+	private static volatile String extensionHash;
+
+	/**
+	 * Returns the hash of the extensions contributing to the validation with
+	 * the versions of their bundles, calculated once per session.
+	 */
+	private static String extensionHash() {
+		String hash = extensionHash;
+		if (hash == null) {
+			final StringBuilder sb = new StringBuilder();
+			appendBundle(sb, JavaScriptPlugin.PLUGIN_ID);
+			final IExtensionRegistry registry = Platform
+					.getExtensionRegistry();
+			if (registry != null) {
+				for (IConfigurationElement element : registry
+						.getConfigurationElementsFor(TypeInfoManager.EXT_POINT)) {
+					appendExtension(sb, element);
+				}
+				for (IConfigurationElement element : registry
+						.getConfigurationElementsFor(BUILD_PARTICIPANT_EXT_POINT)) {
+					if (JavaScriptNature.NATURE_ID.equals(element
+							.getAttribute("nature"))) { //$NON-NLS-1$
+						appendExtension(sb, element);
+					}
+				}
+			}
+			extensionHash = hash = ModuleShapes.digest(sb.toString());
+		}
+		return hash;
+	}
+
+	private static void appendExtension(StringBuilder sb,
+			IConfigurationElement element) {
+		sb.append(element.getName()).append('=');
+		sb.append(element.getAttribute("id")).append('/'); //$NON-NLS-1$
+		sb.append(element.getAttribute("class")).append('@'); //$NON-NLS-1$
+		appendBundle(sb, element.getContributor().getName());
+	}
+
+	private static void appendBundle(StringBuilder sb, String name) {
+		final Bundle bundle = Platform.getBundle(name);
+		sb.append(name).append('_');
+		sb.append(bundle != null ? bundle.getVersion().toString() : null);
+		sb.append(';');
+	}
+
+	private static void appendPreferences(StringBuilder sb,
+			IEclipsePreferences preferences) {
+		try {
+			final String[] keys = preferences.keys();
+			Arrays.sort(keys);
+			for (String key : keys) {
+				sb.append(key).append('=').append(preferences.get(key, null))
+						.append(';');
+			}
+		} catch (BackingStoreException e) {
+			// ignore
+		}
+	}
+
+}
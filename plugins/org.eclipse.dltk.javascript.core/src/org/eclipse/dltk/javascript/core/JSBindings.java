@@ -17,6 +17,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
 
+import org.eclipse.dltk.annotations.Nullable;
 import org.eclipse.dltk.ast.ASTNode;
 import org.eclipse.dltk.codeassist.ICompletionEngine;
 import org.eclipse.dltk.codeassist.ISelectionEngine;
@@ -30,6 +31,7 @@ import org.eclipse.dltk.internal.javascript.ti.TypeInferencer2;
 import org.eclipse.dltk.internal.javascript.validation.TypeInfoValidator;
 import org.eclipse.dltk.javascript.ast.JSNode;
 import org.eclipse.dltk.javascript.ast.Script;
+import org.eclipse.dltk.javascript.internal.core.BindingsCache;
 import org.eclipse.dltk.javascript.internal.core.CollectingVisitor;
 import org.eclipse.dltk.javascript.internal.core.CoreMessages;
 import org.eclipse.dltk.javascript.parser.JavaScriptParserUtil;
@@ -88,7 +90,11 @@ public class JSBindings implements Map<ASTNode, IValueReference> {
 	}
 
 	private static JSBindings buildBindings(IModelElement element, Script script) {
-		final JSBindings cached = TypeInfoValidator.getCachedBindings(script);
+		JSBindings cached = TypeInfoValidator.getCachedBindings(script);
+		if (cached != null) {
+			return cached;
+		}
+		cached = BindingsCache.INSTANCE.get(element, script);
 		if (cached != null) {
 			return cached;
 		}
@@ -150,6 +156,29 @@ public class JSBindings implements Map<ASTNode, IValueReference> {
 		return bindings;
 	}
 
+	/**
+	 * Returns the bindings of the specified {@link Script} if they were
+	 * already computed (e.g. by the validation or the previous request) or
+	 * <code>null</code> otherwise. Unlike {@link #of(Script)} it never runs the
+	 * type inference, so it could be used to answer the request quickly before
+	 * falling back to the inference of the part of the module.
+	 */
+	@Nullable
+	public static JSBindings cachedOf(Script script) {
+		JSBindings bindings = (JSBindings) script.getAttribute(ATTR_BINDINGS);
+		if (bindings != null) {
+			return bindings;
+		}
+		bindings = BindingsCache.INSTANCE.get(
+				(IModelElement) script
+						.getAttribute(JavaScriptParserUtil.ATTR_MODULE),
+				script);
+		if (bindings != null && bindings.isCacheable()) {
+			script.setAttribute(ATTR_BINDINGS, bindings);
+		}
+		return bindings;
+	}
+
 	/**
 	 * Returns bindings for the specified {@link IBuildContext}. This method
 	 * should be called only from {@link IBuildParticipant} which has dependency
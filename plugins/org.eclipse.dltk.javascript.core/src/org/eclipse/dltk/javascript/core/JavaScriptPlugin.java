@@ -12,6 +12,9 @@ package org.eclipse.dltk.javascript.core;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Plugin;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.dltk.internal.javascript.ti.TypeSystemCacheSettings;
+import org.eclipse.dltk.javascript.internal.core.JavaScriptCacheInvalidator;
+import org.eclipse.dltk.javascript.internal.search.OccurrenceIndex;
 import org.osgi.framework.BundleContext;
 
 /**
@@ -37,6 +40,8 @@ public class JavaScriptPlugin extends Plugin {
 	@Override
 	public void start(BundleContext context) throws Exception {
 		super.start(context);
+		TypeSystemCacheSettings.register();
+		JavaScriptCacheInvalidator.register();
 	}
 
 	/**
@@ -44,6 +49,9 @@ public class JavaScriptPlugin extends Plugin {
 	 */
 	@Override
 	public void stop(BundleContext context) throws Exception {
+		JavaScriptCacheInvalidator.unregister();
+		OccurrenceIndex.saveAll();
+		TypeSystemCacheSettings.unregister();
 		super.stop(context);
 		plugin = null;
 	}
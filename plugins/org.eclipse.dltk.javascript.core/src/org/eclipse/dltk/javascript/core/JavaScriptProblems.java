@@ -188,7 +188,14 @@ public enum JavaScriptProblems implements IProblemIdentifier,
 	/**
 	 * @since 5.0
 	 */
-	FUNCTION_HIDES_PREDEFINED;
+	FUNCTION_HIDES_PREDEFINED,
+
+	/**
+	 * Too many problems in the module, the rest is not reported.
+	 * 
+	 * @since 5.1
+	 */
+	TOO_MANY_PROBLEMS;
 
 	private JavaScriptProblems() {
 		this(null);
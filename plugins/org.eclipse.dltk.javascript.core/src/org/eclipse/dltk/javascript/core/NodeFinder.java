@@ -21,8 +21,10 @@ import org.eclipse.dltk.ast.ASTVisitor;
 import org.eclipse.dltk.javascript.ast.Comment;
 import org.eclipse.dltk.javascript.ast.FunctionStatement;
 import org.eclipse.dltk.javascript.ast.ISemicolonStatement;
+import org.eclipse.dltk.javascript.ast.Identifier;
 import org.eclipse.dltk.javascript.ast.JSNode;
 import org.eclipse.dltk.javascript.ast.JSUserNode;
+import org.eclipse.dltk.javascript.ast.Literal;
 import org.eclipse.dltk.javascript.ast.Script;
 import org.eclipse.dltk.javascript.ast.Statement;
 
@@ -105,6 +107,12 @@ public class NodeFinder extends ASTVisitor {
 				return true;
 			}
 		}
+		final ASTNode leaf = findLeaf(script);
+		if (leaf != null) {
+			before = leaf;
+			after = leaf;
+			return true;
+		}
 		try {
 			script.traverse(this);
 			return true;
@@ -113,6 +121,29 @@ public class NodeFinder extends ASTVisitor {
 		}
 	}
 
+	/**
+	 * Returns the identifier or literal covering the range, found with the
+	 * {@link NodeIndex} of the script instead of the full traversal, or
+	 * <code>null</code> if the traversal is needed. The range should not start
+	 * at the end of the node, where the adjacent node could be preferred.
+	 */
+	private ASTNode findLeaf(Script script) {
+		final ASTNode node = NodeIndex.of(script).findInnermost(start, end);
+		if (!(node instanceof Identifier || node instanceof Literal)
+				|| start >= node.sourceEnd()) {
+			return null;
+		}
+		if (skipUserExpressions) {
+			for (JSNode parent = ((JSNode) node).getParent(); parent != null; parent = parent
+					.getParent()) {
+				if (parent instanceof JSUserNode) {
+					return null;
+				}
+			}
+		}
+		return node;
+	}
+
 	public NodeFinder locate(Script script) {
 		if (!traverse(script)) {
 			before = null;
@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.javascript.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.eclipse.dltk.annotations.Nullable;
+import org.eclipse.dltk.ast.ASTNode;
+import org.eclipse.dltk.ast.ASTVisitor;
+import org.eclipse.dltk.javascript.ast.Script;
+
+/**
+ * The index of the nodes of the {@link Script} by their source ranges, so the
+ * node at the offset is found with the binary search instead of traversing
+ * the whole AST. The index is built on the first use and cached in the
+ * attributes of the script, so it is shared by all the users of the cached
+ * AST.
+ *
+ * <p>
+ * The nodes are flattened in the order of their start offsets (the outer
+ * nodes first if the starts are equal), each one with the reference to the
+ * closest enclosing node, so the queries take the binary search plus the walk
+ * up to the enclosing nodes, bounded by the nesting depth.
+ * </p>
+ */
+public class NodeIndex {
+
+	private static final String ATTR_INDEX = NodeIndex.class.getName();
+
+	/**
+	 * Returns the index of the specified script, building it if needed.
+	 */
+	public static NodeIndex of(Script script) {
+		NodeIndex index = (NodeIndex) script.getAttribute(ATTR_INDEX);
+		if (index == null) {
+			index = new NodeIndex(script);
+			script.setAttribute(ATTR_INDEX, index);
+		}
+		return index;
+	}
+
+	private static class Collector extends ASTVisitor {
+		final List<ASTNode> nodes = new ArrayList<ASTNode>();
+
+		@Override
+		public boolean visit(ASTNode node) throws Exception {
+			if (node.sourceStart() >= 0 && node.sourceEnd() >= node.sourceStart()) {
+				nodes.add(node);
+			}
+			return true;
+		}
+	}
+
+	private static final Comparator<ASTNode> BY_RANGE = new Comparator<ASTNode>() {
+		public int compare(ASTNode o1, ASTNode o2) {
+			if (o1.sourceStart() != o2.sourceStart()) {
+				return o1.sourceStart() < o2.sourceStart() ? -1 : 1;
+			}
+			if (o1.sourceEnd() != o2.sourceEnd()) {
+				return o1.sourceEnd() > o2.sourceEnd() ? -1 : 1;
+			}
+			return 0;
+		}
+	};
+
+	private final ASTNode[] nodes;
+	private final int[] starts;
+	private final int[] ends;
+	/**
+	 * The index of the closest enclosing node or <code>-1</code>.
+	 */
+	private final int[] parents;
+
+	NodeIndex(Script script) {
+		final Collector collector = new Collector();
+		try {
+			script.traverse(collector);
+		} catch (Exception e) {
+			JavaScriptPlugin.error(e);
+		}
+		nodes = collector.nodes.toArray(new ASTNode[collector.nodes.size()]);
+		// stable, so the nested nodes with the same range stay after the outer
+		Arrays.sort(nodes, BY_RANGE);
+		starts = new int[nodes.length];
+		ends = new int[nodes.length];
+		parents = new int[nodes.length];
+		final int[] stack = new int[nodes.length];
+		int depth = 0;
+		for (int i = 0; i < nodes.length; ++i) {
+			starts[i] = nodes[i].sourceStart();
+			ends[i] = nodes[i].sourceEnd();
+			while (depth > 0 && ends[stack[depth - 1]] < ends[i]) {
+				--depth;
+			}
+			parents[i] = depth > 0 ? stack[depth - 1] : -1;
+			stack[depth++] = i;
+		}
+	}
+
+	public int size() {
+		return nodes.length;
+	}
+
+	/**
+	 * Returns the innermost node containing the specified offset (the end of
+	 * the node inclusive, so the identifier is found when the offset is
+	 * immediately after it) or <code>null</code> if there is no such node.
+	 * If the offset is both at the end of one node and at the start of the
+	 * other one, then the latter is returned.
+	 */
+	@Nullable
+	public ASTNode findInnermost(int offset) {
+		return findInnermost(offset, offset);
+	}
+
+	/**
+	 * Returns the innermost node covering the specified range (the end of the
+	 * node inclusive) or <code>null</code> if there is no such node.
+	 */
+	@Nullable
+	public ASTNode findInnermost(int start, int end) {
+		final int i = innermost(start, end);
+		return i >= 0 ? nodes[i] : null;
+	}
+
+	/**
+	 * Returns all the nodes covering the specified range (the end of the node
+	 * inclusive), the innermost first.
+	 */
+	public List<ASTNode> findCovering(int start, int end) {
+		final List<ASTNode> result = new ArrayList<ASTNode>();
+		for (int i = innermost(start, end); i >= 0; i = parents[i]) {
+			result.add(nodes[i]);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the index of the innermost node covering the specified range or
+	 * <code>-1</code>. Any node covering the range starts before it, so it is
+	 * either the last node starting at or before the range or one of its
+	 * enclosing nodes.
+	 */
+	private int innermost(int start, int end) {
+		if (end < start) {
+			return -1;
+		}
+		int i = lastStartingAtOrBefore(start);
+		while (i >= 0 && ends[i] < end) {
+			i = parents[i];
+		}
+		return i;
+	}
+
+	/**
+	 * Returns the index of the last node starting at or before the specified
+	 * offset or <code>-1</code>.
+	 */
+	private int lastStartingAtOrBefore(int offset) {
+		int low = 0;
+		int high = starts.length;
+		while (low < high) {
+			final int mid = (low + high) >>> 1;
+			if (starts[mid] <= offset) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low - 1;
+	}
+
+}
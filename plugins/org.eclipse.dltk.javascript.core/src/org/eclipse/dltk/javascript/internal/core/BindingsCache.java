@@ -0,0 +1,268 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.javascript.internal.core;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.dltk.annotations.Nullable;
+import org.eclipse.dltk.core.IModelElement;
+import org.eclipse.dltk.javascript.ast.Script;
+import org.eclipse.dltk.javascript.core.JSBindings;
+
+/**
+ * The bindings computed by the build, so the editors, search and hovers reuse
+ * them instead of the inferencing the module again.
+ *
+ * <p>
+ * The entries are identified by the path and the modification stamp of the
+ * module, the entries without the real modification stamp are not cached.
+ * The {@link Script} the bindings were computed for is only weakly referenced
+ * and should be the same instance the reader has, as the bindings are keyed by
+ * it's nodes. The entries stay in the cache while they are valid, the type
+ * system of the cached bindings is not used for the inference anymore and it's
+ * caches are guarded by it's own lock, so the same bindings are returned to
+ * all the readers of that script, like the bindings cached in the AST by
+ * {@link JSBindings}.
+ * </p>
+ *
+ * <p>
+ * The size of the cache is limited by the total weight (the number of the
+ * bound nodes and the retained type systems), the least recently used entries
+ * are evicted first. The bindings are softly referenced, so they are also
+ * released under memory pressure. The entries are evicted by the
+ * {@link JavaScriptCacheInvalidator} when the modules are removed and when the
+ * projects are removed or cleaned.
+ * </p>
+ */
+public class BindingsCache {
+
+	/**
+	 * The maximum total weight of the shared instance.
+	 */
+	private static final long MAX_WEIGHT = 200000;
+
+	/**
+	 * The weight added to each entry for the retained type system.
+	 */
+	static final int ENTRY_WEIGHT = 10000;
+
+	public static final BindingsCache INSTANCE = new BindingsCache(MAX_WEIGHT);
+
+	private static class Entry extends SoftReference<JSBindings> {
+		final IPath path;
+		final long version;
+		final WeakReference<Script> script;
+		final long weight;
+
+		Entry(IPath path, long version, Script script, JSBindings bindings,
+				ReferenceQueue<JSBindings> queue) {
+			super(bindings, queue);
+			this.path = path;
+			this.version = version;
+			this.script = new WeakReference<Script>(script);
+			this.weight = ENTRY_WEIGHT + bindings.size();
+		}
+	}
+
+	private final long maxWeight;
+	/**
+	 * The entries in the order of the access, the eldest first.
+	 */
+	private final LinkedHashMap<IPath, Entry> entries = new LinkedHashMap<IPath, Entry>(
+			16, 0.75f, true);
+	private final ReferenceQueue<JSBindings> queue = new ReferenceQueue<JSBindings>();
+	private long weight;
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong evictions = new AtomicLong();
+
+	public BindingsCache(long maxWeight) {
+		this.maxWeight = maxWeight;
+	}
+
+	/**
+	 * Returns the version of the specified module used to validate the
+	 * entries, i.e. the modification stamp of it's resource or
+	 * {@link IResource#NULL_STAMP} if it's not known.
+	 */
+	public static long versionOf(@Nullable IModelElement element) {
+		if (element != null) {
+			final IResource resource = element.getResource();
+			if (resource != null) {
+				return resource.getModificationStamp();
+			}
+		}
+		return IResource.NULL_STAMP;
+	}
+
+	/**
+	 * Saves the bindings of the specified script. The type system of the
+	 * bindings should not be used by the caller anymore. Does nothing if the
+	 * version is {@link IResource#NULL_STAMP}.
+	 */
+	public synchronized void put(IPath path, long version, Script script,
+			JSBindings bindings) {
+		expunge();
+		final Entry previous = entries.remove(path);
+		if (previous != null) {
+			weight -= previous.weight;
+		}
+		if (version == IResource.NULL_STAMP) {
+			return;
+		}
+		final Entry entry = new Entry(path, version, script, bindings, queue);
+		if (entry.weight > maxWeight) {
+			return;
+		}
+		entries.put(path, entry);
+		weight += entry.weight;
+		final Iterator<Entry> i = entries.values().iterator();
+		while (weight > maxWeight && i.hasNext()) {
+			final Entry eldest = i.next();
+			i.remove();
+			weight -= eldest.weight;
+			evictions.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Returns the bindings of the specified script if they are available and
+	 * the module has not been changed since, <code>null</code> otherwise. The
+	 * stale entry of the module is removed.
+	 */
+	@Nullable
+	public synchronized JSBindings get(IPath path, long version, Script script) {
+		expunge();
+		if (version != IResource.NULL_STAMP) {
+			final Entry entry = entries.get(path);
+			if (entry != null) {
+				final JSBindings bindings = entry.get();
+				if (bindings != null && entry.version == version
+						&& entry.script.get() == script) {
+					hits.incrementAndGet();
+					return bindings;
+				}
+				if (bindings == null || entry.version != version) {
+					remove(entry);
+				}
+			}
+		}
+		misses.incrementAndGet();
+		return null;
+	}
+
+	/**
+	 * Returns the bindings of the specified script of the specified module,
+	 * see {@link #get(IPath, long, Script)}.
+	 */
+	@Nullable
+	public JSBindings get(@Nullable IModelElement element, Script script) {
+		if (element == null) {
+			return null;
+		}
+		return get(element.getPath(), versionOf(element), script);
+	}
+
+	/**
+	 * Removes the bindings of the specified module.
+	 */
+	public synchronized void remove(IPath path) {
+		final Entry entry = entries.get(path);
+		if (entry != null) {
+			remove(entry);
+		}
+	}
+
+	/**
+	 * Removes the bindings of the modules under the specified path, e.g. of
+	 * the project.
+	 */
+	public synchronized void removeAll(IPath prefix) {
+		final Iterator<Entry> i = entries.values().iterator();
+		while (i.hasNext()) {
+			final Entry entry = i.next();
+			if (prefix.isPrefixOf(entry.path)) {
+				i.remove();
+				weight -= entry.weight;
+			}
+		}
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+		weight = 0;
+		expunge();
+	}
+
+	private void remove(Entry entry) {
+		if (entries.get(entry.path) == entry) {
+			entries.remove(entry.path);
+			weight -= entry.weight;
+		}
+	}
+
+	/**
+	 * Removes the entries cleared by the garbage collector.
+	 */
+	private void expunge() {
+		Entry entry;
+		while ((entry = (Entry) queue.poll()) != null) {
+			if (entries.get(entry.path) == entry) {
+				evictions.incrementAndGet();
+				remove(entry);
+			}
+		}
+	}
+
+	public synchronized int size() {
+		expunge();
+		return entries.size();
+	}
+
+	public synchronized long getWeight() {
+		return weight;
+	}
+
+	public long getHits() {
+		return hits.get();
+	}
+
+	public long getMisses() {
+		return misses.get();
+	}
+
+	public long getEvictions() {
+		return evictions.get();
+	}
+
+	public void resetStatistics() {
+		hits.set(0);
+		misses.set(0);
+		evictions.set(0);
+	}
+
+	@Override
+	public String toString() {
+		return "BindingsCache[size=" + size() + ", weight=" + getWeight()
+				+ ", hits=" + hits + ", misses=" + misses + ", evictions="
+				+ evictions + "]";
+	}
+
+}
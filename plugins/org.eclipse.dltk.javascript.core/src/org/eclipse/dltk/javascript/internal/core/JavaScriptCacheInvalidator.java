@@ -0,0 +1,156 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.javascript.internal.core;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IncrementalProjectBuilder;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.dltk.internal.javascript.validation.ModuleShapes;
+import org.eclipse.dltk.internal.javascript.validation.ValidationResultCache;
+import org.eclipse.dltk.javascript.core.JavaScriptPlugin;
+import org.eclipse.dltk.javascript.internal.search.CallGraph;
+import org.eclipse.dltk.javascript.internal.search.OccurrenceIndex;
+
+/**
+ * Evicts the entries of the build time caches when the files are removed,
+ * the projects are closed or deleted and when the projects are cleaned.
+ */
+public class JavaScriptCacheInvalidator implements IResourceChangeListener {
+
+	private static final int EVENTS = IResourceChangeEvent.POST_CHANGE
+			| IResourceChangeEvent.PRE_CLOSE | IResourceChangeEvent.PRE_DELETE
+			| IResourceChangeEvent.PRE_BUILD;
+
+	private static JavaScriptCacheInvalidator instance;
+
+	/**
+	 * Registers the shared instance in the workspace.
+	 */
+	public static synchronized void register() {
+		if (instance == null && ResourcesPlugin.getPlugin() != null) {
+			instance = new JavaScriptCacheInvalidator();
+			ResourcesPlugin.getWorkspace().addResourceChangeListener(instance,
+					EVENTS);
+		}
+	}
+
+	/**
+	 * Unregisters the shared instance from the workspace.
+	 */
+	public static synchronized void unregister() {
+		if (instance != null) {
+			if (ResourcesPlugin.getPlugin() != null) {
+				ResourcesPlugin.getWorkspace().removeResourceChangeListener(
+						instance);
+			}
+			instance = null;
+		}
+	}
+
+	public void resourceChanged(IResourceChangeEvent event) {
+		switch (event.getType()) {
+		case IResourceChangeEvent.PRE_CLOSE:
+		case IResourceChangeEvent.PRE_DELETE:
+			if (event.getResource() instanceof IProject) {
+				projectRemoved((IProject) event.getResource(),
+						event.getType() == IResourceChangeEvent.PRE_DELETE);
+			}
+			break;
+		case IResourceChangeEvent.PRE_BUILD:
+			if (event.getBuildKind() == IncrementalProjectBuilder.CLEAN_BUILD) {
+				if (event.getSource() instanceof IProject) {
+					projectCleaned((IProject) event.getSource());
+				} else if (event.getSource() instanceof IWorkspace) {
+					for (IProject project : ((IWorkspace) event.getSource())
+							.getRoot().getProjects()) {
+						projectCleaned(project);
+					}
+				}
+			}
+			break;
+		case IResourceChangeEvent.POST_CHANGE:
+			if (event.getDelta() != null) {
+				try {
+					event.getDelta().accept(new IResourceDeltaVisitor() {
+						public boolean visit(IResourceDelta delta) {
+							if (delta.getKind() == IResourceDelta.REMOVED
+									&& delta.getResource().getType() == IResource.FILE) {
+								fileRemoved(delta.getResource().getFullPath());
+							}
+							return true;
+						}
+					});
+				} catch (CoreException e) {
+					JavaScriptPlugin.error(e);
+				}
+			}
+			break;
+		}
+	}
+
+	/**
+	 * Called when the file is deleted or moved.
+	 */
+	static void fileRemoved(IPath path) {
+		ModuleShapes.INSTANCE.remove(path);
+		BindingsCache.INSTANCE.remove(path);
+		OccurrenceIndex.removeFile(path);
+		CallGraph.removeFile(path);
+		final ValidationResultCache cache = ValidationResultCache
+				.getInstance();
+		if (cache != null) {
+			cache.remove(path);
+		}
+	}
+
+	/**
+	 * Called when the project is closed or deleted. The validation results
+	 * on disk are kept while the project is closed, they are still valid
+	 * when it's opened or imported again.
+	 */
+	static void projectRemoved(IProject project, boolean deleted) {
+		ModuleShapes.INSTANCE.removeAll(project.getFullPath());
+		BindingsCache.INSTANCE.removeAll(project.getFullPath());
+		if (deleted) {
+			removeValidationResults(project);
+		}
+		OccurrenceIndex.removeProject(project, deleted);
+		CallGraph.removeProject(project);
+	}
+
+	/**
+	 * Called before the project is cleaned. The validation results on disk
+	 * are validated against the content and are reused by the clean build.
+	 */
+	static void projectCleaned(IProject project) {
+		ModuleShapes.INSTANCE.removeAll(project.getFullPath());
+		BindingsCache.INSTANCE.removeAll(project.getFullPath());
+		CallGraph.removeProject(project);
+	}
+
+	private static void removeValidationResults(IProject project) {
+		final ValidationResultCache cache = ValidationResultCache
+				.getInstance();
+		if (cache != null) {
+			cache.removeProject(project.getName());
+		}
+	}
+
+}
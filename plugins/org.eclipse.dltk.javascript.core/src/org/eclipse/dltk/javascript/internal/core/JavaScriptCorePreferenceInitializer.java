@@ -4,6 +4,7 @@ import org.eclipse.core.runtime.preferences.AbstractPreferenceInitializer;
 import org.eclipse.core.runtime.preferences.DefaultScope;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences;
 import org.eclipse.dltk.compiler.task.TaskTagUtils;
+import org.eclipse.dltk.internal.javascript.validation.ProblemBatch;
 import org.eclipse.dltk.javascript.core.JavaScriptPlugin;
 
 public class JavaScriptCorePreferenceInitializer extends
@@ -14,5 +15,7 @@ public class JavaScriptCorePreferenceInitializer extends
 		final IEclipsePreferences preferences = DefaultScope.INSTANCE
 				.getNode(JavaScriptPlugin.PLUGIN_ID);
 		TaskTagUtils.initializeDefaultValues(preferences);
+		preferences.putInt(ProblemBatch.PREF_PROBLEM_LIMIT,
+				ProblemBatch.DEFAULT_PROBLEM_LIMIT);
 	}
 }
@@ -0,0 +1,32 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.javascript.internal.core;
+
+import java.util.Map;
+
+import org.eclipse.dltk.ast.ASTNode;
+import org.eclipse.dltk.javascript.core.JSBindings;
+import org.eclipse.dltk.javascript.typeinference.IValueReference;
+import org.eclipse.dltk.javascript.typeinfo.ITypeSystem;
+
+/**
+ * The bindings computed by the build and shared via the {@link BindingsCache}.
+ * The type system is not used for the inference anymore, so like the bindings
+ * computed by {@link JSBindings#of(org.eclipse.dltk.javascript.ast.Script)}
+ * they are cached in the AST and shared by it's readers.
+ */
+public class SharedBindings extends JSBindings {
+	public SharedBindings(ITypeSystem typeSystem,
+			Map<ASTNode, IValueReference> nodeMap) {
+		super(typeSystem, nodeMap);
+	}
+}
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.javascript.internal.core;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Utilities for the files stored in the plugin state location.
+ */
+public class StateFiles {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8"); //$NON-NLS-1$
+
+	private static final String TEMP_SUFFIX = ".tmp"; //$NON-NLS-1$
+
+	private StateFiles() {
+	}
+
+	/**
+	 * Creates the temporary file next to the specified one, to be written and
+	 * then moved over it with {@link #replace(File, File)}.
+	 */
+	public static File createTemp(File file) throws IOException {
+		return File.createTempFile(file.getName(), TEMP_SUFFIX,
+				file.getParentFile());
+	}
+
+	/**
+	 * Moves the completely written temporary file over the target one, so the
+	 * readers never see the partially written content.
+	 */
+	public static void replace(File temp, File target) throws IOException {
+		try {
+			Files.move(temp.toPath(), target.toPath(),
+					StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temp.toPath(), target.toPath(),
+					StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * Writes the string as the length prefixed UTF-8 bytes, as
+	 * {@link DataOutputStream#writeUTF(String)} is limited to 64K.
+	 */
+	public static void writeString(DataOutputStream output, String value)
+			throws IOException {
+		final byte[] bytes = value.getBytes(UTF_8);
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+
+	/**
+	 * Reads the string written by
+	 * {@link #writeString(DataOutputStream, String)}.
+	 */
+	public static String readString(DataInputStream input) throws IOException {
+		final int length = input.readInt();
+		if (length < 0) {
+			throw new IOException("Invalid length " + length); //$NON-NLS-1$
+		}
+		final byte[] bytes = new byte[length];
+		input.readFully(bytes);
+		return new String(bytes, UTF_8);
+	}
+
+}
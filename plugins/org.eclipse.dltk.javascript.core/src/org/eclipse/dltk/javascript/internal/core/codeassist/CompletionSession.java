@@ -0,0 +1,197 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.javascript.internal.core.codeassist;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.dltk.annotations.Nullable;
+import org.eclipse.dltk.javascript.internal.core.codeassist.JavaScriptCompletionUtil.ExpressionContext;
+
+/**
+ * The result of the last code completion: the proposals computed for the
+ * identifier prefix at the completion position. While the user continues
+ * typing the same identifier (the text before the identifier and after the
+ * completion position is not changed), the next completion requests just
+ * filter these proposals by the longer prefix instead of parsing and
+ * inferring the module again.
+ */
+public class CompletionSession {
+
+	/**
+	 * The session expires if not used for this time, so the changes in the
+	 * other modules are taken into account eventually.
+	 */
+	static final long TIMEOUT = 10000;
+
+	private static CompletionSession current;
+
+	/**
+	 * Returns the session which could be continued at the specified position
+	 * of the specified content or <code>null</code> if the completion should
+	 * be computed from scratch.
+	 */
+	@Nullable
+	public static synchronized CompletionSession find(Object key,
+			Object requestorType, int options, String content, int position) {
+		final CompletionSession session = current;
+		if (session == null) {
+			return null;
+		}
+		final long now = System.currentTimeMillis();
+		if (now - session.lastUsed > TIMEOUT
+				|| !session.isContinuedBy(key, requestorType, options,
+						content, position)) {
+			current = null;
+			return null;
+		}
+		session.lastUsed = now;
+		return session;
+	}
+
+	/**
+	 * Makes the specified session the current one.
+	 */
+	public static synchronized void start(CompletionSession session) {
+		current = session;
+	}
+
+	public static synchronized void reset() {
+		current = null;
+	}
+
+	/**
+	 * Checks if the completion for the identifier ending at the specified
+	 * position of the specified content could be continued later.
+	 */
+	static boolean isIdentifierEnd(String content, int position,
+			String prefix) {
+		final int start = position - prefix.length();
+		return start >= 0
+				&& content.regionMatches(start, prefix, 0, prefix.length())
+				&& (position == content.length() || !Character
+						.isJavaIdentifierPart(content.charAt(position)));
+	}
+
+	private final Object key;
+	private final Object requestorType;
+	private final int options;
+	private final String content;
+	private final int identifierStart;
+	private final int position;
+	private final String prefix;
+	final boolean member;
+	@Nullable
+	final ExpressionContext expressionContext;
+	final List<ProposalTemplate> proposals;
+	private NameIndex<ProposalTemplate> index;
+	private long lastUsed = System.currentTimeMillis();
+
+	/**
+	 * @param key
+	 *            the identity of the module
+	 * @param requestorType
+	 *            the type of the completion requestor, since the requestors
+	 *            could ignore some kinds of the proposals
+	 * @param options
+	 *            the global options of the completion engine
+	 * @param content
+	 *            the content of the module
+	 * @param position
+	 *            the completion position, it should be the end of the
+	 *            identifier
+	 * @param prefix
+	 *            the identifier prefix the proposals were computed for
+	 * @param member
+	 *            if the proposals are the members of some expression
+	 * @param expressionContext
+	 *            the context of the global completion
+	 * @param proposals
+	 *            the proposals computed for the prefix
+	 */
+	public CompletionSession(Object key, Object requestorType, int options,
+			String content, int position, String prefix, boolean member,
+			@Nullable ExpressionContext expressionContext,
+			List<ProposalTemplate> proposals) {
+		this.key = key;
+		this.requestorType = requestorType;
+		this.options = options;
+		this.content = content;
+		this.position = position;
+		this.prefix = prefix;
+		this.identifierStart = position - prefix.length();
+		this.member = member;
+		this.expressionContext = expressionContext;
+		this.proposals = Collections.unmodifiableList(proposals);
+	}
+
+	/**
+	 * Checks if the specified content differs from the content of this
+	 * session only by the identifier being completed, which starts with the
+	 * prefix of this session.
+	 */
+	boolean isContinuedBy(Object key, Object requestorType, int options,
+			String content, int position) {
+		if (!this.key.equals(key) || !this.requestorType.equals(requestorType)
+				|| this.options != options) {
+			return false;
+		}
+		if (position < identifierStart + prefix.length()
+				|| position > content.length()) {
+			return false;
+		}
+		final int suffixLength = this.content.length() - this.position;
+		if (content.length() - position != suffixLength
+				|| !content.regionMatches(position, this.content,
+						this.position, suffixLength)) {
+			return false;
+		}
+		if (!content.regionMatches(0, this.content, 0, identifierStart)
+				|| !content.regionMatches(identifierStart, prefix, 0,
+						prefix.length())) {
+			return false;
+		}
+		for (int i = identifierStart + prefix.length(); i < position; ++i) {
+			if (!Character.isJavaIdentifierPart(content.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the index of the proposals, built when the session is
+	 * continued for the first time.
+	 */
+	synchronized NameIndex<ProposalTemplate> getIndex() {
+		if (index == null) {
+			index = new NameIndex<ProposalTemplate>(proposals,
+					ProposalTemplate.NAMER);
+		}
+		return index;
+	}
+
+	/**
+	 * Returns the start of the identifier being completed.
+	 */
+	int getIdentifierStart() {
+		return identifierStart;
+	}
+
+	/**
+	 * Returns the prefix of the identifier at the specified position.
+	 */
+	String prefixAt(String content, int position) {
+		return content.substring(identifierStart, position);
+	}
+
+}
@@ -26,6 +26,7 @@ import org.eclipse.dltk.core.search.SearchMatch;
 import org.eclipse.dltk.core.search.SearchParticipant;
 import org.eclipse.dltk.core.search.SearchPattern;
 import org.eclipse.dltk.core.search.SearchRequestor;
+import org.eclipse.dltk.javascript.internal.search.CallGraph;
 
 public class JavaScriptCallProcessor implements ICallProcessor {
 	public final static int GENERICS_AGNOSTIC_MATCH_RULE = SearchPattern.R_EXACT_MATCH
@@ -35,6 +36,11 @@ public class JavaScriptCallProcessor implements ICallProcessor {
 
 	public Map process(final IModelElement parent, IModelElement element,
 			IDLTKSearchScope scope, IProgressMonitor monitor) {
+		final Map<SimpleReference, IModelElement> callers = CallGraph
+				.callersOf(parent, scope);
+		if (callers != null) {
+			return callers;
+		}
 		final Map elements = new HashMap();
 		SearchRequestor requestor = new SearchRequestor() {
 
@@ -14,6 +14,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.dltk.ast.references.SimpleReference;
@@ -26,6 +27,7 @@ import org.eclipse.dltk.core.IMethod;
 import org.eclipse.dltk.core.IModelElement;
 import org.eclipse.dltk.core.ISourceElementParser;
 import org.eclipse.dltk.core.ISourceModule;
+import org.eclipse.dltk.core.ISourceRange;
 import org.eclipse.dltk.core.ModelException;
 import org.eclipse.dltk.core.search.IDLTKSearchScope;
 import org.eclipse.dltk.core.search.SearchEngine;
@@ -33,6 +35,8 @@ import org.eclipse.dltk.core.search.SearchParticipant;
 import org.eclipse.dltk.core.search.SearchPattern;
 import org.eclipse.dltk.core.search.SearchRequestor;
 import org.eclipse.dltk.javascript.core.JavaScriptNature;
+import org.eclipse.dltk.javascript.internal.search.CallGraph;
+import org.eclipse.dltk.javascript.internal.search.CallGraph.CallSite;
 
 public class JavaScriptCalleeProcessor implements ICalleeProcessor {
 	protected static int EXACT_RULE = SearchPattern.R_EXACT_MATCH
@@ -75,6 +79,24 @@ public class JavaScriptCalleeProcessor implements ICalleeProcessor {
 	}
 
 	public Map doOperation() {
+		final ISourceModule module = method.getSourceModule();
+		final IResource resource = module.getResource();
+		if (resource != null) {
+			try {
+				final ISourceRange range = method.getSourceRange();
+				for (CallSite call : CallGraph.forProject(
+						resource.getProject()).callsIn(module,
+						range.getOffset(),
+						range.getOffset() + range.getLength())) {
+					fSearchResults.put(call.toReference(),
+							toMethods(call.getCallees(module)));
+				}
+				return fSearchResults;
+			} catch (ModelException e) {
+				DLTKCore.error("Error finding calls of the method: " + method,
+						e);
+			}
+		}
 		try {
 			String methodSource = method.getSource();
 			this.index = methodSource.indexOf('{');
@@ -91,6 +113,16 @@ public class JavaScriptCalleeProcessor implements ICalleeProcessor {
 		return fSearchResults;
 	}
 
+	private static IMethod[] toMethods(IModelElement[] elements) {
+		final List<IMethod> methods = new ArrayList<IMethod>();
+		for (IModelElement element : elements) {
+			if (element instanceof IMethod) {
+				methods.add((IMethod) element);
+			}
+		}
+		return methods.toArray(new IMethod[methods.size()]);
+	}
+
 	public IMethod[] findMethods(final String methodName, int argCount,
 			int sourcePosition) {
 		final List methods = new ArrayList();
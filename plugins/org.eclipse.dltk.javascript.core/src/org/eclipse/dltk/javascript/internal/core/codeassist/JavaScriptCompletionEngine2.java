@@ -13,6 +13,7 @@ package org.eclipse.dltk.javascript.internal.core.codeassist;
 
 import static org.eclipse.dltk.javascript.ast.Keywords.THIS;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
@@ -23,7 +24,6 @@ import org.eclipse.core.runtime.Platform;
 import org.eclipse.dltk.annotations.Internal;
 import org.eclipse.dltk.ast.ASTNode;
 import org.eclipse.dltk.codeassist.ScriptCompletionEngine;
-import org.eclipse.dltk.compiler.CharOperation;
 import org.eclipse.dltk.compiler.env.IModuleSource;
 import org.eclipse.dltk.compiler.problem.IValidationStatus;
 import org.eclipse.dltk.compiler.problem.ValidationStatus;
@@ -98,6 +98,18 @@ public class JavaScriptCompletionEngine2 extends ScriptCompletionEngine
 		if (position < 0 || position > content.length()) {
 			return;
 		}
+		final Object sessionKey = cu.getModelElement() != null ? cu
+				.getModelElement() : cu.getFileName();
+		if (sessionKey != null) {
+			final CompletionSession session = CompletionSession.find(
+					sessionKey, requestor.getClass(), globalOptions, content,
+					position);
+			if (session != null) {
+				continueSession(session, content, position);
+				this.requestor.endReporting();
+				return;
+			}
+		}
 
 		final TypeInferencer2 inferencer2 = new TypeInferencer2();
 		inferencer2.setModelElement(cu.getModelElement());
@@ -140,20 +152,93 @@ public class JavaScriptCompletionEngine2 extends ScriptCompletionEngine
 						.lastSegment(), position, TypeInfoManager
 						.createExtensions(inferencer2,
 								IValidatorExtension.class, null));
-				if (calculator.isMember() && !path.isEmpty()
-						&& path.lastSegment() != null) {
+				final boolean member = calculator.isMember()
+						&& !path.isEmpty() && path.lastSegment() != null;
+				final boolean recording = sessionKey != null
+						&& CompletionSession.isIdentifierEnd(content,
+								position, reporter.getPrefix());
+				if (recording) {
+					reporter.recorded = new ArrayList<ProposalTemplate>();
+				}
+				ExpressionContext expressionContext = null;
+				if (member) {
 					doCompletionOnMember(inferencer2, visitor.getCollection(),
 							path, reporter);
 				} else {
+					expressionContext = JavaScriptCompletionUtil
+							.evaluateExpressionContext(script, content,
+									position);
 					doGlobalCompletion(visitor.getCollection(), reporter,
-							JavaScriptCompletionUtil.evaluateExpressionContext(
-									script, content, position));
+							expressionContext);
+				}
+				if (recording) {
+					CompletionSession.start(new CompletionSession(sessionKey,
+							requestor.getClass(), globalOptions, content,
+							position, reporter.getPrefix(), member,
+							expressionContext, reporter.recorded));
+				} else {
+					CompletionSession.reset();
 				}
 			}
 		});
 		this.requestor.endReporting();
 	}
 
+	/**
+	 * Reports the proposals of the session matching the longer prefix typed
+	 * since the session was started.
+	 */
+	private void continueSession(CompletionSession session, String content,
+			int position) {
+		final String prefix = session.prefixAt(content, position);
+		final char[] prefixChars = prefix.toCharArray();
+		setSourceRange(session.getIdentifierStart(), position);
+		final NameMatcher matcher = createMatcher(prefix);
+		for (ProposalTemplate template : session.getIndex().find(matcher)) {
+			accept(createProposal(template, prefixChars, matcher, position));
+		}
+		if (!session.member) {
+			final ExpressionContext expressionContext = session.expressionContext;
+			if (expressionContext != null
+					&& expressionContext.expressionType == ExpressionType.OBJECT_INITIALIZER) {
+				return;
+			}
+			if ((globalOptions & OPTION_KEYWORDS) != 0
+					&& !requestor.isIgnored(CompletionProposal.KEYWORD)) {
+				doCompletionOnKeyword(prefix, position, expressionContext);
+			}
+		}
+	}
+
+	private static boolean isCamelCaseEnabled() {
+		return DLTKCore.ENABLED.equals(DLTKCore
+				.getOption(DLTKCore.CODEASSIST_CAMEL_CASE_MATCH));
+	}
+
+	private static NameMatcher createMatcher(String prefix) {
+		return new NameMatcher(prefix, isCamelCaseEnabled());
+	}
+
+	private CompletionProposal createProposal(ProposalTemplate template,
+			char[] prefix, NameMatcher matcher, int position) {
+		final CompletionProposal proposal = CompletionProposal.create(
+				template.kind, position);
+		proposal.setRelevance(template.relevance
+				+ computeRelevanceForCaseMatching(prefix, template.name)
+				+ matcher.relevance(template.name));
+		proposal.setCompletion(template.completion);
+		proposal.setName(template.name);
+		proposal.setExtraInfo(template.extraInfo);
+		if (template.parameterNames != null) {
+			proposal.setParameterNames(template.parameterNames);
+		}
+		if (template.requiredParamCount >= 0) {
+			proposal.setAttribute(CompletionProposal.ATTR_REQUIRED_PARAM_COUNT,
+					template.requiredParamCount);
+		}
+		return proposal;
+	}
+
 	public void completeTypes(ISourceModule module, TypeMode mode,
 			String prefix, int offset) {
 		final TypeInferencer2 inferencer2 = new TypeInferencer2();
@@ -314,24 +399,50 @@ public class JavaScriptCompletionEngine2 extends ScriptCompletionEngine
 		}
 	}
 
+	/**
+	 * The instance members of the function except the <code>apply()</code>
+	 * and <code>call()</code> methods, which are reported separately.
+	 */
+	private static final MemberPredicate FUNCTION_MEMBERS = new MemberPredicate() {
+		public boolean isCompatibleWith(MemberPredicate predicate) {
+			return MemberPredicates.NON_STATIC == predicate;
+		}
+
+		public boolean evaluate(Member member) {
+			return MemberPredicates.NON_STATIC.evaluate(member)
+					&& !FunctionMethod.apply.test(member.getName())
+					&& !FunctionMethod.call.test(member.getName());
+		}
+
+		public boolean evaluate(IRMember member) {
+			return member.getSource() instanceof Member
+					&& evaluate((Member) member.getSource());
+		}
+	};
+
 	private class Reporter {
 		final ITypeInferenceContext context;
 		final char[] prefix;
 		private final String prefixStr;
 		final int position;
 		final Set<String> processed = new HashSet<String>();
-		final boolean camelCase = DLTKCore.ENABLED.equals(DLTKCore
-				.getOption(DLTKCore.CODEASSIST_CAMEL_CASE_MATCH));
+		final NameMatcher matcher;
 		final boolean visibilityCheck = DLTKCore.ENABLED.equals(Platform
 				.getPreferencesService().getString(JavaScriptPlugin.PLUGIN_ID,
 						DLTKCore.CODEASSIST_VISIBILITY_CHECK, null, null));
 		final IValidatorExtension[] extensions;
+		/**
+		 * The reported proposals for the {@link CompletionSession} or
+		 * <code>null</code> if not recording.
+		 */
+		List<ProposalTemplate> recorded;
 
 		public Reporter(ITypeInferenceContext context, String prefix,
 				int position, List<IValidatorExtension> extensions) {
 			this.context = context;
 			this.prefixStr = prefix != null ? prefix : "";
 			this.prefix = prefixStr.toCharArray();
+			this.matcher = createMatcher(prefixStr);
 			this.position = position;
 			if (!extensions.isEmpty()) {
 				this.extensions = extensions
@@ -366,8 +477,14 @@ public class JavaScriptCompletionEngine2 extends ScriptCompletionEngine
 		}
 
 		boolean matches(String name) {
-			return CharOperation.prefixEquals(prefix, name, false) || camelCase
-					&& CharOperation.camelCaseMatch(prefix, name.toCharArray());
+			return matcher.matches(name);
+		}
+
+		private void report(ProposalTemplate template) {
+			if (recorded != null) {
+				recorded.add(template);
+			}
+			accept(createProposal(template, prefix, matcher, position));
 		}
 
 		private MemberValidationEvent memberValidationEvent;
@@ -405,7 +522,8 @@ public class JavaScriptCompletionEngine2 extends ScriptCompletionEngine
 		}
 
 		public void reportValueTypeMembers(IValueReference valueRef) {
-			final RTypeMemberQuery typeQuery = new RTypeMemberQuery();
+			final MemberProposalCache.Query typeQuery = new MemberProposalCache.Query(
+					FUNCTION_MEMBERS);
 			final Set<IRMember> members = new HashSet<IRMember>();
 			collectTypes(valueRef.getDeclaredTypes(), typeQuery, members,
 					valueRef);
@@ -415,6 +533,27 @@ public class JavaScriptCompletionEngine2 extends ScriptCompletionEngine
 					reportMember(member, member.getName(), true);
 				}
 			}
+			final MemberProposalCache cache = typeQuery.getCache();
+			if (cache != null) {
+				final List<Object> key = typeQuery.getKey();
+				NameIndex<ProposalTemplate> proposals = cache.get(key);
+				if (proposals == null) {
+					final List<ProposalTemplate> list = new ArrayList<ProposalTemplate>();
+					for (IRMember member : typeQuery.ignoreDuplicates()) {
+						if (member.isVisible()) {
+							list.add(createTemplate(member, member.getName()));
+						}
+					}
+					proposals = cache.put(key, list);
+				}
+				for (ProposalTemplate proposal : proposals.find(matcher)) {
+					if (!processed.contains(proposal.name)
+							&& (!(proposal.extraInfo instanceof Member) || isAccessible((Member) proposal.extraInfo))) {
+						report(proposal);
+					}
+				}
+				return;
+			}
 			for (IRMember member : typeQuery.ignoreDuplicates(processed)) {
 				if (member.isVisible() && matches(member.getName())) {
 					reportMember(member, member.getName(),
@@ -467,27 +606,7 @@ public class JavaScriptCompletionEngine2 extends ScriptCompletionEngine
 					members.add(FunctionMethod.apply.create(functionType));
 					members.add(FunctionMethod.call.create(functionType));
 					typeQuery.add(RTypes.FUNCTION.getDeclaration(),
-							new MemberPredicate() {
-								public boolean isCompatibleWith(
-										MemberPredicate predicate) {
-									return MemberPredicates.NON_STATIC == predicate;
-								}
-
-								public boolean evaluate(Member member) {
-									return MemberPredicates.NON_STATIC
-											.evaluate(member)
-											&& !FunctionMethod.apply
-													.test(member.getName())
-											&& !FunctionMethod.call.test(member
-													.getName());
-								}
-
-								public boolean evaluate(IRMember member) {
-									return member.getSource() instanceof Member
-											&& evaluate((Member) member
-													.getSource());
-								}
-							});
+							FUNCTION_MEMBERS);
 				} else if (type.isJavaScriptObject()) {
 					typeQuery.add(RTypes.OBJECT.getDeclaration(),
 							MemberPredicates.NON_STATIC);
@@ -513,39 +632,45 @@ public class JavaScriptCompletionEngine2 extends ScriptCompletionEngine
 		 */
 		private void reportMember(IRMember member, String memberName,
 				boolean important) {
-			if (visibilityCheck && extensions != null
-					&& member.getSource() instanceof Member) {
-				final Member source = (Member) member.getSource();
+			if (member.getSource() instanceof Member
+					&& !isAccessible((Member) member.getSource())) {
+				return;
+			}
+			// if (important) {
+			// relevance += RelevanceConstants.R_NON_INHERITED;
+			// }
+			report(createTemplate(member, memberName));
+		}
+
+		private boolean isAccessible(Member member) {
+			if (visibilityCheck && extensions != null) {
 				for (IValidatorExtension extension : extensions) {
 					final IValidationStatus status = extension
-							.validateAccessibility(source);
+							.validateAccessibility(member);
 					if (status != null) {
-						if (status == ValidationStatus.OK) {
-							break;
-						} else {
-							return;
-						}
+						return status == ValidationStatus.OK;
 					}
 				}
 			}
+			return true;
+		}
+
+		/**
+		 * Creates the proposal for the specified member, which does not depend
+		 * on the module being completed.
+		 */
+		private ProposalTemplate createTemplate(IRMember member,
+				String memberName) {
 			boolean isFunction = member instanceof IRMethod
 					|| (member instanceof IRRecordMember && member.getType() instanceof IRFunctionType);
-			CompletionProposal proposal = CompletionProposal.create(
-					isFunction ? CompletionProposal.METHOD_REF
-							: CompletionProposal.FIELD_REF, position);
-
 			int relevance = computeBaseRelevance();
-			// if (important) {
-			// relevance += RelevanceConstants.R_NON_INHERITED;
-			// }
 			relevance += computeRelevanceForInterestingProposal();
-			relevance += computeRelevanceForCaseMatching(prefix, memberName);
 			relevance += computeRelevanceForRestrictions(IAccessRule.K_ACCESSIBLE);
-			proposal.setRelevance(relevance);
-
-			proposal.setCompletion(isFunction ? memberName + "()" : memberName);
-			proposal.setName(memberName);
-			proposal.setExtraInfo(member.getSource());
+			final ProposalTemplate proposal = new ProposalTemplate(
+					isFunction ? CompletionProposal.METHOD_REF
+							: CompletionProposal.FIELD_REF, memberName,
+					isFunction ? memberName + "()" : memberName,
+					member.getSource(), relevance);
 			if (isFunction) {
 				List<IRParameter> parameters = null;
 				if (member.getType() instanceof IRFunctionType) {
@@ -565,7 +690,7 @@ public class JavaScriptCompletionEngine2 extends ScriptCompletionEngine
 						if (params[i] == null)
 							params[i] = "anon_" + i;
 					}
-					proposal.setParameterNames(params);
+					proposal.parameterNames = params;
 					if (parameters.get(paramCount - 1).getKind() != ParameterKind.NORMAL) {
 						int requiredCount = parameters.size();
 						while (requiredCount > 0
@@ -577,14 +702,12 @@ public class JavaScriptCompletionEngine2 extends ScriptCompletionEngine
 							++requiredCount; // heuristic...
 						}
 						if (requiredCount != paramCount) {
-							proposal.setAttribute(
-									CompletionProposal.ATTR_REQUIRED_PARAM_COUNT,
-									requiredCount);
+							proposal.requiredParamCount = requiredCount;
 						}
 					}
 				}
 			}
-			accept(proposal);
+			return proposal;
 		}
 
 		/**
@@ -606,21 +729,14 @@ public class JavaScriptCompletionEngine2 extends ScriptCompletionEngine
 				} else if (kind == ReferenceKind.LOCAL) {
 					proposalKind = CompletionProposal.LOCAL_VARIABLE_REF;
 				}
-				CompletionProposal proposal = CompletionProposal.create(
-						proposalKind, position);
-
 				int relevance = computeBaseRelevance();
 				relevance += computeRelevanceForInterestingProposal();
-				relevance += computeRelevanceForCaseMatching(prefix,
-						reference.getName());
 				relevance += computeRelevanceForRestrictions(IAccessRule.K_ACCESSIBLE);
-				proposal.setRelevance(relevance);
-
-				proposal.setCompletion(proposalKind == CompletionProposal.METHOD_REF ? reference
-						.getName() + "()"
-						: reference.getName());
-				proposal.setName(reference.getName());
-				proposal.setExtraInfo(reference);
+				final ProposalTemplate proposal = new ProposalTemplate(
+						proposalKind, reference.getName(),
+						proposalKind == CompletionProposal.METHOD_REF ? reference
+								.getName() + "()"
+								: reference.getName(), reference, relevance);
 				if (proposalKind == CompletionProposal.METHOD_REF) {
 					final IRMethod method = (IRMethod) reference.getAttribute(
 							IReferenceAttributes.R_METHOD, true);
@@ -632,7 +748,7 @@ public class JavaScriptCompletionEngine2 extends ScriptCompletionEngine
 								params[i] = method.getParameters().get(i)
 										.getName();
 							}
-							proposal.setParameterNames(params);
+							proposal.parameterNames = params;
 							if (method.getParameters().get(paramCount - 1)
 									.getKind() != ParameterKind.NORMAL) {
 								int requiredCount = method.getParameters()
@@ -649,15 +765,13 @@ public class JavaScriptCompletionEngine2 extends ScriptCompletionEngine
 									++requiredCount; // heuristic...
 								}
 								if (requiredCount != paramCount) {
-									proposal.setAttribute(
-											CompletionProposal.ATTR_REQUIRED_PARAM_COUNT,
-											requiredCount);
+									proposal.requiredParamCount = requiredCount;
 								}
 							}
 						}
 					}
 				}
-				accept(proposal);
+				report(proposal);
 			}
 		}
 
@@ -665,17 +779,11 @@ public class JavaScriptCompletionEngine2 extends ScriptCompletionEngine
 			if (!processed.add(type.getName())) {
 				return;
 			}
-			CompletionProposal proposal = CompletionProposal.create(
-					CompletionProposal.TYPE_REF, position);
 			int relevance = computeBaseRelevance();
 			relevance += computeRelevanceForInterestingProposal();
-			relevance += computeRelevanceForCaseMatching(prefix, type.getName());
 			relevance += computeRelevanceForRestrictions(IAccessRule.K_ACCESSIBLE);
-			proposal.setRelevance(relevance);
-			proposal.setCompletion(type.getName());
-			proposal.setName(type.getName());
-			proposal.setExtraInfo(type);
-			accept(proposal);
+			report(new ProposalTemplate(CompletionProposal.TYPE_REF, type
+					.getName(), type.getName(), type, relevance));
 		}
 
 	}
@@ -46,12 +46,16 @@ import org.eclipse.dltk.internal.javascript.ti.PositionReachedException;
 import org.eclipse.dltk.internal.javascript.ti.TypeInferencer2;
 import org.eclipse.dltk.internal.javascript.validation.JavaScriptValidations;
 import org.eclipse.dltk.javascript.ast.Argument;
+import org.eclipse.dltk.javascript.ast.CallExpression;
 import org.eclipse.dltk.javascript.ast.FunctionStatement;
 import org.eclipse.dltk.javascript.ast.Identifier;
+import org.eclipse.dltk.javascript.ast.JSNode;
 import org.eclipse.dltk.javascript.ast.MultiLineComment;
+import org.eclipse.dltk.javascript.ast.PropertyExpression;
 import org.eclipse.dltk.javascript.ast.PropertyInitializer;
 import org.eclipse.dltk.javascript.ast.Script;
 import org.eclipse.dltk.javascript.ast.StringLiteral;
+import org.eclipse.dltk.javascript.core.JSBindings;
 import org.eclipse.dltk.javascript.core.NodeFinder;
 import org.eclipse.dltk.javascript.parser.JavaScriptParserUtil;
 import org.eclipse.dltk.javascript.parser.jsdoc.JSDocTag;
@@ -155,6 +159,9 @@ public class JavaScriptSelectionEngine2 extends ScriptSelectionEngine {
 			}
 			if (node instanceof Identifier
 					|| isStringLiteralInObjectLiteral(node)) {
+				if (selectFromBindings(module, script, (JSNode) node)) {
+					return null;
+				}
 				final TypeInferencer2 inferencer2 = new TypeInferencer2();
 				final SelectionVisitor visitor = new SelectionVisitor(
 						inferencer2, node);
@@ -174,7 +181,7 @@ public class JavaScriptSelectionEngine2 extends ScriptSelectionEngine {
 				}
 				ITypeSystem.CURRENT.runWith(inferencer2, new Runnable() {
 					public void run() {
-						toModelElements(inferencer2, visitor, module, value);
+						toModelElements(visitor.getArguments(), module, value);
 					}
 				});
 				return null;
@@ -237,6 +244,47 @@ public class JavaScriptSelectionEngine2 extends ScriptSelectionEngine {
 		return null;
 	}
 
+	/**
+	 * Reports the elements for the specified node using the bindings of the
+	 * script. The bindings are computed on the first request and attached to
+	 * the shared AST, so the next requests on the same AST (and the ones after
+	 * the build) do not run the type inference. Returns <code>false</code> if
+	 * the bindings are not available or the node is not resolved there, so the
+	 * type inference should be run.
+	 */
+	private boolean selectFromBindings(final IModuleSource module,
+			Script script, JSNode node) {
+		final JSBindings bindings = JSBindings.of(script);
+		if (bindings == null) {
+			return false;
+		}
+		final JSNode expression = node.getParent() instanceof PropertyExpression
+				&& ((PropertyExpression) node.getParent()).getProperty() == node ? node
+				.getParent() : node;
+		final IValueReference value = bindings.get(expression);
+		if (value == null || value.getKind() == ReferenceKind.UNKNOWN) {
+			return false;
+		}
+		final IValueReference[] arguments;
+		if (expression.getParent() instanceof CallExpression
+				&& ((CallExpression) expression.getParent()).getExpression() == expression) {
+			final List<ASTNode> callArgs = ((CallExpression) expression
+					.getParent()).getArguments();
+			arguments = new IValueReference[callArgs.size()];
+			for (int a = 0; a < arguments.length; ++a) {
+				arguments[a] = bindings.get(callArgs.get(a));
+			}
+		} else {
+			arguments = null;
+		}
+		bindings.run(new Runnable() {
+			public void run() {
+				toModelElements(arguments, module, value);
+			}
+		});
+		return true;
+	}
+
 	private void findTypeInTypeExpression(IModuleSource module, JSDocTag tag,
 			TypedElementNode node, int valueOffset) {
 		final ISourceModule m = (ISourceModule) module.getModelElement();
@@ -272,8 +320,8 @@ public class JavaScriptSelectionEngine2 extends ScriptSelectionEngine {
 		return null;
 	}
 
-	private void toModelElements(TypeInferencer2 inferencer2,
-			SelectionVisitor visitor, IModuleSource module,
+	private void toModelElements(@Nullable IValueReference[] arguments,
+			IModuleSource module,
 			IValueReference value) {
 		final ReferenceKind kind = value.getKind();
 		if (DEBUG) {
@@ -328,7 +376,6 @@ public class JavaScriptSelectionEngine2 extends ScriptSelectionEngine {
 			final List<IRMethod> methods = ValueReferenceUtil.extractElements(
 					value, IRMethod.class);
 			if (methods != null) {
-				IValueReference[] arguments = visitor.getArguments();
 				if (arguments == null) {
 					arguments = new IValueReference[0];
 				}
@@ -0,0 +1,215 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.javascript.internal.core.codeassist;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.dltk.annotations.Nullable;
+import org.eclipse.dltk.javascript.typeinfo.IRTypeDeclaration;
+import org.eclipse.dltk.javascript.typeinfo.ITypeSystem;
+import org.eclipse.dltk.javascript.typeinfo.MemberPredicate;
+import org.eclipse.dltk.javascript.typeinfo.MemberPredicates;
+import org.eclipse.dltk.javascript.typeinfo.RTypeMemberQuery;
+import org.eclipse.dltk.javascript.typeinfo.model.Type;
+import org.eclipse.dltk.javascript.typeinfo.model.TypeInfoModelLoader;
+
+/**
+ * The member proposals of the well-known types (the types of the globally
+ * loaded type info models), indexed by name and shared between the completion
+ * requests, so the member completion on e.g. <code>String</code> or
+ * <code>Array</code> does not build the member proposals again.
+ *
+ * <p>
+ * The cache is stored in the type system the declarations belong to, so the
+ * proposals (and the members they reference) are discarded together with the
+ * declarations when the type system is reset or released. The proposals are
+ * keyed by the types and the member predicates (static or instance members)
+ * of the {@link Query}. The accessibility of the members depends on the module
+ * being completed, so it is not cached and should be checked by the caller.
+ * </p>
+ */
+public class MemberProposalCache {
+
+	static final int MAX_SIZE = 64;
+
+	private final Map<List<Object>, NameIndex<ProposalTemplate>> cache = new LinkedHashMap<List<Object>, NameIndex<ProposalTemplate>>(
+			16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(
+				Map.Entry<List<Object>, NameIndex<ProposalTemplate>> eldest) {
+			return size() > MAX_SIZE;
+		}
+	};
+
+	private MemberProposalCache() {
+	}
+
+	/**
+	 * Returns the cache of the member proposals of the specified type system.
+	 */
+	public static MemberProposalCache of(ITypeSystem typeSystem) {
+		synchronized (MemberProposalCache.class) {
+			MemberProposalCache cache = (MemberProposalCache) typeSystem
+					.getValue(MemberProposalCache.class);
+			if (cache == null) {
+				cache = new MemberProposalCache();
+				typeSystem.setValue(MemberProposalCache.class, cache);
+			}
+			return cache;
+		}
+	}
+
+	/**
+	 * The member query remembering the key of the added types, which is valid
+	 * only if all the types are the well-known ones declared in the same type
+	 * system.
+	 */
+	static class Query extends RTypeMemberQuery {
+		private final List<Object> key = new ArrayList<Object>();
+		private final Set<MemberPredicate> cacheablePredicates;
+		private ITypeSystem typeSystem;
+		private boolean cacheable = true;
+
+		/**
+		 * @param cacheablePredicates
+		 *            the stateless predicates besides {@link MemberPredicates}
+		 *            which could be the part of the key
+		 */
+		Query(MemberPredicate... cacheablePredicates) {
+			this.cacheablePredicates = new HashSet<MemberPredicate>(
+					Arrays.asList(cacheablePredicates));
+		}
+
+		@Override
+		public void add(IRTypeDeclaration type, MemberPredicate predicate) {
+			super.add(type, predicate);
+			if (cacheable) {
+				if ((predicate instanceof MemberPredicates || cacheablePredicates
+						.contains(predicate)) && isWellKnown(type)
+						&& isSameTypeSystem(type.getTypeSystem())) {
+					key.add(type.getSource());
+					key.add(predicate);
+				} else {
+					cacheable = false;
+				}
+			}
+		}
+
+		private boolean isSameTypeSystem(@Nullable ITypeSystem value) {
+			if (value == null) {
+				return false;
+			} else if (typeSystem == null) {
+				typeSystem = value;
+				return true;
+			} else {
+				return typeSystem == value;
+			}
+		}
+
+		/**
+		 * Returns the key of the cached proposals or <code>null</code> if the
+		 * proposals of this query should not be cached.
+		 */
+		@Nullable
+		List<Object> getKey() {
+			return cacheable && !key.isEmpty() ? key : null;
+		}
+
+		/**
+		 * Returns the cache of the type system declaring the added types or
+		 * <code>null</code> if the proposals of this query should not be
+		 * cached.
+		 */
+		@Nullable
+		MemberProposalCache getCache() {
+			return getKey() != null ? of(typeSystem) : null;
+		}
+	}
+
+	/**
+	 * Checks if the specified type, its super types and traits are all
+	 * defined by the globally loaded type info models.
+	 */
+	static boolean isWellKnown(IRTypeDeclaration declaration) {
+		final TypeInfoModelLoader loader = TypeInfoModelLoader.getInstance();
+		final Set<IRTypeDeclaration> processed = new HashSet<IRTypeDeclaration>();
+		final List<IRTypeDeclaration> queue = new ArrayList<IRTypeDeclaration>();
+		queue.add(declaration);
+		for (int i = 0; i < queue.size(); ++i) {
+			final IRTypeDeclaration current = queue.get(i);
+			if (!processed.add(current)) {
+				continue;
+			}
+			if (current.isParameterized()) {
+				return false;
+			}
+			final Type type = current.getSource();
+			if (type == null || type.isProxy() || type.eResource() == null
+					|| !loader.hasResource(type.eResource())) {
+				return false;
+			}
+			if (current.getSuperType() != null) {
+				queue.add(current.getSuperType());
+			}
+			queue.addAll(current.getTraits());
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the index of the cached proposals for the specified key or
+	 * <code>null</code> if not cached yet.
+	 */
+	@Nullable
+	NameIndex<ProposalTemplate> get(List<Object> key) {
+		synchronized (cache) {
+			return cache.get(key);
+		}
+	}
+
+	/**
+	 * Caches the specified proposals and returns their index.
+	 */
+	NameIndex<ProposalTemplate> put(List<Object> key,
+			List<ProposalTemplate> proposals) {
+		final NameIndex<ProposalTemplate> index = new NameIndex<ProposalTemplate>(
+				proposals, ProposalTemplate.NAMER);
+		synchronized (cache) {
+			cache.put(key, index);
+		}
+		return index;
+	}
+
+	/**
+	 * Discards all the cached proposals.
+	 */
+	public void clear() {
+		synchronized (cache) {
+			cache.clear();
+		}
+	}
+
+	public int size() {
+		synchronized (cache) {
+			return cache.size();
+		}
+	}
+
+}
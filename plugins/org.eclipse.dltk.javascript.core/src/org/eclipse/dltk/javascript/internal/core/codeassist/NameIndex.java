@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.javascript.internal.core.codeassist;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable index of the candidate values by their names for the repeated
+ * filtering with the {@link NameMatcher}. The names are folded and sorted, so
+ * the prefix matches are found with the binary search, and only the names
+ * starting with the same character as the prefix are tested for the
+ * camel-case matches, using the precomputed humps.
+ *
+ * @param <T>
+ *            the type of the values
+ */
+public class NameIndex<T> {
+
+	/**
+	 * Returns the name of the indexed value.
+	 */
+	public interface Namer<T> {
+		String nameOf(T value);
+	}
+
+	private static class Entry<T> {
+		final String name;
+		final String foldedName;
+		final int[] humps;
+		final T value;
+
+		Entry(String name, T value) {
+			this.name = name;
+			this.foldedName = NameMatcher.fold(name);
+			this.humps = NameMatcher.humps(name);
+			this.value = value;
+		}
+	}
+
+	private static final Comparator<Entry<?>> BY_FOLDED_NAME = new Comparator<Entry<?>>() {
+		public int compare(Entry<?> o1, Entry<?> o2) {
+			final int result = o1.foldedName.compareTo(o2.foldedName);
+			return result != 0 ? result : o1.name.compareTo(o2.name);
+		}
+	};
+
+	private final Entry<T>[] entries;
+	private final String[] foldedNames;
+
+	@SuppressWarnings("unchecked")
+	public NameIndex(Collection<? extends T> values, Namer<? super T> namer) {
+		entries = new Entry[values.size()];
+		int index = 0;
+		for (T value : values) {
+			entries[index++] = new Entry<T>(namer.nameOf(value), value);
+		}
+		Arrays.sort(entries, BY_FOLDED_NAME);
+		foldedNames = new String[entries.length];
+		for (int i = 0; i < entries.length; ++i) {
+			foldedNames[i] = entries[i].foldedName;
+		}
+	}
+
+	public int size() {
+		return entries.length;
+	}
+
+	/**
+	 * Returns all the values, sorted by name ignoring case.
+	 */
+	public List<T> values() {
+		final List<T> result = new ArrayList<T>(entries.length);
+		for (Entry<T> entry : entries) {
+			result.add(entry.value);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the values matching the specified matcher, sorted by name
+	 * ignoring case.
+	 */
+	public List<T> find(NameMatcher matcher) {
+		final String prefix = matcher.getFoldedPrefix();
+		if (prefix.length() == 0) {
+			return values();
+		}
+		final List<T> result = new ArrayList<T>();
+		if (matcher.isPrefixOnly()) {
+			for (int i = lowerBound(prefix); i < entries.length
+					&& foldedNames[i].startsWith(prefix); ++i) {
+				result.add(entries[i].value);
+			}
+		} else {
+			final int end = firstCharEnd(prefix.charAt(0));
+			for (int i = lowerBound(prefix.substring(0, 1)); i < end; ++i) {
+				final Entry<T> entry = entries[i];
+				if (matcher.score(entry.name, entry.foldedName,
+						entry.humps) != NameMatcher.NO_MATCH) {
+					result.add(entry.value);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the index of the first name greater or equal to the specified
+	 * one.
+	 */
+	private int lowerBound(String key) {
+		int low = 0;
+		int high = foldedNames.length;
+		while (low < high) {
+			final int mid = (low + high) >>> 1;
+			if (foldedNames[mid].compareTo(key) < 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Returns the index after the last name starting with the specified
+	 * character.
+	 */
+	private int firstCharEnd(char c) {
+		return c == Character.MAX_VALUE ? foldedNames.length : lowerBound(String
+				.valueOf((char) (c + 1)));
+	}
+
+}
@@ -0,0 +1,242 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.javascript.internal.core.codeassist;
+
+/**
+ * Matches the candidate names against the prefix being completed. The prefix
+ * is analyzed once, so the matcher could be applied to the large number of the
+ * candidates, either directly or via {@link NameIndex} where the folded names
+ * and the camel-case humps of the candidates are precomputed.
+ *
+ * <p>
+ * The name matches if it starts with the prefix ignoring case, or (if enabled)
+ * the prefix is the camel-case abbreviation of the name (e.g.
+ * <code>gEBI</code> or <code>getElBI</code> for <code>getElementById</code>).
+ * The first character is always compared ignoring case. The kind of the match
+ * is reported as the proposal relevance by {@link #relevance(String)}.
+ * </p>
+ */
+public class NameMatcher {
+
+	/**
+	 * The score of the name not matching the prefix.
+	 */
+	public static final int NO_MATCH = -1;
+	public static final int EXACT = 500;
+	public static final int CASE_SENSITIVE_PREFIX = 400;
+	public static final int PREFIX = 300;
+	public static final int CAMEL_CASE = 200;
+
+	/**
+	 * The max penalty for the characters not covered by the prefix, so the
+	 * scores of the different kinds of the matches never overlap.
+	 */
+	private static final int MAX_PENALTY = 99;
+
+	private final String prefix;
+	private final String foldedPrefix;
+	private final boolean camelCase;
+	/**
+	 * The start positions of the camel-case segments of the prefix, with the
+	 * length of the prefix as the last element.
+	 */
+	private final int[] segments;
+
+	public NameMatcher(String prefix, boolean camelCase) {
+		this.prefix = prefix;
+		this.foldedPrefix = fold(prefix);
+		this.camelCase = camelCase;
+		final int[] humps = humps(prefix);
+		this.segments = new int[humps.length + 1];
+		System.arraycopy(humps, 0, segments, 0, humps.length);
+		segments[humps.length] = prefix.length();
+	}
+
+	public String getPrefix() {
+		return prefix;
+	}
+
+	String getFoldedPrefix() {
+		return foldedPrefix;
+	}
+
+	/**
+	 * Checks if only the names starting with the prefix ignoring case could
+	 * match.
+	 */
+	boolean isPrefixOnly() {
+		return !camelCase;
+	}
+
+	public boolean matches(String name) {
+		if (name.length() >= prefix.length()
+				&& name.regionMatches(true, 0, prefix, 0, prefix.length())
+				&& fold(name).startsWith(foldedPrefix)) {
+			return true;
+		}
+		return camelCase && score(name) != NO_MATCH;
+	}
+
+	/**
+	 * Returns the relevance of the specified name by the kind of the match:
+	 * from 1 for the camel-case match to 4 for the exact one, or 0 if the name
+	 * does not match the prefix.
+	 */
+	public int relevance(String name) {
+		final int score = score(name);
+		return score != NO_MATCH ? (score + MAX_PENALTY) / 100 - 1 : 0;
+	}
+
+	/**
+	 * Returns the score of the specified name, the higher the better, or
+	 * {@link #NO_MATCH} if the name does not match the prefix.
+	 */
+	public int score(String name) {
+		return score(name, fold(name), camelCase ? humps(name) : null);
+	}
+
+	/**
+	 * Returns the score of the specified name using the precomputed data.
+	 *
+	 * @param foldedName
+	 *            the name folded with {@link #fold(String)}
+	 * @param humps
+	 *            the camel-case humps of the name as computed by
+	 *            {@link #humps(String)}, could be <code>null</code> if the
+	 *            camel-case matching is disabled
+	 */
+	int score(String name, String foldedName, int[] humps) {
+		final int penalty = Math.min(name.length() - prefix.length(),
+				MAX_PENALTY);
+		if (foldedName.startsWith(foldedPrefix)) {
+			if (name.length() == prefix.length() && name.equals(prefix)) {
+				return EXACT;
+			} else if (name.startsWith(prefix)) {
+				return CASE_SENSITIVE_PREFIX - penalty;
+			} else {
+				return PREFIX - penalty;
+			}
+		}
+		if (prefix.length() == 0 || name.length() == 0
+				|| foldedName.charAt(0) != foldedPrefix.charAt(0)) {
+			return NO_MATCH;
+		}
+		if (camelCase && humps != null
+				&& matchSegment(name, humps, 0, 0, 0)) {
+			return CAMEL_CASE - Math.min(humps.length, MAX_PENALTY);
+		}
+		return NO_MATCH;
+	}
+
+	/**
+	 * Matches the camel-case segment of the prefix with the specified index
+	 * at one of the humps of the name starting at the specified position.
+	 */
+	private boolean matchSegment(String name, int[] humps, int hump,
+			int segment, int position) {
+		if (segment == segments.length - 1) {
+			return true;
+		}
+		final int start = segments[segment];
+		final int length = segments[segment + 1] - start;
+		for (int i = hump; i < humps.length; ++i) {
+			final int h = humps[i];
+			if (h < position) {
+				continue;
+			}
+			if (segment == 0 && h != 0) {
+				return false;
+			}
+			if (h + length <= name.length()
+					&& matchAt(name, h, start, length, segment == 0)
+					&& matchSegment(name, humps, i + 1, segment + 1, h
+							+ length)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean matchAt(String name, int position, int start,
+			int length, boolean ignoreFirstCase) {
+		for (int i = 0; i < length; ++i) {
+			final char p = prefix.charAt(start + i);
+			final char c = name.charAt(position + i);
+			if (p != c && !(i == 0 && ignoreFirstCase && fold(p) == fold(c))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	static char fold(char c) {
+		return Character.toLowerCase(c);
+	}
+
+	/**
+	 * Folds the case of the characters of the specified string. Unlike
+	 * {@link String#toLowerCase()} it never changes the length of the string.
+	 */
+	static String fold(String value) {
+		for (int i = 0; i < value.length(); ++i) {
+			final char c = value.charAt(i);
+			if (fold(c) != c) {
+				final char[] chars = value.toCharArray();
+				for (int j = i; j < chars.length; ++j) {
+					chars[j] = fold(chars[j]);
+				}
+				return new String(chars);
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * Returns the start positions of the camel-case humps of the specified
+	 * name: the first character, the upper case letters, the first digits and
+	 * the characters following the underscores.
+	 */
+	static int[] humps(String name) {
+		int count = 0;
+		int[] humps = new int[4];
+		for (int i = 0; i < name.length(); ++i) {
+			if (isHump(name, i)) {
+				if (count == humps.length) {
+					final int[] newHumps = new int[count * 2];
+					System.arraycopy(humps, 0, newHumps, 0, count);
+					humps = newHumps;
+				}
+				humps[count++] = i;
+			}
+		}
+		if (count == humps.length) {
+			return humps;
+		}
+		final int[] result = new int[count];
+		System.arraycopy(humps, 0, result, 0, count);
+		return result;
+	}
+
+	private static boolean isHump(String name, int index) {
+		if (index == 0) {
+			return true;
+		}
+		final char c = name.charAt(index);
+		final char prev = name.charAt(index - 1);
+		if (c == '_') {
+			return false;
+		}
+		return Character.isUpperCase(c) || prev == '_'
+				|| Character.isDigit(c) && !Character.isDigit(prev);
+	}
+
+}
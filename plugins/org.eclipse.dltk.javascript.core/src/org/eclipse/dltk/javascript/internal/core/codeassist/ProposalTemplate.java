@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.javascript.internal.core.codeassist;
+
+import org.eclipse.dltk.annotations.Nullable;
+
+/**
+ * The data of the completion proposal, which does not depend on the prefix
+ * and the position, so the proposal could be created again for the longer
+ * prefix.
+ */
+public class ProposalTemplate {
+
+	static final NameIndex.Namer<ProposalTemplate> NAMER = new NameIndex.Namer<ProposalTemplate>() {
+		public String nameOf(ProposalTemplate value) {
+			return value.name;
+		}
+	};
+
+	final int kind;
+	final String name;
+	final String completion;
+	final Object extraInfo;
+	/**
+	 * The relevance without the part depending on the prefix.
+	 */
+	final int relevance;
+	@Nullable
+	String[] parameterNames;
+	/**
+	 * The number of the required parameters if it differs from the total
+	 * number of parameters, <code>-1</code> otherwise.
+	 */
+	int requiredParamCount = -1;
+
+	public ProposalTemplate(int kind, String name, String completion,
+			Object extraInfo, int relevance) {
+		this.kind = kind;
+		this.name = name;
+		this.completion = completion;
+		this.extraInfo = extraInfo;
+		this.relevance = relevance;
+	}
+
+	public int getKind() {
+		return kind;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public String toString() {
+		return name;
+	}
+
+}
@@ -0,0 +1,484 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.javascript.internal.search;
+
+import static org.eclipse.dltk.internal.javascript.parser.structure.StructureReporter3.isCallExpression;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.dltk.annotations.Nullable;
+import org.eclipse.dltk.ast.references.SimpleReference;
+import org.eclipse.dltk.core.DLTKCore;
+import org.eclipse.dltk.core.IModelElement;
+import org.eclipse.dltk.core.IProjectFragment;
+import org.eclipse.dltk.core.IScriptFolder;
+import org.eclipse.dltk.core.ISourceModule;
+import org.eclipse.dltk.core.ModelException;
+import org.eclipse.dltk.core.search.IDLTKSearchScope;
+import org.eclipse.dltk.javascript.ast.AbstractNavigationVisitor;
+import org.eclipse.dltk.javascript.ast.Expression;
+import org.eclipse.dltk.javascript.ast.FunctionStatement;
+import org.eclipse.dltk.javascript.ast.Identifier;
+import org.eclipse.dltk.javascript.ast.Method;
+import org.eclipse.dltk.javascript.ast.ObjectInitializer;
+import org.eclipse.dltk.javascript.ast.ObjectInitializerPart;
+import org.eclipse.dltk.javascript.ast.PropertyExpression;
+import org.eclipse.dltk.javascript.ast.PropertyInitializer;
+import org.eclipse.dltk.javascript.ast.Script;
+import org.eclipse.dltk.javascript.core.JavaScriptPlugin;
+import org.eclipse.dltk.javascript.parser.JavaScriptParserUtil;
+
+/**
+ * Project level call graph: the call sites of the modules with the calling
+ * and the called elements, so the call hierarchy is expanded with the lookups
+ * instead of the search per node.
+ *
+ * <p>
+ * The call sites are the same as the method references reported by the
+ * search: the calls of the functions and the methods and the other references
+ * to the functions declared at the top level of the module. They are
+ * collected by the {@link OccurrenceIndexer} when the module is built. The
+ * entry of the module is valid while the modification stamp of the file is
+ * the same, otherwise the call sites are collected from the current source.
+ * The calling element is resolved on the first use and kept with the entry,
+ * the called elements depend on the other modules and are resolved on each
+ * lookup. The modules calling the specified name are found with the
+ * {@link OccurrenceIndex}.
+ * </p>
+ */
+public class CallGraph {
+
+	private static final Map<String, CallGraph> graphs = new HashMap<String, CallGraph>();
+
+	/**
+	 * Returns the call graph of the specified project.
+	 */
+	public static CallGraph forProject(IProject project) {
+		synchronized (graphs) {
+			CallGraph graph = graphs.get(project.getName());
+			if (graph == null) {
+				graph = new CallGraph();
+				graphs.put(project.getName(), graph);
+			}
+			return graph;
+		}
+	}
+
+	/**
+	 * Evicts the call graph of the closed, deleted or cleaned project.
+	 */
+	public static void removeProject(IProject project) {
+		synchronized (graphs) {
+			graphs.remove(project.getName());
+		}
+	}
+
+	/**
+	 * Removes the call sites of the deleted file from the call graph of it's
+	 * project, if any.
+	 */
+	public static void removeFile(IPath path) {
+		if (path.segmentCount() < 2) {
+			return;
+		}
+		final CallGraph graph;
+		synchronized (graphs) {
+			graph = graphs.get(path.segment(0));
+		}
+		if (graph != null) {
+			graph.remove(path);
+		}
+	}
+
+	/**
+	 * The call in the module: the range of the name of the called function or
+	 * method, with the lazily resolved calling element.
+	 */
+	public static class CallSite {
+		private final String name;
+		private final int start;
+		private final int end;
+		private IModelElement caller;
+
+		CallSite(String name, int start, int end) {
+			this.name = name;
+			this.start = start;
+			this.end = end;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public int getStart() {
+			return start;
+		}
+
+		public int getEnd() {
+			return end;
+		}
+
+		public SimpleReference toReference() {
+			return new SimpleReference(start, end, name);
+		}
+
+		/**
+		 * Returns the innermost element of the module containing the call.
+		 */
+		public synchronized IModelElement getCaller(ISourceModule module)
+				throws ModelException {
+			if (caller == null) {
+				final IModelElement element = module.getElementAt(start);
+				caller = element != null ? element : module;
+			}
+			return caller;
+		}
+
+		/**
+		 * Returns the elements called at this site. They are resolved each
+		 * time, as they could be changed by the changes of the other modules.
+		 */
+		public IModelElement[] getCallees(ISourceModule module)
+				throws ModelException {
+			return module.codeSelect(start, end - start);
+		}
+	}
+
+	private static class ModuleCalls {
+		final long stamp;
+		final List<CallSite> calls;
+
+		ModuleCalls(long stamp, List<CallSite> calls) {
+			this.stamp = stamp;
+			this.calls = calls;
+		}
+	}
+
+	private static class Collector extends AbstractNavigationVisitor<Object> {
+		final List<CallSite> calls = new ArrayList<CallSite>();
+		/**
+		 * The references to the names, which are not called.
+		 */
+		final List<Identifier> references = new ArrayList<Identifier>();
+		/**
+		 * The names of the functions declared at the top level.
+		 */
+		final Set<String> functions = new HashSet<String>();
+		private int depth;
+
+		void add(Identifier identifier) {
+			if (identifier.sourceStart() >= 0) {
+				calls.add(new CallSite(identifier.getName(), identifier
+						.sourceStart(), identifier.sourceEnd()));
+			}
+		}
+
+		@Override
+		public Object visitIdentifier(Identifier node) {
+			if (isCallExpression(node)) {
+				add(node);
+			} else {
+				references.add(node);
+			}
+			return null;
+		}
+
+		@Override
+		public Object visitPropertyExpression(PropertyExpression node) {
+			visit(node.getObject());
+			final Expression property = node.getProperty();
+			if (property instanceof Identifier) {
+				if (isCallExpression(node)) {
+					add((Identifier) property);
+				}
+			} else {
+				visit(property);
+			}
+			return null;
+		}
+
+		@Override
+		public Object visitFunctionStatement(FunctionStatement node) {
+			if (depth == 0 && node.isDeclaration() && node.getName() != null) {
+				functions.add(node.getName().getName());
+			}
+			++depth;
+			try {
+				return super.visitFunctionStatement(node);
+			} finally {
+				--depth;
+			}
+		}
+
+		@Override
+		public Object visitObjectInitializer(ObjectInitializer node) {
+			for (ObjectInitializerPart part : node.getInitializers()) {
+				if (part instanceof Method) {
+					visitMethod((Method) part);
+				} else if (part instanceof PropertyInitializer) {
+					visit(((PropertyInitializer) part).getValue());
+				}
+			}
+			return null;
+		}
+
+		@Override
+		protected Object visitMethod(Method method) {
+			++depth;
+			try {
+				return super.visitMethod(method);
+			} finally {
+				--depth;
+			}
+		}
+
+		/**
+		 * Adds the references to the top level functions and returns the call
+		 * sites in the order of their positions.
+		 */
+		List<CallSite> getCalls() {
+			for (Identifier reference : references) {
+				if (functions.contains(reference.getName())) {
+					add(reference);
+				}
+			}
+			Collections.sort(calls, BY_START);
+			return calls;
+		}
+	}
+
+	private static final Comparator<CallSite> BY_START = new Comparator<CallSite>() {
+		public int compare(CallSite o1, CallSite o2) {
+			return o1.getStart() < o2.getStart() ? -1 : o1.getStart() == o2
+					.getStart() ? 0 : 1;
+		}
+	};
+
+	/**
+	 * Returns the call sites of the specified script, in the order of their
+	 * positions.
+	 */
+	public static List<CallSite> collect(Script script) {
+		final Collector collector = new Collector();
+		collector.visit(script);
+		return collector.getCalls();
+	}
+
+	private final Map<IPath, ModuleCalls> modules = new HashMap<IPath, ModuleCalls>();
+
+	/**
+	 * Replaces the call sites of the specified file.
+	 */
+	public synchronized void update(IPath path, long stamp,
+			List<CallSite> calls) {
+		modules.put(path, new ModuleCalls(stamp, calls));
+	}
+
+	public synchronized void remove(IPath path) {
+		modules.remove(path);
+	}
+
+	public synchronized void clear() {
+		modules.clear();
+	}
+
+	public synchronized int size() {
+		return modules.size();
+	}
+
+	/**
+	 * Returns the call sites of the specified module, using the cached ones
+	 * if the module was not changed since it was built.
+	 */
+	public List<CallSite> callsIn(ISourceModule module) throws ModelException {
+		final IResource resource = module.getResource();
+		final boolean cacheable = resource instanceof IFile
+				&& !(module.isWorkingCopy() && module.hasUnsavedChanges());
+		if (cacheable) {
+			synchronized (this) {
+				final ModuleCalls entry = modules.get(resource.getFullPath());
+				if (entry != null
+						&& entry.stamp == resource.getModificationStamp()) {
+					return entry.calls;
+				}
+			}
+		}
+		final List<CallSite> calls = collect(JavaScriptParserUtil.parse(
+				module, null));
+		if (cacheable) {
+			update(resource.getFullPath(), resource.getModificationStamp(),
+					calls);
+		}
+		return calls;
+	}
+
+	/**
+	 * Returns the call sites of the specified module within the specified
+	 * range.
+	 */
+	public List<CallSite> callsIn(ISourceModule module, int start, int end)
+			throws ModelException {
+		final List<CallSite> result = new ArrayList<CallSite>();
+		for (CallSite call : callsIn(module)) {
+			if (call.getStart() >= start && call.getEnd() <= end) {
+				result.add(call);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the calls of the specified element in the specified scope,
+	 * mapped to the calling elements, or <code>null</code> if any of the
+	 * source modules of the scope is not indexed or was changed since it was
+	 * indexed, so the search should be used instead.
+	 */
+	@Nullable
+	public static Map<SimpleReference, IModelElement> callersOf(
+			IModelElement element, IDLTKSearchScope scope) {
+		final String name = element.getElementName();
+		if (name == null || name.length() == 0) {
+			return null;
+		}
+		final IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
+		final List<IProject> projects = new ArrayList<IProject>();
+		for (IPath path : scope.enclosingProjectsAndZips()) {
+			// the libraries are not built, and they don't call the sources
+			if (path.segmentCount() != 1) {
+				continue;
+			}
+			final IProject project = root.getProject(path.lastSegment());
+			if (project.isAccessible()) {
+				projects.add(project);
+			}
+		}
+		final Map<SimpleReference, IModelElement> result = new HashMap<SimpleReference, IModelElement>();
+		for (IProject project : projects) {
+			final OccurrenceIndex index = OccurrenceIndex.forProject(project);
+			if (index == null) {
+				return null;
+			}
+			final List<ISourceModule> modules = new ArrayList<ISourceModule>();
+			try {
+				if (!collectCallingModules(project, scope, index, name,
+						modules)) {
+					return null;
+				}
+			} catch (ModelException e) {
+				JavaScriptPlugin.error(e);
+				return null;
+			}
+			final CallGraph graph = forProject(project);
+			for (ISourceModule module : modules) {
+				try {
+					for (CallSite call : graph.callsIn(module)) {
+						if (name.equals(call.getName())
+								&& contains(call.getCallees(module), element)) {
+							result.put(call.toReference(),
+									call.getCaller(module));
+						}
+					}
+				} catch (ModelException e) {
+					JavaScriptPlugin.error(e);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Adds the source modules of the project in the scope which could call the
+	 * specified name. The modules with the unsaved changes are always added.
+	 * Returns <code>false</code> if any other module is not indexed or was
+	 * changed since it was indexed.
+	 */
+	private static boolean collectCallingModules(IProject project,
+			IDLTKSearchScope scope, OccurrenceIndex index, String name,
+			List<ISourceModule> modules) throws ModelException {
+		for (IProjectFragment fragment : DLTKCore.create(project)
+				.getProjectFragments()) {
+			if (fragment.isArchive() || fragment.isExternal()
+					|| fragment.getKind() != IProjectFragment.K_SOURCE) {
+				continue;
+			}
+			for (IModelElement child : fragment.getChildren()) {
+				if (!(child instanceof IScriptFolder)) {
+					continue;
+				}
+				for (ISourceModule module : ((IScriptFolder) child)
+						.getSourceModules()) {
+					if (!scope.encloses(module)) {
+						continue;
+					}
+					if (module.isWorkingCopy() && module.hasUnsavedChanges()) {
+						modules.add(module);
+						continue;
+					}
+					final IResource resource = module.getResource();
+					if (!(resource instanceof IFile)) {
+						continue;
+					}
+					final int[] occurrences = index.occurrencesOf(
+							resource.getFullPath(),
+							resource.getModificationStamp(), name);
+					if (occurrences == null) {
+						return false;
+					}
+					if (isCalled(occurrences)) {
+						modules.add(module);
+					}
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Checks if any of the occurrences could be the call site: the call or
+	 * the reference which is not a declaration and not a property access.
+	 */
+	private static boolean isCalled(int[] occurrences) {
+		for (int i = 1; i < occurrences.length; i += 2) {
+			final int roles = occurrences[i];
+			if ((roles & OccurrenceIndex.CALL) != 0
+					|| (roles & (OccurrenceIndex.DECLARATION
+							| OccurrenceIndex.PROPERTY)) == 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean contains(IModelElement[] elements,
+			IModelElement element) {
+		for (IModelElement e : elements) {
+			if (e.equals(element)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
@@ -11,11 +11,24 @@
  *******************************************************************************/
 package org.eclipse.dltk.javascript.internal.search;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.dltk.annotations.Nullable;
 import org.eclipse.dltk.core.DLTKCore;
 import org.eclipse.dltk.core.IMember;
 import org.eclipse.dltk.core.IModelElement;
@@ -24,6 +37,7 @@ import org.eclipse.dltk.core.IModelElementVisitorExtension;
 import org.eclipse.dltk.core.ISourceModule;
 import org.eclipse.dltk.core.ISourceRange;
 import org.eclipse.dltk.core.ISourceReference;
+import org.eclipse.dltk.core.ModelException;
 import org.eclipse.dltk.core.search.IDLTKSearchScope;
 import org.eclipse.dltk.core.search.SearchDocument;
 import org.eclipse.dltk.core.search.SearchParticipant;
@@ -38,7 +52,11 @@ import org.eclipse.dltk.internal.javascript.ti.TypeInferencer2;
 import org.eclipse.dltk.javascript.ast.Script;
 import org.eclipse.dltk.javascript.core.JavaScriptPlugin;
 import org.eclipse.dltk.javascript.parser.JavaScriptParserUtil;
+import org.eclipse.dltk.javascript.search.IMatchLocatorHandler;
+import org.eclipse.dltk.javascript.typeinfo.ITypeInferenceExtensionFactory;
+import org.eclipse.dltk.javascript.typeinfo.ITypeInferenceHandlerFactory;
 import org.eclipse.dltk.javascript.typeinfo.ReferenceSource;
+import org.eclipse.dltk.javascript.typeinfo.TypeInfoManager;
 
 public class JavaScriptMatchLocator implements IMatchLocator,
 		IModelElementVisitor, IModelElementVisitorExtension {
@@ -56,34 +74,231 @@ public class JavaScriptMatchLocator implements IMatchLocator,
 		this.scope = scope;
 	}
 
-	private JavaScriptMatchingNodeSet nodeSet = new JavaScriptMatchingNodeSet();
+	private JavaScriptMatchingNodeSet nodeSet;
 	private SearchParticipant participant;
 
+	/**
+	 * The matches located in the single document.
+	 */
+	private static class DocumentMatches {
+		final SearchDocument document;
+		final ISourceModule module;
+		final JavaScriptMatchingNodeSet nodeSet = new JavaScriptMatchingNodeSet();
+
+		DocumentMatches(SearchDocument document, ISourceModule module) {
+			this.document = document;
+			this.module = module;
+		}
+	}
+
+	/**
+	 * The inferencer and the predicate of the worker thread.
+	 */
+	private static class WorkerState {
+		final TypeInferencer2 inferencer = new TypeInferencer2();
+		final IMatchingPredicate<MatchingNode> predicate;
+		@Nullable
+		final SearchNameFilter filter;
+
+		WorkerState(SearchPattern pattern) {
+			predicate = MatchingPredicateFactory.create(inferencer, pattern);
+			filter = SearchNameFilter.create(pattern);
+		}
+	}
+
+	/**
+	 * Locates the matches in the specified documents. The documents, which
+	 * do not contain the searched names at all, are skipped, the rest is
+	 * parsed and resolved on the worker threads, each having its own
+	 * inferencer. The matches are reported from the calling thread in the
+	 * order of the documents.
+	 */
 	public void locateMatches(SearchDocument[] searchDocuments)
 			throws CoreException {
 		Assert.isNotNull(requestor);
-		final ModuleFactory moduleFactory = new ModuleFactory(scope);
-		final TypeInferencer2 inferencer2 = new TypeInferencer2();
-		final IMatchingPredicate<MatchingNode> predicate = MatchingPredicateFactory
-				.create(inferencer2, pattern);
-		if (predicate == null) {
+		final WorkerState callerState = new WorkerState(pattern);
+		if (callerState.predicate == null) {
 			return;
 		}
-
-		final MatchingCollector<MatchingNode> matchingCollector = new MatchingCollector<MatchingNode>(
-				predicate, nodeSet);
+		final ModuleFactory moduleFactory = new ModuleFactory(scope);
+		final SearchNameFilter filter = callerState.filter;
+		final List<DocumentMatches> documents = new ArrayList<DocumentMatches>(
+				searchDocuments.length);
 		for (SearchDocument document : searchDocuments) {
-			// TODO report progress
 			final ISourceModule module = moduleFactory.create(document);
 			if (module == null)
 				continue;
-			final JavaScriptMatchLocatorVisitor visitor = new JavaScriptMatchLocatorVisitor(
-					ReferenceSource.create(module));
-			nodeSet.clear();
-			final Script script = JavaScriptParserUtil.parse(module);
-			visitor.visitScript(script);
-			visitor.resolveMatchingNodes(inferencer2, script, module);
-			visitor.report(matchingCollector);
+			if (filter != null && !mayContainMatches(filter, module)) {
+				if (VERBOSE) {
+					System.out.println("- skipped " + document);
+				}
+				continue;
+			}
+			documents.add(new DocumentMatches(document, module));
+		}
+		final int workerCount = Math.min(documents.size(), Runtime
+				.getRuntime().availableProcessors());
+		if (workerCount <= 1) {
+			for (DocumentMatches matches : documents) {
+				checkCanceled();
+				locateMatches(callerState, matches);
+				report(matches);
+			}
+			return;
+		}
+		final ThreadLocal<WorkerState> states = new ThreadLocal<WorkerState>() {
+			@Override
+			protected WorkerState initialValue() {
+				return new WorkerState(pattern);
+			}
+		};
+		final ExecutorService executor = Executors.newFixedThreadPool(
+				workerCount, new ThreadFactory() {
+					private int count;
+
+					public synchronized Thread newThread(Runnable r) {
+						final Thread thread = new Thread(r,
+								"JavaScript search worker #" + (++count));
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+		try {
+			final List<Future<DocumentMatches>> futures = new ArrayList<Future<DocumentMatches>>(
+					documents.size());
+			for (final DocumentMatches matches : documents) {
+				futures.add(executor.submit(new Callable<DocumentMatches>() {
+					public DocumentMatches call() {
+						if (!isCanceled()) {
+							locateMatches(states.get(), matches);
+						}
+						return matches;
+					}
+				}));
+			}
+			documents.clear();
+			for (Future<DocumentMatches> future : futures) {
+				checkCanceled();
+				report(get(future));
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static boolean mayContainMatches(SearchNameFilter filter,
+			ISourceModule module) {
+		if (filter.isIndexed()) {
+			final Boolean indexed = containsIndexed(filter, module);
+			if (indexed != null
+					&& (indexed.booleanValue() || !hasExtensionFactories())) {
+				return indexed.booleanValue();
+			}
+		}
+		try {
+			final char[] source = module.getSourceAsCharArray();
+			return source == null || filter.accept(source);
+		} catch (ModelException e) {
+			return true;
+		}
+	}
+
+	/**
+	 * Checks if the {@link IMatchLocatorHandler}s could be contributed. The
+	 * nodes reported by them are not indexed, so the negative answer of the
+	 * {@link OccurrenceIndex} is checked against the source then.
+	 */
+	private static boolean hasExtensionFactories() {
+		for (ITypeInferenceHandlerFactory factory : TypeInfoManager
+				.getNodeHandlerFactories()) {
+			if (factory instanceof ITypeInferenceExtensionFactory) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Checks the {@link OccurrenceIndex} of the project, returns
+	 * <code>null</code> if the module is not indexed or the index is stale.
+	 */
+	@Nullable
+	private static Boolean containsIndexed(SearchNameFilter filter,
+			ISourceModule module) {
+		final IResource resource = module.getResource();
+		if (!(resource instanceof IFile)) {
+			return null;
+		}
+		try {
+			if (module.isWorkingCopy() && module.hasUnsavedChanges()) {
+				return null;
+			}
+		} catch (ModelException e) {
+			return null;
+		}
+		final OccurrenceIndex index = OccurrenceIndex.forProject(resource
+				.getProject());
+		return index != null ? index.contains(resource.getFullPath(),
+				resource.getModificationStamp(), filter) : null;
+	}
+
+	private static DocumentMatches get(Future<DocumentMatches> future)
+			throws CoreException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new CoreException(new Status(IStatus.ERROR,
+					JavaScriptPlugin.PLUGIN_ID, cause.getMessage(), cause));
+		}
+	}
+
+	private boolean isCanceled() {
+		return progressMonitor != null && progressMonitor.isCanceled();
+	}
+
+	private void checkCanceled() {
+		if (isCanceled()) {
+			throw new OperationCanceledException();
+		}
+	}
+
+	/**
+	 * Parses the document and collects the matching nodes, called on the
+	 * worker thread.
+	 */
+	private static void locateMatches(WorkerState state,
+			DocumentMatches matches) {
+		final ISourceModule module = matches.module;
+		final JavaScriptMatchLocatorVisitor visitor = new JavaScriptMatchLocatorVisitor(
+				ReferenceSource.create(module));
+		final Script script = JavaScriptParserUtil.parse(module);
+		visitor.visitScript(script);
+		visitor.resolveMatchingNodes(state.inferencer, script, module,
+				state.filter);
+		visitor.report(new MatchingCollector<MatchingNode>(state.predicate,
+				matches.nodeSet));
+		if (!matches.nodeSet.isEmpty()) {
+			resolvePotentialMatches(state.predicate, matches.nodeSet);
+		}
+	}
+
+	/**
+	 * Reports the located matches to the requestor.
+	 */
+	private void report(DocumentMatches matches) throws CoreException {
+		final SearchDocument document = matches.document;
+		final ISourceModule module = matches.module;
+		nodeSet = matches.nodeSet;
+		try {
 			if (!nodeSet.isEmpty()) {
 				if (VERBOSE) {
 					System.out.println(String.format(
@@ -91,7 +306,6 @@ public class JavaScriptMatchLocator implements IMatchLocator,
 							document, nodeSet.countMatchingNodes(),
 							nodeSet.countPossibleMatchingNodes()));
 				}
-				resolvePotentialMatches(predicate);
 				participant = document.getParticipant();
 				// report matches according to the module structure
 				module.accept(this);
@@ -112,11 +326,14 @@ public class JavaScriptMatchLocator implements IMatchLocator,
 							+ document);
 				}
 			}
+		} finally {
+			nodeSet = null;
 		}
 	}
 
-	private void resolvePotentialMatches(
-			final IMatchingPredicate<MatchingNode> predicate) {
+	private static void resolvePotentialMatches(
+			final IMatchingPredicate<MatchingNode> predicate,
+			JavaScriptMatchingNodeSet nodeSet) {
 		for (MatchingNode node : nodeSet.getPossibleMatchingNodes()) {
 			final MatchLevel level = predicate.resolvePotentialMatch(node);
 			if (level != null && level != MatchLevel.POSSIBLE_MATCH) {
@@ -126,8 +343,6 @@ public class JavaScriptMatchLocator implements IMatchLocator,
 		nodeSet.clearPossibleMatchingNodes();
 	}
 
-
-
 	public boolean visit(IModelElement element) {
 		return element instanceof ISourceModule || element instanceof IMember;
 	}
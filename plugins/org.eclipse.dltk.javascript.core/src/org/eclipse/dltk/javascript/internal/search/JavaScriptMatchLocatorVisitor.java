@@ -19,6 +19,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Stack;
 
+import org.eclipse.dltk.annotations.Nullable;
 import org.eclipse.dltk.ast.ASTNode;
 import org.eclipse.dltk.core.ISourceModule;
 import org.eclipse.dltk.core.search.matching2.MatchingCollector;
@@ -92,14 +93,30 @@ public class JavaScriptMatchLocatorVisitor extends
 
 	public void resolveMatchingNodes(TypeInferencer2 inferencer2,
 			Script script, ISourceModule module) {
-		if (needsResolve()) {
+		resolveMatchingNodes(inferencer2, script, module, null);
+	}
+
+	/**
+	 * Resolves the nodes, which could match the searched names. If none of
+	 * the candidates needs resolving, the type inference is not executed at
+	 * all.
+	 * 
+	 * @param filter
+	 *            the filter of the searched names or <code>null</code> if
+	 *            all the nodes are the candidates
+	 */
+	public void resolveMatchingNodes(TypeInferencer2 inferencer2,
+			Script script, ISourceModule module,
+			@Nullable final SearchNameFilter filter) {
+		if (needsResolve(filter)) {
 			final List<MatchingNode> tmpNodes = new ArrayList<MatchingNode>();
 			final JSBindings bindings = TemporaryBindings.build(inferencer2,
 					module, script);
 			bindings.run(new Runnable() {
 				public void run() {
 					for (MatchingNode node : nodes) {
-						tmpNodes.add(node.resolvePotentialMatch(bindings));
+						tmpNodes.add(isCandidate(node, filter) ? node
+								.resolvePotentialMatch(bindings) : node);
 					}
 				}
 			});
@@ -108,15 +125,21 @@ public class JavaScriptMatchLocatorVisitor extends
 		}
 	}
 
-	private boolean needsResolve() {
+	private boolean needsResolve(@Nullable SearchNameFilter filter) {
 		for (MatchingNode node : nodes) {
-			if (node.needsResolve()) {
+			if (node.needsResolve() && isCandidate(node, filter)) {
 				return true;
 			}
 		}
 		return false;
 	}
 
+	private static boolean isCandidate(MatchingNode node,
+			@Nullable SearchNameFilter filter) {
+		return filter == null || !(node instanceof AbstractMatchingNode<?>)
+				|| filter.acceptName(((AbstractMatchingNode<?>) node).getName());
+	}
+
 	public void report(MatchingCollector<MatchingNode> matchingCollector) {
 		for (MatchingNode node : nodes) {
 			matchingCollector.report(node);
@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.javascript.internal.search;
+
+import static org.eclipse.dltk.internal.javascript.parser.structure.StructureReporter3.isCallExpression;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.dltk.ast.ASTNode;
+import org.eclipse.dltk.internal.javascript.ti.JSDocSupport;
+import org.eclipse.dltk.internal.javascript.ti.JSDocSupport.ParameterNode;
+import org.eclipse.dltk.javascript.ast.AbstractNavigationVisitor;
+import org.eclipse.dltk.javascript.ast.Argument;
+import org.eclipse.dltk.javascript.ast.Comment;
+import org.eclipse.dltk.javascript.ast.Expression;
+import org.eclipse.dltk.javascript.ast.FunctionStatement;
+import org.eclipse.dltk.javascript.ast.GetArrayItemExpression;
+import org.eclipse.dltk.javascript.ast.Identifier;
+import org.eclipse.dltk.javascript.ast.Method;
+import org.eclipse.dltk.javascript.ast.ObjectInitializer;
+import org.eclipse.dltk.javascript.ast.ObjectInitializerPart;
+import org.eclipse.dltk.javascript.ast.PropertyExpression;
+import org.eclipse.dltk.javascript.ast.PropertyInitializer;
+import org.eclipse.dltk.javascript.ast.Script;
+import org.eclipse.dltk.javascript.ast.StringLiteral;
+import org.eclipse.dltk.javascript.ast.ThisExpression;
+import org.eclipse.dltk.javascript.ast.VariableDeclaration;
+import org.eclipse.dltk.javascript.parser.jsdoc.JSDocTag;
+
+/**
+ * Collects the identifiers of the script with their offsets and the
+ * syntactic roles for the {@link OccurrenceIndex}, including the string keys
+ * of the properties (<code>a["name"]</code>) and the names of the parameters
+ * in JSDoc, as they are matched by the search too.
+ */
+public class OccurrenceCollector extends AbstractNavigationVisitor<Object> {
+
+	/**
+	 * Returns the occurrences of the identifiers in the specified script,
+	 * mapped to the pairs of the offset and the roles.
+	 */
+	public static Map<String, int[]> collect(Script script) {
+		final OccurrenceCollector collector = new OccurrenceCollector();
+		collector.visit(script);
+		return collector.toMap();
+	}
+
+	private static class Occurrences {
+		int[] values = new int[4];
+		int size;
+
+		void add(int offset, int roles) {
+			if (size + 2 > values.length) {
+				final int[] newValues = new int[values.length * 2];
+				System.arraycopy(values, 0, newValues, 0, size);
+				values = newValues;
+			}
+			values[size++] = offset;
+			values[size++] = roles;
+		}
+
+		int[] toArray() {
+			final int[] result = new int[size];
+			System.arraycopy(values, 0, result, 0, size);
+			return result;
+		}
+	}
+
+	private final Map<String, Occurrences> occurrences = new HashMap<String, Occurrences>();
+
+	private void add(String name, ASTNode node, int roles) {
+		add(name, node.sourceStart(), roles);
+	}
+
+	private void add(String name, int offset, int roles) {
+		if (name == null || name.length() == 0) {
+			return;
+		}
+		Occurrences list = occurrences.get(name);
+		if (list == null) {
+			occurrences.put(name, list = new Occurrences());
+		}
+		list.add(offset, roles);
+	}
+
+	private void add(Expression name, int roles) {
+		if (name instanceof Identifier) {
+			add(((Identifier) name).getName(), name, roles);
+		} else if (name instanceof StringLiteral) {
+			add(((StringLiteral) name).getValue(), name, roles);
+		}
+	}
+
+	private Map<String, int[]> toMap() {
+		final Map<String, int[]> result = new HashMap<String, int[]>(
+				occurrences.size() * 4 / 3 + 1);
+		for (Map.Entry<String, Occurrences> entry : occurrences.entrySet()) {
+			result.put(entry.getKey(), entry.getValue().toArray());
+		}
+		return result;
+	}
+
+	@Override
+	public Object visitIdentifier(Identifier node) {
+		add(node.getName(), node,
+				isCallExpression(node) ? OccurrenceIndex.CALL : 0);
+		return null;
+	}
+
+	@Override
+	public Object visitPropertyExpression(PropertyExpression node) {
+		visit(node.getObject());
+		final Expression property = node.getProperty();
+		if (property instanceof Identifier) {
+			int roles = OccurrenceIndex.PROPERTY;
+			if (node.getObject() instanceof ThisExpression) {
+				roles |= OccurrenceIndex.THIS_MEMBER;
+			}
+			if (isCallExpression(node)) {
+				roles |= OccurrenceIndex.CALL;
+			}
+			add(property, roles);
+		} else {
+			visit(property);
+		}
+		return null;
+	}
+
+	@Override
+	public Object visitGetArrayItemExpression(GetArrayItemExpression node) {
+		visit(node.getArray());
+		final Expression index = node.getIndex();
+		if (index instanceof StringLiteral) {
+			add(index, OccurrenceIndex.PROPERTY);
+		} else {
+			visit(index);
+		}
+		return null;
+	}
+
+	@Override
+	protected void processVariable(VariableDeclaration declaration) {
+		add(declaration.getIdentifier(), OccurrenceIndex.DECLARATION);
+		super.processVariable(declaration);
+	}
+
+	@Override
+	public Object visitFunctionStatement(FunctionStatement node) {
+		if (node.getName() != null) {
+			add(node.getName(), OccurrenceIndex.DECLARATION);
+		}
+		for (Argument argument : node.getArguments()) {
+			add(argument.getIdentifier(), OccurrenceIndex.DECLARATION);
+		}
+		final Comment comment = JSDocSupport.getComment(node);
+		if (comment != null) {
+			for (JSDocTag tag : JSDocSupport.parse(comment).list(
+					JSDocTag.PARAM)) {
+				final ParameterNode parameter = JSDocSupport
+						.parseParameter(tag);
+				if (parameter != null) {
+					add(parameter.name, tag.fromValueOffset(parameter.offset),
+							0);
+				}
+			}
+		}
+		return super.visitFunctionStatement(node);
+	}
+
+	@Override
+	public Object visitObjectInitializer(ObjectInitializer node) {
+		for (ObjectInitializerPart part : node.getInitializers()) {
+			if (part instanceof Method) {
+				final Method method = (Method) part;
+				add(method.getName(), OccurrenceIndex.DECLARATION
+						| OccurrenceIndex.PROPERTY);
+				visitMethod(method);
+			} else if (part instanceof PropertyInitializer) {
+				final PropertyInitializer pi = (PropertyInitializer) part;
+				add(pi.getName(), OccurrenceIndex.DECLARATION
+						| OccurrenceIndex.PROPERTY);
+				visit(pi.getValue());
+			}
+		}
+		return null;
+	}
+
+}
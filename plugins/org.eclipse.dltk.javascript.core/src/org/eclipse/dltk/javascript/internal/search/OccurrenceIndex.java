@@ -0,0 +1,506 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.javascript.internal.search;
+
+import static org.eclipse.dltk.javascript.internal.core.StateFiles.readString;
+import static org.eclipse.dltk.javascript.internal.core.StateFiles.writeString;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.dltk.annotations.Nullable;
+import org.eclipse.dltk.javascript.core.JavaScriptPlugin;
+import org.eclipse.dltk.javascript.internal.core.JavaScriptCacheInvalidator;
+import org.eclipse.dltk.javascript.internal.core.StateFiles;
+
+/**
+ * Project level inverted index of the identifiers: maps the name to the files
+ * containing it, with the offsets and the syntactic roles of the occurrences.
+ * Maintained by the {@link OccurrenceIndexer} build participant and stored in
+ * the plugin state location between the sessions.
+ *
+ * <p>
+ * The entry of the file is valid while the modification stamp of the file is
+ * the same as the indexed one, so the stale entries (e.g. after the file was
+ * changed while the auto build is off) are never used. The entries of the
+ * removed files are removed and the indexes of the closed or deleted projects
+ * are evicted by the {@link JavaScriptCacheInvalidator}.
+ * </p>
+ *
+ * <p>
+ * The changed indexes are written to the disk by the background job shortly
+ * after the build (see {@link #scheduleSave()}), when the project is closed
+ * and when the plugin is stopped.
+ * </p>
+ */
+public class OccurrenceIndex {
+
+	/**
+	 * The occurrence declares the name: variable, function, argument or
+	 * property of the object literal.
+	 */
+	public static final int DECLARATION = 1;
+	/**
+	 * The name is called.
+	 */
+	public static final int CALL = 2;
+	/**
+	 * The name is accessed as the property of the expression.
+	 */
+	public static final int PROPERTY = 4;
+	/**
+	 * The name is accessed as the property of <code>this</code>.
+	 */
+	public static final int THIS_MEMBER = 8;
+
+	private static final int VERSION = 2;
+
+	private static final String DIRECTORY = "occurrences"; //$NON-NLS-1$
+
+	private static final Map<String, OccurrenceIndex> indexes = new HashMap<String, OccurrenceIndex>();
+
+	/**
+	 * The delay of the background save, so the subsequent builds are saved
+	 * once.
+	 */
+	private static final long SAVE_DELAY = 5000;
+
+	private static final Job saveJob = new Job("Save JavaScript occurrence indexes") { //$NON-NLS-1$
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			saveIndexes();
+			return Status.OK_STATUS;
+		}
+	};
+
+	static {
+		saveJob.setSystem(true);
+		saveJob.setPriority(Job.DECORATE);
+	}
+
+	/**
+	 * Returns the index of the specified project, loading it from the plugin
+	 * state location if needed. Returns <code>null</code> if the plugin is not
+	 * running or there is no state location.
+	 */
+	@Nullable
+	public static OccurrenceIndex forProject(IProject project) {
+		synchronized (indexes) {
+			OccurrenceIndex index = indexes.get(project.getName());
+			if (index == null) {
+				final File file = fileOf(project.getName());
+				if (file == null) {
+					return null;
+				}
+				index = new OccurrenceIndex(file);
+				indexes.put(project.getName(), index);
+			}
+			return index;
+		}
+	}
+
+	/**
+	 * Returns the file of the index of the specified project or
+	 * <code>null</code> if the plugin is not running or there is no state
+	 * location.
+	 */
+	@Nullable
+	private static File fileOf(String project) {
+		final JavaScriptPlugin plugin = JavaScriptPlugin.getDefault();
+		if (plugin == null) {
+			return null;
+		}
+		try {
+			return new File(plugin.getStateLocation().append(DIRECTORY)
+					.toFile(), project + ".index"); //$NON-NLS-1$
+		} catch (IllegalStateException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Schedules the background save of the changed indexes.
+	 */
+	public static void scheduleSave() {
+		saveJob.schedule(SAVE_DELAY);
+	}
+
+	/**
+	 * Saves the changed indexes, e.g. the ones changed by the removed files
+	 * while the auto build is off, instead of the scheduled save.
+	 */
+	public static void saveAll() {
+		saveJob.cancel();
+		saveIndexes();
+	}
+
+	private static void saveIndexes() {
+		final OccurrenceIndex[] values;
+		synchronized (indexes) {
+			values = indexes.values().toArray(
+					new OccurrenceIndex[indexes.size()]);
+		}
+		for (OccurrenceIndex index : values) {
+			index.save();
+		}
+	}
+
+	/**
+	 * Removes the entry of the deleted file from the index of it's project.
+	 * The index is loaded only if it's already used or stored.
+	 */
+	public static void removeFile(IPath path) {
+		if (path.segmentCount() < 2) {
+			return;
+		}
+		final String project = path.segment(0);
+		final OccurrenceIndex index;
+		synchronized (indexes) {
+			final OccurrenceIndex existing = indexes.get(project);
+			if (existing != null) {
+				index = existing;
+			} else {
+				final File file = fileOf(project);
+				if (file == null || !file.isFile()) {
+					return;
+				}
+				index = new OccurrenceIndex(file);
+				indexes.put(project, index);
+			}
+		}
+		index.remove(path);
+	}
+
+	/**
+	 * Evicts the index of the closed or deleted project. The index of the
+	 * closed project is saved, the one of the deleted project is deleted.
+	 */
+	public static void removeProject(IProject project, boolean deleted) {
+		final OccurrenceIndex index;
+		synchronized (indexes) {
+			index = indexes.remove(project.getName());
+		}
+		if (deleted) {
+			if (index != null) {
+				index.delete();
+			} else {
+				final File file = fileOf(project.getName());
+				if (file != null) {
+					file.delete();
+				}
+			}
+		} else if (index != null) {
+			index.save();
+		}
+	}
+
+	/**
+	 * The occurrences in the single file.
+	 */
+	static class FileEntry {
+		final long stamp;
+		final Map<String, int[]> occurrences;
+
+		FileEntry(long stamp, Map<String, int[]> occurrences) {
+			this.stamp = stamp;
+			this.occurrences = occurrences;
+		}
+	}
+
+	@Nullable
+	private final File file;
+	private final Map<IPath, FileEntry> files = new HashMap<IPath, FileEntry>();
+	private final Map<String, Set<IPath>> names = new HashMap<String, Set<IPath>>();
+	private boolean loaded;
+	private boolean dirty;
+	/**
+	 * Serializes the writers, so the older snapshot never replaces the newer
+	 * one.
+	 */
+	private final Object saveLock = new Object();
+
+	/**
+	 * @param file
+	 *            the file to store the index to or <code>null</code> if it
+	 *            should be kept in memory only
+	 */
+	public OccurrenceIndex(@Nullable File file) {
+		this.file = file;
+		this.loaded = file == null;
+	}
+
+	/**
+	 * Replaces the occurrences of the specified file.
+	 */
+	public synchronized void update(IPath path, long stamp,
+			Map<String, int[]> occurrences) {
+		load();
+		removeNames(path);
+		files.put(path, new FileEntry(stamp, occurrences));
+		for (String name : occurrences.keySet()) {
+			addName(name, path);
+		}
+		dirty = true;
+	}
+
+	public synchronized void remove(IPath path) {
+		load();
+		if (removeNames(path)) {
+			dirty = true;
+		}
+	}
+
+	public synchronized void clear() {
+		loaded = true;
+		if (!files.isEmpty()) {
+			files.clear();
+			names.clear();
+			dirty = true;
+		}
+	}
+
+	private void addName(String name, IPath path) {
+		Set<IPath> paths = names.get(name);
+		if (paths == null) {
+			names.put(name, paths = new HashSet<IPath>());
+		}
+		paths.add(path);
+	}
+
+	private boolean removeNames(IPath path) {
+		final FileEntry entry = files.remove(path);
+		if (entry == null) {
+			return false;
+		}
+		for (String name : entry.occurrences.keySet()) {
+			final Set<IPath> paths = names.get(name);
+			if (paths != null) {
+				paths.remove(path);
+				if (paths.isEmpty()) {
+					names.remove(name);
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the files containing the specified name. The entries of the
+	 * files deleted while the workspace was not running are removed on the
+	 * next full build only, so the callers should check if the returned files
+	 * exist.
+	 */
+	public synchronized Set<IPath> filesOf(String name) {
+		load();
+		final Set<IPath> paths = names.get(name);
+		return paths != null ? new HashSet<IPath>(paths) : Collections
+				.<IPath> emptySet();
+	}
+
+	/**
+	 * Returns the pairs of the offset and the roles of the specified name in
+	 * the specified file or <code>null</code> if the file is not indexed or
+	 * the index is stale.
+	 */
+	@Nullable
+	public synchronized int[] occurrencesOf(IPath path, long stamp,
+			String name) {
+		final FileEntry entry = entryOf(path, stamp);
+		if (entry == null) {
+			return null;
+		}
+		final int[] occurrences = entry.occurrences.get(name);
+		return occurrences != null ? occurrences : new int[0];
+	}
+
+	/**
+	 * Checks if the specified file contains the names accepted by the
+	 * filter. Returns <code>null</code> if the file is not indexed or the
+	 * index is stale.
+	 */
+	@Nullable
+	public synchronized Boolean contains(IPath path, long stamp,
+			SearchNameFilter filter) {
+		final FileEntry entry = entryOf(path, stamp);
+		if (entry == null) {
+			return null;
+		}
+		for (String name : entry.occurrences.keySet()) {
+			if (filter.acceptName(name)) {
+				return Boolean.TRUE;
+			}
+		}
+		return Boolean.FALSE;
+	}
+
+	@Nullable
+	private FileEntry entryOf(IPath path, long stamp) {
+		load();
+		final FileEntry entry = files.get(path);
+		return entry != null && entry.stamp == stamp ? entry : null;
+	}
+
+	public synchronized int size() {
+		load();
+		return files.size();
+	}
+
+	private void load() {
+		if (loaded) {
+			return;
+		}
+		loaded = true;
+		if (file == null || !file.isFile()) {
+			return;
+		}
+		try {
+			final DataInputStream input = new DataInputStream(
+					new BufferedInputStream(new FileInputStream(file)));
+			try {
+				if (input.readInt() != VERSION) {
+					return;
+				}
+				final int fileCount = input.readInt();
+				for (int i = 0; i < fileCount; ++i) {
+					final IPath path = new Path(readString(input));
+					final long stamp = input.readLong();
+					final int nameCount = input.readInt();
+					final Map<String, int[]> occurrences = new HashMap<String, int[]>(
+							nameCount * 4 / 3 + 1);
+					for (int j = 0; j < nameCount; ++j) {
+						final String name = readString(input);
+						final int[] values = new int[input.readInt()];
+						for (int k = 0; k < values.length; ++k) {
+							values[k] = input.readInt();
+						}
+						occurrences.put(name, values);
+						addName(name, path);
+					}
+					files.put(path, new FileEntry(stamp, occurrences));
+				}
+			} finally {
+				input.close();
+			}
+		} catch (IOException e) {
+			files.clear();
+			names.clear();
+			file.delete();
+		}
+	}
+
+	/**
+	 * Writes the index to the disk if it was changed. The entries are copied
+	 * under the lock of the index and written without holding it, so the
+	 * build and the search are not blocked by the I/O. The index is written to
+	 * the temporary file first and then moved over the previous one, so it's
+	 * never left partially written.
+	 */
+	public void save() {
+		synchronized (saveLock) {
+			final List<Map.Entry<IPath, FileEntry>> snapshot;
+			synchronized (this) {
+				if (!dirty || file == null) {
+					return;
+				}
+				dirty = false;
+				snapshot = new ArrayList<Map.Entry<IPath, FileEntry>>(
+						files.size());
+				for (Map.Entry<IPath, FileEntry> entry : files.entrySet()) {
+					snapshot.add(new SimpleImmutableEntry<IPath, FileEntry>(
+							entry));
+				}
+			}
+			write(snapshot);
+		}
+	}
+
+	/**
+	 * Deletes the stored index, the changes not saved yet are discarded.
+	 */
+	private void delete() {
+		synchronized (saveLock) {
+			synchronized (this) {
+				dirty = false;
+			}
+			if (file != null) {
+				file.delete();
+			}
+		}
+	}
+
+	/**
+	 * Writes the specified entries, the occurrences of the entries are never
+	 * changed after they are added to the index.
+	 */
+	private void write(List<Map.Entry<IPath, FileEntry>> snapshot) {
+		final File directory = file.getParentFile();
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			return;
+		}
+		File temp = null;
+		try {
+			temp = StateFiles.createTemp(file);
+			final DataOutputStream output = new DataOutputStream(
+					new BufferedOutputStream(new FileOutputStream(temp)));
+			try {
+				output.writeInt(VERSION);
+				output.writeInt(snapshot.size());
+				for (Map.Entry<IPath, FileEntry> entry : snapshot) {
+					writeString(output, entry.getKey().toString());
+					output.writeLong(entry.getValue().stamp);
+					final Map<String, int[]> occurrences = entry.getValue().occurrences;
+					output.writeInt(occurrences.size());
+					for (Map.Entry<String, int[]> o : occurrences.entrySet()) {
+						writeString(output, o.getKey());
+						output.writeInt(o.getValue().length);
+						for (int value : o.getValue()) {
+							output.writeInt(value);
+						}
+					}
+				}
+			} finally {
+				output.close();
+			}
+			StateFiles.replace(temp, file);
+			temp = null;
+		} catch (IOException e) {
+			JavaScriptPlugin.error(e);
+			file.delete();
+		} finally {
+			if (temp != null) {
+				temp.delete();
+			}
+		}
+	}
+
+}
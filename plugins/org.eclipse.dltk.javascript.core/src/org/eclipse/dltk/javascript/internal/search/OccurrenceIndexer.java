@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.javascript.internal.search;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.dltk.core.ISourceModule;
+import org.eclipse.dltk.core.builder.IBuildContext;
+import org.eclipse.dltk.core.builder.IBuildParticipant;
+import org.eclipse.dltk.core.builder.IBuildParticipantExtension;
+import org.eclipse.dltk.internal.javascript.validation.JavaScriptValidations;
+import org.eclipse.dltk.javascript.ast.Script;
+
+/**
+ * Build participant maintaining the {@link OccurrenceIndex} and the
+ * {@link CallGraph} of the project: the full build replaces the whole index,
+ * the incremental one updates the entries of the built modules only. The
+ * index is saved in the background after the build.
+ */
+public class OccurrenceIndexer implements IBuildParticipant,
+		IBuildParticipantExtension {
+
+	private final OccurrenceIndex index;
+	private final CallGraph callGraph;
+
+	public OccurrenceIndexer(OccurrenceIndex index, CallGraph callGraph) {
+		this.index = index;
+		this.callGraph = callGraph;
+	}
+
+	public boolean beginBuild(int buildType) {
+		if (buildType == IBuildContext.FULL_BUILD) {
+			index.clear();
+			callGraph.clear();
+		}
+		return buildType != IBuildContext.RECONCILE_BUILD;
+	}
+
+	public void notifyDependents(IBuildParticipant[] dependents) {
+	}
+
+	public void build(IBuildContext context) throws CoreException {
+		final ISourceModule module = context.getSourceModule();
+		if (module == null) {
+			return;
+		}
+		final IResource resource = module.getResource();
+		if (!(resource instanceof IFile)) {
+			return;
+		}
+		final Script script = JavaScriptValidations.parse(context);
+		if (script == null) {
+			return;
+		}
+		index.update(resource.getFullPath(), resource.getModificationStamp(),
+				OccurrenceCollector.collect(script));
+		callGraph.update(resource.getFullPath(),
+				resource.getModificationStamp(), CallGraph.collect(script));
+	}
+
+	public void endBuild(IProgressMonitor monitor) {
+		OccurrenceIndex.scheduleSave();
+	}
+
+}
@@ -0,0 +1,29 @@
+/*******************************************************************************
+ * Copyright (c) 2012 NumberFour AG
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and Implementation (Alex Panchenko)
+ *******************************************************************************/
+package org.eclipse.dltk.javascript.internal.search;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.dltk.core.IScriptProject;
+import org.eclipse.dltk.core.builder.IBuildParticipant;
+import org.eclipse.dltk.core.builder.IBuildParticipantFactory;
+
+public class OccurrenceIndexerFactory implements IBuildParticipantFactory {
+
+	public IBuildParticipant createBuildParticipant(IScriptProject project)
+			throws CoreException {
+		final OccurrenceIndex index = OccurrenceIndex.forProject(project
+				.getProject());
+		return index != null ? new OccurrenceIndexer(index,
+				CallGraph.forProject(project.getProject())) : null;
+	}
+
+}
@@ -0,0 +1,219 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.javascript.internal.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.dltk.annotations.Nullable;
+import org.eclipse.dltk.core.search.SearchPattern;
+import org.eclipse.dltk.internal.core.search.matching.FieldPattern;
+import org.eclipse.dltk.internal.core.search.matching.LocalVariablePattern;
+import org.eclipse.dltk.internal.core.search.matching.MethodDeclarationPattern;
+import org.eclipse.dltk.internal.core.search.matching.MethodPattern;
+import org.eclipse.dltk.internal.core.search.matching.OrPattern;
+import org.eclipse.dltk.internal.core.search.matching.TypeReferencePattern;
+
+/**
+ * Cheap textual check if the document could contain the matches of the
+ * search pattern: at least one of the searched names should occur in the
+ * source as an identifier (in the code or in the comments), so the documents
+ * without it are not parsed and inferred at all.
+ */
+@SuppressWarnings("restriction")
+public class SearchNameFilter {
+
+	/**
+	 * Returns the filter for the specified pattern or <code>null</code> if
+	 * the pattern can't be checked textually (wildcards, camel case, regular
+	 * expressions or unknown pattern kinds).
+	 */
+	@Nullable
+	public static SearchNameFilter create(SearchPattern pattern) {
+		final List<char[]> names = new ArrayList<char[]>();
+		final int kinds = collectNames(pattern, names);
+		if (kinds == 0 || names.isEmpty()) {
+			return null;
+		}
+		final int rule = pattern.getMatchRule();
+		if ((rule & (SearchPattern.R_PATTERN_MATCH
+				| SearchPattern.R_REGEXP_MATCH | SearchPattern.R_CAMELCASE_MATCH)) != 0) {
+			return null;
+		}
+		final boolean caseSensitive = (rule & SearchPattern.R_CASE_SENSITIVE) != 0;
+		final boolean prefix = (rule & SearchPattern.R_PREFIX_MATCH) != 0;
+		final char[][] result = new char[names.size()][];
+		for (int i = 0; i < result.length; ++i) {
+			result[i] = caseSensitive ? names.get(i) : toLowerCase(names
+					.get(i));
+		}
+		final SearchNameFilter filter = new SearchNameFilter(result,
+				caseSensitive, !prefix);
+		filter.indexed = (kinds & TYPE_NAMES) == 0;
+		return filter;
+	}
+
+	private static final int IDENTIFIERS = 1;
+	private static final int TYPE_NAMES = 2;
+
+	/**
+	 * Collects the names of the pattern, returns the kinds of the collected
+	 * names or <code>0</code> if the pattern is not supported.
+	 */
+	private static int collectNames(SearchPattern pattern, List<char[]> names) {
+		if (pattern instanceof OrPattern) {
+			int kinds = 0;
+			for (SearchPattern p : ((OrPattern) pattern).getPatterns()) {
+				final int k = collectNames(p, names);
+				if (k == 0) {
+					return 0;
+				}
+				kinds |= k;
+			}
+			return kinds;
+		}
+		final char[] name;
+		int kind = IDENTIFIERS;
+		if (pattern instanceof FieldPattern) {
+			name = ((FieldPattern) pattern).name;
+		} else if (pattern instanceof MethodPattern) {
+			name = ((MethodPattern) pattern).selector;
+		} else if (pattern instanceof MethodDeclarationPattern) {
+			name = ((MethodDeclarationPattern) pattern).simpleName;
+		} else if (pattern instanceof TypeReferencePattern) {
+			name = ((TypeReferencePattern) pattern).simpleName;
+			kind = TYPE_NAMES;
+		} else if (pattern instanceof LocalVariablePattern) {
+			name = ((LocalVariablePattern) pattern).name;
+		} else {
+			return 0;
+		}
+		if (name == null || name.length == 0) {
+			return 0;
+		}
+		int start = 0;
+		for (int i = 0; i < name.length; ++i) {
+			final char c = name[i];
+			if (c == '*' || c == '?') {
+				return 0;
+			} else if (c == '.' || c == '/') {
+				start = i + 1;
+			}
+		}
+		if (start == name.length) {
+			return 0;
+		}
+		final char[] simpleName = new char[name.length - start];
+		System.arraycopy(name, start, simpleName, 0, simpleName.length);
+		names.add(simpleName);
+		return kind;
+	}
+
+	private static char[] toLowerCase(char[] chars) {
+		final char[] result = new char[chars.length];
+		for (int i = 0; i < chars.length; ++i) {
+			result[i] = Character.toLowerCase(chars[i]);
+		}
+		return result;
+	}
+
+	private final char[][] names;
+	private final boolean caseSensitive;
+	private final boolean wholeWord;
+	private boolean indexed;
+
+	/**
+	 * @param names
+	 *            the names to look for, in the lower case if the filter is
+	 *            not case sensitive
+	 */
+	public SearchNameFilter(char[][] names, boolean caseSensitive,
+			boolean wholeWord) {
+		this.names = names;
+		this.caseSensitive = caseSensitive;
+		this.wholeWord = wholeWord;
+	}
+
+	/**
+	 * Answers if all the searched names are identifiers in the code, so the
+	 * {@link OccurrenceIndex} could be used instead of the source. The type
+	 * names are referenced from the comments too, so they are not indexed.
+	 */
+	public boolean isIndexed() {
+		return indexed;
+	}
+
+	/**
+	 * Checks if the specified identifier matches one of the searched names.
+	 */
+	public boolean acceptName(String name) {
+		for (char[] n : names) {
+			if (wholeWord ? name.length() != n.length
+					: name.length() < n.length) {
+				continue;
+			}
+			int i = 0;
+			while (i < n.length) {
+				final char c = name.charAt(i);
+				if ((caseSensitive ? c : Character.toLowerCase(c)) != n[i]) {
+					break;
+				}
+				++i;
+			}
+			if (i == n.length) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Checks if the specified source could contain the matches.
+	 */
+	public boolean accept(char[] source) {
+		for (char[] name : names) {
+			if (occurs(source, name)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean occurs(char[] source, char[] name) {
+		final int last = source.length - name.length;
+		final char first = name[0];
+		for (int i = 0; i <= last; ++i) {
+			if (charAt(source, i) != first) {
+				continue;
+			}
+			if (i > 0 && Character.isJavaIdentifierPart(source[i - 1])) {
+				continue;
+			}
+			int j = 1;
+			while (j < name.length && charAt(source, i + j) == name[j]) {
+				++j;
+			}
+			if (j == name.length
+					&& (!wholeWord || i + j == source.length || !Character
+							.isJavaIdentifierPart(source[i + j]))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private char charAt(char[] source, int index) {
+		final char c = source[index];
+		return caseSensitive ? c : Character.toLowerCase(c);
+	}
+
+}
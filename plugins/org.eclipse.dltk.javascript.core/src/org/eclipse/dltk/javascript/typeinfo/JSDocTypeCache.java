@@ -0,0 +1,265 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.javascript.typeinfo;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.dltk.annotations.Nullable;
+import org.eclipse.dltk.compiler.problem.IProblemIdentifier;
+import org.eclipse.dltk.internal.javascript.ti.JSDocProblem;
+import org.eclipse.dltk.javascript.typeinfo.model.JSType;
+import org.eclipse.dltk.javascript.typeinfo.model.SimpleType;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+/**
+ * Memoizes the results of {@link JSDocTypeParser#parse(String)}, keyed by
+ * {@link JSDocTypeParser#getCacheKey()} and the type expression, the least
+ * recently used results are evicted.
+ * 
+ * Cached types are never returned directly, since they are usually added to
+ * the containment references of the model elements, so each call returns a
+ * copy. Parse errors are cached too and are replayed to the caller.
+ * 
+ * @noinstantiate This class is not intended to be instantiated by clients.
+ */
+public final class JSDocTypeCache {
+
+	private static final int MAX_SIZE = 4096;
+
+	private static final JSDocTypeCache INSTANCE = new JSDocTypeCache();
+
+	public static JSDocTypeCache getInstance() {
+		return INSTANCE;
+	}
+
+	private static class Key {
+		final Object parserKey;
+		final String expression;
+
+		Key(Object parserKey, String expression) {
+			this.parserKey = parserKey;
+			this.expression = expression;
+		}
+
+		@Override
+		public int hashCode() {
+			return parserKey.hashCode() * 31 + expression.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj instanceof Key) {
+				final Key other = (Key) obj;
+				return parserKey.equals(other.parserKey)
+						&& expression.equals(other.expression);
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * The memoized result of the type expression parsing.
+	 */
+	public static class Entry {
+		@Nullable
+		private final JSType type;
+		@Nullable
+		private final IProblemIdentifier problemId;
+		@Nullable
+		private final String message;
+		private final List<JSDocTypeRegion> regions;
+
+		Entry(JSType type, List<JSDocTypeRegion> regions) {
+			this.type = type;
+			this.problemId = null;
+			this.message = null;
+			this.regions = regions;
+		}
+
+		Entry(IProblemIdentifier problemId, String message,
+				List<JSDocTypeRegion> regions) {
+			this.type = null;
+			this.problemId = problemId;
+			this.message = message;
+			this.regions = regions;
+		}
+
+		/**
+		 * Returns the new copy of the parsed type or <code>null</code> if
+		 * there were parse errors.
+		 */
+		@Nullable
+		public JSType copyType() {
+			if (type == null) {
+				return null;
+			}
+			// proxies are copied as is, they are resolved in the context of
+			// the copy
+			final EcoreUtil.Copier copier = new EcoreUtil.Copier(false);
+			final JSType copy = (JSType) copier.copy(type);
+			copier.copyReferences();
+			return copy;
+		}
+
+		/**
+		 * Checks if there were parse errors.
+		 */
+		public boolean hasProblem() {
+			return problemId != null;
+		}
+
+		/**
+		 * Returns the identifier of the parse problem or <code>null</code>
+		 */
+		@Nullable
+		public IProblemIdentifier getProblemId() {
+			return problemId;
+		}
+
+		/**
+		 * Returns the message of the parse problem or <code>null</code>
+		 */
+		@Nullable
+		public String getMessage() {
+			return message;
+		}
+
+		/**
+		 * Returns the regions of the primitive types in the parsed type
+		 * expression, as reported to {@link JSDocTypeParserExtension}.
+		 */
+		public List<JSDocTypeRegion> getRegions() {
+			return regions;
+		}
+
+		/**
+		 * Finds the primitive type at the specified location in the type
+		 * expression.
+		 */
+		@Nullable
+		public JSDocTypeRegion findRegionAt(int offset) {
+			for (JSDocTypeRegion region : regions) {
+				if (region.start() <= offset && offset < region.end()) {
+					return region;
+				}
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * The least recently used entries are evicted when the size exceeds
+	 * {@link #MAX_SIZE}. Guarded by itself.
+	 */
+	private final Map<Key, Entry> entries = new LinkedHashMap<Key, Entry>(
+			16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+			return size() > MAX_SIZE;
+		}
+	};
+
+	private JSDocTypeCache() {
+	}
+
+	/**
+	 * Parses the specified type expression with the specified parser or
+	 * returns the memoized result. If parser doesn't support caching (i.e.
+	 * {@link JSDocTypeParser#getCacheKey()} returns <code>null</code>) then
+	 * the expression is parsed each time. The expression is parsed each time
+	 * also if the parser has the {@link JSDocTypeParserExtension} set, so it
+	 * is notified about the parsed types.
+	 */
+	public Entry parse(JSDocTypeParser parser, String expression) {
+		final Object parserKey = parser.getCacheKey();
+		if (parserKey == null || parser.getExtension() != null) {
+			return doParse(parser, expression);
+		}
+		final Key key = new Key(parserKey, expression);
+		synchronized (entries) {
+			final Entry cached = entries.get(key);
+			if (cached != null) {
+				return cached;
+			}
+		}
+		final Entry entry = doParse(parser, expression);
+		synchronized (entries) {
+			final Entry previous = entries.get(key);
+			if (previous != null) {
+				return previous;
+			}
+			entries.put(key, entry);
+		}
+		return entry;
+	}
+
+	/**
+	 * Clears all the memoized results.
+	 */
+	public void clear() {
+		synchronized (entries) {
+			entries.clear();
+		}
+	}
+
+	/**
+	 * Returns the number of the memoized results.
+	 */
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	private static Entry doParse(JSDocTypeParser parser, String expression) {
+		final List<JSDocTypeRegion> regions = new ArrayList<JSDocTypeRegion>(4);
+		final JSDocTypeParserExtension extension = parser.getExtension();
+		parser.setExtension(new JSDocTypeParserExtension() {
+			public void reportType(JSType type, int start, int end) {
+				if (type instanceof SimpleType) {
+					regions.add(new JSDocTypeRegion(((SimpleType) type)
+							.getTarget().getName(), start, end));
+				}
+				if (extension != null) {
+					extension.reportType(type, start, end);
+				}
+			}
+		});
+		try {
+			return new Entry(parser.parse(expression), immutable(regions));
+		} catch (JSDocParseException e) {
+			return new Entry(e.problemId, e.getMessage(), immutable(regions));
+		} catch (ParseException e) {
+			String message = e.getMessage();
+			if (e.getErrorOffset() >= 0) {
+				message += " after " + expression.substring(0, e.getErrorOffset());
+			}
+			return new Entry(JSDocProblem.WRONG_TYPE_SYNTAX, message,
+					immutable(regions));
+		} finally {
+			parser.setExtension(extension);
+		}
+	}
+
+	private static <E> List<E> immutable(List<E> list) {
+		return list.isEmpty() ? Collections.<E> emptyList() : Collections
+				.unmodifiableList(list);
+	}
+
+}
@@ -16,6 +16,7 @@ import static org.eclipse.dltk.javascript.parser.util.CharStreamUtil.skipSpaces;
 
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.antlr.runtime.ANTLRStringStream;
@@ -66,6 +67,24 @@ public class JSDocTypeParser {
 		this.extension = extension;
 	}
 
+	JSDocTypeParserExtension getExtension() {
+		return extension;
+	}
+
+	/**
+	 * Returns the key identifying the parsing rules of this parser, so the
+	 * results could be memoized by {@link JSDocTypeCache}, or
+	 * <code>null</code> if the results should not be cached. By default the
+	 * parser class with the extension characters is used, subclasses producing
+	 * results depending on their other state should override this method.
+	 */
+	public Object getCacheKey() {
+		if (extensionChars == null) {
+			return getClass();
+		}
+		return Arrays.asList(getClass(), String.valueOf(extensionChars));
+	}
+
 	public JSType parse(String input) throws ParseException {
 		final ANTLRStringStream stream = new ANTLRStringStream(input);
 		final JSType type = parse(stream, true);
@@ -11,14 +11,9 @@
  *******************************************************************************/
 package org.eclipse.dltk.javascript.typeinfo;
 
-import java.text.ParseException;
-import java.util.concurrent.atomic.AtomicReference;
-
 import org.eclipse.dltk.annotations.Nullable;
 import org.eclipse.dltk.internal.javascript.ti.JSDocSupport;
 import org.eclipse.dltk.internal.javascript.ti.TypeInferencer2;
-import org.eclipse.dltk.javascript.typeinfo.model.JSType;
-import org.eclipse.dltk.javascript.typeinfo.model.SimpleType;
 
 public class JSDocTypeUtil {
 
@@ -42,22 +37,8 @@ public class JSDocTypeUtil {
 		if (typeParser == null) {
 			return null;
 		}
-		final AtomicReference<JSDocTypeRegion> result = new AtomicReference<JSDocTypeRegion>();
-		typeParser.setExtension(new JSDocTypeParserExtension() {
-			public void reportType(JSType type, int s, int e) {
-				if (s <= offsetInTypeExpression && offsetInTypeExpression < e
-						&& type instanceof SimpleType && result.get() == null) {
-					result.set(new JSDocTypeRegion(((SimpleType) type)
-							.getTarget().getName(), s, e));
-				}
-			}
-		});
-		try {
-			typeParser.parse(typeExpression);
-		} catch (ParseException e1) {
-			// ignore
-		}
-		return result.get();
+		return JSDocTypeCache.getInstance().parse(typeParser, typeExpression)
+				.findRegionAt(offsetInTypeExpression);
 	}
 
 }
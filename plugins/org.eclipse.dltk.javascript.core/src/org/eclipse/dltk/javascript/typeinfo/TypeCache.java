@@ -15,6 +15,9 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.dltk.annotations.Internal;
@@ -40,6 +43,23 @@ public abstract class TypeCache {
 	private final URI baseURI;
 	private final TypeCacheResourceSet resourceSet;
 
+	/**
+	 * Bucket name to resource URI.
+	 */
+	private final ConcurrentMap<String, URI> uris = new ConcurrentHashMap<String, URI>();
+
+	/**
+	 * Bucket name to resource, allows lookups without locking the resource
+	 * set. Entries are removed when the bucket is cleared.
+	 */
+	private final ConcurrentMap<String, TypeCacheResource> resources = new ConcurrentHashMap<String, TypeCacheResource>();
+
+	/**
+	 * Types being created at the moment, keyed by {@link #pendingKey(String,
+	 * String)}.
+	 */
+	private final ConcurrentMap<String, PendingType> pending = new ConcurrentHashMap<String, PendingType>();
+
 	public TypeCache(String scheme, String authority) {
 		this(URI.createHierarchicalURI(scheme, authority, null, null, null));
 	}
@@ -87,9 +107,121 @@ public abstract class TypeCache {
 	};
 
 	private TypeCacheResource getResource(String bucket, boolean loadOnDemand) {
+		final String key = bucket != null ? bucket : "";
+		final TypeCacheResource cached = resources.get(key);
+		if (cached != null) {
+			return cached;
+		}
 		synchronized (resourceSet) {
-			return (TypeCacheResource) resourceSet.getResource(getURI(bucket),
-					loadOnDemand);
+			final TypeCacheResource resource = (TypeCacheResource) resourceSet
+					.getResource(getURI(bucket), loadOnDemand);
+			if (resource != null && resource.isLoaded()) {
+				resources.put(key, resource);
+			}
+			return resource;
+		}
+	}
+
+	/**
+	 * Returns the type with the specified name from the specified bucket
+	 * without locking.
+	 */
+	private Type getCachedType(String bucket, String typeName) {
+		final TypeCacheResource resource = getResource(bucket, false);
+		return resource != null ? resource.types.get(typeName) : null;
+	}
+
+	private static class PendingType {
+		final CountDownLatch done = new CountDownLatch(1);
+		volatile Type result;
+		volatile Throwable failure;
+	}
+
+	private static String pendingKey(String context, String typeName) {
+		return context != null ? context + '\0' + typeName : typeName;
+	}
+
+	/**
+	 * Returns the type with the specified name from the specified bucket or
+	 * from the buckets accessible from it.
+	 */
+	private Type getCachedTypeOrAccessible(String context, String typeName) {
+		final Type type = getCachedType(context, typeName);
+		if (type != null) {
+			return type;
+		}
+		for (String bucket : getAccessibleBuckets(context)) {
+			final Type accessible = getCachedType(bucket, typeName);
+			if (accessible != null) {
+				return accessible;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Calls {@link #createType(String, String)} making sure the same type is
+	 * created only once if requested concurrently. Only the outermost
+	 * operation of the thread waits for the other thread, nested calls
+	 * (initiated from {@link #createType(String, String)}) create the type
+	 * themselves, so no thread waits while holding pending entries and no
+	 * deadlock is possible. The duplicates are then resolved in
+	 * {@link #addType(String, Type)}. If the creation fails, the waiting
+	 * threads fail with the same exception.
+	 */
+	private Type createTypeOnce(String context, String typeName,
+			ThreadState state) {
+		final String key = pendingKey(context, typeName);
+		final PendingType entry = new PendingType();
+		final PendingType existing = pending.putIfAbsent(key, entry);
+		if (existing != null) {
+			if (state.activeOperations == 1) {
+				boolean interrupted = false;
+				for (;;) {
+					try {
+						existing.done.await();
+						break;
+					} catch (InterruptedException e) {
+						interrupted = true;
+					}
+				}
+				if (interrupted) {
+					Thread.currentThread().interrupt();
+				}
+				if (existing.failure != null) {
+					throw rethrow(existing.failure);
+				}
+				return existing.result;
+			}
+			return createType(context, typeName);
+		}
+		try {
+			// the type could be added after the lookup, but before the entry
+			Type type = getCachedTypeOrAccessible(context, typeName);
+			if (type == null) {
+				type = createType(context, typeName);
+			}
+			entry.result = type;
+			return type;
+		} catch (RuntimeException e) {
+			entry.failure = e;
+			throw e;
+		} catch (Error e) {
+			entry.failure = e;
+			throw e;
+		} finally {
+			pending.remove(key, entry);
+			entry.done.countDown();
+		}
+	}
+
+	private static RuntimeException rethrow(Throwable failure) {
+		if (failure instanceof RuntimeException) {
+			throw (RuntimeException) failure;
+		} else if (failure instanceof Error) {
+			throw (Error) failure;
+		} else {
+			throw new IllegalStateException(failure);
 		}
 	}
 
@@ -101,31 +233,20 @@ public abstract class TypeCache {
 	 * @return
 	 */
 	public Type findType(String context, String typeName) {
-		final TypeCacheResource resource = getResource(context, false);
-		if (resource != null) {
-			synchronized (resource) {
-				final Type type = resource.types.get(typeName);
-				if (type != null) {
-					return type;
-				}
-			}
+		final Type cached = getCachedType(context, typeName);
+		if (cached != null) {
+			return cached;
 		}
 		final ThreadState state = threads.get();
 		++state.activeOperations;
 		try {
-			final String[] accessible = getAccessibleBuckets(context);
-			for (String ac : accessible) {
-				final TypeCacheResource ar = getResource(ac, false);
-				if (ar != null) {
-					synchronized (ar) {
-						final Type type = ar.types.get(typeName);
-						if (type != null) {
-							return type;
-						}
-					}
+			for (String ac : getAccessibleBuckets(context)) {
+				final Type type = getCachedType(ac, typeName);
+				if (type != null) {
+					return type;
 				}
 			}
-			return createType(context, typeName);
+			return createTypeOnce(context, typeName, state);
 		} finally {
 			--state.activeOperations;
 		}
@@ -174,14 +295,9 @@ public abstract class TypeCache {
 		if (type != null) {
 			return type;
 		}
-		TypeCacheResource resource = getResource(context, false);
-		if (resource != null) {
-			synchronized (resource) {
-				type = resource.types.get(typeName);
-				if (type != null) {
-					return type;
-				}
-			}
+		type = getCachedType(context, typeName);
+		if (type != null) {
+			return type;
 		}
 		final ThreadState state = threads.get();
 		if (!force && state.activeOperations != 0) {
@@ -191,17 +307,12 @@ public abstract class TypeCache {
 		try {
 			final String[] accessible = getAccessibleBuckets(context);
 			for (String bucket : accessible) {
-				resource = getResource(bucket, false);
-				if (resource != null) {
-					synchronized (resource) {
-						type = resource.types.get(typeName);
-						if (type != null) {
-							return type;
-						}
-					}
+				type = getCachedType(bucket, typeName);
+				if (type != null) {
+					return type;
 				}
 			}
-			return createType(context, typeName);
+			return createTypeOnce(context, typeName, state);
 		} finally {
 			--state.activeOperations;
 		}
@@ -227,8 +338,15 @@ public abstract class TypeCache {
 		if (bucket == null || bucket.length() == 0) {
 			return baseURI;
 		} else {
-			// TODO (alex) cache URIs?
-			return baseURI.appendSegment(bucket);
+			URI uri = uris.get(bucket);
+			if (uri == null) {
+				uri = baseURI.appendSegment(bucket);
+				final URI previous = uris.putIfAbsent(bucket, uri);
+				if (previous != null) {
+					uri = previous;
+				}
+			}
+			return uri;
 		}
 	}
 
@@ -277,13 +395,14 @@ public abstract class TypeCache {
 	 */
 	public void clear() {
 		synchronized (resourceSet) {
-			final EList<Resource> resources = resourceSet.getResources();
-			for (Resource resource : resources) {
+			resources.clear();
+			final EList<Resource> list = resourceSet.getResources();
+			for (Resource resource : list) {
 				synchronized (resource) {
 					resource.unload();
 				}
 			}
-			resources.clear();
+			list.clear();
 		}
 	}
 
@@ -293,13 +412,14 @@ public abstract class TypeCache {
 	 * @param bucket
 	 */
 	public void clear(String bucket) {
-		final TypeCacheResource resource;
 		synchronized (resourceSet) {
-			resource = getResource(bucket, false);
-		}
-		if (resource != null) {
-			synchronized (resource) {
-				resource.unload();
+			resources.remove(bucket != null ? bucket : "");
+			final Resource resource = resourceSet.getResource(getURI(bucket),
+					false);
+			if (resource != null) {
+				synchronized (resource) {
+					resource.unload();
+				}
 			}
 		}
 	}
@@ -345,7 +465,10 @@ public abstract class TypeCache {
 			super(uri);
 		}
 
-		final Map<String, Type> types = new HashMap<String, Type>();
+		/**
+		 * Read without locking, modified while holding the resource monitor.
+		 */
+		final Map<String, Type> types = new ConcurrentHashMap<String, Type>();
 
 		@Override
 		public String toString() {
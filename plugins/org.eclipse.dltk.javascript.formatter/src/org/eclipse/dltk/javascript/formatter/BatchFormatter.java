@@ -0,0 +1,401 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.javascript.formatter;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.eclipse.dltk.ui.formatter.FormatterException;
+import org.eclipse.jface.text.TextUtilities;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+/**
+ * Formats the JavaScript files of the directory tree without the workspace
+ * and the editor: the files are formatted independently on the worker pool
+ * with the preferences of the profile, the changed files are rewritten or
+ * (in the check mode) only reported.
+ */
+public class BatchFormatter {
+
+	public static final String DEFAULT_ENCODING = "UTF-8"; //$NON-NLS-1$
+
+	private static final String TEMP_SUFFIX = ".tmp"; //$NON-NLS-1$
+
+	private final File root;
+	private Map<String, Object> preferences = JavaScriptFormatterConstants
+			.getDefaults();
+	private int workerCount = defaultWorkerCount();
+	private String encoding = DEFAULT_ENCODING;
+	private String[] extensions = { ".js" }; //$NON-NLS-1$
+	private boolean checkOnly;
+
+	public BatchFormatter(File root) {
+		this.root = root;
+	}
+
+	public static int defaultWorkerCount() {
+		return Runtime.getRuntime().availableProcessors();
+	}
+
+	public void setPreferences(Map<String, Object> preferences) {
+		this.preferences = preferences;
+	}
+
+	public void setWorkerCount(int workerCount) {
+		this.workerCount = workerCount;
+	}
+
+	public void setEncoding(String encoding) {
+		this.encoding = encoding;
+	}
+
+	/**
+	 * Sets the extensions of the files to format, e.g. <code>".js"</code>
+	 */
+	public void setExtensions(String... extensions) {
+		this.extensions = extensions;
+	}
+
+	/**
+	 * Sets if the changed files should be only reported and not written.
+	 */
+	public void setCheckOnly(boolean checkOnly) {
+		this.checkOnly = checkOnly;
+	}
+
+	/**
+	 * Loads the formatter profile: the values of the
+	 * {@link JavaScriptFormatterConstants} keys, either from the profile
+	 * exported from the preferences (<code>.xml</code>) or from the properties
+	 * file. The missing keys have the default values, the unknown keys are
+	 * ignored.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the value of the key is not valid
+	 */
+	public static Map<String, Object> loadProfile(File file)
+			throws IOException {
+		final Map<String, String> values = new LinkedHashMap<String, String>();
+		final InputStream input = new FileInputStream(file);
+		try {
+			if (file.getName().endsWith(".xml")) { //$NON-NLS-1$
+				final NodeList settings;
+				try {
+					settings = DocumentBuilderFactory.newInstance()
+							.newDocumentBuilder().parse(input)
+							.getElementsByTagName("setting"); //$NON-NLS-1$
+				} catch (Exception e) {
+					throw new IOException("Cannot read profile " + file + ": "
+							+ e.getMessage(), e);
+				}
+				for (int i = 0; i < settings.getLength(); ++i) {
+					final Element setting = (Element) settings.item(i);
+					values.put(setting.getAttribute("id"), //$NON-NLS-1$
+							setting.getAttribute("value")); //$NON-NLS-1$
+				}
+			} else {
+				final Properties properties = new Properties();
+				properties.load(input);
+				for (String name : properties.stringPropertyNames()) {
+					values.put(name, properties.getProperty(name));
+				}
+			}
+		} finally {
+			input.close();
+		}
+		final Map<String, Object> preferences = JavaScriptFormatterConstants
+				.getDefaults();
+		for (Map.Entry<String, String> entry : values.entrySet()) {
+			final String name = entry.getKey();
+			final String value = entry.getValue().trim();
+			if (JavaScriptFormatterConstants.isBoolean(name)) {
+				preferences.put(name, Boolean.valueOf(value));
+			} else if (JavaScriptFormatterConstants.isInteger(name)) {
+				try {
+					preferences.put(name, Integer.valueOf(value));
+				} catch (NumberFormatException e) {
+					throw new IllegalArgumentException("Invalid value of "
+							+ name + ": " + value);
+				}
+			} else if (JavaScriptFormatterConstants.isString(name)) {
+				preferences.put(name, value);
+			}
+		}
+		return preferences;
+	}
+
+	/**
+	 * The summary of the formatting.
+	 */
+	public static class Result {
+		final List<String> changed = new ArrayList<String>();
+		final Map<String, String> errors = new LinkedHashMap<String, String>();
+		int fileCount;
+		long length;
+		long formatTime;
+		long elapsed;
+
+		public int getFileCount() {
+			return fileCount;
+		}
+
+		/**
+		 * Returns the names of the changed files (relative to the root),
+		 * written or only detected in the check mode.
+		 */
+		public List<String> getChanged() {
+			return Collections.unmodifiableList(changed);
+		}
+
+		/**
+		 * Returns the files which could not be formatted, mapped to the error
+		 * messages.
+		 */
+		public Map<String, String> getErrors() {
+			return Collections.unmodifiableMap(errors);
+		}
+
+		/**
+		 * Returns the time spent in the formatter in milliseconds, summed over
+		 * all the workers.
+		 */
+		public long getFormatTime() {
+			return TimeUnit.NANOSECONDS.toMillis(formatTime);
+		}
+
+		/**
+		 * Returns the wall clock time of the whole run in milliseconds.
+		 */
+		public long getElapsed() {
+			return elapsed;
+		}
+
+		public void print(PrintStream out) {
+			out.println("files: " + fileCount + ", changed: " + changed.size()
+					+ ", errors: " + errors.size());
+			out.println("format: " + getFormatTime() + " ms");
+			out.println("total: " + elapsed + " ms");
+			final double seconds = Math.max(elapsed, 1) / 1000.0;
+			out.println(String.format("throughput: %.1f files/s, %.1f KB/s",
+					fileCount / seconds, length / 1024.0 / seconds));
+		}
+	}
+
+	private static class FileResult {
+		final String name;
+		long length;
+		long time;
+		boolean changed;
+		String error;
+
+		FileResult(String name) {
+			this.name = name;
+		}
+	}
+
+	/**
+	 * Formats the files, the results are collected in the order of the file
+	 * names, so they do not depend on the number of workers.
+	 */
+	public Result run() throws InterruptedException {
+		final long start = System.nanoTime();
+		final Result result = new Result();
+		final List<String> names = new ArrayList<String>();
+		scan(root, "", names);
+		result.fileCount = names.size();
+		final ExecutorService executor = Executors.newFixedThreadPool(Math
+				.max(workerCount, 1));
+		try {
+			final List<Future<FileResult>> futures = new ArrayList<Future<FileResult>>();
+			for (final String name : names) {
+				futures.add(executor.submit(new Callable<FileResult>() {
+					public FileResult call() {
+						return format(name);
+					}
+				}));
+			}
+			for (int i = 0; i < futures.size(); ++i) {
+				FileResult file;
+				try {
+					file = futures.get(i).get();
+				} catch (ExecutionException e) {
+					file = new FileResult(names.get(i));
+					file.error = e.getCause().toString();
+				}
+				result.length += file.length;
+				result.formatTime += file.time;
+				if (file.error != null) {
+					result.errors.put(file.name, file.error);
+				} else if (file.changed) {
+					result.changed.add(file.name);
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		result.elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime()
+				- start);
+		return result;
+	}
+
+	private void scan(File directory, String prefix, List<String> names) {
+		final String[] children = directory.list();
+		if (children == null) {
+			return;
+		}
+		Arrays.sort(children);
+		for (String name : children) {
+			if (name.startsWith(".")) {
+				continue;
+			}
+			final File file = new File(directory, name);
+			if (file.isDirectory()) {
+				scan(file, prefix + name + '/', names);
+			} else if (isIncluded(name)) {
+				names.add(prefix + name);
+			}
+		}
+	}
+
+	private boolean isIncluded(String name) {
+		for (String extension : extensions) {
+			if (name.endsWith(extension)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private FileResult format(String name) {
+		final FileResult result = new FileResult(name);
+		final File file = new File(root, name);
+		try {
+			final String source = read(file);
+			result.length = source.length();
+			final long start = System.nanoTime();
+			final String formatted;
+			try {
+				formatted = new JavaScriptFormatter(
+						TextUtilities.determineLineDelimiter(source,
+								System.getProperty("line.separator")), //$NON-NLS-1$
+						preferences).format(source, 0);
+			} finally {
+				result.time = System.nanoTime() - start;
+			}
+			if (!source.equals(formatted)) {
+				result.changed = true;
+				if (!checkOnly) {
+					write(file, formatted);
+				}
+			}
+		} catch (FormatterException e) {
+			result.error = e.getMessage() != null ? e.getMessage() : e
+					.toString();
+		} catch (CharacterCodingException e) {
+			result.error = "Not valid " + encoding + ": " + e; //$NON-NLS-1$ //$NON-NLS-2$
+		} catch (IOException e) {
+			result.error = e.toString();
+		}
+		return result;
+	}
+
+	/**
+	 * Reads the file, the bytes which are not valid in the encoding are
+	 * reported instead of being replaced, so the file is never rewritten with
+	 * the replacement characters.
+	 */
+	private String read(File file) throws IOException {
+		final CharsetDecoder decoder = Charset.forName(encoding).newDecoder()
+				.onMalformedInput(CodingErrorAction.REPORT)
+				.onUnmappableCharacter(CodingErrorAction.REPORT);
+		final Reader reader = new InputStreamReader(new FileInputStream(file),
+				decoder);
+		try {
+			final StringBuilder sb = new StringBuilder((int) file.length());
+			final char[] buffer = new char[8192];
+			int len;
+			while ((len = reader.read(buffer)) != -1) {
+				sb.append(buffer, 0, len);
+			}
+			return sb.toString();
+		} finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Writes the content to the temporary file in the same directory and then
+	 * moves it over the file, so the file is never left partially written.
+	 */
+	private void write(File file, String content) throws IOException {
+		final CharsetEncoder encoder = Charset.forName(encoding).newEncoder()
+				.onMalformedInput(CodingErrorAction.REPORT)
+				.onUnmappableCharacter(CodingErrorAction.REPORT);
+		File temp = File.createTempFile(file.getName(), TEMP_SUFFIX,
+				file.getParentFile());
+		try {
+			final Writer writer = new OutputStreamWriter(new FileOutputStream(
+					temp), encoder);
+			try {
+				writer.write(content);
+			} finally {
+				writer.close();
+			}
+			try {
+				Files.move(temp.toPath(), file.toPath(),
+						StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp.toPath(), file.toPath(),
+						StandardCopyOption.REPLACE_EXISTING);
+			}
+			temp = null;
+		} finally {
+			if (temp != null) {
+				temp.delete();
+			}
+		}
+	}
+
+}
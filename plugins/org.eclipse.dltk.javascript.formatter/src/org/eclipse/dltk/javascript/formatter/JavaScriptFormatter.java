@@ -11,9 +11,13 @@
  *******************************************************************************/
 package org.eclipse.dltk.javascript.formatter;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
+import org.eclipse.dltk.ast.ASTNode;
+import org.eclipse.dltk.ast.ASTVisitor;
 import org.eclipse.dltk.compiler.problem.IProblem;
 import org.eclipse.dltk.compiler.problem.ProblemCollector;
 import org.eclipse.dltk.core.DLTKCore;
@@ -23,18 +27,21 @@ import org.eclipse.dltk.formatter.FormatterIndentDetector;
 import org.eclipse.dltk.formatter.IFormatterContainerNode;
 import org.eclipse.dltk.formatter.IFormatterContext;
 import org.eclipse.dltk.javascript.ast.Script;
+import org.eclipse.dltk.javascript.ast.Statement;
+import org.eclipse.dltk.javascript.ast.StatementBlock;
+import org.eclipse.dltk.javascript.ast.SwitchComponent;
+import org.eclipse.dltk.javascript.formatter.internal.FormatterEditSink;
 import org.eclipse.dltk.javascript.formatter.internal.FormatterNodeBuilder;
 import org.eclipse.dltk.javascript.formatter.internal.JavaScriptFormatterContext;
 import org.eclipse.dltk.javascript.formatter.internal.JavaScriptFormatterWriter;
 import org.eclipse.dltk.javascript.formatter.internal.JavascriptFormatterNodeRewriter;
+import org.eclipse.dltk.javascript.formatter.internal.StatementLocator;
 import org.eclipse.dltk.javascript.parser.JSProblem;
 import org.eclipse.dltk.javascript.parser.JavaScriptParser;
 import org.eclipse.dltk.javascript.parser.JavaScriptParserProblems;
 import org.eclipse.dltk.ui.formatter.FormatterException;
 import org.eclipse.dltk.ui.formatter.FormatterSyntaxProblemException;
 import org.eclipse.jface.text.IDocument;
-import org.eclipse.text.edits.MultiTextEdit;
-import org.eclipse.text.edits.ReplaceEdit;
 import org.eclipse.text.edits.TextEdit;
 
 public class JavaScriptFormatter extends AbstractScriptFormatter {
@@ -50,15 +57,19 @@ public class JavaScriptFormatter extends AbstractScriptFormatter {
 	public TextEdit format(String source, int offset, int length,
 			int indentationLevel) throws FormatterException {
 
-		String input = source.substring(offset, offset + length);
+		if (offset > 0 || offset + length < source.length()) {
+			final TextEdit edit = formatStatements(source, offset, length);
+			if (edit != null) {
+				return edit;
+			}
+		}
 
-		String formatted = format(input, indentationLevel);
+		String input = source.substring(offset, offset + length);
 
-		if (!input.equals(formatted)) {
-			return new ReplaceEdit(offset, length, formatted);
-		} else {
-			return new MultiTextEdit(); // NOP
-		}
+		final FormatterEditSink sink = new FormatterEditSink(source, offset,
+				offset + length);
+		sink.append(format(input, indentationLevel));
+		return sink.getEdit();
 	}
 
 	private static class ParserProblemReporter extends ProblemCollector {
@@ -76,18 +87,75 @@ public class JavaScriptFormatter extends AbstractScriptFormatter {
 		}
 	}
 
-	private int detectIndentationLevel(String input, int offset) {
-		ParserProblemReporter reporter = new ParserProblemReporter();
-
-		Script ast = createParser().parse(input, reporter);
-
-		if (ast == null || reporter.hasErrors()) {
+	/**
+	 * Returns the AST of the specified source or <code>null</code> if it has
+	 * syntax errors.
+	 */
+	private Script parse(String source) {
+		final ParserProblemReporter reporter = new ParserProblemReporter();
+		Script script = createParser().parse(source, reporter);
+		if (script != null && reporter.hasErrors()) {
 			if (DLTKCore.DEBUG)
 				System.out.println(reporter.getErrors());
+			script = null;
+		}
+		return script;
+	}
 
+	/**
+	 * The parsed part of the document, the offsets of the AST are relative to
+	 * the start of this part.
+	 */
+	private static class ParsedPart {
+		final int offset;
+		final String text;
+		final Script ast;
+
+		ParsedPart(int offset, String text, Script ast) {
+			this.offset = offset;
+			this.text = text;
+			this.ast = ast;
+		}
+	}
+
+	/**
+	 * Parses the top level statements intersecting the specified range, which
+	 * are located by the {@link StatementLocator} without parsing the whole
+	 * source. The whole source is parsed only if these statements could not
+	 * be parsed alone. Returns <code>null</code> if the range does not
+	 * intersect any statement or there are syntax errors.
+	 */
+	private ParsedPart parseStatements(String source, int start, int end) {
+		final int[] range = StatementLocator.locate(source, start, end);
+		if (range == null) {
+			return null;
+		}
+		if (range[0] > 0 || range[1] < source.length()) {
+			final String text = source.substring(range[0], range[1]);
+			final Script ast = parse(text);
+			if (ast != null) {
+				return new ParsedPart(range[0], text, ast);
+			}
+		}
+		final Script ast = parse(source);
+		return ast != null ? new ParsedPart(0, source, ast) : null;
+	}
+
+	/**
+	 * Detects the indentation level at the specified offset, parsing and
+	 * building the formatter nodes only for the top level statement
+	 * containing it.
+	 */
+	private int detectIndentationLevel(String input, int offset) {
+		final ParsedPart part = parseStatements(input, offset, offset + 1);
+		if (part == null) {
 			return 0;
 		}
+		return detectIndentationLevel(part.text, part.ast, offset
+				- part.offset);
+	}
 
+	private int detectIndentationLevel(String input, Script ast, int offset) {
 		final FormatterDocument fDocument = createDocument(input);
 		final FormatterNodeBuilder builder = new FormatterNodeBuilder(fDocument);
 		IFormatterContainerNode root = builder.build(ast);
@@ -105,6 +173,93 @@ public class JavaScriptFormatter extends AbstractScriptFormatter {
 		return 0;
 	}
 
+	/**
+	 * Formats the statements intersecting the specified region, with the
+	 * indentation level detected from their context, so only the affected
+	 * statements are parsed and formatted. The edits are clipped to the
+	 * region, so the text outside of it is not changed. Returns
+	 * <code>null</code> if the enclosing statements have syntax errors, the
+	 * region contains no statements, they could not be parsed alone or the
+	 * edits could not be clipped.
+	 */
+	private TextEdit formatStatements(String source, int offset, int length)
+			throws FormatterException {
+		final ParsedPart part = parseStatements(source, offset, offset
+				+ length);
+		if (part == null) {
+			return null;
+		}
+		final List<Statement> statements = findStatements(part.ast, offset
+				- part.offset, offset + length - part.offset);
+		if (statements.isEmpty()) {
+			return null;
+		}
+		final Statement first = statements.get(0);
+		int start = Math.min(offset, part.offset + first.sourceStart());
+		final int end = Math.max(offset + length, part.offset
+				+ statements.get(statements.size() - 1).sourceEnd());
+		int lineStart = start;
+		while (lineStart > 0 && isSpace(source.charAt(lineStart - 1))) {
+			--lineStart;
+		}
+		if (lineStart == 0 || isLineDelimiter(source.charAt(lineStart - 1))) {
+			start = lineStart;
+		}
+		final FormatterEditSink sink = new FormatterEditSink(source, start, end);
+		try {
+			sink.append(format(source.substring(start, end),
+					detectIndentationLevel(part.text, part.ast,
+							first.sourceStart())));
+		} catch (FormatterSyntaxProblemException e) {
+			// e.g. return statement outside of the function
+			return null;
+		}
+		return sink.getEdit(offset, offset + length);
+	}
+
+	private static boolean isSpace(char c) {
+		return c == ' ' || c == '\t';
+	}
+
+	private static boolean isLineDelimiter(char c) {
+		return c == '\n' || c == '\r';
+	}
+
+	/**
+	 * Returns the statements of the innermost statement list (script, block
+	 * or switch clause) containing the specified range, which intersect it.
+	 */
+	private static List<Statement> findStatements(Script script,
+			final int start, final int end) {
+		final List<List<Statement>> containers = new ArrayList<List<Statement>>();
+		containers.add(script.getStatements());
+		try {
+			script.traverse(new ASTVisitor() {
+				@Override
+				public boolean visit(ASTNode node) {
+					if (node.sourceStart() > start || node.sourceEnd() < end) {
+						return false;
+					}
+					if (node instanceof StatementBlock) {
+						containers.add(((StatementBlock) node).getStatements());
+					} else if (node instanceof SwitchComponent) {
+						containers.add(((SwitchComponent) node).getStatements());
+					}
+					return true;
+				}
+			});
+		} catch (Exception e) {
+			return Collections.emptyList();
+		}
+		final List<Statement> result = new ArrayList<Statement>();
+		for (Statement statement : containers.get(containers.size() - 1)) {
+			if (statement.sourceStart() < end && statement.sourceEnd() > start) {
+				result.add(statement);
+			}
+		}
+		return result;
+	}
+
 	@Override
 	public int detectIndentationLevel(IDocument document, int offset) {
 		if (offset == 0) {
@@ -115,6 +270,11 @@ public class JavaScriptFormatter extends AbstractScriptFormatter {
 
 	public String format(String source, int indentationLevel)
 			throws FormatterException {
+		return format(source, parseForFormatting(source), indentationLevel);
+	}
+
+	private Script parseForFormatting(String source)
+			throws FormatterSyntaxProblemException {
 		ParserProblemReporter reporter = new ParserProblemReporter();
 
 		Script root = createParser().parse(source, reporter);
@@ -157,7 +317,7 @@ public class JavaScriptFormatter extends AbstractScriptFormatter {
 			}
 		}
 
-		return format(source, root, indentationLevel);
+		return root;
 	}
 
 	private String format(String source, Script ast, int indentationLevel)
@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.javascript.formatter.internal;
+
+import java.io.File;
+import java.util.Map;
+
+import org.eclipse.dltk.javascript.formatter.BatchFormatter;
+import org.eclipse.equinox.app.IApplication;
+import org.eclipse.equinox.app.IApplicationContext;
+
+/**
+ * Headless formatting of the directory tree:
+ *
+ * <pre>
+ * eclipse -application org.eclipse.dltk.javascript.formatter.format
+ *     [-check] [-config profile.xml] [-workers N] [-encoding UTF-8] directory
+ * </pre>
+ *
+ * The changed files are printed to the standard output, the errors and the
+ * throughput to the standard error. Exits with <code>1</code> if some files
+ * could not be formatted or (in the check mode) are not formatted.
+ */
+public class BatchFormatterApplication implements IApplication {
+
+	private static final Integer EXIT_CHANGED = Integer.valueOf(1);
+	private static final Integer EXIT_USAGE = Integer.valueOf(2);
+
+	public Object start(IApplicationContext context) throws Exception {
+		final String[] args = (String[]) context.getArguments().get(
+				IApplicationContext.APPLICATION_ARGS);
+		String directory = null;
+		String config = null;
+		String encoding = BatchFormatter.DEFAULT_ENCODING;
+		int workers = BatchFormatter.defaultWorkerCount();
+		boolean check = false;
+		for (int i = 0; args != null && i < args.length; ++i) {
+			final String arg = args[i];
+			if ("-workers".equals(arg) && i + 1 < args.length) {
+				try {
+					workers = Integer.parseInt(args[++i]);
+				} catch (NumberFormatException e) {
+					return usage("Invalid worker count: " + args[i]);
+				}
+			} else if ("-config".equals(arg) && i + 1 < args.length) {
+				config = args[++i];
+			} else if ("-encoding".equals(arg) && i + 1 < args.length) {
+				encoding = args[++i];
+			} else if ("-check".equals(arg)) {
+				check = true;
+			} else if (arg.startsWith("-")) {
+				return usage("Unknown option: " + arg);
+			} else {
+				directory = arg;
+			}
+		}
+		if (directory == null || !new File(directory).isDirectory()) {
+			return usage("Directory is not specified or does not exist");
+		}
+		final BatchFormatter formatter = new BatchFormatter(new File(
+				directory));
+		if (config != null) {
+			final Map<String, Object> preferences;
+			try {
+				preferences = BatchFormatter.loadProfile(new File(config));
+			} catch (IllegalArgumentException e) {
+				return usage(e.getMessage());
+			}
+			formatter.setPreferences(preferences);
+		}
+		formatter.setWorkerCount(workers);
+		formatter.setEncoding(encoding);
+		formatter.setCheckOnly(check);
+		final BatchFormatter.Result result = formatter.run();
+		for (String name : result.getChanged()) {
+			System.out.println(name);
+		}
+		for (Map.Entry<String, String> error : result.getErrors().entrySet()) {
+			System.err.println(error.getKey() + ": " + error.getValue());
+		}
+		result.print(System.err);
+		return !result.getErrors().isEmpty()
+				|| (check && !result.getChanged().isEmpty()) ? EXIT_CHANGED
+				: EXIT_OK;
+	}
+
+	private static Integer usage(String message) {
+		System.err.println(message);
+		System.err
+				.println("Usage: [-check] [-config file] [-workers N] [-encoding UTF-8] directory");
+		return EXIT_USAGE;
+	}
+
+	public void stop() {
+	}
+
+}
@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.javascript.formatter.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.TextEdit;
+
+/**
+ * Compares the formatted text appended to it with the region of the original
+ * text and collects the minimal edits, so the unchanged text keeps its
+ * positions. The formatter changes the whitespace only, so the texts are
+ * aligned by the other characters and each differing whitespace run becomes
+ * the separate edit. If the other characters differ (e.g. the wrapped
+ * comments), then the rest of the region is replaced with the single edit.
+ */
+public class FormatterEditSink implements Appendable {
+
+	private final String original;
+	private final int start;
+	private final int end;
+	/**
+	 * The position in the original text.
+	 */
+	private int position;
+	/**
+	 * The pending whitespace of the formatted text.
+	 */
+	private final StringBuilder whitespace = new StringBuilder();
+	/**
+	 * The start of the rest of the original text replaced by {@link #tail},
+	 * <code>-1</code> while the texts are aligned.
+	 */
+	private int tailStart = -1;
+	private StringBuilder tail;
+	private final List<ReplaceEdit> edits = new ArrayList<ReplaceEdit>();
+	private boolean finished;
+
+	/**
+	 * @param original
+	 *            the original text
+	 * @param start
+	 *            the start of the formatted region in the original text
+	 * @param end
+	 *            the end of the formatted region in the original text
+	 */
+	public FormatterEditSink(String original, int start, int end) {
+		this.original = original;
+		this.start = start;
+		this.position = start;
+		this.end = end;
+	}
+
+	public Appendable append(CharSequence csq) {
+		return append(csq, 0, csq.length());
+	}
+
+	public Appendable append(CharSequence csq, int start, int end) {
+		for (int i = start; i < end; ++i) {
+			append(csq.charAt(i));
+		}
+		return this;
+	}
+
+	public Appendable append(char c) {
+		if (tail != null) {
+			tail.append(c);
+		} else if (isWhitespace(c)) {
+			whitespace.append(c);
+		} else {
+			final int whitespaceStart = position;
+			skipWhitespace();
+			if (position < end && original.charAt(position) == c) {
+				replaceWhitespace(whitespaceStart);
+				++position;
+			} else {
+				tailStart = whitespaceStart;
+				tail = new StringBuilder(whitespace);
+				tail.append(c);
+			}
+			whitespace.setLength(0);
+		}
+		return this;
+	}
+
+	/**
+	 * Completes the comparison and returns the collected edits, the empty
+	 * {@link MultiTextEdit} if the texts are the same.
+	 */
+	public TextEdit getEdit() {
+		return getEdit(start, end);
+	}
+
+	/**
+	 * Completes the comparison and returns the collected edits changing only
+	 * the specified range of the original text, the edits of the whitespace
+	 * crossing its bounds are skipped. Returns <code>null</code> if the rest
+	 * of the region, replaced because of the other changes, crosses the
+	 * bounds.
+	 */
+	public TextEdit getEdit(int rangeStart, int rangeEnd) {
+		finish();
+		final MultiTextEdit result = new MultiTextEdit();
+		for (ReplaceEdit edit : edits) {
+			if (edit.getOffset() >= rangeStart
+					&& edit.getExclusiveEnd() <= rangeEnd) {
+				result.addChild(new ReplaceEdit(edit.getOffset(), edit
+						.getLength(), edit.getText()));
+			}
+		}
+		if (tail != null) {
+			if (tailStart < rangeStart || end > rangeEnd) {
+				return null;
+			}
+			result.addChild(new ReplaceEdit(tailStart, end - tailStart, tail
+					.toString()));
+		}
+		return result;
+	}
+
+	private void finish() {
+		if (!finished) {
+			finished = true;
+			if (tail == null) {
+				final int whitespaceStart = position;
+				skipWhitespace();
+				if (position == end) {
+					replaceWhitespace(whitespaceStart);
+				} else {
+					tailStart = whitespaceStart;
+					tail = whitespace;
+				}
+			}
+		}
+	}
+
+	private void skipWhitespace() {
+		while (position < end && isWhitespace(original.charAt(position))) {
+			++position;
+		}
+	}
+
+	/**
+	 * Replaces the original whitespace ending at the current position with the
+	 * pending one if they are different.
+	 */
+	private void replaceWhitespace(int whitespaceStart) {
+		final int length = position - whitespaceStart;
+		if (length != whitespace.length()
+				|| !original.regionMatches(whitespaceStart,
+						whitespace.toString(), 0, length)) {
+			edits.add(new ReplaceEdit(whitespaceStart, length, whitespace
+					.toString()));
+		}
+	}
+
+	private static boolean isWhitespace(char c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f';
+	}
+
+}
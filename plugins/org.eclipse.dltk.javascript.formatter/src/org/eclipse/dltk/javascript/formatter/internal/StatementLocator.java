@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.javascript.formatter.internal;
+
+import org.antlr.runtime.ANTLRStringStream;
+import org.antlr.runtime.CommonToken;
+import org.antlr.runtime.Token;
+import org.eclipse.dltk.javascript.parser.JSParser;
+import org.eclipse.dltk.javascript.parser.JavaScriptLexer;
+
+/**
+ * Locates the top level statements by scanning the tokens of the source, so
+ * the range formatting parses only the statements containing the range
+ * instead of the whole document. The statements are split after the
+ * semicolons, after the closing braces followed by the start of the next
+ * statement and where the semicolon would be inserted before the start of the
+ * statement on the next line. The other statements are kept together, so the
+ * located range could contain several statements, the caller should check it
+ * could be parsed alone.
+ */
+public class StatementLocator {
+
+	private StatementLocator() {
+	}
+
+	/**
+	 * Returns the start and the end of the top level statements intersecting
+	 * the specified range, the whole source if the brackets are not balanced,
+	 * or <code>null</code> if the range does not intersect any statement.
+	 * Only the tokens up to the end of the statements are scanned.
+	 */
+	public static int[] locate(String source, int start, int end) {
+		final JavaScriptLexer lexer = new JavaScriptLexer(
+				new ANTLRStringStream(source));
+		int depth = 0;
+		int statementStart = -1;
+		int rangeStart = -1;
+		int rangeEnd = -1;
+		Token last = null;
+		int lastEnd = 0;
+		for (;;) {
+			final Token token = lexer.nextToken();
+			if (token.getType() == Token.EOF) {
+				break;
+			}
+			if (token.getChannel() != Token.DEFAULT_CHANNEL) {
+				continue;
+			}
+			final int tokenStart = ((CommonToken) token).getStartIndex();
+			if (statementStart < 0) {
+				statementStart = tokenStart;
+			} else if (depth == 0 && isBoundary(last, token)) {
+				if (statementStart < end && lastEnd > start) {
+					if (rangeStart < 0) {
+						rangeStart = statementStart;
+					}
+					rangeEnd = lastEnd;
+				}
+				if (tokenStart >= end) {
+					return rangeStart >= 0 ? new int[] { rangeStart, rangeEnd }
+							: null;
+				}
+				statementStart = tokenStart;
+			}
+			switch (token.getType()) {
+			case JSParser.LBRACE:
+			case JSParser.LPAREN:
+			case JSParser.LBRACK:
+				++depth;
+				break;
+			case JSParser.RBRACE:
+			case JSParser.RPAREN:
+			case JSParser.RBRACK:
+				if (--depth < 0) {
+					return new int[] { 0, source.length() };
+				}
+				break;
+			}
+			last = token;
+			lastEnd = ((CommonToken) token).getStopIndex() + 1;
+		}
+		if (statementStart >= 0 && statementStart < end && lastEnd > start) {
+			if (rangeStart < 0) {
+				rangeStart = statementStart;
+			}
+			rangeEnd = lastEnd;
+		}
+		return rangeStart >= 0 ? new int[] { rangeStart, rangeEnd } : null;
+	}
+
+	private static boolean isBoundary(Token last, Token next) {
+		switch (last.getType()) {
+		case JSParser.SEMIC:
+			return true;
+		case JSParser.RBRACE:
+			return isStatementStart(next.getType());
+		case JSParser.Identifier:
+		case JSParser.StringLiteral:
+		case JSParser.DecimalLiteral:
+		case JSParser.HexIntegerLiteral:
+		case JSParser.OctalIntegerLiteral:
+		case JSParser.RegularExpressionLiteral:
+		case JSParser.NULL:
+		case JSParser.TRUE:
+		case JSParser.FALSE:
+		case JSParser.THIS:
+		case JSParser.RBRACK:
+		case JSParser.INC:
+		case JSParser.DEC:
+			// the automatic semicolon insertion
+			return next.getLine() > last.getLine()
+					&& isStatementStart(next.getType());
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * Checks if the token could only start the statement after the end of the
+	 * expression or the block, e.g. the <code>else</code> or
+	 * <code>while</code> continuing the statement are not accepted.
+	 */
+	private static boolean isStatementStart(int type) {
+		switch (type) {
+		case JSParser.Identifier:
+		case JSParser.VAR:
+		case JSParser.CONST:
+		case JSParser.FUNCTION:
+		case JSParser.IF:
+		case JSParser.FOR:
+		case JSParser.DO:
+		case JSParser.SWITCH:
+		case JSParser.TRY:
+		case JSParser.THROW:
+		case JSParser.RETURN:
+		case JSParser.BREAK:
+		case JSParser.CONTINUE:
+		case JSParser.WITH:
+		case JSParser.NEW:
+		case JSParser.DELETE:
+		case JSParser.THIS:
+			return true;
+		default:
+			return false;
+		}
+	}
+
+}
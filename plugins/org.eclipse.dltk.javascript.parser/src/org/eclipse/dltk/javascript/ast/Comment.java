@@ -16,11 +16,23 @@ import org.eclipse.dltk.ast.ASTNode;
 import org.eclipse.dltk.ast.ASTVisitor;
 import org.eclipse.dltk.core.ISourceRange;
 import org.eclipse.dltk.core.SourceRange;
+import org.eclipse.dltk.javascript.parser.jsdoc.JSDocTags;
+import org.eclipse.dltk.javascript.parser.jsdoc.SimpleJSDocParser;
 
 public abstract class Comment extends ASTNode {
 
 	private String text;
 
+	/**
+	 * The parsed JSDoc tags, calculated on demand.
+	 */
+	private volatile JSDocTags tags;
+
+	/**
+	 * The source start the {@link #tags} were calculated for.
+	 */
+	private int tagsStart;
+
 	public Comment() {
 	}
 
@@ -37,6 +49,24 @@ public abstract class Comment extends ASTNode {
 
 	public void setText(String text) {
 		this.text = text;
+		this.tags = null;
+	}
+
+	/**
+	 * Returns the JSDoc tags of this comment. The text is parsed on the first
+	 * call only, the result is cached in this node.
+	 */
+	public JSDocTags getTags() {
+		final int start = sourceStart();
+		JSDocTags result = tags;
+		if (result == null || tagsStart != start) {
+			final String t = text;
+			result = t != null ? new SimpleJSDocParser().parse(t, start)
+					: JSDocTags.EMPTY;
+			tagsStart = start;
+			tags = result;
+		}
+		return result;
 	}
 
 	public abstract boolean isMultiLine();
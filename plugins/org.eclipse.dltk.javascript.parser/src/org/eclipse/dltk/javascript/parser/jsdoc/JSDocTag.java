@@ -68,6 +68,11 @@ public class JSDocTag implements ISourceNode {
 	 */
 	private final int[] ranges;
 
+	/**
+	 * Tokens of the value, calculated on demand.
+	 */
+	private volatile JSDocTagTokens tokens;
+
 	/**
 	 * User visible constructor for this class, if instances need to be created
 	 * for the test or some other purposes.
@@ -98,6 +103,19 @@ public class JSDocTag implements ISourceNode {
 		return value;
 	}
 
+	/**
+	 * Returns the tokens of the value of this tag. Tokenization is performed
+	 * once, the result is shared by all the callers.
+	 */
+	public JSDocTagTokens tokens() {
+		JSDocTagTokens result = tokens;
+		if (result == null) {
+			tokens = result = value != null ? JSDocTagTokens.tokenize(value)
+					: JSDocTagTokens.EMPTY;
+		}
+		return result;
+	}
+
 	public int start() {
 		return start;
 	}
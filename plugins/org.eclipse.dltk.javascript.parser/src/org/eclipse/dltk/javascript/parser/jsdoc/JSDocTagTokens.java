@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2011 xored software, Inc.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     xored software, Inc. - initial API and Implementation (Alex Panchenko)
+ *******************************************************************************/
+package org.eclipse.dltk.javascript.parser.jsdoc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable whitespace separated tokens of the tag value. Whitespace within
+ * curly braces does not split the tokens, so type expressions like
+ * <code>{function(String, Number)}</code> are returned as single token.
+ */
+public class JSDocTagTokens {
+
+	public static final JSDocTagTokens EMPTY = new JSDocTagTokens(
+			new String[0], new int[0]);
+
+	private final String[] tokens;
+	private final int[] starts;
+
+	private JSDocTagTokens(String[] tokens, int[] starts) {
+		this.tokens = tokens;
+		this.starts = starts;
+	}
+
+	/**
+	 * Returns the number of tokens.
+	 */
+	public int size() {
+		return tokens.length;
+	}
+
+	/**
+	 * Returns the token at the specified index.
+	 */
+	public String get(int index) {
+		return tokens[index];
+	}
+
+	/**
+	 * Returns the starting position of the token at the specified index
+	 * (relative to the tokenized content).
+	 */
+	public int start(int index) {
+		return starts[index];
+	}
+
+	/**
+	 * Splits the specified content into tokens.
+	 */
+	public static JSDocTagTokens tokenize(String content) {
+		final int end = content.length();
+		int position = skipDelimiters(content, 0, end);
+		if (position == end) {
+			return EMPTY;
+		}
+		final List<String> tokens = new ArrayList<String>(4);
+		final List<Integer> starts = new ArrayList<Integer>(4);
+		while (position < end) {
+			final int tokenStart = position;
+			int braceCount = 0;
+			while (position < end) {
+				final char c = content.charAt(position);
+				if (Character.isWhitespace(c) && braceCount == 0) {
+					break;
+				} else if (c == '{') {
+					++braceCount;
+				} else if (c == '}') {
+					--braceCount;
+				}
+				++position;
+			}
+			tokens.add(content.substring(tokenStart, position));
+			starts.add(tokenStart);
+			position = skipDelimiters(content, position, end);
+		}
+		final int[] startArray = new int[starts.size()];
+		for (int i = 0; i < startArray.length; ++i) {
+			startArray[i] = starts.get(i);
+		}
+		return new JSDocTagTokens(tokens.toArray(new String[tokens.size()]),
+				startArray);
+	}
+
+	private static int skipDelimiters(String content, int pos, int end) {
+		while (pos < end && Character.isWhitespace(content.charAt(pos))) {
+			++pos;
+		}
+		return pos;
+	}
+
+}
@@ -9,9 +9,11 @@
  *******************************************************************************/
 package org.eclipse.dltk.javascript.internal.ui.text.completion;
 
+import org.eclipse.dltk.javascript.internal.core.codeassist.NameMatcher;
 import org.eclipse.dltk.ui.text.completion.ScriptCompletionProposal;
 import org.eclipse.swt.graphics.Image;
 
+@SuppressWarnings("restriction")
 public class JavaScriptCompletionProposal extends ScriptCompletionProposal {
 
 	public JavaScriptCompletionProposal(String replacementString,
@@ -28,6 +30,18 @@ public class JavaScriptCompletionProposal extends ScriptCompletionProposal {
 				displayString, relevance, isInDoc);
 	}
 
+	/**
+	 * Matches the prefix typed after the proposals were computed the same way
+	 * as the completion engine does.
+	 */
+	@Override
+	protected boolean isPrefix(String prefix, String string) {
+		if (prefix == null || string == null) {
+			return false;
+		}
+		return new NameMatcher(prefix, isCamelCaseMatching()).matches(string);
+	}
+
 	@Override
 	protected boolean isSmartTrigger(char trigger) {
 		if (trigger == '$') {
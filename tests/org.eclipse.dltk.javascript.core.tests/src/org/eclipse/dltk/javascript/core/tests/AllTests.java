@@ -7,8 +7,12 @@ import junit.framework.TestSuite;
 import org.eclipse.dltk.core.tests.WorkspaceSetup;
 import org.eclipse.dltk.javascript.core.tests.builder.BuildChangeTests;
 import org.eclipse.dltk.javascript.core.tests.contentassist.CodeCompletion;
+import org.eclipse.dltk.javascript.core.tests.contentassist.CompletionSessionTests;
 import org.eclipse.dltk.javascript.core.tests.contentassist.CompletionStringParsing;
 import org.eclipse.dltk.javascript.core.tests.contentassist.JavaScriptCompletionUtilTest;
+import org.eclipse.dltk.javascript.core.tests.contentassist.MemberProposalCacheTests;
+import org.eclipse.dltk.javascript.core.tests.contentassist.NameMatcherTests;
+import org.eclipse.dltk.javascript.core.tests.contentassist.NodeIndexTests;
 import org.eclipse.dltk.javascript.core.tests.contentassist.SelectionTests;
 import org.eclipse.dltk.javascript.core.tests.contentassist.StandardTypeMemberTests;
 import org.eclipse.dltk.javascript.core.tests.contentassist.XMLCompletionTests;
@@ -18,24 +22,36 @@ import org.eclipse.dltk.javascript.core.tests.rewrite.XmlQueryRewriteTests;
 import org.eclipse.dltk.javascript.core.tests.search.SearchTestSuite;
 import org.eclipse.dltk.javascript.core.tests.structure.JSLintModelTests;
 import org.eclipse.dltk.javascript.core.tests.structure.StructureParserTests;
+import org.eclipse.dltk.javascript.core.tests.typeinference.BindingsCacheTests;
 import org.eclipse.dltk.javascript.core.tests.typeinference.TypeInferenceTests;
+import org.eclipse.dltk.javascript.core.tests.typeinfo.BoundedCacheTest;
 import org.eclipse.dltk.javascript.core.tests.typeinfo.CommonSuperTypeFinderTest;
 import org.eclipse.dltk.javascript.core.tests.typeinfo.GenericMethodTypeInferenceTest;
 import org.eclipse.dltk.javascript.core.tests.typeinfo.JSDocSupportTests;
+import org.eclipse.dltk.javascript.core.tests.typeinfo.JSDocTypeCacheTest;
 import org.eclipse.dltk.javascript.core.tests.typeinfo.JSDocTypeParserTests;
 import org.eclipse.dltk.javascript.core.tests.typeinfo.RTypeDeclarationTests;
 import org.eclipse.dltk.javascript.core.tests.typeinfo.RTypeMemberQueryTest;
 import org.eclipse.dltk.javascript.core.tests.typeinfo.RTypeTests;
+import org.eclipse.dltk.javascript.core.tests.typeinfo.TypeCacheConcurrencyTest;
 import org.eclipse.dltk.javascript.core.tests.typeinfo.TypeInfoModelTests;
 import org.eclipse.dltk.javascript.core.tests.typeinfo.TypeMemberQueryTest;
 import org.eclipse.dltk.javascript.core.tests.typeinfo.TypeParameterizerTests;
 import org.eclipse.dltk.javascript.core.tests.typeinfo.TypeQueryTests;
+import org.eclipse.dltk.javascript.core.tests.validation.BatchValidationTests;
+import org.eclipse.dltk.javascript.core.tests.validation.BuildProfilerTests;
 import org.eclipse.dltk.javascript.core.tests.validation.CodeValidationTests;
 import org.eclipse.dltk.javascript.core.tests.validation.CodeValidatorValidationTests;
+import org.eclipse.dltk.javascript.core.tests.validation.DelayedValidationTests;
 import org.eclipse.dltk.javascript.core.tests.validation.FlowTypeInfoValidationTests;
 import org.eclipse.dltk.javascript.core.tests.validation.FlowValidationTests;
+import org.eclipse.dltk.javascript.core.tests.validation.FusedValidationTests;
 import org.eclipse.dltk.javascript.core.tests.validation.JSDocValidationTest;
+import org.eclipse.dltk.javascript.core.tests.validation.ModuleShapesTests;
+import org.eclipse.dltk.javascript.core.tests.validation.ParallelValidationTests;
+import org.eclipse.dltk.javascript.core.tests.validation.ProblemBatchTests;
 import org.eclipse.dltk.javascript.core.tests.validation.TypeInfoValidationTests;
+import org.eclipse.dltk.javascript.core.tests.validation.ValidationResultCacheTests;
 
 public class AllTests {
 
@@ -58,11 +74,16 @@ public class AllTests {
 		suite.addTestSuite(StructureParserTests.class);
 		suite.addTestSuite(TypeInfoValidationTests.class);
 		suite.addTestSuite(FlowTypeInfoValidationTests.class);
+		suite.addTestSuite(DelayedValidationTests.class);
+		suite.addTestSuite(ModuleShapesTests.class);
+		suite.addTestSuite(ValidationResultCacheTests.class);
 		suite.addTestSuite(JSDocTypeParserTests.class);
 		suite.addTestSuite(JSDocSupportTests.class);
+		suite.addTestSuite(JSDocTypeCacheTest.class);
 		suite.addTestSuite(JSLintModelTests.class);
 		suite.addTestSuite(CodeValidationTests.class);
 		suite.addTestSuite(FlowValidationTests.class);
+		suite.addTestSuite(FusedValidationTests.class);
 		suite.addTestSuite(CodeValidatorValidationTests.class);
 		suite.addTestSuite(JSDocValidationTest.class);
 		suite.addTestSuite(StandardTypeMemberTests.class);
@@ -70,14 +91,25 @@ public class AllTests {
 		suite.addTest(new JUnit4TestAdapter(JavaScriptCompletionUtilTest.class));
 		suite.addTestSuite(XMLCompletionTests.class);
 		suite.addTestSuite(CompletionStringParsing.class);
+		suite.addTestSuite(CompletionSessionTests.class);
+		suite.addTestSuite(MemberProposalCacheTests.class);
+		suite.addTestSuite(NameMatcherTests.class);
 		suite.addTestSuite(TypeParameterizerTests.class);
 		suite.addTest(new JUnit4TestAdapter(SearchTestSuite.class));
 		suite.addTestSuite(RTypeDeclarationTests.class);
 		suite.addTest(SelectionTests.suite());
+		suite.addTestSuite(NodeIndexTests.class);
 		suite.addTestSuite(VariableRemoveTest.class);
 		suite.addTestSuite(RewriteTest.class);
 		suite.addTestSuite(GenericMethodTypeInferenceTest.class);
 		suite.addTestSuite(XmlQueryRewriteTests.class);
+		suite.addTestSuite(TypeCacheConcurrencyTest.class);
+		suite.addTestSuite(BoundedCacheTest.class);
+		suite.addTestSuite(ParallelValidationTests.class);
+		suite.addTestSuite(BatchValidationTests.class);
+		suite.addTestSuite(BindingsCacheTests.class);
+		suite.addTestSuite(BuildProfilerTests.class);
+		suite.addTestSuite(ProblemBatchTests.class);
 		// $JUnit-END$
 		return suite;
 	}
@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.javascript.core.tests.contentassist;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.dltk.codeassist.ICompletionEngine;
+import org.eclipse.dltk.core.CompletionProposal;
+import org.eclipse.dltk.javascript.internal.core.codeassist.CompletionSession;
+import org.eclipse.dltk.javascript.internal.core.codeassist.JSCompletionEngine;
+import org.eclipse.dltk.javascript.internal.core.codeassist.ProposalTemplate;
+
+@SuppressWarnings("restriction")
+public class CompletionSessionTests extends AbstractCompletionTest {
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		CompletionSession.reset();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		CompletionSession.reset();
+		super.tearDown();
+	}
+
+	private List<CompletionProposal> complete(String code) {
+		final int position = code.indexOf('|');
+		final TestModule module = new TestModule(code.substring(0, position)
+				+ code.substring(position + 1));
+		final List<CompletionProposal> results = new ArrayList<CompletionProposal>();
+		final ICompletionEngine engine = createEngine(results,
+				JSCompletionEngine.OPTION_NONE);
+		engine.complete(module, position, 0);
+		return results;
+	}
+
+	private static String names(List<CompletionProposal> proposals) {
+		final List<String> names = new ArrayList<String>();
+		for (CompletionProposal proposal : proposals) {
+			names.add(proposal.getName() + "/" + proposal.getRelevance()
+					+ "/" + proposal.getReplaceStart() + "-"
+					+ proposal.getReplaceEnd());
+		}
+		Collections.sort(names);
+		return names.toString();
+	}
+
+	public void testMemberPrefixGrows() {
+		complete("var s = 'abc';\ns.|\nvar z = 1;");
+		final List<CompletionProposal> continued = complete("var s = 'abc';\ns.su|\nvar z = 1;");
+		CompletionSession.reset();
+		final List<CompletionProposal> computed = complete("var s = 'abc';\ns.su|\nvar z = 1;");
+		assertFalse(computed.isEmpty());
+		assertEquals(names(computed), names(continued));
+	}
+
+	public void testGlobalPrefixGrows() {
+		final String code = "var alpha = 1; var alps = 2; function f() {}\n";
+		complete(code + "a|");
+		final List<CompletionProposal> continued = complete(code + "alph|");
+		CompletionSession.reset();
+		final List<CompletionProposal> computed = complete(code + "alph|");
+		assertEquals(1, computed.size());
+		assertEquals(names(computed), names(continued));
+	}
+
+	public void testContinuation() {
+		final List<ProposalTemplate> proposals = Collections.emptyList();
+		final String content = "x.ab;";
+		final CompletionSession session = new CompletionSession("a.js",
+				String.class, 0, content, 4, "ab", true, null, proposals);
+		CompletionSession.start(session);
+		assertSame(session,
+				CompletionSession.find("a.js", String.class, 0, "x.abc;", 5));
+		assertSame(session,
+				CompletionSession.find("a.js", String.class, 0, "x.ab;", 4));
+		assertNull("other module",
+				CompletionSession.find("b.js", String.class, 0, "x.abc;", 5));
+		CompletionSession.start(session);
+		assertNull("prefix is shorter",
+				CompletionSession.find("a.js", String.class, 0, "x.a;", 3));
+		CompletionSession.start(session);
+		assertNull("not an identifier",
+				CompletionSession.find("a.js", String.class, 0, "x.ab.;", 5));
+		CompletionSession.start(session);
+		assertNull("changed before",
+				CompletionSession.find("a.js", String.class, 0, "y.abc;", 5));
+		CompletionSession.start(session);
+		assertNull("changed after",
+				CompletionSession.find("a.js", String.class, 0, "x.abc", 5));
+		CompletionSession.start(session);
+		assertNull("other options",
+				CompletionSession.find("a.js", String.class, 1, "x.abc;", 5));
+	}
+
+}
@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.javascript.core.tests.contentassist;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.dltk.codeassist.ICompletionEngine;
+import org.eclipse.dltk.core.CompletionProposal;
+import org.eclipse.dltk.internal.javascript.ti.TypeSystemImpl;
+import org.eclipse.dltk.javascript.internal.core.codeassist.CompletionSession;
+import org.eclipse.dltk.javascript.internal.core.codeassist.JSCompletionEngine;
+import org.eclipse.dltk.javascript.internal.core.TypeSystems;
+import org.eclipse.dltk.javascript.internal.core.codeassist.MemberProposalCache;
+
+@SuppressWarnings("restriction")
+public class MemberProposalCacheTests extends AbstractCompletionTest {
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		CompletionSession.reset();
+		MemberProposalCache.of(TypeSystems.GLOBAL).clear();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		CompletionSession.reset();
+		MemberProposalCache.of(TypeSystems.GLOBAL).clear();
+		super.tearDown();
+	}
+
+	private List<CompletionProposal> complete(String code) {
+		CompletionSession.reset();
+		final int position = code.indexOf('|');
+		final TestModule module = new TestModule(code.substring(0, position)
+				+ code.substring(position + 1));
+		final List<CompletionProposal> results = new ArrayList<CompletionProposal>();
+		final ICompletionEngine engine = createEngine(results,
+				JSCompletionEngine.OPTION_NONE);
+		engine.complete(module, position, 0);
+		return results;
+	}
+
+	private static String names(List<CompletionProposal> proposals) {
+		final List<String> names = new ArrayList<String>();
+		for (CompletionProposal proposal : proposals) {
+			names.add(proposal.getName() + "/" + proposal.getRelevance());
+		}
+		Collections.sort(names);
+		return names.toString();
+	}
+
+	public void testWellKnownTypeCached() {
+		final List<CompletionProposal> computed = complete("var s = 'abc';\ns.sub|");
+		assertEquals(1, MemberProposalCache.of(TypeSystems.GLOBAL).size());
+		final List<CompletionProposal> cached = complete("var x = '';\nx.sub|");
+		assertEquals(1, MemberProposalCache.of(TypeSystems.GLOBAL).size());
+		assertFalse(computed.isEmpty());
+		assertEquals(names(computed), names(cached));
+	}
+
+	public void testCachedProposalsFilteredByPrefix() {
+		final List<CompletionProposal> all = complete("var s = 'abc';\ns.|");
+		final List<CompletionProposal> filtered = complete("var s = 'abc';\ns.char|");
+		assertTrue(all.size() > filtered.size());
+		for (CompletionProposal proposal : filtered) {
+			assertTrue(proposal.getName(), proposal.getName().toLowerCase()
+					.startsWith("char"));
+		}
+	}
+
+	public void testStaticAndInstanceMembersCachedSeparately() {
+		complete("var s = 'abc';\ns.|");
+		complete("String.|");
+		assertEquals(2, MemberProposalCache.of(TypeSystems.GLOBAL).size());
+		final List<CompletionProposal> instance = complete("var s = 'abc';\ns.fromCharCode|");
+		assertTrue(instance.isEmpty());
+		final List<CompletionProposal> statics = complete("String.fromCharCode|");
+		assertEquals(1, statics.size());
+	}
+
+	public void testLocalTypeNotCached() {
+		complete("function Local() { this.value = 1; }\nLocal.prototype.run = function() {};\nvar l = new Local();\nl.|");
+		assertEquals(0, MemberProposalCache.of(TypeSystems.GLOBAL).size());
+	}
+
+	public void testDiscardedWithTypeSystem() {
+		final TypeSystemImpl typeSystem = new TypeSystemImpl();
+		final MemberProposalCache cache = MemberProposalCache.of(typeSystem);
+		assertSame(cache, MemberProposalCache.of(typeSystem));
+		assertNotSame(cache, MemberProposalCache.of(TypeSystems.GLOBAL));
+		typeSystem.reset();
+		assertNotSame(cache, MemberProposalCache.of(typeSystem));
+	}
+
+}
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.javascript.core.tests.contentassist;
+
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.eclipse.dltk.javascript.internal.core.codeassist.NameIndex;
+import org.eclipse.dltk.javascript.internal.core.codeassist.NameMatcher;
+
+@SuppressWarnings("restriction")
+public class NameMatcherTests extends TestCase {
+
+	private static final NameIndex.Namer<String> SELF = new NameIndex.Namer<String>() {
+		public String nameOf(String value) {
+			return value;
+		}
+	};
+
+	private static NameIndex<String> index(String... names) {
+		return new NameIndex<String>(Arrays.asList(names), SELF);
+	}
+
+	public void testPrefix() {
+		final NameMatcher matcher = new NameMatcher("get", false);
+		assertTrue(matcher.matches("get"));
+		assertTrue(matcher.matches("getElementById"));
+		assertTrue(matcher.matches("GetValue"));
+		assertFalse(matcher.matches("ge"));
+		assertFalse(matcher.matches("toGet"));
+		assertFalse(matcher.matches("gEBI"));
+	}
+
+	public void testCamelCase() {
+		final NameMatcher matcher = new NameMatcher("gEBI", true);
+		assertTrue(matcher.matches("getElementById"));
+		assertTrue(new NameMatcher("getElBI", true)
+				.matches("getElementById"));
+		assertTrue(new NameMatcher("DS", true).matches("DataSource"));
+		assertFalse(new NameMatcher("dS", true).matches("database"));
+		assertFalse(matcher.matches("getElementsByTagName"));
+		assertFalse(new NameMatcher("gEBI", false)
+				.matches("getElementById"));
+		assertFalse(new NameMatcher("EBI", true)
+				.matches("getElementById"));
+	}
+
+	public void testScore() {
+		final NameMatcher matcher = new NameMatcher("to", true);
+		assertEquals(NameMatcher.EXACT, matcher.score("to"));
+		assertTrue(matcher.score("toString") > matcher.score("ToString"));
+		assertTrue(matcher.score("toFixed") > matcher.score("toLocaleString"));
+		assertEquals(NameMatcher.NO_MATCH, matcher.score("valueOf"));
+		final NameMatcher camelCase = new NameMatcher("tS", true);
+		assertTrue(camelCase.score("toString") > camelCase.score("tests"));
+		assertEquals(NameMatcher.NO_MATCH, camelCase.score("toFixed"));
+	}
+
+	public void testIndexFind() {
+		final NameIndex<String> index = index("toString", "valueOf",
+				"toFixed", "ToUpper", "length", "toLocaleString", "tOther");
+		assertEquals(Arrays.asList("toFixed", "toLocaleString", "toString",
+				"tOther", "ToUpper"),
+				index.find(new NameMatcher("to", false)));
+		assertEquals(Arrays.asList("toLocaleString"),
+				index.find(new NameMatcher("toL", false)));
+		assertEquals(Arrays.asList("toString"),
+				index.find(new NameMatcher("toS", false)));
+		assertEquals(Arrays.asList("toLocaleString", "toString"),
+				index.find(new NameMatcher("toS", true)));
+		assertEquals(7, index.find(new NameMatcher("", true)).size());
+		assertTrue(index.find(new NameMatcher("x", true)).isEmpty());
+	}
+
+	public void testRelevance() {
+		final NameMatcher matcher = new NameMatcher("toS", true);
+		assertEquals(4, matcher.relevance("toS"));
+		assertEquals(3, matcher.relevance("toString"));
+		assertEquals(2, matcher.relevance("ToString"));
+		assertEquals(1, matcher.relevance("toLocaleString"));
+		assertEquals(0, matcher.relevance("valueOf"));
+		assertEquals(0, new NameMatcher("toS", false)
+				.relevance("toLocaleString"));
+	}
+
+	public void testIndexMatchesMatcher() {
+		final String[] names = { "a", "ab", "aB", "Ab", "abc", "aBc", "a_b",
+				"A1", "b", "bA", "$a", "_a", "\u03b1\u03b2\u03b3", "\u0391\u0392" };
+		final NameIndex<String> index = index(names);
+		final String[] prefixes = { "", "a", "A", "aB", "ab", "a_", "b", "$",
+				"_", "\u03b1", "\u0391", "A1", "x" };
+		for (String prefix : prefixes) {
+			for (int mode = 0; mode < 2; ++mode) {
+				final NameMatcher matcher = new NameMatcher(prefix, mode != 0);
+				final List<String> found = index.find(matcher);
+				for (String name : names) {
+					assertEquals(prefix + "/" + mode + "/" + name,
+							matcher.matches(name), found.contains(name));
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.javascript.core.tests.contentassist;
+
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.eclipse.dltk.ast.ASTNode;
+import org.eclipse.dltk.javascript.ast.CallExpression;
+import org.eclipse.dltk.javascript.ast.Identifier;
+import org.eclipse.dltk.javascript.ast.Script;
+import org.eclipse.dltk.javascript.core.NodeFinder;
+import org.eclipse.dltk.javascript.core.NodeIndex;
+import org.eclipse.dltk.javascript.parser.JavaScriptParser;
+
+public class NodeIndexTests extends TestCase {
+
+	private static final String CODE = "var alpha = 1;\n"
+			+ "function beta(x) { return gamma(x, alpha) }";
+
+	private Script script;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		script = new JavaScriptParser().parse(CODE, null);
+	}
+
+	private ASTNode findInnermost(int offset) {
+		return NodeIndex.of(script).findInnermost(offset);
+	}
+
+	private void assertIdentifier(String name, int offset) {
+		final ASTNode node = findInnermost(offset);
+		assertTrue(String.valueOf(node), node instanceof Identifier);
+		assertEquals(name, ((Identifier) node).getName());
+	}
+
+	public void testCached() {
+		assertSame(NodeIndex.of(script), NodeIndex.of(script));
+		assertTrue(NodeIndex.of(script).size() > 0);
+	}
+
+	public void testIdentifier() {
+		final int alpha = CODE.indexOf("alpha");
+		assertIdentifier("alpha", alpha);
+		assertIdentifier("alpha", alpha + 2);
+		assertIdentifier("alpha", alpha + "alpha".length());
+		final int gamma = CODE.indexOf("gamma");
+		assertIdentifier("gamma", gamma + 1);
+		assertIdentifier("alpha", CODE.lastIndexOf("alpha") + 1);
+	}
+
+	public void testEnclosing() {
+		final ASTNode node = findInnermost(CODE.indexOf("return") + 6);
+		assertNotNull(node);
+		assertFalse(node instanceof Identifier);
+		assertTrue(node.sourceStart() <= CODE.indexOf("return"));
+	}
+
+	public void testCovering() {
+		final int gamma = CODE.indexOf("gamma");
+		final List<ASTNode> nodes = NodeIndex.of(script).findCovering(gamma,
+				gamma + "gamma(x".length());
+		assertTrue(nodes.size() > 2);
+		assertTrue(nodes.get(0) instanceof CallExpression);
+		for (int i = 1; i < nodes.size(); ++i) {
+			assertTrue(nodes.get(i).sourceStart() <= nodes.get(i - 1)
+					.sourceStart());
+			assertTrue(nodes.get(i).sourceEnd() >= nodes.get(i - 1)
+					.sourceEnd());
+		}
+		assertTrue(nodes.get(nodes.size() - 1) instanceof Script);
+		assertSame(nodes.get(0), NodeIndex.of(script).findInnermost(gamma,
+				gamma + "gamma(x".length()));
+		assertTrue(NodeIndex.of(script).findCovering(5, 4).isEmpty());
+	}
+
+	public void testNodeFinder() {
+		final int alpha = CODE.lastIndexOf("alpha");
+		final ASTNode node = new NodeFinder(alpha + 1, alpha + 3).locate(
+				script).getNode();
+		assertTrue(node instanceof Identifier);
+		assertEquals(alpha, node.sourceStart());
+		final int x = CODE.lastIndexOf("x");
+		assertSame(new NodeFinder(true, x, x).locate(script).getNode(),
+				NodeIndex.of(script).findInnermost(x));
+	}
+
+	public void testOutside() {
+		assertNull(findInnermost(-1));
+		assertNull(findInnermost(CODE.length() + 10));
+	}
+
+}
@@ -25,9 +25,12 @@ import org.eclipse.dltk.core.ILocalVariable;
 import org.eclipse.dltk.core.IMethod;
 import org.eclipse.dltk.core.IModelElement;
 import org.eclipse.dltk.core.IScriptProject;
+import org.eclipse.dltk.core.ISourceModule;
 import org.eclipse.dltk.core.ISourceRange;
 import org.eclipse.dltk.core.ISourceReference;
 import org.eclipse.dltk.core.ModelException;
+import org.eclipse.dltk.core.builder.IBuildContext;
+import org.eclipse.dltk.core.builder.IBuildParticipant;
 import org.eclipse.dltk.core.model.UnresolvedElement;
 import org.eclipse.dltk.core.search.IDLTKSearchConstants;
 import org.eclipse.dltk.core.search.SearchEngine;
@@ -37,9 +40,17 @@ import org.eclipse.dltk.core.search.SearchPattern;
 import org.eclipse.dltk.core.search.SearchRequestor;
 import org.eclipse.dltk.core.tests.CodeAssistUtil;
 import org.eclipse.dltk.core.tests.model.AbstractModelTests;
+import org.eclipse.dltk.internal.javascript.validation.TypeInfoValidator;
+import org.eclipse.dltk.javascript.ast.Script;
+import org.eclipse.dltk.javascript.core.JSBindings;
 import org.eclipse.dltk.javascript.core.JavaScriptNature;
 import org.eclipse.dltk.javascript.core.Types;
+import org.eclipse.dltk.javascript.core.tests.validation.CompoundBuildParticipant;
+import org.eclipse.dltk.javascript.core.tests.validation.TestBuildContext;
+import org.eclipse.dltk.javascript.internal.core.BindingsCache;
 import org.eclipse.dltk.javascript.internal.core.codeassist.JavaScriptSelectionEngine2;
+import org.eclipse.dltk.javascript.parser.JavaScriptParser;
+import org.eclipse.dltk.javascript.parser.JavaScriptParserUtil;
 import org.junit.Assert;
 import org.junit.Ignore;
 
@@ -164,6 +175,58 @@ public class SelectionTests extends AbstractModelTests {
 						nameRange.getOffset() + nameRange.getLength()));
 	}
 
+	public void testFromCachedBindings() throws ModelException {
+		IModuleSource module = getModule("selection1.js");
+		final int position = lastPositionInFile("testArgument", module, false);
+		final Script script = JavaScriptParserUtil.parse(module, null);
+		final IModelElement[] inferred = select(module, position);
+		assertEquals(1, inferred.length);
+		// the first request attaches the bindings to the shared AST
+		final JSBindings bindings = JSBindings.cachedOf(script);
+		assertNotNull(bindings);
+		final IModelElement[] cached = select(module, position);
+		assertSame(bindings, JSBindings.cachedOf(script));
+		assertEquals(1, cached.length);
+		assertEquals(inferred[0], cached[0]);
+		assertEquals(((ILocalVariable) inferred[0]).getNameRange(),
+				((ILocalVariable) cached[0]).getNameRange());
+	}
+
+	public void testBuildBindingsShared() throws CoreException {
+		final IModuleSource source = getModule("selection1.js");
+		final ISourceModule module = (ISourceModule) source;
+		final Script script = new JavaScriptParser().parse(source, null);
+		final TestBuildContext context = new TestBuildContext(
+				source.getSourceContents()) {
+			@Override
+			public ISourceModule getSourceModule() {
+				return module;
+			}
+		};
+		context.set(IBuildContext.ATTR_MODULE_DECLARATION, script);
+		final List<JSBindings> seen = new ArrayList<JSBindings>();
+		final TypeInfoValidator validator = new TypeInfoValidator();
+		validator.notifyDependents(new IBuildParticipant[0]);
+		final IBuildParticipant dependent = new IBuildParticipant() {
+			public void build(IBuildContext context) throws CoreException {
+				seen.add(JSBindings.of(script));
+				seen.add(JSBindings.of(script));
+			}
+		};
+		validator.beginBuild(IBuildContext.INCREMENTAL_BUILD);
+		new CompoundBuildParticipant(validator, dependent).build(context);
+		assertNotNull(seen.get(0));
+		assertSame(seen.get(0), seen.get(1));
+		validator.afterBuild(context);
+		validator.endBuild(null);
+		assertNull(TypeInfoValidator.getCachedBindings(script));
+		final long hits = BindingsCache.INSTANCE.getHits();
+		final JSBindings shared = JSBindings.of(script);
+		assertNotNull(shared);
+		assertEquals(hits + 1, BindingsCache.INSTANCE.getHits());
+		assertSame(shared, JSBindings.cachedOf(script));
+	}
+
 	public void testLocalVar() throws ModelException {
 		IModuleSource module = getModule("locals.js");
 		IModelElement[] elements = select(module,
@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.javascript.core.tests.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.dltk.core.IMethod;
+import org.eclipse.dltk.core.IModelElement;
+import org.eclipse.dltk.core.ISourceModule;
+import org.eclipse.dltk.core.search.SearchEngine;
+import org.eclipse.dltk.core.tests.ProjectSetup;
+import org.eclipse.dltk.javascript.core.tests.AllTests;
+import org.eclipse.dltk.javascript.internal.core.JavaScriptCallHierarchyFactory;
+import org.eclipse.dltk.javascript.internal.search.CallGraph;
+import org.eclipse.dltk.javascript.internal.search.CallGraph.CallSite;
+import org.eclipse.dltk.javascript.parser.JavaScriptParser;
+import org.junit.Assert;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+@SuppressWarnings("restriction")
+public class CallGraphTests extends Assert {
+
+	@ClassRule
+	public static final ProjectSetup PROJECT = new ProjectSetup(
+			AllTests.WORKSPACE, "selection",
+			ProjectSetup.Option.WAIT_INDEXES_READY);
+
+	private static IMethod getMethod(ISourceModule module, String name)
+			throws CoreException {
+		for (IModelElement element : module.getChildren()) {
+			if (element instanceof IMethod
+					&& name.equals(element.getElementName())) {
+				return (IMethod) element;
+			}
+		}
+		throw new AssertionError(name + " not found");
+	}
+
+	@Test
+	public void testCollect() {
+		final String code = "a(); b.c(1); x.y; (function(){})()";
+		final List<String> names = new ArrayList<String>();
+		for (CallSite call : CallGraph.collect(new JavaScriptParser().parse(
+				code, null))) {
+			names.add(call.getName());
+			assertEquals(call.getName(),
+					code.substring(call.getStart(), call.getEnd()));
+		}
+		assertEquals(Arrays.asList("a", "c"), names);
+	}
+
+	@Test
+	public void testCollectFunctionReferences() {
+		final String code = "function f() { function n() {} }\n"
+				+ "function g() { h(f); new f; var v = f; x.f; n; }";
+		final List<String> names = new ArrayList<String>();
+		for (CallSite call : CallGraph.collect(new JavaScriptParser().parse(
+				code, null))) {
+			names.add(call.getName() + "@" + call.getStart());
+		}
+		assertEquals(Arrays.asList("h@48", "f@50", "f@58", "f@69"), names);
+	}
+
+	@Test
+	public void testRemoveProject() {
+		final CallGraph graph = CallGraph.forProject(PROJECT
+				.getScriptProject().getProject());
+		CallGraph.removeProject(PROJECT.getScriptProject().getProject());
+		assertNotSame(graph,
+				CallGraph.forProject(PROJECT.getScriptProject().getProject()));
+	}
+
+	@Test
+	public void testCallsCached() throws CoreException {
+		final ISourceModule module = PROJECT.getSourceModule("src",
+				"selection1.js");
+		final CallGraph graph = CallGraph.forProject(PROJECT
+				.getScriptProject().getProject());
+		assertSame(graph.callsIn(module), graph.callsIn(module));
+	}
+
+	@Test
+	public void testCallees() throws CoreException {
+		final ISourceModule module = PROJECT.getSourceModule("src",
+				"selection1.js");
+		final IMethod test1 = getMethod(module, "test1");
+		final IMethod test4 = getMethod(module, "test4");
+		final Map<?, ?> callees = new JavaScriptCallHierarchyFactory()
+				.createCalleeProcessor(test4, null,
+						SearchEngine.createSearchScope(module))
+				.doOperation();
+		assertEquals(2, callees.size());
+		for (Object methods : callees.values()) {
+			assertEquals(Arrays.asList(test1),
+					Arrays.asList((IMethod[]) methods));
+		}
+	}
+
+	@Test
+	public void testCallers() throws CoreException {
+		final ISourceModule module = PROJECT.getSourceModule("src",
+				"selection1.js");
+		final IMethod test1 = getMethod(module, "test1");
+		final Map<?, ?> callers = new JavaScriptCallHierarchyFactory()
+				.createCallProcessor().process(test1, test1,
+						SearchEngine.createSearchScope(PROJECT
+								.getScriptProject()), null);
+		assertEquals(3, callers.size());
+		final Set<String> names = new HashSet<String>();
+		for (Object caller : callers.values()) {
+			names.add(((IModelElement) caller).getElementName());
+		}
+		assertEquals(new HashSet<String>(Arrays.asList("test3", "test4")),
+				names);
+	}
+
+}
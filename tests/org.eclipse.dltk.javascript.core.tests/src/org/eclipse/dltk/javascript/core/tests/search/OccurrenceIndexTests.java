@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.javascript.core.tests.search;
+
+import static org.eclipse.dltk.javascript.internal.search.OccurrenceIndex.CALL;
+import static org.eclipse.dltk.javascript.internal.search.OccurrenceIndex.DECLARATION;
+import static org.eclipse.dltk.javascript.internal.search.OccurrenceIndex.PROPERTY;
+import static org.eclipse.dltk.javascript.internal.search.OccurrenceIndex.THIS_MEMBER;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.dltk.javascript.internal.search.CallGraph;
+import org.eclipse.dltk.javascript.internal.search.OccurrenceCollector;
+import org.eclipse.dltk.javascript.internal.search.OccurrenceIndex;
+import org.eclipse.dltk.javascript.internal.search.OccurrenceIndexer;
+import org.eclipse.dltk.javascript.internal.search.SearchNameFilter;
+import org.eclipse.dltk.javascript.parser.JavaScriptParser;
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("restriction")
+public class OccurrenceIndexTests extends Assert {
+
+	private static final IPath A = new Path("/p/a.js");
+	private static final IPath B = new Path("/p/b.js");
+
+	private static Map<String, int[]> collect(String code) {
+		return OccurrenceCollector.collect(new JavaScriptParser().parse(code,
+				null));
+	}
+
+	private static int rolesAt(Map<String, int[]> occurrences, String name,
+			int offset) {
+		final int[] values = occurrences.get(name);
+		assertNotNull(name, values);
+		for (int i = 0; i < values.length; i += 2) {
+			if (values[i] == offset) {
+				return values[i + 1];
+			}
+		}
+		fail(name + " at " + offset);
+		return 0;
+	}
+
+	private static SearchNameFilter filter(String name) {
+		return new SearchNameFilter(new char[][] { name.toCharArray() }, true,
+				true);
+	}
+
+	@Test
+	public void testRoles() {
+		final String code = "function f(a) { this.x = a; this.m(); }\n"
+				+ "var o = { p: 1 };\n" + "o.p; f(o);";
+		final Map<String, int[]> occurrences = collect(code);
+		assertEquals(DECLARATION,
+				rolesAt(occurrences, "f", code.indexOf("f(a)")));
+		assertEquals(DECLARATION, rolesAt(occurrences, "a", code.indexOf("a)")));
+		assertEquals(0, rolesAt(occurrences, "a", code.indexOf("a;")));
+		assertEquals(PROPERTY | THIS_MEMBER,
+				rolesAt(occurrences, "x", code.indexOf("x")));
+		assertEquals(PROPERTY | THIS_MEMBER | CALL,
+				rolesAt(occurrences, "m", code.indexOf("m(")));
+		assertEquals(DECLARATION,
+				rolesAt(occurrences, "o", code.indexOf("o =")));
+		assertEquals(DECLARATION | PROPERTY,
+				rolesAt(occurrences, "p", code.indexOf("p:")));
+		assertEquals(PROPERTY, rolesAt(occurrences, "p", code.indexOf("p;")));
+		assertEquals(CALL, rolesAt(occurrences, "f", code.indexOf("f(o)")));
+		assertNull(occurrences.get("this"));
+	}
+
+	@Test
+	public void testUpdate() {
+		final OccurrenceIndex index = new OccurrenceIndex(null);
+		index.update(A, 1, collect("var foo = bar;"));
+		index.update(B, 1, collect("bar();"));
+		assertEquals(2, index.filesOf("bar").size());
+		assertEquals(Boolean.TRUE, index.contains(A, 1, filter("foo")));
+		assertEquals(Boolean.FALSE, index.contains(B, 1, filter("foo")));
+		assertNull("stale", index.contains(A, 2, filter("foo")));
+		index.update(A, 2, collect("var baz;"));
+		assertEquals(1, index.filesOf("bar").size());
+		assertTrue(index.filesOf("foo").isEmpty());
+		index.remove(B);
+		assertTrue(index.filesOf("bar").isEmpty());
+		assertEquals(1, index.size());
+	}
+
+	@Test
+	public void testPersistence() throws IOException {
+		final File file = File.createTempFile("occurrences", ".index");
+		try {
+			final OccurrenceIndex index = new OccurrenceIndex(file);
+			index.update(A, 5, collect("foo(); foo.bar;"));
+			index.save();
+			final OccurrenceIndex loaded = new OccurrenceIndex(file);
+			assertEquals(1, loaded.size());
+			assertArrayEquals(index.occurrencesOf(A, 5, "bar"),
+					loaded.occurrencesOf(A, 5, "bar"));
+			assertArrayEquals(new int[] { 0, CALL, 7, 0 },
+					loaded.occurrencesOf(A, 5, "foo"));
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testSavedAfterBuild() throws IOException {
+		final File file = File.createTempFile("occurrences", ".index");
+		file.delete();
+		try {
+			final OccurrenceIndex index = new OccurrenceIndex(file);
+			index.update(A, 1, collect("foo();"));
+			// the build only schedules the save
+			new OccurrenceIndexer(index, new CallGraph()).endBuild(null);
+			assertFalse(file.exists());
+			index.save();
+			assertEquals(1, new OccurrenceIndex(file).size());
+			index.update(B, 1, collect("bar();"));
+			index.save();
+			assertEquals(2, new OccurrenceIndex(file).size());
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testStringKeysAndJSDoc() {
+		final String code = "/** @param {String} name */\n"
+				+ "function f(name) { return o['key']; }";
+		final Map<String, int[]> occurrences = collect(code);
+		assertEquals(PROPERTY,
+				rolesAt(occurrences, "key", code.indexOf("'key'")));
+		assertEquals(0, rolesAt(occurrences, "name", code.indexOf("name")));
+		assertEquals(DECLARATION,
+				rolesAt(occurrences, "name", code.indexOf("name)")));
+	}
+
+	@Test
+	public void testLongName() throws IOException {
+		final File file = File.createTempFile("occurrences", ".index");
+		try {
+			final StringBuilder sb = new StringBuilder();
+			while (sb.length() < 70000) {
+				sb.append("name");
+			}
+			final String name = sb.toString();
+			final OccurrenceIndex index = new OccurrenceIndex(file);
+			index.update(A, 5, Collections.singletonMap(name, new int[] { 0,
+					0 }));
+			index.save();
+			assertEquals(Collections.singleton(A),
+					new OccurrenceIndex(file).filesOf(name));
+		} finally {
+			file.delete();
+		}
+	}
+
+}
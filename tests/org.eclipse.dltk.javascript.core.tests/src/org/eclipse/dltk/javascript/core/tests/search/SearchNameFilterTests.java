@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.javascript.core.tests.search;
+
+import org.eclipse.dltk.javascript.internal.search.SearchNameFilter;
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("restriction")
+public class SearchNameFilterTests extends Assert {
+
+	private static SearchNameFilter filter(boolean caseSensitive,
+			boolean wholeWord, String... names) {
+		final char[][] chars = new char[names.length][];
+		for (int i = 0; i < names.length; ++i) {
+			chars[i] = names[i].toCharArray();
+		}
+		return new SearchNameFilter(chars, caseSensitive, wholeWord);
+	}
+
+	private static boolean accept(SearchNameFilter filter, String source) {
+		return filter.accept(source.toCharArray());
+	}
+
+	@Test
+	public void testWholeWord() {
+		final SearchNameFilter filter = filter(true, true, "foo");
+		assertTrue(accept(filter, "foo"));
+		assertTrue(accept(filter, "x.foo();"));
+		assertTrue(accept(filter, "a[\"foo\"]"));
+		assertFalse(accept(filter, "x.food();"));
+		assertFalse(accept(filter, "var _foo;"));
+		assertFalse(accept(filter, "var $foo;"));
+		assertFalse(accept(filter, "Foo"));
+		assertFalse(accept(filter, "fo"));
+	}
+
+	@Test
+	public void testPrefix() {
+		final SearchNameFilter filter = filter(true, false, "foo");
+		assertTrue(accept(filter, "x.food();"));
+		assertFalse(accept(filter, "x.afoo();"));
+	}
+
+	@Test
+	public void testCaseInsensitive() {
+		final SearchNameFilter filter = filter(false, true, "foo");
+		assertTrue(accept(filter, "x.FOO();"));
+		assertFalse(accept(filter, "x.FOOD();"));
+	}
+
+	@Test
+	public void testAnyName() {
+		final SearchNameFilter filter = filter(true, true, "foo", "bar");
+		assertTrue(accept(filter, "bar()"));
+		assertFalse(accept(filter, "baz()"));
+	}
+
+}
@@ -19,7 +19,8 @@ import org.junit.runner.RunWith;
 @RunWith(Suite.class)
 @SuiteClasses({ SearchDeclarationTests.class, SearchExternalLibraryTests.class,
 		SearchFieldTests.class, SearchFunctionTests.class,
-		SearchLocalsTests.class, SearchReferenceTests.class,
-		SearchTypeReferenceTests.class })
+		SearchLocalsTests.class, SearchNameFilterTests.class,
+		OccurrenceIndexTests.class, SearchReferenceTests.class,
+		SearchTypeReferenceTests.class, CallGraphTests.class })
 public class SearchTestSuite {
 }
@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.javascript.core.tests.typeinference;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.dltk.ast.ASTNode;
+import org.eclipse.dltk.internal.javascript.ti.TypeInferencer2;
+import org.eclipse.dltk.javascript.ast.Script;
+import org.eclipse.dltk.javascript.core.JSBindings;
+import org.eclipse.dltk.javascript.internal.core.BindingsCache;
+import org.eclipse.dltk.javascript.internal.core.TemporaryBindings;
+import org.eclipse.dltk.javascript.typeinference.IValueReference;
+
+@SuppressWarnings("restriction")
+public class BindingsCacheTests extends TestCase {
+
+	private static JSBindings bindings(int size) {
+		final Map<ASTNode, IValueReference> map = new HashMap<ASTNode, IValueReference>();
+		for (int i = 0; i < size; ++i) {
+			map.put(new Script(), null);
+		}
+		return new TemporaryBindings(new TypeInferencer2(), map);
+	}
+
+	private static final IPath PATH = new Path("/p/a.js");
+
+	public void testHitAndMiss() {
+		final BindingsCache cache = new BindingsCache(100000);
+		final Script script = new Script();
+		assertNull(cache.get(PATH, 1, script));
+		final JSBindings bindings = bindings(1);
+		cache.put(PATH, 1, script, bindings);
+		assertSame(bindings, cache.get(PATH, 1, script));
+		// the entry is kept for the other readers
+		assertSame(bindings, cache.get(PATH, 1, script));
+		assertEquals(1, cache.size());
+		assertEquals(10001, cache.getWeight());
+		assertEquals(2, cache.getHits());
+		assertEquals(1, cache.getMisses());
+	}
+
+	public void testOtherScript() {
+		final BindingsCache cache = new BindingsCache(100000);
+		cache.put(PATH, 1, new Script(), bindings(1));
+		assertNull(cache.get(PATH, 1, new Script()));
+		// the entry of the current version is kept
+		assertEquals(1, cache.size());
+	}
+
+	public void testChangedVersion() {
+		final BindingsCache cache = new BindingsCache(100000);
+		final Script script = new Script();
+		cache.put(PATH, 1, script, bindings(1));
+		assertNull(cache.get(PATH, 2, script));
+		// the stale entry is removed
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getWeight());
+	}
+
+	public void testUnknownVersion() {
+		final BindingsCache cache = new BindingsCache(100000);
+		final Script script = new Script();
+		cache.put(PATH, IResource.NULL_STAMP, script, bindings(1));
+		assertEquals(0, cache.size());
+		cache.put(PATH, 1, script, bindings(1));
+		assertNull(cache.get(PATH, IResource.NULL_STAMP, script));
+	}
+
+	public void testSingleEntryPerModule() {
+		final BindingsCache cache = new BindingsCache(100000);
+		final Script first = new Script();
+		final Script second = new Script();
+		cache.put(PATH, 1, first, bindings(1));
+		cache.put(PATH, 2, second, bindings(1));
+		assertEquals(1, cache.size());
+		assertNull(cache.get(PATH, 1, first));
+		cache.put(PATH, 2, second, bindings(1));
+		assertNotNull(cache.get(PATH, 2, second));
+	}
+
+	public void testWeightLimit() {
+		// each entry weights 10000 + number of nodes
+		final BindingsCache cache = new BindingsCache(35000);
+		final Script[] scripts = new Script[4];
+		final IPath[] paths = new IPath[scripts.length];
+		for (int i = 0; i < scripts.length; ++i) {
+			scripts[i] = new Script();
+			paths[i] = new Path("/p/" + i + ".js");
+			cache.put(paths[i], 1, scripts[i], bindings(1000));
+		}
+		assertEquals(3, cache.size());
+		assertEquals(33000, cache.getWeight());
+		assertEquals(1, cache.getEvictions());
+		assertNull(cache.get(paths[0], 1, scripts[0]));
+		assertNotNull(cache.get(paths[1], 1, scripts[1]));
+		assertNotNull(cache.get(paths[2], 1, scripts[2]));
+		assertNotNull(cache.get(paths[3], 1, scripts[3]));
+	}
+
+	public void testRemove() {
+		final BindingsCache cache = new BindingsCache(100000);
+		final Script a = new Script();
+		final Script b = new Script();
+		final Script c = new Script();
+		cache.put(PATH, 1, a, bindings(1));
+		cache.put(new Path("/p/b.js"), 1, b, bindings(1));
+		cache.put(new Path("/q/c.js"), 1, c, bindings(1));
+		cache.remove(PATH);
+		assertNull(cache.get(PATH, 1, a));
+		assertEquals(2, cache.size());
+		cache.removeAll(new Path("/p"));
+		assertEquals(1, cache.size());
+		cache.clear();
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getWeight());
+	}
+
+}
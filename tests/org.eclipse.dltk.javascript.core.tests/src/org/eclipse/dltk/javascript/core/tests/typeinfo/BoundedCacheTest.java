@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.javascript.core.tests.typeinfo;
+
+import junit.framework.TestCase;
+
+import org.eclipse.dltk.internal.javascript.ti.BoundedCache;
+import org.eclipse.dltk.internal.javascript.ti.TypeSystemCacheSettings;
+
+@SuppressWarnings("restriction")
+public class BoundedCacheTest extends TestCase {
+
+	private TypeSystemCacheSettings settings;
+	private BoundedCache<String, String> cache;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		settings = new TypeSystemCacheSettings(3);
+		cache = new BoundedCache<String, String>(settings);
+	}
+
+	public void testEvictsLeastRecentlyUsed() {
+		cache.put("a", "A");
+		cache.put("b", "B");
+		cache.put("c", "C");
+		assertEquals("A", cache.get("a"));
+		cache.put("d", "D");
+		assertEquals(3, cache.size());
+		assertNull(cache.get("b"));
+		assertEquals("A", cache.get("a"));
+		assertEquals("C", cache.get("c"));
+		assertEquals("D", cache.get("d"));
+	}
+
+	public void testCounters() {
+		cache.put("a", "A");
+		assertEquals("A", cache.get("a"));
+		assertEquals("A", cache.get("a"));
+		assertNull(cache.get("b"));
+		cache.put("b", "B");
+		cache.put("c", "C");
+		cache.put("d", "D");
+		assertEquals(2, cache.hits());
+		assertEquals(1, cache.misses());
+		assertEquals(1, cache.evictions());
+		assertEquals(2, settings.getHitCount());
+		assertEquals(1, settings.getMissCount());
+		assertEquals(1, settings.getEvictionCount());
+		settings.resetStatistics();
+		assertEquals(0, settings.getHitCount());
+		assertEquals(0, settings.getMissCount());
+		assertEquals(0, settings.getEvictionCount());
+		assertEquals(2, cache.hits());
+	}
+
+	public void testLimitChangedAtRuntime() {
+		for (int i = 0; i < 3; ++i) {
+			cache.put("k" + i, "v" + i);
+		}
+		settings.setLimit(1);
+		assertEquals(3, cache.size());
+		cache.put("k3", "v3");
+		assertEquals(1, cache.size());
+		assertEquals(3, cache.evictions());
+		assertEquals("v3", cache.get("k3"));
+		settings.setLimit(0);
+		for (int i = 0; i < 10; ++i) {
+			cache.put("n" + i, "v" + i);
+		}
+		assertEquals(11, cache.size());
+		assertEquals(3, cache.evictions());
+	}
+
+	public void testNegativeLimitDisablesEviction() {
+		settings.setLimit(-1);
+		assertEquals(0, settings.getLimit());
+	}
+
+}
@@ -23,8 +23,11 @@ import org.eclipse.dltk.core.tests.util.StringList;
 import org.eclipse.dltk.internal.javascript.ti.JSDocSupport;
 import org.eclipse.dltk.internal.javascript.ti.JSMethod;
 import org.eclipse.dltk.internal.javascript.ti.JSDocSupport.TagTokenizer;
+import org.eclipse.dltk.javascript.ast.Comment;
 import org.eclipse.dltk.javascript.ast.FunctionStatement;
 import org.eclipse.dltk.javascript.ast.Script;
+import org.eclipse.dltk.javascript.parser.jsdoc.JSDocTag;
+import org.eclipse.dltk.javascript.parser.jsdoc.JSDocTags;
 import org.eclipse.dltk.javascript.parser.tests.AbstractJSParserTest;
 
 @SuppressWarnings("restriction")
@@ -106,6 +109,26 @@ public class JSDocSupportTests extends AbstractJSParserTest {
 		assertEquals(warningIds, parseSuppressWarnings(code));
 	}
 
+	public void testTagsCachedOnComment() {
+		final StringList code = new StringList();
+		code.add("/**");
+		code.add(" * @param {String} name");
+		code.add(" */");
+		code.add("function hello(name){}");
+		final Script script = parse(code.toString());
+		final FunctionStatement function = uniqueResult(ASTUtil.select(script,
+				FunctionStatement.class));
+		final Comment comment = function.getDocumentation();
+		final JSDocTags tags = JSDocSupport.parse(comment);
+		assertSame(tags, JSDocSupport.parse(comment));
+		final JSDocTag tag = tags.get(JSDocTag.PARAM);
+		assertSame(tag.tokens(), tag.tokens());
+		final TagTokenizer tokenizer = new TagTokenizer(tag);
+		assertEquals("{String}", tokenizer.nextToken());
+		assertEquals("name", tokenizer.nextToken());
+		assertFalse(tokenizer.hasMoreTokens());
+	}
+
 	public void testTagTokenizer() {
 		final TagTokenizer tokenizer = new TagTokenizer("A B C");
 		assertTrue(tokenizer.hasMoreTokens());
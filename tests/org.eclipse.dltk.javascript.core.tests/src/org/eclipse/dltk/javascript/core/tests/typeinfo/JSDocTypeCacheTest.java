@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.javascript.core.tests.typeinfo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.dltk.ast.utils.ASTUtil;
+import org.eclipse.dltk.core.tests.util.StringList;
+import org.eclipse.dltk.internal.javascript.ti.JSDocProblem;
+import org.eclipse.dltk.internal.javascript.ti.JSDocSupport;
+import org.eclipse.dltk.internal.javascript.ti.JSMethod;
+import org.eclipse.dltk.javascript.ast.FunctionStatement;
+import org.eclipse.dltk.javascript.ast.Script;
+import org.eclipse.dltk.javascript.parser.tests.AbstractJSParserTest;
+import org.eclipse.dltk.javascript.typeinfo.JSDocTypeCache;
+import org.eclipse.dltk.javascript.typeinfo.JSDocTypeParser;
+import org.eclipse.dltk.javascript.typeinfo.JSDocTypeParserExtension;
+import org.eclipse.dltk.javascript.typeinfo.model.JSType;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+@SuppressWarnings("restriction")
+public class JSDocTypeCacheTest extends AbstractJSParserTest {
+
+	private static final String[] TYPES = { "String", "Number",
+			"Array<String>", "function(Number):Object",
+			"{name:String, value:Number}", "Array<Array<Number>>",
+			"String|Number", "Object<String,Array<Date>>" };
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		JSDocTypeCache.getInstance().clear();
+	}
+
+	public void testCopies() {
+		final JSDocTypeCache.Entry entry = JSDocTypeCache.getInstance().parse(
+				new JSDocTypeParser(), "Array<String>");
+		assertSame(entry,
+				JSDocTypeCache.getInstance().parse(new JSDocTypeParser(),
+						"Array<String>"));
+		assertFalse(entry.hasProblem());
+		final JSType type1 = entry.copyType();
+		final JSType type2 = entry.copyType();
+		assertNotSame(type1, type2);
+		assertTrue(EcoreUtil.equals(type1, type2));
+	}
+
+	public void testProblemReplay() {
+		final JSDocTypeCache.Entry entry = JSDocTypeCache.getInstance().parse(
+				new JSDocTypeParser(), "Array<String");
+		assertTrue(entry.hasProblem());
+		assertNull(entry.copyType());
+		assertEquals(JSDocProblem.WRONG_TYPE_SYNTAX, entry.getProblemId());
+		assertSame(entry,
+				JSDocTypeCache.getInstance().parse(new JSDocTypeParser(),
+						"Array<String"));
+	}
+
+	public void testRegions() {
+		final JSDocTypeCache.Entry entry = JSDocTypeCache.getInstance().parse(
+				new JSDocTypeParser(), "Array<String>");
+		assertEquals("String", entry.findRegionAt(7).name());
+		assertNull(entry.findRegionAt(100));
+	}
+
+	public void testExtensionCharsInKey() {
+		assertFalse(new ExtendedParser(null).getCacheKey().equals(
+				new ExtendedParser("$".toCharArray()).getCacheKey()));
+		assertFalse(new ExtendedParser("$".toCharArray()).getCacheKey()
+				.equals(new ExtendedParser("#".toCharArray()).getCacheKey()));
+		assertEquals(new ExtendedParser("$".toCharArray()).getCacheKey(),
+				new ExtendedParser("$".toCharArray()).getCacheKey());
+	}
+
+	static class ExtendedParser extends JSDocTypeParser {
+		ExtendedParser(char[] extensionChars) {
+			super(extensionChars);
+		}
+	}
+
+	public void testParserExtensionIsKept() {
+		final JSDocTypeParser parser = new JSDocTypeParser();
+		final List<String> reported = new ArrayList<String>();
+		final JSDocTypeParserExtension extension = new JSDocTypeParserExtension() {
+			public void reportType(JSType type, int start, int end) {
+				reported.add(type.getName());
+			}
+		};
+		JSDocTypeCache.getInstance().parse(new JSDocTypeParser(), "String");
+		parser.setExtension(extension);
+		JSDocTypeCache.getInstance().parse(parser, "String");
+		assertEquals(1, reported.size());
+		JSDocTypeCache.getInstance().parse(parser, "String");
+		assertEquals(2, reported.size());
+	}
+
+	public void testLeastRecentlyUsedEviction() {
+		final JSDocTypeParser parser = new JSDocTypeParser();
+		final JSDocTypeCache cache = JSDocTypeCache.getInstance();
+		final JSDocTypeCache.Entry first = cache.parse(parser, "T0");
+		for (int i = 1; i < 5000; ++i) {
+			cache.parse(parser, "T" + i);
+			assertSame(first, cache.parse(parser, "T0"));
+		}
+		assertTrue(cache.size() > 1);
+		assertTrue(cache.size() < 5000);
+	}
+
+	private static String generateJSDocHeavyCode(int functionCount) {
+		final StringList code = new StringList();
+		for (int i = 0; i < functionCount; ++i) {
+			code.add("/**");
+			for (int p = 0; p < 4; ++p) {
+				code.add(" * @param {" + TYPES[(i + p) % TYPES.length]
+						+ "} p" + p);
+			}
+			code.add(" * @return {" + TYPES[i % TYPES.length] + "}");
+			code.add(" */");
+			code.add("function f" + i + "(p0, p1, p2, p3) { return null }");
+		}
+		return code.toString();
+	}
+
+	private void processAll(List<FunctionStatement> functions) {
+		final JSDocSupport support = new JSDocSupport();
+		for (FunctionStatement function : functions) {
+			support.processMethod(function, new JSMethod(), null, null);
+		}
+	}
+
+	/**
+	 * The repeated type expressions of the JSDoc heavy file are parsed once.
+	 */
+	public void testJSDocHeavyFileSharesEntries() {
+		final Script script = parse(generateJSDocHeavyCode(2000));
+		final List<FunctionStatement> functions = ASTUtil.select(script,
+				FunctionStatement.class);
+		final JSDocTypeCache cache = JSDocTypeCache.getInstance();
+		cache.clear();
+		processAll(functions);
+		final int size = cache.size();
+		assertTrue(size > 0);
+		assertTrue(size <= TYPES.length);
+		processAll(functions);
+		assertEquals(size, cache.size());
+	}
+
+}
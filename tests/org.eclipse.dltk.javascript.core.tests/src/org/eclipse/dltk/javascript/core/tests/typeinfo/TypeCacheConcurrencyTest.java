@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.javascript.core.tests.typeinfo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+import org.eclipse.dltk.javascript.typeinfo.TypeCache;
+import org.eclipse.dltk.javascript.typeinfo.model.Type;
+
+/**
+ * Resolves overlapping type names from many threads and checks that every
+ * type is created once.
+ */
+public class TypeCacheConcurrencyTest extends TestCase {
+
+	private static final int THREADS = 16;
+	private static final int NAMES = 500;
+	private static final int ROUNDS = 20;
+
+	static class CountingTypeCache extends TypeCache {
+
+		final ConcurrentMap<String, AtomicInteger> created = new ConcurrentHashMap<String, AtomicInteger>();
+
+		public CountingTypeCache() {
+			super("test", "types");
+		}
+
+		@Override
+		protected Type createType(String context, String typeName) {
+			AtomicInteger counter = created.get(typeName);
+			if (counter == null) {
+				final AtomicInteger previous = created.putIfAbsent(typeName,
+						counter = new AtomicInteger());
+				if (previous != null) {
+					counter = previous;
+				}
+			}
+			counter.incrementAndGet();
+			return addType(context,
+					TypeInfoModelFactoryUtil.newType(typeName));
+		}
+	}
+
+	private static List<String> names() {
+		final List<String> names = new ArrayList<String>(NAMES);
+		for (int i = 0; i < NAMES; ++i) {
+			names.add("Type" + i);
+		}
+		return names;
+	}
+
+	public void testConcurrentFindType() throws Exception {
+		final CountingTypeCache cache = new CountingTypeCache();
+		final CountDownLatch start = new CountDownLatch(1);
+		final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			final List<Future<List<Type>>> futures = new ArrayList<Future<List<Type>>>();
+			for (int t = 0; t < THREADS; ++t) {
+				final int seed = t;
+				futures.add(executor.submit(new Callable<List<Type>>() {
+					public List<Type> call() throws Exception {
+						final List<String> names = names();
+						Collections.shuffle(names, new Random(seed));
+						start.await();
+						final List<Type> result = new ArrayList<Type>();
+						for (int round = 0; round < ROUNDS; ++round) {
+							for (String name : names) {
+								final Type type = cache.findType("bucket",
+										name);
+								if (round == 0) {
+									result.add(type);
+								}
+							}
+						}
+						return result;
+					}
+				}));
+			}
+			start.countDown();
+			final List<List<Type>> results = new ArrayList<List<Type>>();
+			for (Future<List<Type>> future : futures) {
+				results.add(future.get());
+			}
+			assertEquals(NAMES, cache.created.size());
+			for (AtomicInteger counter : cache.created.values()) {
+				assertEquals(1, counter.get());
+			}
+			for (List<Type> result : results) {
+				for (Type type : result) {
+					assertSame(type, cache.findType("bucket", type.getName()));
+				}
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	public void testFailureIsPropagated() throws Exception {
+		final CountDownLatch entered = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final TypeCache cache = new TypeCache("test", "failing") {
+			@Override
+			protected Type createType(String context, String typeName) {
+				entered.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				throw new IllegalStateException(typeName);
+			}
+		};
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			final Callable<Type> find = new Callable<Type>() {
+				public Type call() {
+					return cache.findType("bucket", "Broken");
+				}
+			};
+			final Future<Type> creator = executor.submit(find);
+			entered.await();
+			final Future<Type> waiter = executor.submit(find);
+			release.countDown();
+			for (Future<Type> future : Arrays.asList(creator, waiter)) {
+				try {
+					fail(String.valueOf(future.get()));
+				} catch (ExecutionException e) {
+					assertTrue(e.getCause() instanceof IllegalStateException);
+				}
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	public void testClearBucket() {
+		final CountingTypeCache cache = new CountingTypeCache();
+		final Type first = cache.findType("bucket", "A");
+		assertSame(first, cache.findType("bucket", "A"));
+		cache.clear("bucket");
+		final Type second = cache.findType("bucket", "A");
+		assertNotSame(first, second);
+		assertEquals(2, cache.created.get("A").get());
+	}
+
+}
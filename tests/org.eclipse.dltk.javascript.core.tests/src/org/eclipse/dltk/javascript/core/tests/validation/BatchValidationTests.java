@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.javascript.core.tests.validation;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Collections;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.dltk.compiler.problem.DefaultProblem;
+import org.eclipse.dltk.compiler.problem.IProblem;
+import org.eclipse.dltk.compiler.problem.ProblemSeverity;
+import org.eclipse.dltk.internal.javascript.validation.BatchValidation;
+import org.eclipse.dltk.internal.javascript.validation.ModuleShapes;
+import org.eclipse.dltk.internal.javascript.validation.TypeInfoValidator;
+import org.eclipse.dltk.internal.javascript.validation.ValidationResultCache;
+import org.eclipse.dltk.javascript.core.JavaScriptProblems;
+
+@SuppressWarnings("restriction")
+public class BatchValidationTests extends TestCase {
+
+	private File directory;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		directory = File.createTempFile("batch", "");
+		directory.delete();
+		directory.mkdirs();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		delete(directory);
+		super.tearDown();
+	}
+
+	private static void delete(File file) {
+		final File[] children = file.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				delete(child);
+			}
+		}
+		file.delete();
+	}
+
+	private void write(String name, String content) throws IOException {
+		final File file = new File(directory, name);
+		file.getParentFile().mkdirs();
+		final Writer writer = new OutputStreamWriter(new FileOutputStream(
+				file), "UTF-8");
+		try {
+			writer.write(content);
+		} finally {
+			writer.close();
+		}
+	}
+
+	private String[] run(int workers) throws CoreException, IOException {
+		final BatchValidation validation = new BatchValidation(directory);
+		validation.setWorkerCount(workers);
+		final StringWriter output = new StringWriter();
+		final BatchValidation.Result result = validation.run(output, null);
+		assertEquals(3, result.getFileCount());
+		final String text = output.toString();
+		return text.length() != 0 ? text.split("\n") : new String[0];
+	}
+
+	private void createFiles() throws IOException {
+		write("ok.js", "var x = 1;\n");
+		write("lib/unreachable.js",
+				"function f() {\n  return 1;\n  f();\n}\n");
+		write("lib/syntax.js", "var = ;\n");
+		write("readme.txt", "var = ;\n");
+	}
+
+	public void testProblemsAsJsonLines() throws Exception {
+		createFiles();
+		final String[] lines = run(2);
+		boolean unreachable = false;
+		boolean syntax = false;
+		for (String line : lines) {
+			assertTrue(line, line.startsWith("{\"file\":\""));
+			assertTrue(line, line.endsWith("}"));
+			assertFalse(line, line.contains("ok.js"));
+			assertFalse(line, line.contains("readme.txt"));
+			if (line.contains("\"lib/unreachable.js\"")) {
+				unreachable = true;
+				assertTrue(line, line.contains("\"line\":3"));
+			} else if (line.contains("\"lib/syntax.js\"")) {
+				syntax = true;
+				assertTrue(line, line.contains("\"severity\":\"error\""));
+			}
+		}
+		assertTrue(unreachable);
+		assertTrue(syntax);
+	}
+
+	public void testWorkerCountDoesNotChangeResults() throws Exception {
+		createFiles();
+		final String[] single = run(1);
+		final String[] parallel = run(4);
+		Arrays.sort(single);
+		Arrays.sort(parallel);
+		assertEquals(Arrays.asList(single), Arrays.asList(parallel));
+	}
+
+	public void testSharedCachesKept() throws Exception {
+		final IPath other = new Path("/other/a.js");
+		final ValidationResultCache cache = ValidationResultCache
+				.getInstance();
+		try {
+			ModuleShapes.INSTANCE.updateShape(other, "a");
+			if (cache != null) {
+				cache.store(TypeInfoValidator.ID, other,
+						new ValidationResultCache.Entry("c", "p", "a",
+								Collections.<IPath, String> emptyMap(),
+								Collections.<IProblem> emptyList()));
+			}
+			createFiles();
+			run(2);
+			assertEquals("a", ModuleShapes.INSTANCE.getShape(other));
+			if (cache != null) {
+				assertNotNull(cache.lookup(TypeInfoValidator.ID, other, "c",
+						"p"));
+			}
+		} finally {
+			ModuleShapes.INSTANCE.remove(other);
+			if (cache != null) {
+				cache.remove(other);
+			}
+		}
+	}
+
+	public void testJsonEscaping() {
+		final String json = BatchValidation.toJson("dir/a\"b.js",
+				new DefaultProblem("line1\nline2\\\t\u0001",
+						JavaScriptProblems.UNREACHABLE_CODE, null,
+						ProblemSeverity.WARNING, 5, 7, 0));
+		assertTrue(json, json.startsWith("{\"file\":\"dir/a\\\"b.js\""));
+		assertTrue(json, json.contains("\"line\":1"));
+		assertTrue(json, json.contains("\"start\":5,\"end\":7"));
+		assertTrue(json, json.contains("\"severity\":\"warning\""));
+		assertTrue(json,
+				json.endsWith("\"message\":\"line1\\nline2\\\\\\t\\u0001\"}"));
+	}
+
+}
@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.javascript.core.tests.validation;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+import org.eclipse.dltk.core.builder.IBuildContext;
+import org.eclipse.dltk.internal.javascript.validation.BuildProfiler;
+
+@SuppressWarnings("restriction")
+public class BuildProfilerTests extends TestCase {
+
+	private File directory;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		directory = File.createTempFile("profile", "");
+		directory.delete();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		final File[] files = directory.listFiles();
+		if (files != null) {
+			for (File file : files) {
+				file.delete();
+			}
+		}
+		directory.delete();
+		super.tearDown();
+	}
+
+	private static IBuildContext context(final String name) {
+		return new TestBuildContext("") {
+			@Override
+			public String getFileName() {
+				return name;
+			}
+		};
+	}
+
+	private static long ago(long millis) {
+		return System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(millis);
+	}
+
+	private File find(String suffix) {
+		final File[] files = directory.listFiles();
+		if (files != null) {
+			for (File file : files) {
+				if (file.getName().endsWith(suffix)) {
+					return file;
+				}
+			}
+		}
+		return null;
+	}
+
+	private static String read(File file) throws IOException {
+		final Reader reader = new InputStreamReader(new FileInputStream(file),
+				"UTF-8");
+		try {
+			final StringBuilder sb = new StringBuilder();
+			final char[] buffer = new char[4096];
+			int len;
+			while ((len = reader.read(buffer)) != -1) {
+				sb.append(buffer, 0, len);
+			}
+			return sb.toString();
+		} finally {
+			reader.close();
+		}
+	}
+
+	public void testReports() throws IOException {
+		final BuildProfiler profiler = new BuildProfiler(true, directory, 2);
+		// two workers
+		profiler.buildStarted();
+		profiler.buildStarted();
+		final IBuildContext fast = context("fast.js");
+		final IBuildContext slow = context("slow.js");
+		final IBuildContext medium = context("medium.js");
+		profiler.record(fast, BuildProfiler.PARSE, ago(1));
+		profiler.record(slow, BuildProfiler.PARSE, ago(5));
+		profiler.enter(slow);
+		profiler.record(BuildProfiler.INFERENCE, ago(100));
+		// nested into the inference, not added to the total
+		profiler.record(BuildProfiler.TYPE_CHECK, ago(50));
+		profiler.exit();
+		profiler.record(medium, BuildProfiler.INFERENCE, ago(30));
+		profiler.buildFinished();
+		assertNull("reports are written after the last worker", find(".txt"));
+		profiler.buildFinished();
+
+		final String report = read(find(".txt"));
+		assertTrue(report, report.contains("3 modules"));
+		final int slowIndex = report.indexOf("slow.js");
+		final int mediumIndex = report.indexOf("medium.js");
+		assertTrue(report, slowIndex > 0 && mediumIndex > slowIndex);
+		assertFalse("only top 2 reported", report.contains("fast.js"));
+
+		final String trace = read(find(".json"));
+		assertTrue(trace, trace.startsWith("{\"traceEvents\":["));
+		assertTrue(trace, trace.trim().endsWith("]}"));
+		assertEquals(5, trace.split("\"ph\":\"X\"").length - 1);
+		assertTrue(trace, trace.contains("\"name\":\"typecheck\""));
+		assertTrue(trace, trace.contains("\"module\":\"slow.js\""));
+	}
+
+	public void testDisabled() {
+		final BuildProfiler profiler = new BuildProfiler(false, directory, 2);
+		profiler.buildStarted();
+		assertEquals(0, profiler.start());
+		profiler.record(context("a.js"), BuildProfiler.PARSE, 0);
+		profiler.buildFinished();
+		assertFalse(directory.exists());
+	}
+
+}
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.javascript.core.tests.validation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.dltk.ast.ASTNode;
+import org.eclipse.dltk.compiler.problem.IProblem;
+import org.eclipse.dltk.core.builder.IBuildParticipant;
+import org.eclipse.dltk.core.tests.util.StringList;
+import org.eclipse.dltk.internal.javascript.ti.ITypeInferenceContext;
+import org.eclipse.dltk.javascript.ast.FunctionStatement;
+import org.eclipse.dltk.javascript.ast.Identifier;
+import org.eclipse.dltk.javascript.ast.VoidExpression;
+import org.eclipse.dltk.javascript.core.JavaScriptProblems;
+import org.eclipse.dltk.javascript.core.tests.AbstractValidationTest;
+import org.eclipse.dltk.javascript.parser.JSProblemReporter;
+import org.eclipse.dltk.javascript.typeinference.IValueReference;
+
+/**
+ * Runs the delayed validations for the receiver after each statement, which
+ * should give the same problems as running them all at the end.
+ */
+@SuppressWarnings("restriction")
+public class DelayedValidationTests extends AbstractValidationTest {
+
+	private boolean eager;
+
+	@Override
+	protected IBuildParticipant createValidator() {
+		return new TestTypeInfoValidator() {
+			@Override
+			protected ValidationVisitor createValidationVisitor(
+					ITypeInferenceContext context, JSProblemReporter reporter,
+					Set<FunctionStatement> inconsistentReturns,
+					boolean hasDependents) {
+				if (!eager) {
+					return super.createValidationVisitor(context, reporter,
+							inconsistentReturns, hasDependents);
+				}
+				return new ValidationVisitor(context, reporter,
+						inconsistentReturns, hasDependents) {
+					private IValueReference receiver;
+
+					@Override
+					public IValueReference visit(ASTNode node) {
+						final IValueReference value = super.visit(node);
+						if (node instanceof Identifier) {
+							receiver = value;
+						} else if (node instanceof VoidExpression
+								&& receiver != null) {
+							runDelayedValidationsFor(receiver);
+							receiver = null;
+						}
+						return value;
+					}
+				};
+			}
+		};
+	}
+
+	private static String generate(int statements, int receivers) {
+		final StringList code = new StringList();
+		code.add("function big() {");
+		for (int i = 0; i < receivers; ++i) {
+			code.add("  var o" + i + " = new Object();");
+		}
+		for (int i = 0; i < statements; ++i) {
+			if (i % 10 == 0) {
+				code.add("  o" + (i % receivers) + ".missing" + i + "();");
+			} else {
+				code.add("  o" + (i % receivers) + ".toString();");
+			}
+		}
+		code.add("}");
+		return code.toString();
+	}
+
+	private static List<String> toStrings(List<IProblem> problems) {
+		final List<String> result = new ArrayList<String>();
+		for (IProblem problem : problems) {
+			result.add(problem.getID() + "@" + problem.getSourceStart() + ":"
+					+ problem.getMessage());
+		}
+		Collections.sort(result);
+		return result;
+	}
+
+	public void testEagerSameAsDeferred() {
+		final String code = generate(500, 20);
+		eager = false;
+		final List<IProblem> deferred = validate(code);
+		eager = true;
+		final List<IProblem> immediate = validate(code);
+		assertEquals(50, deferred.size());
+		for (IProblem problem : deferred) {
+			assertEquals(JavaScriptProblems.UNDEFINED_METHOD, problem.getID());
+		}
+		assertEquals(toStrings(deferred), toStrings(immediate));
+	}
+
+	public void testLargeFunction() {
+		final String code = generate(5000, 50);
+		eager = true;
+		final List<IProblem> problems = validate(code);
+		assertEquals(500, problems.size());
+	}
+
+}
@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.javascript.core.tests.validation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.dltk.ast.ASTNode;
+import org.eclipse.dltk.compiler.problem.IProblem;
+import org.eclipse.dltk.core.builder.IBuildParticipant;
+import org.eclipse.dltk.core.tests.util.StringList;
+import org.eclipse.dltk.internal.javascript.validation.CodeChecker;
+import org.eclipse.dltk.internal.javascript.validation.CodeValidation;
+import org.eclipse.dltk.internal.javascript.validation.CodeValidationFactory;
+import org.eclipse.dltk.internal.javascript.validation.FlowValidation;
+import org.eclipse.dltk.internal.javascript.validation.NodeChecker;
+import org.eclipse.dltk.internal.javascript.validation.NodeCheckers;
+import org.eclipse.dltk.javascript.ast.CatchClause;
+import org.eclipse.dltk.javascript.ast.FinallyClause;
+import org.eclipse.dltk.javascript.ast.SwitchComponent;
+import org.eclipse.dltk.javascript.core.JavaScriptProblems;
+import org.eclipse.dltk.javascript.core.tests.AbstractValidationTest;
+
+@SuppressWarnings("restriction")
+public class FusedValidationTests extends AbstractValidationTest {
+
+	private boolean fused;
+
+	@Override
+	protected IBuildParticipant createValidator() {
+		if (fused) {
+			return new FlowValidation(new CodeChecker());
+		} else {
+			return new CompoundBuildParticipant(new CodeValidation(),
+					new FlowValidation());
+		}
+	}
+
+	private static List<String> toStrings(List<IProblem> problems) {
+		final List<String> result = new ArrayList<String>();
+		for (IProblem problem : problems) {
+			result.add(problem.getID() + "@" + problem.getSourceStart() + ".."
+					+ problem.getSourceEnd() + ":" + problem.getMessage());
+		}
+		Collections.sort(result);
+		return result;
+	}
+
+	private List<String> assertSameProblems(String code) {
+		fused = false;
+		final List<String> expected = toStrings(validate(code));
+		fused = true;
+		final List<String> actual = toStrings(validate(code));
+		assertEquals(expected, actual);
+		return actual;
+	}
+
+	public void testCodeProblemsInUnreachableCode() {
+		StringList code = new StringList();
+		code.add("function q(a) {");
+		code.add("  return 1");
+		code.add("  var x = {a:1, a:2}");
+		code.add("  ++1");
+		code.add("}");
+		assertEquals(3, assertSameProblems(code.toString()).size());
+	}
+
+	public void testCodeProblemsInReturnValue() {
+		StringList code = new StringList();
+		code.add("function q(a) {");
+		code.add("  return {a:1, b:2, a:3}");
+		code.add("}");
+		final List<IProblem> problems = validate(code.toString());
+		assertEquals(1, problems.size());
+		assertEquals(JavaScriptProblems.DUPLICATE_PROPERTY_IN_LITERAL,
+				problems.get(0).getID());
+		assertSameProblems(code.toString());
+	}
+
+	public void testEqualAsAssignInConditions() {
+		StringList code = new StringList();
+		code.add("function q(a) {");
+		code.add("  if (a = 1) return 1");
+		code.add("  while (a = 2) { a-- }");
+		code.add("  do { a++ } while (a = 3)");
+		code.add("  return 0");
+		code.add("}");
+		assertEquals(3, assertSameProblems(code.toString()).size());
+	}
+
+	public void testLabelsInSwitch() {
+		StringList code = new StringList();
+		code.add("function q(a) {");
+		code.add("  A: while (a) {");
+		code.add("    switch (a) {");
+		code.add("    case 1: return 1; break A;");
+		code.add("    case 2: continue A;");
+		code.add("    }");
+		code.add("  }");
+		code.add("  B: a++");
+		code.add("  if (a) { break B; }");
+		code.add("}");
+		assertSameProblems(code.toString());
+	}
+
+	public void testNestedFunctionsAndAccessors() {
+		StringList code = new StringList();
+		code.add("var x = {");
+		code.add("  get p() { if (this.q = 1) return 1; else return '' },");
+		code.add("  set p(v) { 1 = v },");
+		code.add("  f: function() { L: for(;;) { break L; } continue L; }");
+		code.add("}");
+		code.add("function g() { if (x) return 1; }");
+		assertSameProblems(code.toString());
+	}
+
+	public void testCodeValidationFactoryIsFused() throws Exception {
+		assertNull(new CodeValidationFactory().createBuildParticipant(null));
+	}
+
+	private static class ClauseChecker extends NodeChecker {
+		final List<String> entered = new ArrayList<String>();
+
+		@Override
+		public Class<?>[] getNodeKinds() {
+			return new Class<?>[] { CatchClause.class, FinallyClause.class,
+					SwitchComponent.class };
+		}
+
+		@Override
+		public void enter(ASTNode node) {
+			entered.add(node.getClass().getSimpleName());
+		}
+	}
+
+	public void testClausesDispatched() throws Exception {
+		final StringList code = new StringList();
+		code.add("try { x() } catch (e) { y() } finally { z() }");
+		code.add("switch (a) { case 1: break; default: }");
+		final List<String> expected = Arrays.asList("CatchClause",
+				"FinallyClause", "CaseClause", "DefaultClause");
+		final ClauseChecker flow = new ClauseChecker();
+		new FlowValidation(flow).build(new TestBuildContext(code.toString()));
+		assertEquals(expected, flow.entered);
+		final ClauseChecker walked = new ClauseChecker();
+		new NodeCheckers(walked).walk(parse(code.toString()));
+		assertEquals(expected, walked.entered);
+	}
+
+}
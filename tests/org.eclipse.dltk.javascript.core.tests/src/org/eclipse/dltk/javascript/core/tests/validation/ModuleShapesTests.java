@@ -0,0 +1,193 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.javascript.core.tests.validation;
+
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.dltk.compiler.problem.IProblem;
+import org.eclipse.dltk.core.builder.IBuildContext;
+import org.eclipse.dltk.core.tests.util.StringList;
+import org.eclipse.dltk.internal.javascript.ti.ITypeInferenceContext;
+import org.eclipse.dltk.internal.javascript.ti.TypeInferencer2;
+import org.eclipse.dltk.internal.javascript.validation.ModuleShapes;
+import org.eclipse.dltk.internal.javascript.validation.TypeInfoValidator;
+import org.eclipse.dltk.internal.javascript.validation.ValidationResultCache;
+import org.eclipse.dltk.javascript.ast.FunctionStatement;
+import org.eclipse.dltk.javascript.core.tests.typeinference.TestTypeInferencer2;
+import org.eclipse.dltk.javascript.parser.JSProblemReporter;
+import org.eclipse.dltk.javascript.parser.tests.AbstractJSParserTest;
+
+@SuppressWarnings("restriction")
+public class ModuleShapesTests extends AbstractJSParserTest {
+
+	private static final String FILE_NAME = "shapes.js";
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		forget();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		forget();
+		super.tearDown();
+	}
+
+	private static void forget() {
+		ModuleShapes.INSTANCE.remove(new Path(FILE_NAME));
+		final ValidationResultCache cache = ValidationResultCache
+				.getInstance();
+		if (cache != null) {
+			cache.remove(TypeInfoValidator.ID, new Path(FILE_NAME));
+		}
+	}
+
+	private String shapeOf(String code) {
+		final TypeInferencer2 inferencer = new TestTypeInferencer2();
+		inferencer.doInferencing(parse(code));
+		return ModuleShapes.fingerprint(inferencer.getCollection());
+	}
+
+	public void testFunctionBodyChange() {
+		StringList v1 = new StringList();
+		v1.add("/** @param {String} a */");
+		v1.add("function f(a) { var x = a.length; return x > 1; }");
+		v1.add("var y = {name: 'y'}");
+		StringList v2 = new StringList();
+		v2.add("/** @param {String} a */");
+		v2.add("function f(a) { var z = 2; return a == 'z'; }");
+		v2.add("var y = {name: 'q'}");
+		assertEquals(shapeOf(v1.toString()), shapeOf(v2.toString()));
+	}
+
+	public void testSignatureChange() {
+		final String base = shapeOf("function f(a) { return 1 }");
+		assertFalse(base.equals(shapeOf("function f(a, b) { return 1 }")));
+		assertFalse(base.equals(shapeOf("function f(a) { return '1' }")));
+		assertFalse(base.equals(shapeOf("function g(a) { return 1 }")));
+		assertFalse(base.equals(shapeOf("/** @param {Number} a */\n"
+				+ "function f(a) { return 1 }")));
+	}
+
+	public void testExportedMemberChange() {
+		final String base = shapeOf("var y = {name: 'y'}");
+		assertFalse(base.equals(shapeOf("var y = {name: 1}")));
+		assertFalse(base.equals(shapeOf("var y = {name: 'y', id: 1}")));
+	}
+
+	private int inferenceCount;
+
+	private List<IProblem> build(String code) throws CoreException {
+		return build(code, IBuildContext.INCREMENTAL_BUILD);
+	}
+
+	private List<IProblem> build(String code, final int buildType)
+			throws CoreException {
+		final TestBuildContext context = new TestBuildContext(code) {
+			@Override
+			public String getFileName() {
+				return FILE_NAME;
+			}
+
+			@Override
+			public int getBuildType() {
+				return buildType;
+			}
+		};
+		new TestTypeInfoValidator() {
+			@Override
+			protected ValidationVisitor createValidationVisitor(
+					ITypeInferenceContext context, JSProblemReporter reporter,
+					Set<FunctionStatement> inconsistentReturns,
+					boolean hasDependents) {
+				++inferenceCount;
+				return super.createValidationVisitor(context, reporter,
+						inconsistentReturns, hasDependents);
+			}
+		}.build(context);
+		return context.getProblems();
+	}
+
+	public void testUnchangedModuleReusesResults() throws CoreException {
+		final String code = "var x = new Object(); x.longString();";
+		final List<IProblem> first = build(code);
+		assertEquals(1, first.size());
+		assertEquals(1, inferenceCount);
+		final List<IProblem> second = build(code);
+		assertEquals(1, inferenceCount);
+		assertEquals(first.toString(), second.toString());
+		assertNotNull(ModuleShapes.INSTANCE.getShape(new Path(FILE_NAME)));
+		build(code + "\nx.toString();");
+		assertEquals(2, inferenceCount);
+	}
+
+	public void testPersistentResults() throws CoreException {
+		if (ValidationResultCache.getInstance() == null) {
+			return;
+		}
+		final String code = "var x = new Object(); x.longString();";
+		final List<IProblem> first = build(code);
+		assertEquals(1, inferenceCount);
+		// as after the restart
+		ModuleShapes.INSTANCE.remove(new Path(FILE_NAME));
+		final List<IProblem> second = build(code);
+		assertEquals(1, inferenceCount);
+		assertEquals(1, second.size());
+		assertEquals(first.get(0).getID(), second.get(0).getID());
+		assertEquals(first.get(0).getSourceStart(), second.get(0)
+				.getSourceStart());
+	}
+
+	public void testFullBuildReusesPersistentResults() throws CoreException {
+		if (ValidationResultCache.getInstance() == null) {
+			return;
+		}
+		final String code = "var x = new Object(); x.longString();";
+		build(code);
+		assertEquals(1, inferenceCount);
+		ModuleShapes.INSTANCE.remove(new Path(FILE_NAME));
+		new TestTypeInfoValidator().beginBuild(IBuildContext.FULL_BUILD);
+		assertEquals(1, build(code, IBuildContext.FULL_BUILD).size());
+		assertEquals(1, inferenceCount);
+	}
+
+	public void testBeginBuildKeepsSharedState() {
+		final Path other = new Path("/other/a.js");
+		try {
+			ModuleShapes.INSTANCE.updateShape(other, "a");
+			new TestTypeInfoValidator().beginBuild(IBuildContext.FULL_BUILD);
+			assertEquals("a", ModuleShapes.INSTANCE.getShape(other));
+		} finally {
+			ModuleShapes.INSTANCE.remove(other);
+		}
+	}
+
+	public void testRemoveAll() {
+		final Path a = new Path("/p/a.js");
+		final Path b = new Path("/q/b.js");
+		try {
+			ModuleShapes.INSTANCE.updateShape(a, "a");
+			ModuleShapes.INSTANCE.updateShape(b, "b");
+			ModuleShapes.INSTANCE.removeAll(new Path("/p"));
+			assertNull(ModuleShapes.INSTANCE.getShape(a));
+			assertEquals("b", ModuleShapes.INSTANCE.getShape(b));
+		} finally {
+			ModuleShapes.INSTANCE.remove(a);
+			ModuleShapes.INSTANCE.remove(b);
+		}
+	}
+
+}
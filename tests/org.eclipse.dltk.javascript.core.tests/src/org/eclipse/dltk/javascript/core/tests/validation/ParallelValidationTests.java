@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.javascript.core.tests.validation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.dltk.compiler.problem.IProblem;
+import org.eclipse.dltk.core.builder.IBuildContext;
+import org.eclipse.dltk.core.builder.IBuildParticipant;
+import org.eclipse.dltk.core.tests.util.StringList;
+import org.eclipse.dltk.internal.javascript.validation.FlowValidationFactory;
+import org.eclipse.dltk.internal.javascript.validation.ParallelValidation;
+
+@SuppressWarnings("restriction")
+public class ParallelValidationTests extends TestCase {
+
+	public void testPartitionIndependent() {
+		final List<String> modules = Arrays.asList("a", "b", "c");
+		final List<List<String>> levels = ParallelValidation.partition(
+				modules, new HashMap<String, Collection<String>>());
+		assertEquals(1, levels.size());
+		assertEquals(modules, levels.get(0));
+	}
+
+	public void testPartitionChain() {
+		final String a = "a", b = "b", c = "c";
+		final Map<String, Collection<String>> deps = new HashMap<String, Collection<String>>();
+		deps.put(a, Arrays.asList(b));
+		deps.put(b, Arrays.asList(c));
+		final List<List<String>> levels = ParallelValidation.partition(
+				Arrays.asList(a, b, c), deps);
+		assertEquals(3, levels.size());
+		assertEquals(Arrays.asList(c), levels.get(0));
+		assertEquals(Arrays.asList(b), levels.get(1));
+		assertEquals(Arrays.asList(a), levels.get(2));
+	}
+
+	public void testPartitionCycle() {
+		final String a = "a", b = "b", c = "c";
+		final Map<String, Collection<String>> deps = new HashMap<String, Collection<String>>();
+		deps.put(a, Arrays.asList(b));
+		deps.put(b, Arrays.asList(a));
+		final List<List<String>> levels = ParallelValidation.partition(
+				Arrays.asList(a, b, c), deps);
+		assertEquals(Arrays.asList(c), levels.get(0));
+		assertEquals(Arrays.asList(a), levels.get(1));
+		assertEquals(Arrays.asList(b), levels.get(2));
+	}
+
+	private static String generateModule(int index) {
+		final StringList code = new StringList();
+		code.add("function f" + index + "(a) {");
+		code.add("  if (a) return 1");
+		code.add("  return");
+		code.add("  a++");
+		code.add("}");
+		code.add("var x" + index + " = f" + index + "(1).unknown" + index
+				+ "()");
+		return code.toString();
+	}
+
+	private List<List<String>> validate(int workers) throws CoreException {
+		final List<IBuildContext> contexts = new ArrayList<IBuildContext>();
+		for (int i = 0; i < 200; ++i) {
+			contexts.add(new TestBuildContext(generateModule(i)));
+		}
+		new ParallelValidation(new ParallelValidation.ParticipantChainFactory() {
+			public IBuildParticipant[] createParticipants()
+					throws CoreException {
+				return new IBuildParticipant[] {
+						new FlowValidationFactory()
+								.createBuildParticipant(null),
+						new TestTypeInfoValidator() };
+			}
+		}, workers).build(contexts, null, IBuildContext.FULL_BUILD, null);
+		final List<List<String>> result = new ArrayList<List<String>>();
+		for (IBuildContext context : contexts) {
+			final List<String> problems = new ArrayList<String>();
+			for (IProblem problem : ((TestBuildContext) context).getProblems()) {
+				problems.add(problem.getID() + ":" + problem.getSourceStart()
+						+ ":" + problem.getMessage());
+			}
+			result.add(problems);
+		}
+		return result;
+	}
+
+	public void testSameProblemsAsSequential() throws CoreException {
+		final List<List<String>> sequential = validate(1);
+		assertFalse(sequential.get(0).isEmpty());
+		assertEquals(sequential, validate(4));
+	}
+
+	public void testInterruptCancels() throws Exception {
+		final List<IBuildContext> contexts = new ArrayList<IBuildContext>();
+		for (int i = 0; i < 10; ++i) {
+			contexts.add(new TestBuildContext(generateModule(i)));
+		}
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final List<IBuildContext> built = new ArrayList<IBuildContext>();
+		final Thread caller = Thread.currentThread();
+		final Thread interrupter = new Thread() {
+			@Override
+			public void run() {
+				try {
+					started.await();
+					caller.interrupt();
+				} catch (InterruptedException e) {
+					// ignore
+				} finally {
+					release.countDown();
+				}
+			}
+		};
+		interrupter.start();
+		try {
+			new ParallelValidation(
+					new ParallelValidation.ParticipantChainFactory() {
+						public IBuildParticipant[] createParticipants() {
+							return new IBuildParticipant[] { new IBuildParticipant() {
+								public void build(IBuildContext context)
+										throws CoreException {
+									synchronized (built) {
+										built.add(context);
+									}
+									started.countDown();
+									try {
+										release.await();
+									} catch (InterruptedException e) {
+										// ignore
+									}
+								}
+							} };
+						}
+					}, 1).build(contexts, null, IBuildContext.FULL_BUILD, null);
+			fail("OperationCanceledException expected");
+		} catch (OperationCanceledException e) {
+			assertTrue(Thread.interrupted());
+		} finally {
+			interrupter.join();
+		}
+		assertTrue(built.size() < contexts.size());
+	}
+
+}
@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.javascript.core.tests.validation;
+
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.eclipse.dltk.compiler.problem.DefaultProblem;
+import org.eclipse.dltk.compiler.problem.IProblem;
+import org.eclipse.dltk.compiler.problem.IProblemIdentifier;
+import org.eclipse.dltk.compiler.problem.IProblemSeverityTranslator;
+import org.eclipse.dltk.compiler.problem.ProblemCollector;
+import org.eclipse.dltk.compiler.problem.ProblemSeverity;
+import org.eclipse.dltk.internal.javascript.validation.ProblemBatch;
+import org.eclipse.dltk.javascript.core.JavaScriptProblems;
+
+@SuppressWarnings("restriction")
+public class ProblemBatchTests extends TestCase {
+
+	private static IProblem warning(int start) {
+		return new DefaultProblem("x is undefined",
+				JavaScriptProblems.UNDECLARED_VARIABLE, new String[] { "x" },
+				ProblemSeverity.WARNING, start, start + 1, start / 10);
+	}
+
+	private static IProblem error(int start) {
+		return new DefaultProblem("unreachable code",
+				JavaScriptProblems.UNREACHABLE_CODE, null,
+				ProblemSeverity.ERROR, start, start + 1, 0);
+	}
+
+	public void testBatchedUntilFlush() {
+		final ProblemCollector collector = new ProblemCollector();
+		final ProblemBatch batch = new ProblemBatch(collector, 0);
+		batch.reportProblem(warning(1));
+		batch.reportProblem(error(2));
+		assertTrue(collector.getProblems().isEmpty());
+		batch.flush();
+		assertEquals(2, collector.getProblems().size());
+		batch.flush();
+		assertEquals(2, collector.getProblems().size());
+	}
+
+	public void testDuplicates() {
+		final ProblemCollector collector = new ProblemCollector();
+		final ProblemBatch batch = new ProblemBatch(collector, 0);
+		batch.reportProblem(warning(1));
+		batch.reportProblem(warning(1));
+		batch.reportProblem(warning(2));
+		batch.flush();
+		// reported again by the next validator of the same module
+		batch.reportProblem(warning(1));
+		batch.flush();
+		assertEquals(2, collector.getProblems().size());
+	}
+
+	public void testLimit() {
+		final ProblemCollector collector = new ProblemCollector();
+		final ProblemBatch batch = new ProblemBatch(collector, 3);
+		for (int i = 0; i < 10; ++i) {
+			batch.reportProblem(warning(i));
+		}
+		batch.reportProblem(error(100));
+		batch.flush();
+		assertEquals(7, batch.getDroppedCount());
+		final List<IProblem> problems = collector.getProblems();
+		// 3 warnings, the error and the limit notification
+		assertEquals(5, problems.size());
+		int errors = 0;
+		int limits = 0;
+		for (IProblem problem : problems) {
+			if (problem.isError()) {
+				++errors;
+			} else if (problem.getID() == JavaScriptProblems.TOO_MANY_PROBLEMS) {
+				++limits;
+			}
+		}
+		assertEquals(1, errors);
+		assertEquals(1, limits);
+		batch.reportProblem(warning(50));
+		batch.flush();
+		assertEquals("limit is reported once", 5, collector.getProblems()
+				.size());
+	}
+
+	public void testLimitNoticeLocation() {
+		final ProblemCollector collector = new ProblemCollector();
+		final ProblemBatch batch = new ProblemBatch(collector, 2);
+		for (int i = 0; i < 5; ++i) {
+			batch.reportProblem(warning(i * 10));
+		}
+		batch.flush();
+		final IProblem notice = collector.getProblems().get(2);
+		assertEquals(JavaScriptProblems.TOO_MANY_PROBLEMS, notice.getID());
+		assertEquals(20, notice.getSourceStart());
+		assertEquals(2, notice.getSourceLineNumber());
+	}
+
+	public void testLimitAfterSeverityTranslation() {
+		final ProblemCollector collector = new ProblemCollector();
+		final ProblemBatch batch = new ProblemBatch(collector, 1,
+				new IProblemSeverityTranslator() {
+					public ProblemSeverity getSeverity(
+							IProblemIdentifier problemId,
+							ProblemSeverity defaultServerity) {
+						return problemId == JavaScriptProblems.UNDECLARED_VARIABLE ? ProblemSeverity.ERROR
+								: defaultServerity;
+					}
+				});
+		for (int i = 0; i < 5; ++i) {
+			batch.reportProblem(warning(i));
+		}
+		batch.flush();
+		assertEquals(0, batch.getDroppedCount());
+		assertEquals(5, collector.getProblems().size());
+	}
+
+}
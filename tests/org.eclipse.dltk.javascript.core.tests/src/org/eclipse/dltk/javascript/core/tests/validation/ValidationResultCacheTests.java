@@ -0,0 +1,201 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.javascript.core.tests.validation;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.dltk.compiler.problem.DefaultProblem;
+import org.eclipse.dltk.compiler.problem.IProblem;
+import org.eclipse.dltk.compiler.problem.ProblemSeverity;
+import org.eclipse.dltk.internal.javascript.validation.ValidationResultCache;
+import org.eclipse.dltk.javascript.core.JavaScriptProblems;
+
+@SuppressWarnings("restriction")
+public class ValidationResultCacheTests extends TestCase {
+
+	private static final String VALIDATOR = "test";
+	private static final IPath PATH = new Path("/project/src/a.js");
+	private static final IPath DEPENDENCY = new Path("/project/src/b.js");
+
+	private File directory;
+	private ValidationResultCache cache;
+	private final Map<IPath, String> contents = new HashMap<IPath, String>();
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		directory = File.createTempFile("validation", "");
+		directory.delete();
+		cache = new ValidationResultCache(directory) {
+			@Override
+			protected String currentContentHash(IPath path) {
+				return contents.get(path);
+			}
+		};
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		cache.clear();
+		directory.delete();
+		super.tearDown();
+	}
+
+	private static List<IProblem> problems() {
+		final List<IProblem> problems = new ArrayList<IProblem>();
+		problems.add(new DefaultProblem("x is undefined",
+				JavaScriptProblems.UNDECLARED_VARIABLE, new String[] { "x" },
+				ProblemSeverity.WARNING, 10, 11, 2));
+		problems.add(new DefaultProblem("unreachable code",
+				JavaScriptProblems.UNREACHABLE_CODE, null,
+				ProblemSeverity.ERROR, 20, 30, 3));
+		return problems;
+	}
+
+	private void store(String contentHash, String preferenceHash) {
+		cache.store(VALIDATOR, PATH, new ValidationResultCache.Entry(
+				contentHash, preferenceHash, "shape", Collections
+						.<IPath, String> emptyMap(), problems()));
+	}
+
+	public void testRoundTrip() throws IOException {
+		store("c1", "p1");
+		final ValidationResultCache.Entry entry = cache.lookup(VALIDATOR,
+				PATH, "c1", "p1");
+		assertNotNull(entry);
+		final List<IProblem> expected = problems();
+		final List<IProblem> actual = entry.getProblems();
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); ++i) {
+			final IProblem e = expected.get(i);
+			final IProblem a = actual.get(i);
+			assertEquals(e.getID(), a.getID());
+			assertEquals(e.getMessage(), a.getMessage());
+			assertEquals(e.getSourceStart(), a.getSourceStart());
+			assertEquals(e.getSourceEnd(), a.getSourceEnd());
+			assertEquals(e.getSourceLineNumber(), a.getSourceLineNumber());
+			assertEquals(e.isError(), a.isError());
+		}
+	}
+
+	public void testChangedContent() {
+		store("c1", "p1");
+		assertNull(cache.lookup(VALIDATOR, PATH, "c2", "p1"));
+	}
+
+	public void testChangedPreferences() {
+		store("c1", "p1");
+		assertNull(cache.lookup(VALIDATOR, PATH, "c1", "p2"));
+	}
+
+	public void testLongStrings() {
+		final StringBuilder sb = new StringBuilder();
+		while (sb.length() < 100000) {
+			sb.append("\u043f\u0440\u0438\u0432\u0435\u0442 ");
+		}
+		final String shape = sb.toString();
+		cache.store(VALIDATOR, PATH, new ValidationResultCache.Entry("c1",
+				"p1", shape, Collections.<IPath, String> emptyMap(),
+				problems()));
+		final ValidationResultCache.Entry entry = cache.lookup(VALIDATOR,
+				PATH, "c1", "p1");
+		assertNotNull(entry);
+		assertEquals(shape, entry.getShape());
+	}
+
+	public void testRemovePath() {
+		store("c1", "p1");
+		cache.store("other", PATH, new ValidationResultCache.Entry("c1",
+				"p1", null, Collections.<IPath, String> emptyMap(),
+				problems()));
+		cache.remove(PATH);
+		assertNull(cache.lookup(VALIDATOR, PATH, "c1", "p1"));
+		assertNull(cache.lookup("other", PATH, "c1", "p1"));
+	}
+
+	public void testRemoveProject() {
+		final IPath other = new Path("/other/a.js");
+		store("c1", "p1");
+		cache.store(VALIDATOR, other, new ValidationResultCache.Entry("c1",
+				"p1", null, Collections.<IPath, String> emptyMap(),
+				problems()));
+		cache.removeProject(PATH.segment(0));
+		assertNull(cache.lookup(VALIDATOR, PATH, "c1", "p1"));
+		assertNotNull(cache.lookup(VALIDATOR, other, "c1", "p1"));
+	}
+
+	public void testOtherValidator() {
+		store("c1", "p1");
+		assertNull(cache.lookup("other", PATH, "c1", "p1"));
+		cache.remove(VALIDATOR, PATH);
+		assertNull(cache.lookup(VALIDATOR, PATH, "c1", "p1"));
+	}
+
+	private void storeDependency(String contentHash, String shape) {
+		contents.put(DEPENDENCY, contentHash);
+		cache.store(VALIDATOR, DEPENDENCY, new ValidationResultCache.Entry(
+				contentHash, "p1", shape, Collections.<IPath, String> emptyMap(),
+				problems()));
+	}
+
+	private void storeDependent() {
+		final Map<IPath, String> states = cache.statesOf(VALIDATOR,
+				Collections.singletonList(DEPENDENCY));
+		assertNotNull(states);
+		cache.store(VALIDATOR, PATH, new ValidationResultCache.Entry("c1",
+				"p1", "shape", states, problems()));
+	}
+
+	public void testDependencyShapeUnchanged() {
+		storeDependency("b1", "s1");
+		storeDependent();
+		assertNotNull(cache.lookup(VALIDATOR, PATH, "c1", "p1"));
+		storeDependency("b2", "s1");
+		assertNotNull(cache.lookup(VALIDATOR, PATH, "c1", "p1"));
+	}
+
+	public void testDependencyShapeChanged() {
+		storeDependency("b1", "s1");
+		storeDependent();
+		storeDependency("b2", "s2");
+		assertNull(cache.lookup(VALIDATOR, PATH, "c1", "p1"));
+	}
+
+	public void testDependencyNotValidatedYet() {
+		storeDependency("b1", "s1");
+		storeDependent();
+		// the content has changed, but the dependency is not validated yet
+		contents.put(DEPENDENCY, "b2");
+		assertNull(cache.lookup(VALIDATOR, PATH, "c1", "p1"));
+	}
+
+	public void testDependencyWithoutShape() {
+		contents.put(DEPENDENCY, "b1");
+		storeDependent();
+		assertNotNull(cache.lookup(VALIDATOR, PATH, "c1", "p1"));
+		contents.put(DEPENDENCY, "b2");
+		assertNull(cache.lookup(VALIDATOR, PATH, "c1", "p1"));
+		contents.remove(DEPENDENCY);
+		assertNull(cache.lookup(VALIDATOR, PATH, "c1", "p1"));
+	}
+
+}
@@ -46,6 +46,8 @@ public class AllTests {
 		suite.addTest(StatementTest.suite());
 		suite.addTest(VarTest.suite());
 		suite.addTest(ObjectInitializerTest.suite());
+		suite.addTestSuite(RangeFormatTest.class);
+		suite.addTestSuite(BatchFormatterTest.class);
 		suite.addTestSuite(JavaScriptStreamTokenTestCase.class);
 		suite.addTestSuite(JavaScriptParserTestCase.class);
 		suite.addTestSuite(ANTLRParserTestCase.class);
@@ -0,0 +1,227 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.javascript.formatter.tests;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+import org.eclipse.dltk.javascript.formatter.BatchFormatter;
+import org.eclipse.dltk.javascript.formatter.JavaScriptFormatterConstants;
+import org.eclipse.dltk.javascript.internal.formatter.tests.TestJavaScriptFormatter;
+
+public class BatchFormatterTest extends TestCase {
+
+	private static final String UNFORMATTED = "var  a  =  1;\nif(a){a=2;}\n";
+
+	private File directory;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		directory = File.createTempFile("batch", "");
+		directory.delete();
+		directory.mkdirs();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		delete(directory);
+		super.tearDown();
+	}
+
+	private static void delete(File file) {
+		final File[] children = file.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				delete(child);
+			}
+		}
+		file.delete();
+	}
+
+	private void write(String name, String content) throws IOException {
+		final File file = new File(directory, name);
+		file.getParentFile().mkdirs();
+		final Writer writer = new OutputStreamWriter(new FileOutputStream(
+				file), "UTF-8");
+		try {
+			writer.write(content);
+		} finally {
+			writer.close();
+		}
+	}
+
+	private String read(String name) throws IOException {
+		final Reader reader = new InputStreamReader(new FileInputStream(
+				new File(directory, name)), "UTF-8");
+		try {
+			final StringBuilder sb = new StringBuilder();
+			int c;
+			while ((c = reader.read()) != -1) {
+				sb.append((char) c);
+			}
+			return sb.toString();
+		} finally {
+			reader.close();
+		}
+	}
+
+	private static String format(String source) throws Exception {
+		return new TestJavaScriptFormatter("\n",
+				JavaScriptFormatterConstants.getDefaults()).format(source, 0);
+	}
+
+	private void createFiles() throws Exception {
+		write("formatted.js", format(UNFORMATTED));
+		write("lib/unformatted.js", UNFORMATTED);
+		write("lib/syntax.js", "var = ;\n");
+		write("readme.txt", UNFORMATTED);
+	}
+
+	private BatchFormatter.Result run(boolean checkOnly, int workers)
+			throws InterruptedException {
+		final BatchFormatter formatter = new BatchFormatter(directory);
+		formatter.setCheckOnly(checkOnly);
+		formatter.setWorkerCount(workers);
+		final BatchFormatter.Result result = formatter.run();
+		assertEquals(3, result.getFileCount());
+		return result;
+	}
+
+	public void testCheckOnly() throws Exception {
+		createFiles();
+		final BatchFormatter.Result result = run(true, 2);
+		assertEquals(Collections.singletonList("lib/unformatted.js"),
+				result.getChanged());
+		assertEquals(Collections.singleton("lib/syntax.js"), result
+				.getErrors().keySet());
+		assertEquals(UNFORMATTED, read("lib/unformatted.js"));
+	}
+
+	public void testFormat() throws Exception {
+		createFiles();
+		assertEquals(Arrays.asList("lib/unformatted.js"), run(false, 2)
+				.getChanged());
+		assertEquals(format(UNFORMATTED), read("lib/unformatted.js"));
+		assertEquals(UNFORMATTED, read("readme.txt"));
+		assertTrue(run(true, 2).getChanged().isEmpty());
+	}
+
+	public void testNoTemporaryFilesLeft() throws Exception {
+		createFiles();
+		run(false, 1);
+		final String[] names = new File(directory, "lib").list();
+		Arrays.sort(names);
+		assertEquals(Arrays.asList("syntax.js", "unformatted.js"),
+				Arrays.asList(names));
+	}
+
+	public void testMalformedInputReported() throws Exception {
+		final byte[] bytes = "var  a  =  '\u00e9';\n".getBytes("ISO-8859-1");
+		final File file = new File(directory, "latin1.js");
+		final OutputStream output = new FileOutputStream(file);
+		try {
+			output.write(bytes);
+		} finally {
+			output.close();
+		}
+		final BatchFormatter.Result result = new BatchFormatter(directory)
+				.run();
+		assertEquals(Collections.singleton("latin1.js"), result.getErrors()
+				.keySet());
+		assertTrue(result.getChanged().isEmpty());
+		final byte[] actual = new byte[(int) file.length()];
+		final InputStream input = new FileInputStream(file);
+		try {
+			assertEquals(actual.length, input.read(actual));
+		} finally {
+			input.close();
+		}
+		assertTrue(Arrays.equals(bytes, actual));
+	}
+
+	public void testWorkerCountDoesNotChangeResults() throws Exception {
+		createFiles();
+		for (int i = 0; i < 10; ++i) {
+			write("many/file" + i + ".js", UNFORMATTED);
+		}
+		final BatchFormatter single = new BatchFormatter(directory);
+		single.setCheckOnly(true);
+		single.setWorkerCount(1);
+		final BatchFormatter parallel = new BatchFormatter(directory);
+		parallel.setCheckOnly(true);
+		parallel.setWorkerCount(4);
+		final BatchFormatter.Result expected = single.run();
+		final BatchFormatter.Result actual = parallel.run();
+		assertEquals(11, actual.getChanged().size());
+		assertEquals(expected.getChanged(), actual.getChanged());
+		assertEquals(expected.getErrors(), actual.getErrors());
+	}
+
+	public void testLoadProperties() throws Exception {
+		write("profile.properties",
+				JavaScriptFormatterConstants.WRAP_COMMENTS_LENGTH + "=120\n"
+						+ JavaScriptFormatterConstants.KEEP_LINES + "=true\n"
+						+ "unknown.key=1\n");
+		final Map<String, Object> preferences = BatchFormatter
+				.loadProfile(new File(directory, "profile.properties"));
+		assertEquals(Integer.valueOf(120),
+				preferences.get(JavaScriptFormatterConstants.WRAP_COMMENTS_LENGTH));
+		assertEquals(Boolean.TRUE,
+				preferences.get(JavaScriptFormatterConstants.KEEP_LINES));
+		assertFalse(preferences.containsKey("unknown.key"));
+		assertEquals(
+				JavaScriptFormatterConstants
+						.getDefaultValue(JavaScriptFormatterConstants.INDENT_BLOCK),
+				preferences.get(JavaScriptFormatterConstants.INDENT_BLOCK));
+	}
+
+	public void testLoadXmlProfile() throws Exception {
+		write("profile.xml", "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+				+ "<profiles version=\"1\">\n<profile name=\"Test\">\n"
+				+ "<setting id=\""
+				+ JavaScriptFormatterConstants.FORMATTER_INDENTATION_SIZE
+				+ "\" value=\"8\"/>\n</profile>\n</profiles>\n");
+		final Map<String, Object> preferences = BatchFormatter
+				.loadProfile(new File(directory, "profile.xml"));
+		assertEquals(Integer.valueOf(8),
+				preferences
+						.get(JavaScriptFormatterConstants.FORMATTER_INDENTATION_SIZE));
+	}
+
+	public void testInvalidProfileValue() throws Exception {
+		write("profile.properties",
+				JavaScriptFormatterConstants.WRAP_COMMENTS_LENGTH + "=wide\n");
+		try {
+			BatchFormatter.loadProfile(new File(directory,
+					"profile.properties"));
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertTrue(e.getMessage(), e.getMessage().contains(
+					JavaScriptFormatterConstants.WRAP_COMMENTS_LENGTH));
+		}
+	}
+
+}
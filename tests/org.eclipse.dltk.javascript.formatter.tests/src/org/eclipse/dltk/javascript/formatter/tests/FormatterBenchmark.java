@@ -0,0 +1,321 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.javascript.formatter.tests;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Properties;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import org.eclipse.dltk.javascript.formatter.JavaScriptFormatter;
+import org.eclipse.dltk.javascript.internal.formatter.tests.TestJavaScriptFormatter;
+
+/**
+ * Measures the throughput, the allocation and the worst case latency of
+ * {@link JavaScriptFormatter#format(String, int)} on the inputs of the
+ * <code>scripts</code> fixtures and on the generated large inputs.
+ *
+ * <p>
+ * The benchmark is not the part of {@link AllTests}, and its {@link #suite()}
+ * is empty unless any of the <code>formatter.benchmark.*</code> system
+ * properties is set, e.g. <code>-Dformatter.benchmark.iterations=10</code> in
+ * the launch configuration. The measurements are configured with the
+ * properties:
+ * <ul>
+ * <li><code>formatter.benchmark.warmup</code> - the number of the warm-up
+ * iterations (0)</li>
+ * <li><code>formatter.benchmark.iterations</code> - the number of the
+ * measured iterations (1)</li>
+ * <li><code>formatter.benchmark.scale</code> - the multiplier of the size of
+ * the generated inputs (1)</li>
+ * <li><code>formatter.benchmark.output</code> - the properties file to write
+ * the results (nanoseconds per character) to</li>
+ * <li><code>formatter.benchmark.baseline</code> - the properties file with the
+ * results of the previous run, the workload fails if it is slower than the
+ * baseline more than <code>formatter.benchmark.tolerance</code> times
+ * (1.5)</li>
+ * </ul>
+ * </p>
+ */
+public class FormatterBenchmark extends TestCase {
+
+	private static final String PROPERTY_PREFIX = "formatter.benchmark.";
+
+	private static final int WARMUP = Integer.getInteger(
+			"formatter.benchmark.warmup", 0).intValue();
+	private static final int ITERATIONS = Math.max(1,
+			Integer.getInteger("formatter.benchmark.iterations", 1).intValue());
+	private static final int SCALE = Math.max(1,
+			Integer.getInteger("formatter.benchmark.scale", 1).intValue());
+
+	private final JavaScriptFormatter formatter = new TestJavaScriptFormatter();
+
+	/**
+	 * Returns the benchmark tests if any of the
+	 * <code>formatter.benchmark.*</code> system properties is set or the empty
+	 * suite otherwise.
+	 */
+	public static Test suite() {
+		for (String name : System.getProperties().stringPropertyNames()) {
+			if (name.startsWith(PROPERTY_PREFIX)) {
+				return new TestSuite(FormatterBenchmark.class);
+			}
+		}
+		return new TestSuite(FormatterBenchmark.class.getName());
+	}
+
+	public void testFixtures() throws Exception {
+		final List<String> inputs = new ArrayList<String>();
+		final Enumeration<URL> entries = JavaScriptFormatterTestsPlugin
+				.getDefault().getBundle().findEntries("scripts", "*.js", false);
+		assertNotNull(entries);
+		for (URL entry : Collections.list(entries)) {
+			readFixture(entry, inputs);
+		}
+		assertFalse(inputs.isEmpty());
+		measure("fixtures", inputs.toArray(new String[inputs.size()]), false);
+	}
+
+	public void testNestedObjectLiterals() throws Exception {
+		final int depth = 50 * SCALE;
+		final StringBuilder sb = new StringBuilder("var o = ");
+		for (int i = 0; i < depth; ++i) {
+			sb.append("{k").append(i).append(":").append(i)
+					.append(",s:'v").append(i).append("',n:");
+		}
+		sb.append("null");
+		for (int i = 0; i < depth; ++i) {
+			sb.append('}');
+		}
+		sb.append(";\n");
+		measure("nested-objects", new String[] { sb.toString() }, true);
+	}
+
+	public void testCallChains() throws Exception {
+		final int length = 200 * SCALE;
+		final StringBuilder sb = new StringBuilder("var r = a");
+		for (int i = 0; i < length; ++i) {
+			sb.append(".m").append(i % 10).append("(").append(i)
+					.append(",function(x){return x+").append(i).append("})");
+		}
+		sb.append(";\n");
+		measure("call-chains", new String[] { sb.toString() }, true);
+	}
+
+	public void testHugeArrays() throws Exception {
+		final int size = 5000 * SCALE;
+		final StringBuilder sb = new StringBuilder("var a = [");
+		for (int i = 0; i < size; ++i) {
+			if (i != 0) {
+				sb.append(',');
+			}
+			if (i % 10 == 0) {
+				sb.append("\n[").append(i).append(",'").append(i)
+						.append("']");
+			} else {
+				sb.append(i);
+			}
+		}
+		sb.append("];\n");
+		measure("huge-arrays", new String[] { sb.toString() }, true);
+	}
+
+	public void testE4X() throws Exception {
+		final int size = 500 * SCALE;
+		final StringBuilder sb = new StringBuilder(
+				"function f(v) {\nvar x = <root>\n");
+		for (int i = 0; i < size; ++i) {
+			sb.append("<item id=\"i").append(i).append("\">")
+					.append("<name>n").append(i).append("</name>{v}</item>\n");
+		}
+		sb.append("</root>;\nreturn x;\n}\n");
+		measure("e4x", new String[] { sb.toString() }, true);
+	}
+
+	/**
+	 * Adds the inputs of the sections of the scripted test to the list.
+	 */
+	private static void readFixture(URL entry, List<String> inputs)
+			throws IOException {
+		final BufferedReader reader = new BufferedReader(new InputStreamReader(
+				entry.openStream(),
+				JavaScriptFormatterTestsPlugin.CONTEXT.getCharset()));
+		try {
+			StringBuilder input = null;
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.startsWith("==>")) {
+					continue;
+				} else if (line.startsWith("====")) {
+					input = new StringBuilder();
+				} else if (line.equals("==")) {
+					if (input != null) {
+						inputs.add(input.toString());
+					}
+					input = null;
+				} else if (input != null) {
+					input.append(line).append('\n');
+				}
+			}
+		} finally {
+			reader.close();
+		}
+	}
+
+	private void measure(String name, String[] inputs, boolean checkContent)
+			throws Exception {
+		long length = 0;
+		for (String input : inputs) {
+			length += input.length();
+		}
+		for (int i = 0; i < WARMUP; ++i) {
+			for (String input : inputs) {
+				formatter.format(input, 0);
+			}
+		}
+		long total = 0;
+		long worst = 0;
+		long allocated = 0;
+		for (int i = 0; i < ITERATIONS; ++i) {
+			for (String input : inputs) {
+				final long bytes = allocatedBytes();
+				final long start = System.nanoTime();
+				final String output = formatter.format(input, 0);
+				final long time = System.nanoTime() - start;
+				if (bytes >= 0) {
+					allocated += allocatedBytes() - bytes;
+				}
+				total += time;
+				worst = Math.max(worst, time);
+				if (i == 0 && checkContent) {
+					assertEquals(name, removeWhitespace(input),
+							removeWhitespace(output));
+				}
+			}
+		}
+		final double nanosPerChar = (double) total / ITERATIONS / length;
+		System.out.println(String.format(
+				"%s: %d chars, %.1f KB/s, worst %.3f ms, %d bytes/char",
+				name, length, 1e9 / 1024 / nanosPerChar, worst / 1e6,
+				allocated / ITERATIONS / length));
+		compareWithBaseline(name, nanosPerChar);
+		storeResult(name, nanosPerChar);
+	}
+
+	private static String removeWhitespace(String value) {
+		final StringBuilder sb = new StringBuilder(value.length());
+		for (int i = 0; i < value.length(); ++i) {
+			final char c = value.charAt(i);
+			if (!Character.isWhitespace(c)) {
+				sb.append(c);
+			}
+		}
+		return sb.toString();
+	}
+
+	private static Method allocatedBytesMethod;
+	private static boolean allocatedBytesResolved;
+
+	/**
+	 * Returns the number of bytes allocated by the current thread or
+	 * <code>-1</code> if the JVM does not support it.
+	 */
+	private static long allocatedBytes() {
+		final Object bean = ManagementFactory.getThreadMXBean();
+		if (!allocatedBytesResolved) {
+			allocatedBytesResolved = true;
+			for (Class<?> type : bean.getClass().getInterfaces()) {
+				try {
+					allocatedBytesMethod = type.getMethod(
+							"getThreadAllocatedBytes", long.class);
+					break;
+				} catch (NoSuchMethodException e) {
+					// try next
+				}
+			}
+		}
+		if (allocatedBytesMethod != null) {
+			try {
+				return ((Long) allocatedBytesMethod.invoke(bean, Thread
+						.currentThread().getId())).longValue();
+			} catch (Exception e) {
+				allocatedBytesMethod = null;
+			}
+		}
+		return -1;
+	}
+
+	private static void compareWithBaseline(String name, double nanosPerChar)
+			throws IOException {
+		final String baseline = System.getProperty("formatter.benchmark.baseline");
+		if (baseline == null) {
+			return;
+		}
+		final String value = load(new File(baseline)).getProperty(name);
+		if (value == null) {
+			return;
+		}
+		final double tolerance = Double.parseDouble(System.getProperty(
+				"formatter.benchmark.tolerance", "1.5"));
+		final double expected = Double.parseDouble(value);
+		assertTrue(String.format("%s: %.2f ns/char, baseline %.2f ns/char",
+				name, nanosPerChar, expected), nanosPerChar <= expected
+				* tolerance);
+	}
+
+	private static synchronized void storeResult(String name,
+			double nanosPerChar) throws IOException {
+		final String output = System.getProperty("formatter.benchmark.output");
+		if (output == null) {
+			return;
+		}
+		final File file = new File(output);
+		final Properties results = load(file);
+		results.setProperty(name, String.valueOf(nanosPerChar));
+		final OutputStream stream = new FileOutputStream(file);
+		try {
+			results.store(stream, "JavaScript formatter, ns/char");
+		} finally {
+			stream.close();
+		}
+	}
+
+	private static Properties load(File file) throws IOException {
+		final Properties properties = new Properties();
+		if (file.isFile()) {
+			final InputStream stream = new FileInputStream(file);
+			try {
+				properties.load(stream);
+			} finally {
+				stream.close();
+			}
+		}
+		return properties;
+	}
+
+}
@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2026 NumberFour AG and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     NumberFour AG - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.dltk.javascript.formatter.tests;
+
+import junit.framework.TestCase;
+
+import org.eclipse.dltk.javascript.formatter.JavaScriptFormatter;
+import org.eclipse.dltk.javascript.internal.formatter.tests.TestJavaScriptFormatter;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.TextEdit;
+
+public class RangeFormatTest extends TestCase {
+
+	private static final String SOURCE = "function f() {\n" //
+			+ "\tvar a = 1;\n" //
+			+ "\tif (a) {\n" //
+			+ "\t\ta  =  2;\n" //
+			+ "\t}\n" //
+			+ "}\n" //
+			+ "var  b  =  3;\n";
+
+	private final JavaScriptFormatter formatter = new TestJavaScriptFormatter();
+
+	private String format(String source, int offset, int length)
+			throws Exception {
+		final IDocument document = new Document(source);
+		final TextEdit edit = formatter.format(source, offset, length,
+				formatter.detectIndentationLevel(document, offset));
+		edit.apply(document);
+		return document.get();
+	}
+
+	public void testDetectIndentationLevel() {
+		final IDocument document = new Document(SOURCE);
+		assertEquals(1, formatter.detectIndentationLevel(document,
+				SOURCE.indexOf("var a")));
+		assertEquals(2, formatter.detectIndentationLevel(document,
+				SOURCE.indexOf("a  =")));
+		assertEquals(0, formatter.detectIndentationLevel(document,
+				SOURCE.indexOf("var  b")));
+	}
+
+	public void testOnlyEnclosingStatementParsed() throws Exception {
+		// the syntax error in the other statement does not matter
+		final String source = SOURCE + "var c = ;\n";
+		final IDocument document = new Document(source);
+		assertEquals(2, formatter.detectIndentationLevel(document,
+				source.indexOf("a  =")));
+		final int start = source.indexOf("a  =  2");
+		assertEquals(source.replace("a  =  2", "a = 2"),
+				format(source, start, "a  =  2".length()));
+	}
+
+	public void testStatementsWithoutSemicolons() throws Exception {
+		final String source = "var  a  =  1\n" //
+				+ "function f() {\n" //
+				+ "\tif (a) {\n" //
+				+ "\t\tb  =  2;\n" //
+				+ "\t} else {\n" //
+				+ "\t\tb  =  3;\n" //
+				+ "\t}\n" //
+				+ "}\n" //
+				+ "var c = ;\n";
+		final IDocument document = new Document(source);
+		assertEquals(2, formatter.detectIndentationLevel(document,
+				source.indexOf("b  =  3")));
+		final int start = source.indexOf("b  =  3");
+		assertEquals(source.replace("b  =  3", "b = 3"),
+				format(source, start, "b  =  3".length()));
+	}
+
+	public void testFormatPartOfStatement() throws Exception {
+		final int start = SOURCE.indexOf("a  =  2");
+		final String result = format(SOURCE, start, "a  =  2".length());
+		assertEquals(SOURCE.replace("a  =  2", "a = 2"), result);
+	}
+
+	public void testTextOutsideOfRegionNotChanged() throws Exception {
+		final String source = "var  a  =  1;\nvar  b  =  2;\n";
+		final int start = source.indexOf("a  =");
+		assertEquals("var  a =  1;\nvar  b  =  2;\n",
+				format(source, start, "a  =".length()));
+		assertEquals(source, format(source, source.indexOf('='), 1));
+	}
+
+	public void testFormatStatements() throws Exception {
+		final int start = SOURCE.indexOf("\tvar a");
+		final String result = format(SOURCE, start, SOURCE.indexOf("\t}")
+				- start);
+		final String full = format(SOURCE, 0, SOURCE.length());
+		assertEquals(full.substring(0, full.indexOf("var b")).trim(), result
+				.substring(0, result.indexOf("var  b")).trim());
+		assertTrue(result, result.contains("\n\t\ta = 2;\n"));
+		assertTrue(result, result.endsWith("var  b  =  3;\n"));
+	}
+
+	public void testWhitespaceEdits() throws Exception {
+		final TextEdit edit = formatter.format(SOURCE, 0, SOURCE.length(), 0);
+		assertTrue(edit.getChildrenSize() > 1);
+		for (TextEdit child : edit.getChildren()) {
+			final ReplaceEdit replace = (ReplaceEdit) child;
+			assertEquals("", replace.getText().trim());
+			assertEquals("", SOURCE.substring(replace.getOffset(),
+					replace.getExclusiveEnd()).trim());
+		}
+		final IDocument document = new Document(SOURCE);
+		edit.apply(document);
+		assertEquals(formatter.format(SOURCE, 0), document.get());
+	}
+
+	public void testNoEdits() throws Exception {
+		final String formatted = formatter.format(SOURCE, 0);
+		assertEquals(0, formatter.format(formatted, 0, formatted.length(), 0)
+				.getChildrenSize());
+	}
+
+	public void testSyntaxErrorOutsideOfRegion() throws Exception {
+		final String source = SOURCE + "var c = ;\n";
+		final String result = format(source, 0, source.indexOf("var c"));
+		assertTrue(result, result.endsWith("var c = ;\n"));
+	}
+
+}